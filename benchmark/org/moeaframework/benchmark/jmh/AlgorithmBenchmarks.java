@@ -0,0 +1,121 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark.jmh;
+
+import java.util.Properties;
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+import org.moeaframework.problem.WFG.WFG1;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks full iterations of NSGA-II and MOEA/D with a population size
+ * of {@code N} on the DTLZ2 and WFG1 problems with {@code M} objectives.
+ * Each invocation performs one step of an already initialized algorithm.
+ * An NSGA-II step evaluates {@code N} offspring, while a MOEA/D step
+ * evaluates one offspring per subproblem.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class AlgorithmBenchmarks {
+
+	/**
+	 * The algorithm name.
+	 */
+	@Param({ "NSGAII", "MOEAD" })
+	public String algorithm;
+	
+	/**
+	 * The problem name.
+	 */
+	@Param({ "DTLZ2", "WFG1" })
+	public String problem;
+	
+	/**
+	 * The population size.
+	 */
+	@Param({ "100", "500" })
+	public int N;
+	
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "2", "3" })
+	public int M;
+	
+	/**
+	 * The algorithm instance.
+	 */
+	private Algorithm instance;
+	
+	/**
+	 * Creates and initializes the algorithm.
+	 */
+	@Setup
+	public void setUp() {
+		Problem problemInstance = null;
+		
+		if (problem.equals("DTLZ2")) {
+			problemInstance = new DTLZ2(M);
+		} else {
+			problemInstance = new WFG1(2 * (M - 1), 20, M);
+		}
+		
+		Properties properties = new Properties();
+		properties.setProperty("populationSize", Integer.toString(N));
+		
+		PRNG.setSeed(BenchmarkUtils.SEED);
+		instance = AlgorithmFactory.getInstance().getAlgorithm(algorithm,
+				properties, problemInstance);
+		instance.step();
+	}
+	
+	/**
+	 * Terminates the algorithm.
+	 */
+	@TearDown
+	public void tearDown() {
+		instance.terminate();
+	}
+	
+	/**
+	 * Performs one iteration of the algorithm.
+	 * 
+	 * @return the algorithm
+	 */
+	@Benchmark
+	public Algorithm step() {
+		instance.step();
+		return instance;
+	}
+
+}
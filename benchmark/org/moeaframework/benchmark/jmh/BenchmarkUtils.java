@@ -0,0 +1,124 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark.jmh;
+
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.operator.RandomInitialization;
+
+/**
+ * Creates the fixtures shared by the JMH benchmarks.  All fixtures are
+ * generated from a fixed seed so that every run measures the same inputs.
+ */
+class BenchmarkUtils {
+
+	/**
+	 * The seed used to generate fixtures.
+	 */
+	static final long SEED = 1;
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private BenchmarkUtils() {
+		super();
+	}
+	
+	/**
+	 * Returns randomly-initialized and evaluated solutions.
+	 * 
+	 * @param problem the problem
+	 * @param size the number of solutions
+	 * @return the evaluated solutions
+	 */
+	static Population randomPopulation(Problem problem, int size) {
+		PRNG.setSeed(SEED);
+		
+		Population population = new Population(
+				new RandomInitialization(problem, size).initialize());
+		
+		for (Solution solution : population) {
+			problem.evaluate(solution);
+		}
+		
+		return population;
+	}
+	
+	/**
+	 * Returns points uniformly sampled from the Pareto front of the DTLZ2
+	 * problem, the positive orthant of the unit hypersphere.
+	 * 
+	 * @param numberOfObjectives the number of objectives
+	 * @param size the number of points
+	 * @return the points on the Pareto front
+	 */
+	static NondominatedPopulation paretoFront(int numberOfObjectives,
+			int size) {
+		PRNG.setSeed(SEED);
+		
+		NondominatedPopulation front = new NondominatedPopulation();
+		
+		while (front.size() < size) {
+			double[] objectives = new double[numberOfObjectives];
+			double norm = 0.0;
+			
+			for (int i = 0; i < numberOfObjectives; i++) {
+				objectives[i] = Math.abs(PRNG.nextGaussian());
+				norm += objectives[i] * objectives[i];
+			}
+			
+			for (int i = 0; i < numberOfObjectives; i++) {
+				objectives[i] /= Math.sqrt(norm);
+			}
+			
+			front.add(new Solution(objectives));
+		}
+		
+		return front;
+	}
+	
+	/**
+	 * Returns a perturbed copy of the points, simulating an approximation
+	 * set near the Pareto front.
+	 * 
+	 * @param front the points on the Pareto front
+	 * @return the approximation set
+	 */
+	static NondominatedPopulation approximationSet(
+			NondominatedPopulation front) {
+		PRNG.setSeed(SEED + 1);
+		
+		NondominatedPopulation approximation = new NondominatedPopulation();
+		
+		for (Solution solution : front) {
+			double[] objectives = solution.getObjectives();
+			
+			for (int i = 0; i < objectives.length; i++) {
+				objectives[i] *= 1.0 + 0.1 * PRNG.nextDouble();
+			}
+			
+			approximation.add(new Solution(objectives));
+		}
+		
+		return approximation;
+	}
+
+}
@@ -0,0 +1,134 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.FastNondominatedSorting;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.operator.TournamentSelection;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks non-dominated sorting, archive insertion and tournament
+ * selection on {@code N} random DTLZ2 solutions with {@code M} objectives.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DominanceBenchmarks {
+
+	/**
+	 * The number of solutions.
+	 */
+	@Param({ "100", "1000" })
+	public int N;
+	
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "2", "3", "5" })
+	public int M;
+	
+	/**
+	 * The random solutions.
+	 */
+	private Population population;
+	
+	/**
+	 * The tournament selection operator.
+	 */
+	private TournamentSelection selection;
+	
+	/**
+	 * Creates the random solutions.
+	 */
+	@Setup
+	public void setUp() {
+		population = BenchmarkUtils.randomPopulation(new DTLZ2(M), N);
+		selection = new TournamentSelection(2);
+		
+		new FastNondominatedSorting().evaluate(population);
+	}
+	
+	/**
+	 * Ranks the solutions using fast non-dominated sorting.
+	 * 
+	 * @return the sorted population
+	 */
+	@Benchmark
+	public Population fastNondominatedSorting() {
+		new FastNondominatedSorting().evaluate(population);
+		return population;
+	}
+	
+	/**
+	 * Adds every solution to an empty non-dominated population.
+	 * 
+	 * @return the non-dominated population
+	 */
+	@Benchmark
+	public NondominatedPopulation nondominatedPopulationAdd() {
+		NondominatedPopulation result = new NondominatedPopulation();
+		
+		for (Solution solution : population) {
+			result.add(solution);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Adds every solution to an empty &epsilon;-box dominance archive.
+	 * 
+	 * @return the &epsilon;-box dominance archive
+	 */
+	@Benchmark
+	public EpsilonBoxDominanceArchive epsilonBoxDominanceArchiveAdd() {
+		EpsilonBoxDominanceArchive result = new EpsilonBoxDominanceArchive(
+				0.01);
+		
+		for (Solution solution : population) {
+			result.add(solution);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Selects {@code N} parents using binary tournament selection.
+	 * 
+	 * @return the selected parents
+	 */
+	@Benchmark
+	public Solution[] tournamentSelection() {
+		return selection.select(N, population);
+	}
+
+}
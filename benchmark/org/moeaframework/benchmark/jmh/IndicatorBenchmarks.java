@@ -0,0 +1,105 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.indicator.Hypervolume;
+import org.moeaframework.core.indicator.InvertedGenerationalDistance;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks performance indicators on an approximation set of {@code N}
+ * solutions near the DTLZ2 Pareto front with {@code M} objectives.  The
+ * reference set also contains {@code N} points.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class IndicatorBenchmarks {
+
+	/**
+	 * The number of solutions.
+	 */
+	@Param({ "100", "500" })
+	public int N;
+	
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "2", "3", "5" })
+	public int M;
+	
+	/**
+	 * The approximation set being evaluated.
+	 */
+	private NondominatedPopulation approximationSet;
+	
+	/**
+	 * The hypervolume indicator.
+	 */
+	private Hypervolume hypervolume;
+	
+	/**
+	 * The inverted generational distance indicator.
+	 */
+	private InvertedGenerationalDistance igd;
+	
+	/**
+	 * Creates the reference and approximation sets.
+	 */
+	@Setup
+	public void setUp() {
+		DTLZ2 problem = new DTLZ2(M);
+		NondominatedPopulation referenceSet = BenchmarkUtils.paretoFront(M, N);
+		
+		approximationSet = BenchmarkUtils.approximationSet(referenceSet);
+		hypervolume = new Hypervolume(problem, referenceSet);
+		igd = new InvertedGenerationalDistance(problem, referenceSet);
+	}
+	
+	/**
+	 * Computes the hypervolume of the approximation set.
+	 * 
+	 * @return the hypervolume
+	 */
+	@Benchmark
+	public double hypervolume() {
+		return hypervolume.evaluate(approximationSet);
+	}
+	
+	/**
+	 * Computes the inverted generational distance of the approximation set.
+	 * 
+	 * @return the inverted generational distance
+	 */
+	@Benchmark
+	public double invertedGenerationalDistance() {
+		return igd.evaluate(approximationSet);
+	}
+
+}
@@ -0,0 +1,127 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.operator.real.DifferentialEvolution;
+import org.moeaframework.core.operator.real.PM;
+import org.moeaframework.core.operator.real.SBX;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Benchmarks the real-valued variation operators on DTLZ2 solutions with
+ * {@code N} decision variables and {@code M} objectives.  Each invocation
+ * produces the offspring of a single set of parents.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OperatorBenchmarks {
+
+	/**
+	 * The number of decision variables.
+	 */
+	@Param({ "10", "100", "1000" })
+	public int N;
+	
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "2", "5" })
+	public int M;
+	
+	/**
+	 * The simulated binary crossover operator.
+	 */
+	private SBX sbx;
+	
+	/**
+	 * The polynomial mutation operator.
+	 */
+	private PM pm;
+	
+	/**
+	 * The differential evolution operator.
+	 */
+	private DifferentialEvolution de;
+	
+	/**
+	 * The parents passed to the variation operators.
+	 */
+	private Solution[] parents;
+	
+	/**
+	 * Creates the operators and parents.
+	 */
+	@Setup
+	public void setUp() {
+		Population population = BenchmarkUtils.randomPopulation(
+				new DTLZ2(N, M), 4);
+		
+		sbx = new SBX(1.0, 15.0);
+		pm = new PM(1.0 / N, 20.0);
+		de = new DifferentialEvolution(0.1, 0.5);
+		parents = new Solution[population.size()];
+		
+		for (int i = 0; i < parents.length; i++) {
+			parents[i] = population.get(i);
+		}
+	}
+	
+	/**
+	 * Applies simulated binary crossover to two parents.
+	 * 
+	 * @return the offspring
+	 */
+	@Benchmark
+	public Solution[] sbx() {
+		return sbx.evolve(new Solution[] { parents[0], parents[1] });
+	}
+	
+	/**
+	 * Applies polynomial mutation to one parent.
+	 * 
+	 * @return the offspring
+	 */
+	@Benchmark
+	public Solution[] pm() {
+		return pm.evolve(new Solution[] { parents[0] });
+	}
+	
+	/**
+	 * Applies differential evolution to four parents.
+	 * 
+	 * @return the offspring
+	 */
+	@Benchmark
+	public Solution[] differentialEvolution() {
+		return de.evolve(parents);
+	}
+
+}
@@ -0,0 +1,138 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.analysis.sensitivity.ResultEntry;
+import org.moeaframework.analysis.sensitivity.ResultFileReader;
+import org.moeaframework.analysis.sensitivity.ResultFileWriter;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks parsing a result file with 10 entries, each containing
+ * {@code N} DTLZ2 solutions with {@code M} objectives.  Both the decision
+ * variables and objectives are stored and parsed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class ResultFileBenchmarks {
+
+	/**
+	 * The number of entries in the result file.
+	 */
+	private static final int ENTRIES = 10;
+	
+	/**
+	 * The number of solutions in each entry.
+	 */
+	@Param({ "100", "1000" })
+	public int N;
+	
+	/**
+	 * The number of objectives.
+	 */
+	@Param({ "2", "5" })
+	public int M;
+	
+	/**
+	 * The problem.
+	 */
+	private Problem problem;
+	
+	/**
+	 * The result file being parsed.
+	 */
+	private File file;
+	
+	/**
+	 * Writes the result file.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		problem = new DTLZ2(M);
+		file = File.createTempFile("benchmark", ".set");
+		
+		NondominatedPopulation population = new NondominatedPopulation(
+				BenchmarkUtils.randomPopulation(problem, N));
+		ResultFileWriter writer = null;
+		
+		try {
+			writer = new ResultFileWriter(problem, file, true);
+			
+			for (int i = 0; i < ENTRIES; i++) {
+				writer.append(new ResultEntry(population));
+			}
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+	}
+	
+	/**
+	 * Deletes the result file.
+	 */
+	@TearDown
+	public void tearDown() {
+		file.delete();
+	}
+	
+	/**
+	 * Parses every entry in the result file.
+	 * 
+	 * @return the number of solutions read
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Benchmark
+	public int resultFileReader() throws IOException {
+		ResultFileReader reader = null;
+		int count = 0;
+		
+		try {
+			reader = new ResultFileReader(problem, file);
+			
+			while (reader.hasNext()) {
+				count += reader.next().getPopulation().size();
+			}
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+		
+		return count;
+	}
+
+}
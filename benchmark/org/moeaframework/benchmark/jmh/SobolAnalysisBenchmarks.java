@@ -0,0 +1,170 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark.jmh;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.analysis.sensitivity.SobolAnalysis;
+import org.moeaframework.util.sequence.Saltelli;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Benchmarks the bootstrap confidence intervals computed by
+ * {@link SobolAnalysis} with a varying number of threads.  A synthetic
+ * Saltelli sample of 20 parameters is generated with {@link Saltelli} and
+ * evaluated on a model with first- and second-order effects.  Each invocation
+ * analyzes the sample with 1000 bootstrap resamples.  That the results do
+ * not depend on the number of threads is checked by {@code SobolAnalysisTest}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SobolAnalysisBenchmarks {
+
+	/**
+	 * The number of parameters.
+	 */
+	private static final int PARAMETERS = 20;
+	
+	/**
+	 * The number of Saltelli samples.
+	 */
+	private static final int SAMPLES = 1000;
+	
+	/**
+	 * The number of bootstrap resamples.
+	 */
+	private static final int RESAMPLES = 1000;
+	
+	/**
+	 * The number of threads computing the bootstrap resamples.
+	 */
+	@Param({ "1", "2", "4" })
+	public int threads;
+	
+	/**
+	 * The parameter file.
+	 */
+	private File parameterFile;
+	
+	/**
+	 * The model output file.
+	 */
+	private File inputFile;
+	
+	/**
+	 * The file where the sensitivity indices are written.
+	 */
+	private File outputFile;
+	
+	/**
+	 * The synthetic model, where each parameter has a decreasing first-order
+	 * effect and neighboring parameters interact.
+	 * 
+	 * @param x the parameters
+	 * @return the model output
+	 */
+	private static double evaluate(double[] x) {
+		double result = 0.0;
+		
+		for (int i = 0; i < x.length; i++) {
+			result += x[i] / (i + 1);
+			
+			if (i > 0) {
+				result += x[i - 1] * x[i];
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Writes the parameter file and model output file for the synthetic
+	 * Saltelli sample.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Setup
+	public void setUp() throws IOException {
+		parameterFile = File.createTempFile("params", null);
+		inputFile = File.createTempFile("input", null);
+		outputFile = File.createTempFile("output", null);
+		
+		PrintWriter writer = new PrintWriter(parameterFile);
+		
+		try {
+			for (int i = 0; i < PARAMETERS; i++) {
+				writer.println("x" + (i + 1) + " 0.0 1.0");
+			}
+		} finally {
+			writer.close();
+		}
+		
+		double[][] input = new Saltelli().generate(
+				SAMPLES * (2 * PARAMETERS + 2), PARAMETERS);
+		writer = new PrintWriter(inputFile);
+		
+		try {
+			for (double[] x : input) {
+				writer.println(evaluate(x));
+			}
+		} finally {
+			writer.close();
+		}
+	}
+	
+	/**
+	 * Deletes the files.
+	 */
+	@TearDown
+	public void tearDown() {
+		parameterFile.delete();
+		inputFile.delete();
+		outputFile.delete();
+	}
+	
+	/**
+	 * Computes the sensitivity indices and their bootstrap confidence
+	 * intervals.
+	 * 
+	 * @throws Exception if an error occurred
+	 */
+	@Benchmark
+	public void sobolAnalysis() throws Exception {
+		SobolAnalysis.main(new String[] {
+				"--parameterFile", parameterFile.getPath(),
+				"--input", inputFile.getPath(),
+				"--metric", "0",
+				"--resamples", Integer.toString(RESAMPLES),
+				"--threads", Integer.toString(threads),
+				"--seed", "1",
+				"--output", outputFile.getPath() });
+	}
+
+}
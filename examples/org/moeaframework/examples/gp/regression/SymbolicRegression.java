@@ -22,6 +22,7 @@ import org.moeaframework.core.Solution;
 import org.moeaframework.core.variable.Program;
 import org.moeaframework.problem.AbstractProblem;
 import org.moeaframework.util.tree.Add;
+import org.moeaframework.util.tree.CompiledNode;
 import org.moeaframework.util.tree.Cos;
 import org.moeaframework.util.tree.Divide;
 import org.moeaframework.util.tree.Environment;
@@ -29,6 +30,7 @@ import org.moeaframework.util.tree.Exp;
 import org.moeaframework.util.tree.Get;
 import org.moeaframework.util.tree.Log;
 import org.moeaframework.util.tree.Multiply;
+import org.moeaframework.util.tree.NodeCompiler;
 import org.moeaframework.util.tree.Rules;
 import org.moeaframework.util.tree.Sin;
 import org.moeaframework.util.tree.Subtract;
@@ -80,6 +82,19 @@ public class SymbolicRegression extends AbstractProblem {
 	 * The cached actual y values.
 	 */
 	private double[] y;
+	
+	/**
+	 * The cached x values stored as the single column of a dataset, allowing
+	 * the compiler to memoize the results of subtrees evaluated over the
+	 * dataset.
+	 */
+	private double[][] columns;
+	
+	/**
+	 * The compiler for evaluating the approximated functions; or {@code null}
+	 * if the compiler has not yet been created for the current symbol.
+	 */
+	private NodeCompiler compiler;
 
 	/**
 	 * Constructs a new symbolic regression problem for approximating the
@@ -124,6 +139,8 @@ public class SymbolicRegression extends AbstractProblem {
 			x[i] = lowerBound + (i / (steps-1.0)) * (upperBound - lowerBound);
 			y[i] = function.value(x[i]);
 		}
+		
+		columns = new double[][] { x };
 	}
 
 	/**
@@ -188,6 +205,7 @@ public class SymbolicRegression extends AbstractProblem {
 	 */
 	public void setSymbol(String symbol) {
 		this.symbol = symbol;
+		compiler = null;
 	}
 
 	/**
@@ -233,7 +251,9 @@ public class SymbolicRegression extends AbstractProblem {
 	/**
 	 * Returns the array of y-values, the function outputs, resulting from
 	 * evaluating the approximated function using the x-values from
-	 * {@link #getX()}.
+	 * {@link #getX()}.  The approximated function is compiled when all of its
+	 * nodes are supported by {@link NodeCompiler}; otherwise, it is
+	 * interpreted.
 	 * 
 	 * @param solution the solution whose approximated function is being
 	 *        evaluated
@@ -243,6 +263,18 @@ public class SymbolicRegression extends AbstractProblem {
 	public double[] getApproximatedY(Solution solution) {
 		Program program = (Program)solution.getVariable(0);
 		double[] approximatedY = new double[steps];
+		CompiledNode compiledProgram = null;
+		
+		try {
+			compiledProgram = getCompiler().compile(program);
+		} catch (IllegalArgumentException e) {
+			// the program contains custom nodes, fall back to the interpreter
+		}
+		
+		if (compiledProgram != null) {
+			compiledProgram.evaluate(columns, 0, steps, approximatedY);
+			return approximatedY;
+		}
 		
 		for (int i = 0; i < steps; i++) {
 			Environment environment = new Environment();
@@ -254,6 +286,23 @@ public class SymbolicRegression extends AbstractProblem {
 		return approximatedY;
 	}
 
+	/**
+	 * Returns the compiler for evaluating the approximated functions, creating
+	 * it if necessary.  The compiler memoizes the results of subtrees, so
+	 * subtrees that offspring inherit unchanged from their parents are not
+	 * recomputed.
+	 * 
+	 * @return the compiler for evaluating the approximated functions
+	 */
+	private synchronized NodeCompiler getCompiler() {
+		if (compiler == null) {
+			compiler = new NodeCompiler(NodeCompiler.DEFAULT_CACHE_SIZE,
+					NodeCompiler.DEFAULT_CACHE_SIZE, symbol);
+		}
+		
+		return compiler;
+	}
+
 	@Override
 	public void evaluate(Solution solution) {
 		double difference = 0.0;
@@ -18,6 +18,7 @@
 package org.moeaframework;
 
 import java.io.BufferedOutputStream;
+import java.io.Closeable;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
@@ -26,20 +27,30 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.stat.descriptive.UnivariateStatistic;
 import org.apache.commons.math3.stat.descriptive.rank.Max;
 import org.apache.commons.math3.stat.descriptive.rank.Median;
 import org.apache.commons.math3.stat.descriptive.rank.Min;
 import org.moeaframework.analysis.sensitivity.ResultEntry;
+import org.moeaframework.analysis.sensitivity.ResultFileFormat;
 import org.moeaframework.analysis.sensitivity.ResultFileReader;
 import org.moeaframework.analysis.sensitivity.ResultFileWriter;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Indicator;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
 import org.moeaframework.core.indicator.AdditiveEpsilonIndicator;
 import org.moeaframework.core.indicator.Contribution;
 import org.moeaframework.core.indicator.GenerationalDistance;
@@ -85,6 +96,19 @@ import org.moeaframework.util.statistics.MannWhitneyUTest;
  * <a href="http://yaml.org/">YAML</a> format, and thus can be postprocessed
  * easily with any YAML parser.  The results can also be accessed
  * programatically by calling {@link #getAnalysis()}.
+ * <p>
+ * Indicator values are memoized for each approximation set, so repeated
+ * analyses, or analyses after adding more samples, only evaluate the
+ * indicators on sets not previously seen.  Approximation sets should
+ * therefore not be modified after being added to this analyzer.  The
+ * remaining evaluations can be distributed across multiple threads using
+ * {@link #distributeOn(int)} or {@link #distributeOnAllCores()}.
+ * <p>
+ * By default, all approximation sets are kept in memory.  For large
+ * experiments, {@link #withSpillDirectory(File)} instead writes each
+ * approximation set to a result file as it is added.  Only the indicator
+ * values and the merged non-dominated sets are then kept in memory, and the
+ * approximation sets are streamed from disk during the analysis.
  */
 public class Analyzer extends ProblemBuilder {
 	
@@ -183,7 +207,46 @@ public class Analyzer extends ProblemBuilder {
 	/**
 	 * The collection of end-of-run approximation sets.
 	 */
-	private Map<String, List<NondominatedPopulation>> data;
+	private Map<String, Samples> data;
+	
+	/**
+	 * The directory where approximation sets are stored as they are added,
+	 * or {@code null} if approximation sets are kept in memory.
+	 */
+	private File spillDirectory;
+	
+	/**
+	 * The number of threads used to evaluate the indicators.
+	 */
+	private int numberOfThreads;
+	
+	/**
+	 * The cached reference set, or {@code null} if the reference set must be
+	 * recomputed.
+	 */
+	private NondominatedPopulation referenceSet;
+	
+	/**
+	 * {@code true} if the cached reference set was aggregated from the
+	 * approximation sets and must be recomputed when samples are added;
+	 * {@code false} otherwise.
+	 */
+	private boolean isReferenceSetAggregated;
+	
+	/**
+	 * The non-dominated merge of all approximation sets written to the spill
+	 * directory, updated as each set is added, or {@code null} if it must be
+	 * recomputed by reading the stored sets.
+	 */
+	private NondominatedPopulation spilledReferenceSet;
+	
+	/**
+	 * The cached indicators, constructed using the cached reference set and
+	 * keyed by the indicator name.  The indicators only query the problem for
+	 * its name and number of objectives, so they remain usable after the
+	 * problem instance is closed.
+	 */
+	private final Map<String, Indicator> indicators;
 	
 	/**
 	 * Constructs a new analyzer initialized with default settings.
@@ -192,51 +255,76 @@ public class Analyzer extends ProblemBuilder {
 		super();
 		
 		significanceLevel = 0.05;
+		numberOfThreads = 1;
 		statistics = new ArrayList<UnivariateStatistic>();
-		data = new HashMap<String, List<NondominatedPopulation>>();
+		data = new HashMap<String, Samples>();
+		indicators = new HashMap<String, Indicator>();
 	}
 	
 	@Override
 	public Analyzer withSameProblemAs(ProblemBuilder builder) {
-		return (Analyzer)super.withSameProblemAs(builder);
+		super.withSameProblemAs(builder);
+		invalidate();
+		
+		return this;
 	}
 	
 	@Override
 	public Analyzer usingProblemFactory(ProblemFactory problemFactory) {
-		return (Analyzer)super.usingProblemFactory(problemFactory);
+		super.usingProblemFactory(problemFactory);
+		invalidate();
+		
+		return this;
 	}
 	
 	@Override
 	public Analyzer withProblem(String problemName) {
-		return (Analyzer)super.withProblem(problemName);
+		super.withProblem(problemName);
+		invalidate();
+		
+		return this;
 	}
 	
 	@Override
 	public Analyzer withProblem(Problem problemInstance) {
-		return (Analyzer)super.withProblem(problemInstance);
+		super.withProblem(problemInstance);
+		invalidate();
+		
+		return this;
 	}
 	
 	@Override
 	public Analyzer withProblemClass(Class<?> problemClass, 
 			Object... problemArguments) {
-		return (Analyzer)super.withProblemClass(problemClass, problemArguments);
+		super.withProblemClass(problemClass, problemArguments);
+		invalidate();
+		
+		return this;
 	}
 
 	@Override
 	public Analyzer withProblemClass(String problemClassName, 
 			Object... problemArguments) throws ClassNotFoundException {
-		return (Analyzer)super.withProblemClass(problemClassName,
-				problemArguments);
+		super.withProblemClass(problemClassName, problemArguments);
+		invalidate();
+		
+		return this;
 	}
 	
 	@Override
 	public Analyzer withEpsilon(double... epsilon) {
-		return (Analyzer)super.withEpsilon(epsilon);
+		super.withEpsilon(epsilon);
+		invalidate();
+		
+		return this;
 	}
 	
 	@Override
 	public Analyzer withReferenceSet(File referenceSetFile) {
-		return (Analyzer)super.withReferenceSet(referenceSetFile);
+		super.withReferenceSet(referenceSetFile);
+		invalidate();
+		
+		return this;
 	}
 	
 	/**
@@ -445,6 +533,58 @@ public class Analyzer extends ProblemBuilder {
 		return this;
 	}
 	
+	/**
+	 * Enables this analyzer to evaluate the indicators across the specified
+	 * number of threads.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @return a reference to this analyzer
+	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
+	 */
+	public Analyzer distributeOn(int numberOfThreads) {
+		if (numberOfThreads <= 0) {
+			throw new IllegalArgumentException("invalid number of threads");
+		}
+		
+		this.numberOfThreads = numberOfThreads;
+		
+		return this;
+	}
+	
+	/**
+	 * Enables this analyzer to evaluate the indicators across all processors
+	 * on the local host.
+	 * 
+	 * @return a reference to this analyzer
+	 */
+	public Analyzer distributeOnAllCores() {
+		return distributeOn(Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Stores the approximation sets added to this analyzer in result files
+	 * within the given directory instead of in memory.  The files are deleted
+	 * when this analyzer is cleared or the JVM exits.  The problem must be
+	 * specified before adding any approximation sets, and constraint
+	 * violating solutions are not stored.
+	 * 
+	 * @param spillDirectory the directory where the approximation sets are
+	 *        stored
+	 * @return a reference to this analyzer
+	 * @throws IllegalStateException if approximation sets were already added
+	 *         to this analyzer
+	 */
+	public Analyzer withSpillDirectory(File spillDirectory) {
+		if (!data.isEmpty()) {
+			throw new IllegalStateException(
+					"spill directory must be set before adding data");
+		}
+		
+		this.spillDirectory = spillDirectory;
+		
+		return this;
+	}
+	
 	/**
 	 * Adds the collection of new samples with the specified name.
 	 * 
@@ -471,14 +611,31 @@ public class Analyzer extends ProblemBuilder {
 	 * @return a reference to this analyzer
 	 */
 	public Analyzer add(String name, NondominatedPopulation result) {
-		List<NondominatedPopulation> list = data.get(name);
+		Samples samples = data.get(name);
+		
+		if (samples == null) {
+			if (spillDirectory == null) {
+				samples = new Samples();
+			} else {
+				if (data.isEmpty()) {
+					spilledReferenceSet = newArchive();
+				}
+				
+				samples = new Samples(spillDirectory);
+			}
+			
+			data.put(name, samples);
+		}
+		
+		samples.add(result);
 		
-		if (list == null) {
-			list = new ArrayList<NondominatedPopulation>();
-			data.put(name, list);
+		if (spilledReferenceSet != null) {
+			spilledReferenceSet.addAll(result);
 		}
 		
-		list.add(result);
+		if (isReferenceSetAggregated) {
+			resetCache();
+		}
 		
 		return this;
 	}
@@ -584,16 +741,22 @@ public class Analyzer extends ProblemBuilder {
 			problem = getProblemInstance();
 			
 			//delete the file to avoid appending
-			FileUtils.delete(resultFile);
+			ResultFileWriter.delete(resultFile);
 
 			try {
 				writer = new ResultFileWriter(problem, resultFile);
 				
 				if (name == null) {
-					writer.append(new ResultEntry(getReferenceSet()));
+					writer.append(new ResultEntry(getCachedReferenceSet()));
 				} else {
-					for (NondominatedPopulation result : data.get(name)) {
-						writer.append(new ResultEntry(result));
+					SampleIterator iterator = data.get(name).iterator(problem, 0);
+					
+					try {
+						while (iterator.hasNext()) {
+							writer.append(new ResultEntry(iterator.next()));
+						}
+					} finally {
+						iterator.close();
 					}
 				}
 			} finally {
@@ -656,7 +819,7 @@ public class Analyzer extends ProblemBuilder {
 	 * @throws IOException if an I/O error occurred
 	 */
 	public Analyzer saveReferenceSet(File file) throws IOException {
-		PopulationIO.writeObjectives(file, getReferenceSet());
+		PopulationIO.writeObjectives(file, getCachedReferenceSet());
 		
 		return this;
 	}
@@ -674,28 +837,65 @@ public class Analyzer extends ProblemBuilder {
 	 *       approximation sets.
 	 * </ol>
 	 * 
+	 * Each invocation returns a new population that may be freely modified by
+	 * the caller.
+	 * 
 	 * @return the reference set used by this analyzer
 	 * @throws IllegalArgumentException if the reference set could not be loaded
 	 */
 	public NondominatedPopulation getReferenceSet() {
+		NondominatedPopulation copy = newArchive();
+		
+		for (Solution solution : getCachedReferenceSet()) {
+			copy.add(solution.copy());
+		}
+		
+		return copy;
+	}
+	
+	/**
+	 * Returns the reference set used by this analyzer, computing it if it is
+	 * not already cached.  The returned population is shared and must not be
+	 * modified.
+	 * 
+	 * @return the reference set used by this analyzer
+	 * @throws IllegalArgumentException if the reference set could not be loaded
+	 * @see #getReferenceSet()
+	 */
+	private NondominatedPopulation getCachedReferenceSet() {
+		if (referenceSet != null) {
+			return referenceSet;
+		}
+		
 		try {
-			return super.getReferenceSet();
+			referenceSet = super.getReferenceSet();
+			isReferenceSetAggregated = false;
 		} catch (IllegalArgumentException e) {
 			if (referenceSetFile == null) {
 				//return the combination of all approximation sets
-				NondominatedPopulation referenceSet = newArchive();
-				
-				for (List<NondominatedPopulation> entry : data.values()) {
-					for (NondominatedPopulation set : entry) {
-						referenceSet.addAll(set);
+				if (spillDirectory == null) {
+					referenceSet = newArchive();
+					
+					for (Samples samples : data.values()) {
+						for (NondominatedPopulation set : samples.sets) {
+							referenceSet.addAll(set);
+						}
+					}
+				} else {
+					if (spilledReferenceSet == null) {
+						spilledReferenceSet = mergeSpilledSets();
 					}
+					
+					referenceSet = spilledReferenceSet;
 				}
 				
-				return referenceSet;
+				isReferenceSetAggregated = true;
 			} else {
 				throw e;
 			}
 		}
+		
+		return referenceSet;
 	}
 	
 	/**
@@ -713,110 +913,35 @@ public class Analyzer extends ProblemBuilder {
 		try {
 			problem = getProblemInstance();
 			
-			//instantiate the reference set
-			NondominatedPopulation referenceSet = getReferenceSet();
-			
 			//setup the quality indicators
-			List<Indicator> indicators = new ArrayList<Indicator>();
-			
-			if (includeHypervolume) {
-				indicators.add(new Hypervolume(problem, referenceSet));
-			}
-			
-			if (includeGenerationalDistance) {
-				indicators.add(new GenerationalDistance(problem, referenceSet));
-			}
-			
-			if (includeInvertedGenerationalDistance) {
-				indicators.add(new InvertedGenerationalDistance(problem, 
-						referenceSet));
-			}
-			
-			if (includeAdditiveEpsilonIndicator) {
-				indicators.add(new AdditiveEpsilonIndicator(problem, 
-						referenceSet));
-			}
-			
-			if (includeMaximumParetoFrontError) {
-				indicators.add(new MaximumParetoFrontError(problem, 
-						referenceSet));
-			}
-			
-			if (includeSpacing) {
-				indicators.add(new Spacing(problem));
-			}
-			
-			if (includeContribution) {
-				if (epsilon == null) {
-					indicators.add(new Contribution(referenceSet));
-				} else {
-					indicators.add(new Contribution(referenceSet, epsilon));
-				}
-			}
-			
-			if (includeR1) {
-				indicators.add(new R1Indicator(problem,
-						R1Indicator.getDefaultSubdivisions(problem),
-						referenceSet));
-			}
-			
-			if (includeR2) {
-				indicators.add(new R2Indicator(problem,
-						R2Indicator.getDefaultSubdivisions(problem),
-						referenceSet));
-			}
-			
-			if (includeR3) {
-				indicators.add(new R3Indicator(problem,
-						R3Indicator.getDefaultSubdivisions(problem),
-						referenceSet));
-			}
+			List<Indicator> indicators = getIndicators(problem);
 			
 			if (indicators.isEmpty()) {
 				System.err.println("no indicators selected");
 				return new AnalyzerResults();
 			}
 			
-			//generate the aggregate sets
-			Map<String, NondominatedPopulation> aggregateSets =
-					new HashMap<String, NondominatedPopulation>();
-			
-			if (showAggregate) {
-				for (String algorithm : data.keySet()) {
-					NondominatedPopulation aggregateSet = newArchive();
-					
-					for (NondominatedPopulation set : data.get(algorithm)) {
-						aggregateSet.addAll(set);
-					}
-					
-					aggregateSets.put(algorithm, aggregateSet);
-				}
-			}
+			//evaluate any indicator values not previously computed
+			evaluate(problem, indicators);
 			
 			//precompute the individual seed metrics, as they are used both
 			//for descriptive statistics and statistical significance tests
 			AnalyzerResults analyzerResults = new AnalyzerResults();
 			
 			for (String algorithm : data.keySet()) {
+				Samples samples = data.get(algorithm);
 				AlgorithmResult algorithmResult = new AlgorithmResult(
 						algorithm);
 				
 				for (Indicator indicator : indicators) {
 					String indicatorName = indicator.getClass().getSimpleName();
-					List<NondominatedPopulation> sets = data.get(algorithm);
-					double[] values = new double[sets.size()];
-					
-					for (int i=0; i<sets.size(); i++) {
-						values[i] = indicator.evaluate(sets.get(i));
-					}
 					
 					algorithmResult.add(new IndicatorResult(
-							indicatorName, values));
+							indicatorName, samples.getValues(indicatorName)));
 					
 					if (showAggregate) {
 						algorithmResult.get(indicatorName).setAggregateValue(
-								indicator.evaluate(
-										aggregateSets.get(algorithm)));
+								samples.aggregateValues.get(indicatorName));
 					}
 				}
 				
@@ -919,11 +1044,679 @@ public class Analyzer extends ProblemBuilder {
 	 * @return a reference to this analyzer
 	 */
 	public Analyzer clear() {
+		for (Samples samples : data.values()) {
+			samples.delete();
+		}
+		
 		data.clear();
+		spilledReferenceSet = null;
+		resetCache();
 		
 		return this;
 	}
 	
+	/**
+	 * Discards the cached reference set, indicators and memoized indicator
+	 * values.  This is called whenever the reference set may change.
+	 */
+	private void resetCache() {
+		referenceSet = null;
+		isReferenceSetAggregated = false;
+		indicators.clear();
+		
+		for (Samples samples : data.values()) {
+			samples.values.clear();
+			samples.aggregateValues.clear();
+		}
+	}
+	
+	/**
+	 * Discards all cached state derived from the problem, reference set or
+	 * &epsilon; values, including the aggregate approximation sets.  This is
+	 * called whenever the configuration of this analyzer changes.
+	 */
+	private void invalidate() {
+		resetCache();
+		spilledReferenceSet = null;
+		
+		for (Samples samples : data.values()) {
+			samples.aggregateSet = null;
+			samples.aggregateSize = 0;
+		}
+	}
+	
+	/**
+	 * Returns the selected indicators, constructing any indicators not
+	 * already cached.  Each indicator is constructed at most once for a given
+	 * reference set.
+	 * 
+	 * @param problem the problem
+	 * @return the selected indicators
+	 */
+	private List<Indicator> getIndicators(Problem problem) {
+		NondominatedPopulation referenceSet = getCachedReferenceSet();
+		List<Indicator> result = new ArrayList<Indicator>();
+		
+		if (includeHypervolume) {
+			result.add(getIndicator(Hypervolume.class, problem, referenceSet));
+		}
+		
+		if (includeGenerationalDistance) {
+			result.add(getIndicator(GenerationalDistance.class, problem,
+					referenceSet));
+		}
+		
+		if (includeInvertedGenerationalDistance) {
+			result.add(getIndicator(InvertedGenerationalDistance.class, problem,
+					referenceSet));
+		}
+		
+		if (includeAdditiveEpsilonIndicator) {
+			result.add(getIndicator(AdditiveEpsilonIndicator.class, problem,
+					referenceSet));
+		}
+		
+		if (includeMaximumParetoFrontError) {
+			result.add(getIndicator(MaximumParetoFrontError.class, problem,
+					referenceSet));
+		}
+		
+		if (includeSpacing) {
+			result.add(getIndicator(Spacing.class, problem, referenceSet));
+		}
+		
+		if (includeContribution) {
+			result.add(getIndicator(Contribution.class, problem, referenceSet));
+		}
+		
+		if (includeR1) {
+			result.add(getIndicator(R1Indicator.class, problem, referenceSet));
+		}
+		
+		if (includeR2) {
+			result.add(getIndicator(R2Indicator.class, problem, referenceSet));
+		}
+		
+		if (includeR3) {
+			result.add(getIndicator(R3Indicator.class, problem, referenceSet));
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns the cached indicator of the given type, constructing it if
+	 * necessary.
+	 * 
+	 * @param type the indicator type
+	 * @param problem the problem
+	 * @param referenceSet the reference set
+	 * @return the indicator of the given type
+	 */
+	private Indicator getIndicator(Class<? extends Indicator> type,
+			Problem problem, NondominatedPopulation referenceSet) {
+		String name = type.getSimpleName();
+		Indicator indicator = indicators.get(name);
+		
+		if (indicator == null) {
+			if (type == Hypervolume.class) {
+				indicator = new Hypervolume(problem, referenceSet);
+			} else if (type == GenerationalDistance.class) {
+				indicator = new GenerationalDistance(problem, referenceSet);
+			} else if (type == InvertedGenerationalDistance.class) {
+				indicator = new InvertedGenerationalDistance(problem,
+						referenceSet);
+			} else if (type == AdditiveEpsilonIndicator.class) {
+				indicator = new AdditiveEpsilonIndicator(problem, referenceSet);
+			} else if (type == MaximumParetoFrontError.class) {
+				indicator = new MaximumParetoFrontError(problem, referenceSet);
+			} else if (type == Spacing.class) {
+				indicator = new Spacing(problem);
+			} else if (type == Contribution.class) {
+				if (epsilon == null) {
+					indicator = new Contribution(referenceSet);
+				} else {
+					indicator = new Contribution(referenceSet, epsilon);
+				}
+			} else if (type == R1Indicator.class) {
+				indicator = new R1Indicator(problem,
+						R1Indicator.getDefaultSubdivisions(problem),
+						referenceSet);
+			} else if (type == R2Indicator.class) {
+				indicator = new R2Indicator(problem,
+						R2Indicator.getDefaultSubdivisions(problem),
+						referenceSet);
+			} else if (type == R3Indicator.class) {
+				indicator = new R3Indicator(problem,
+						R3Indicator.getDefaultSubdivisions(problem),
+						referenceSet);
+			} else {
+				throw new IllegalArgumentException("unsupported indicator");
+			}
+			
+			indicators.put(name, indicator);
+		}
+		
+		return indicator;
+	}
+	
+	/**
+	 * Returns the non-dominated merge of all approximation sets stored in the
+	 * spill directory, reading each set from disk.
+	 * 
+	 * @return the non-dominated merge of all stored approximation sets
+	 */
+	private NondominatedPopulation mergeSpilledSets() {
+		NondominatedPopulation result = newArchive();
+		Problem problem = null;
+		
+		try {
+			problem = getProblemInstance();
+			
+			for (Samples samples : data.values()) {
+				SampleIterator iterator = samples.iterator(problem, 0);
+				
+				try {
+					while (iterator.hasNext()) {
+						result.addAll(iterator.next());
+					}
+				} finally {
+					iterator.close();
+				}
+			}
+		} finally {
+			if ((problem != null) && (problem != this.problemInstance)) {
+				problem.close();
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Evaluates each indicator on each approximation set and, if enabled, on
+	 * the aggregate approximation sets, skipping any values that were
+	 * previously memoized.  Stored approximation sets are read in batches, so
+	 * at most one batch is held in memory at a time.  If this analyzer is
+	 * configured to use multiple threads, the evaluations are distributed
+	 * across a thread pool.
+	 * 
+	 * @param problem the problem
+	 * @param indicators the indicators
+	 */
+	private void evaluate(Problem problem, List<Indicator> indicators) {
+		ExecutorService executor = null;
+		int batchSize = spillDirectory == null ? Integer.MAX_VALUE :
+			Math.max(numberOfThreads, 1);
+		
+		try {
+			if (numberOfThreads > 1) {
+				executor = Executors.newFixedThreadPool(numberOfThreads);
+			}
+			
+			for (Samples samples : data.values()) {
+				int start = samples.size;
+				
+				for (Indicator indicator : indicators) {
+					start = Math.min(start, samples.getNumberOfValues(
+							indicator.getClass().getSimpleName()));
+				}
+				
+				SampleIterator iterator = samples.iterator(problem, start);
+				
+				try {
+					int index = start;
+					
+					while (iterator.hasNext()) {
+						List<NondominatedPopulation> batch =
+								new ArrayList<NondominatedPopulation>();
+						
+						while (iterator.hasNext() && (batch.size() < batchSize)) {
+							batch.add(iterator.next());
+						}
+						
+						evaluate(executor, samples, indicators, batch, index,
+								false);
+						index += batch.size();
+					}
+				} finally {
+					iterator.close();
+				}
+				
+				if (showAggregate) {
+					List<NondominatedPopulation> batch =
+							new ArrayList<NondominatedPopulation>();
+					batch.add(samples.getAggregateSet(problem));
+					
+					evaluate(executor, samples, indicators, batch,
+							samples.size, true);
+				}
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+		}
+	}
+	
+	/**
+	 * Evaluates the indicators on a batch of approximation sets and memoizes
+	 * the results.  Indicators whose values for a set are already memoized
+	 * are skipped.
+	 * 
+	 * @param executor the executor service, or {@code null} if the
+	 *        evaluations are performed in the calling thread
+	 * @param samples the samples being evaluated
+	 * @param indicators the indicators
+	 * @param batch the batch of approximation sets
+	 * @param start the index of the first set in the batch
+	 * @param isAggregate {@code true} if the batch contains the aggregate
+	 *        approximation set; {@code false} if it contains individual seeds
+	 */
+	private void evaluate(ExecutorService executor, Samples samples,
+			List<Indicator> indicators, List<NondominatedPopulation> batch,
+			int start, boolean isAggregate) {
+		List<Indicator> pendingIndicators = new ArrayList<Indicator>();
+		List<NondominatedPopulation> pendingSets =
+				new ArrayList<NondominatedPopulation>();
+		
+		for (Indicator indicator : indicators) {
+			String indicatorName = indicator.getClass().getSimpleName();
+			
+			for (int i = 0; i < batch.size(); i++) {
+				if (isAggregate ?
+						!samples.aggregateValues.containsKey(indicatorName) :
+						(start + i >= samples.getNumberOfValues(indicatorName))) {
+					pendingIndicators.add(indicator);
+					pendingSets.add(batch.get(i));
+				}
+			}
+		}
+		
+		double[] results = new double[pendingSets.size()];
+		
+		if ((executor == null) || (pendingSets.size() <= 1)) {
+			for (int i = 0; i < pendingSets.size(); i++) {
+				results[i] = pendingIndicators.get(i).evaluate(
+						pendingSets.get(i));
+			}
+		} else {
+			try {
+				List<Future<Double>> futures = new ArrayList<Future<Double>>();
+				
+				for (int i = 0; i < pendingSets.size(); i++) {
+					final Indicator indicator = pendingIndicators.get(i);
+					final NondominatedPopulation set = pendingSets.get(i);
+					
+					futures.add(executor.submit(new Callable<Double>() {
+
+						@Override
+						public Double call() {
+							return indicator.evaluate(set);
+						}
+						
+					}));
+				}
+				
+				for (int i = 0; i < pendingSets.size(); i++) {
+					results[i] = futures.get(i).get();
+				}
+			} catch (InterruptedException e) {
+				throw new FrameworkException(e);
+			} catch (ExecutionException e) {
+				throw new FrameworkException(e.getCause());
+			}
+		}
+		
+		//pending cells are ordered by indicator, then by set, so the values
+		//for each indicator are appended in order
+		for (int i = 0; i < pendingSets.size(); i++) {
+			String indicatorName =
+					pendingIndicators.get(i).getClass().getSimpleName();
+			
+			if (isAggregate) {
+				samples.aggregateValues.put(indicatorName, results[i]);
+			} else {
+				samples.addValue(indicatorName, results[i]);
+			}
+		}
+	}
+	
+	/**
+	 * The approximation sets added under a single name, along with the
+	 * memoized indicator values.  Since approximation sets are only ever
+	 * appended, the memoized values of each indicator cover a prefix of the
+	 * sets.
+	 */
+	private class Samples {
+		
+		/**
+		 * The approximation sets, or {@code null} if the sets are stored in
+		 * {@link #file}.
+		 */
+		private final List<NondominatedPopulation> sets;
+		
+		/**
+		 * The file storing the approximation sets, or {@code null} if the sets
+		 * are kept in memory.
+		 */
+		private final File file;
+		
+		/**
+		 * The writer appending approximation sets to {@link #file}.
+		 */
+		private ResultFileWriter writer;
+		
+		/**
+		 * The number of approximation sets.
+		 */
+		private int size;
+		
+		/**
+		 * The aggregate approximation set, or {@code null} if it must be
+		 * recomputed.
+		 */
+		private NondominatedPopulation aggregateSet;
+		
+		/**
+		 * The number of approximation sets merged into the aggregate set.
+		 */
+		private int aggregateSize;
+		
+		/**
+		 * The memoized indicator values for each approximation set, keyed by
+		 * the indicator name.
+		 */
+		private final Map<String, List<Double>> values;
+		
+		/**
+		 * The memoized indicator values for the aggregate approximation set,
+		 * keyed by the indicator name.
+		 */
+		private final Map<String, Double> aggregateValues;
+		
+		/**
+		 * Constructs a new collection of approximation sets kept in memory.
+		 */
+		public Samples() {
+			super();
+			
+			sets = new ArrayList<NondominatedPopulation>();
+			file = null;
+			values = new HashMap<String, List<Double>>();
+			aggregateValues = new HashMap<String, Double>();
+		}
+		
+		/**
+		 * Constructs a new collection of approximation sets stored in a
+		 * result file in the given directory.
+		 * 
+		 * @param directory the directory where the result file is created
+		 */
+		public Samples(File directory) {
+			super();
+			
+			Problem problem = null;
+			
+			try {
+				FileUtils.mkdir(directory);
+				file = File.createTempFile("analyzer", ".dat", directory);
+				file.deleteOnExit();
+				FileUtils.delete(file);
+				
+				problem = getProblemInstance();
+				writer = new ResultFileWriter(problem, file, true,
+						ResultFileFormat.TEXT, false);
+			} catch (IOException e) {
+				throw new FrameworkException(e);
+			} finally {
+				if ((problem != null) && (problem != problemInstance)) {
+					problem.close();
+				}
+			}
+			
+			sets = null;
+			values = new HashMap<String, List<Double>>();
+			aggregateValues = new HashMap<String, Double>();
+		}
+		
+		/**
+		 * Adds an approximation set.
+		 * 
+		 * @param set the approximation set
+		 */
+		public void add(NondominatedPopulation set) {
+			if (sets == null) {
+				try {
+					writer.append(new ResultEntry(set));
+				} catch (IOException e) {
+					throw new FrameworkException(e);
+				}
+			} else {
+				sets.add(set);
+			}
+			
+			size++;
+			aggregateValues.clear();
+		}
+		
+		/**
+		 * Returns an iterator over the approximation sets starting at the given
+		 * index.  The iterator must be closed after use.
+		 * 
+		 * @param problem the problem
+		 * @param start the index of the first approximation set
+		 * @return an iterator over the approximation sets
+		 */
+		public SampleIterator iterator(Problem problem, int start) {
+			if (sets == null) {
+				try {
+					return new SampleIterator(new ResultFileReader(problem,
+							file), start, size);
+				} catch (IOException e) {
+					throw new FrameworkException(e);
+				}
+			} else {
+				return new SampleIterator(sets.subList(start, size).iterator());
+			}
+		}
+		
+		/**
+		 * Returns the aggregate approximation set, produced by merging all
+		 * individual seeds.  Only the seeds added since the aggregate set was
+		 * last computed are merged.
+		 * 
+		 * @param problem the problem
+		 * @return the aggregate approximation set
+		 */
+		public NondominatedPopulation getAggregateSet(Problem problem) {
+			if (aggregateSet == null) {
+				aggregateSet = newArchive();
+				aggregateSize = 0;
+			}
+			
+			if (aggregateSize < size) {
+				SampleIterator iterator = iterator(problem, aggregateSize);
+				
+				try {
+					while (iterator.hasNext()) {
+						aggregateSet.addAll(iterator.next());
+					}
+				} finally {
+					iterator.close();
+				}
+				
+				aggregateSize = size;
+			}
+			
+			return aggregateSet;
+		}
+		
+		/**
+		 * Returns the number of memoized values for the given indicator.
+		 * 
+		 * @param indicatorName the indicator name
+		 * @return the number of memoized values for the given indicator
+		 */
+		public int getNumberOfValues(String indicatorName) {
+			List<Double> list = values.get(indicatorName);
+			return list == null ? 0 : list.size();
+		}
+		
+		/**
+		 * Appends a memoized value for the given indicator.
+		 * 
+		 * @param indicatorName the indicator name
+		 * @param value the indicator value
+		 */
+		public void addValue(String indicatorName, double value) {
+			List<Double> list = values.get(indicatorName);
+			
+			if (list == null) {
+				list = new ArrayList<Double>();
+				values.put(indicatorName, list);
+			}
+			
+			list.add(value);
+		}
+		
+		/**
+		 * Returns the memoized values for the given indicator.
+		 * 
+		 * @param indicatorName the indicator name
+		 * @return the memoized values for the given indicator
+		 */
+		public double[] getValues(String indicatorName) {
+			List<Double> list = values.get(indicatorName);
+			double[] result = new double[list.size()];
+			
+			for (int i = 0; i < result.length; i++) {
+				result[i] = list.get(i);
+			}
+			
+			return result;
+		}
+		
+		/**
+		 * Closes and deletes the result file storing the approximation sets,
+		 * if any.
+		 */
+		public void delete() {
+			if (writer != null) {
+				writer.close();
+				writer = null;
+			}
+			
+			if (file != null) {
+				try {
+					ResultFileWriter.delete(file);
+				} catch (IOException e) {
+					throw new FrameworkException(e);
+				}
+			}
+		}
+		
+	}
+	
+	/**
+	 * Iterates over the approximation sets stored either in memory or in a
+	 * result file.
+	 */
+	private static class SampleIterator implements
+	Iterator<NondominatedPopulation>, Closeable {
+		
+		/**
+		 * The iterator over the sets stored in memory, or {@code null} if the
+		 * sets are read from a result file.
+		 */
+		private final Iterator<NondominatedPopulation> iterator;
+		
+		/**
+		 * The reader for the result file, or {@code null} if the sets are
+		 * stored in memory.
+		 */
+		private final ResultFileReader reader;
+		
+		/**
+		 * The number of sets remaining to be read from the result file.
+		 */
+		private int remaining;
+		
+		/**
+		 * Constructs an iterator over approximation sets stored in memory.
+		 * 
+		 * @param iterator the iterator over the sets
+		 */
+		public SampleIterator(Iterator<NondominatedPopulation> iterator) {
+			super();
+			this.iterator = iterator;
+			this.reader = null;
+		}
+		
+		/**
+		 * Constructs an iterator over approximation sets stored in a result
+		 * file, skipping the sets before {@code start}.
+		 * 
+		 * @param reader the reader for the result file
+		 * @param start the index of the first set to return
+		 * @param end the number of sets in the file
+		 * @throws IOException if an I/O error occurred while positioning the
+		 *         reader
+		 */
+		public SampleIterator(ResultFileReader reader, int start, int end)
+				throws IOException {
+			super();
+			this.iterator = null;
+			this.reader = reader;
+			this.remaining = end - start;
+			
+			try {
+				reader.seek(start);
+			} catch (IOException e) {
+				reader.close();
+				throw e;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			if (reader == null) {
+				return iterator.hasNext();
+			} else {
+				return (remaining > 0) && reader.hasNext();
+			}
+		}
+
+		@Override
+		public NondominatedPopulation next() {
+			if (reader == null) {
+				return iterator.next();
+			} else if (remaining <= 0) {
+				throw new NoSuchElementException();
+			} else {
+				remaining--;
+				return reader.next().getPopulation();
+			}
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public void close() {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					throw new FrameworkException(e);
+				}
+			}
+		}
+		
+	}
+	
 	/**
 	 * Stores the results produced by this analyzer.
 	 */
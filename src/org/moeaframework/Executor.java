@@ -28,6 +28,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.moeaframework.algorithm.Checkpoints;
 import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.AsynchronousAlgorithm;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.TerminationCondition;
@@ -37,6 +39,7 @@ import org.moeaframework.core.termination.CompoundTerminationCondition;
 import org.moeaframework.core.termination.MaxElapsedTime;
 import org.moeaframework.core.termination.MaxFunctionEvaluations;
 import org.moeaframework.util.TypedProperties;
+import org.moeaframework.util.distributed.AsynchronousScheduler;
 import org.moeaframework.util.distributed.DistributedProblem;
 import org.moeaframework.util.io.FileUtils;
 import org.moeaframework.util.progress.ProgressHelper;
@@ -113,6 +116,12 @@ public class Executor extends ProblemBuilder {
 	 */
 	private ExecutorService executorService;
 	
+	/**
+	 * {@code true} if solutions are evaluated asynchronously using an
+	 * {@link AsynchronousScheduler}; {@code false} otherwise.
+	 */
+	private boolean asynchronous;
+	
 	/**
 	 * The checkpoint file for storing the algorithm state; or {@code null} if
 	 * checkpoints are not used.
@@ -317,6 +326,26 @@ public class Executor extends ProblemBuilder {
 		return distributeOn(Runtime.getRuntime().availableProcessors());
 	}
 	
+	/**
+	 * Enables this executor to evaluate solutions asynchronously when
+	 * distributing solution evaluations.  Rather than evaluating each
+	 * generation in parallel, evaluations are kept in flight on every worker
+	 * and each evaluated solution is returned to the algorithm as soon as it
+	 * completes.  The number of evaluations in flight is the number of
+	 * threads specified by {@link #distributeOn(int)} or, when using
+	 * {@link #distributeWith(ExecutorService)}, the number of available
+	 * processors.  The algorithm must implement
+	 * {@link AsynchronousAlgorithm}.
+	 * 
+	 * @return a reference to this executor
+	 * @see AsynchronousScheduler
+	 */
+	public Executor distributeAsynchronously() {
+		this.asynchronous = true;
+		
+		return this;
+	}
+	
 	/**
 	 * Sets the checkpoint file where the algorithm state is stored.  This
 	 * method must be invoked in order to enable checkpoints.
@@ -753,16 +782,19 @@ public class Executor extends ProblemBuilder {
 		Problem problem = null;
 		Algorithm algorithm = null;
 		ExecutorService executor = null;
+		ExecutorService distributor = executorService;
 		
 		try {
 			problem = getProblemInstance();
 			
 			try {
-				if (executorService != null) {
-					problem = new DistributedProblem(problem, executorService);
-				} else if (numberOfThreads > 1) {
+				if ((distributor == null) && (numberOfThreads > 1)) {
 					executor = Executors.newFixedThreadPool(numberOfThreads);
-					problem = new DistributedProblem(problem, executor);
+					distributor = executor;
+				}
+				
+				if ((distributor != null) && !asynchronous) {
+					problem = new DistributedProblem(problem, distributor);
 				}
 				
 				NondominatedPopulation result = newArchive();
@@ -779,6 +811,19 @@ public class Executor extends ProblemBuilder {
 								properties.getProperties(), 
 								problem);
 					}
+					
+					if ((distributor != null) && asynchronous) {
+						if (!(algorithm instanceof AsynchronousAlgorithm)) {
+							throw new FrameworkException(algorithmName +
+									" does not support asynchronous evaluation");
+						}
+						
+						algorithm = new AsynchronousScheduler(
+								(AsynchronousAlgorithm)algorithm,
+								distributor,
+								numberOfThreads > 0 ? numberOfThreads :
+									Runtime.getRuntime().availableProcessors());
+					}
 
 					if (checkpointFile != null) {
 						algorithm = new Checkpoints(
@@ -18,12 +18,15 @@
 package org.moeaframework;
 
 import java.io.File;
-import java.lang.reflect.Array;
 import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
-import java.util.HashSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.Stack;
 
@@ -41,6 +44,8 @@ import org.moeaframework.core.Algorithm;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variable;
 import org.moeaframework.core.indicator.AdditiveEpsilonIndicator;
 import org.moeaframework.core.indicator.Contribution;
 import org.moeaframework.core.indicator.GenerationalDistance;
@@ -78,7 +83,7 @@ import org.moeaframework.core.spi.ProblemFactory;
  * </pre>
  */
 public class Instrumenter extends ProblemBuilder {
-
+	
 	/**
 	 * {@code true} if the hypervolume collector is included; {@code false}
 	 * otherwise.
@@ -166,6 +171,18 @@ public class Instrumenter extends ProblemBuilder {
 	 */
 	private boolean includePopulationSize;
 
+	/**
+	 * {@code true} if approximation sets are packed into objective blocks by
+	 * the accumulator; {@code false} if the solutions are stored as-is.
+	 */
+	private boolean packApproximationSets;
+	
+	/**
+	 * The directory where packed approximation sets are spilled; or
+	 * {@code null} if approximation sets are kept in memory.
+	 */
+	private File spillDirectory;
+
 	/**
 	 * The frequency, in evaluations, that data is collected.
 	 */
@@ -178,6 +195,36 @@ public class Instrumenter extends ProblemBuilder {
 	 */
 	private final List<Collector> customCollectors;
 	
+	/**
+	 * The types that are neither instrumented nor traversed when walking the
+	 * object graph.
+	 */
+	private final List<Class<?>> excludedTypes;
+	
+	/**
+	 * The package names or package name prefixes that are neither instrumented
+	 * nor traversed when walking the object graph.
+	 */
+	private final List<String> excludedPackages;
+	
+	/**
+	 * The registered component types; if non-empty, only objects of these
+	 * types are instrumented and traversed when walking the object graph.
+	 */
+	private final List<Class<?>> componentTypes;
+	
+	/**
+	 * Caches the result of {@link #isExcluded(Class)}.
+	 */
+	private final Map<Class<?>, Boolean> exclusionCache;
+	
+	/**
+	 * Caches the result of {@link #getFieldPlan(Class)}.  The cache belongs
+	 * to this instrumenter rather than being shared statically, so it does
+	 * not keep the walked classes, or their class loaders, reachable.
+	 */
+	private final Map<Class<?>, Field[]> fieldPlanCache;
+	
 	/**
 	 * The accumulator from the last instrumented algorithm.
 	 */
@@ -191,6 +238,16 @@ public class Instrumenter extends ProblemBuilder {
 		
 		frequency = 100;
 		customCollectors = new ArrayList<Collector>();
+		excludedTypes = new ArrayList<Class<?>>();
+		excludedPackages = new ArrayList<String>();
+		componentTypes = new ArrayList<Class<?>>();
+		exclusionCache = new HashMap<Class<?>, Boolean>();
+		fieldPlanCache = new HashMap<Class<?>, Field[]>();
+		
+		excludedTypes.add(Solution.class);
+		excludedTypes.add(Variable.class);
+		excludedTypes.add(Class.class);
+		excludedTypes.add(ClassLoader.class);
 	}
 	
 	/**
@@ -246,6 +303,112 @@ public class Instrumenter extends ProblemBuilder {
 		return new ArrayList<String>();
 	}
 	
+	/**
+	 * Excludes objects of the given type, including subclasses, from being
+	 * instrumented or traversed.  Excluding types which contain large numbers
+	 * of objects but no instrumentable components speeds up instrumentation.
+	 * By default, {@link Solution}, {@link Variable}, {@link Class} and
+	 * {@link ClassLoader} are excluded.
+	 * 
+	 * @param type the type to exclude
+	 * @return a reference to this instrumenter
+	 */
+	public Instrumenter addExcludedType(Class<?> type) {
+		excludedTypes.add(type);
+		exclusionCache.clear();
+		
+		return this;
+	}
+	
+	/**
+	 * Removes one of the types excluded from instrumentation.
+	 * 
+	 * @param type the type to remove
+	 * @return a reference to this instrumenter
+	 */
+	public Instrumenter removeExcludedType(Class<?> type) {
+		excludedTypes.remove(type);
+		exclusionCache.clear();
+		
+		return this;
+	}
+	
+	/**
+	 * Returns the types excluded from instrumentation.
+	 * 
+	 * @return the types excluded from instrumentation
+	 */
+	public List<Class<?>> getExcludedTypes() {
+		return new ArrayList<Class<?>>(excludedTypes);
+	}
+	
+	/**
+	 * Excludes objects whose class resides in the given package from being
+	 * instrumented or traversed.  By default, no packages are excluded.
+	 * 
+	 * @param packageName a package name or the package name prefix
+	 * @return a reference to this instrumenter
+	 */
+	public Instrumenter addExcludedPackage(String packageName) {
+		excludedPackages.add(packageName);
+		exclusionCache.clear();
+		
+		return this;
+	}
+	
+	/**
+	 * Removes one of the packages excluded from instrumentation.  Note that
+	 * the given string must match the string passed to
+	 * {@link #addExcludedPackage(String)}.
+	 * 
+	 * @param packageName the package name or package name prefix to remove
+	 * @return a reference to this instrumenter
+	 */
+	public Instrumenter removeExcludedPackage(String packageName) {
+		excludedPackages.remove(packageName);
+		exclusionCache.clear();
+		
+		return this;
+	}
+	
+	/**
+	 * Returns the packages excluded from instrumentation.
+	 * 
+	 * @return the packages excluded from instrumentation
+	 */
+	public List<String> getExcludedPackages() {
+		return new ArrayList<String>(excludedPackages);
+	}
+	
+	/**
+	 * Registers a component type.  Once any component type is registered, the
+	 * instrumenter only instruments and traverses the algorithm itself and
+	 * objects of the registered types (including subclasses), rather than
+	 * walking the entire object graph.  This makes instrumentation cost
+	 * proportional to the number of components rather than the size of the
+	 * heap, which is useful when instrumenting many runs.  The registered
+	 * types must include the types to which the collectors attach as well as
+	 * any types that contain them.  For example, the built-in collectors only
+	 * require {@link Algorithm} and {@link org.moeaframework.core.Variation}.
+	 * 
+	 * @param type the component type
+	 * @return a reference to this instrumenter
+	 */
+	public Instrumenter addComponentType(Class<?> type) {
+		componentTypes.add(type);
+		
+		return this;
+	}
+	
+	/**
+	 * Returns the registered component types.
+	 * 
+	 * @return the registered component types
+	 */
+	public List<Class<?>> getComponentTypes() {
+		return new ArrayList<Class<?>>(componentTypes);
+	}
+	
 	/**
 	 * Sets the frequency, in evaluations, that data is collected.  
 	 * 
@@ -258,6 +421,38 @@ public class Instrumenter extends ProblemBuilder {
 		return this;
 	}
 	
+	/**
+	 * Stores approximation sets as packed blocks of objective and constraint
+	 * values rather than as full solutions.  This significantly reduces the
+	 * memory used by the approximation set collector, but the stored solutions
+	 * will no longer contain decision variables or attributes.
+	 * 
+	 * @return a reference to this instrumenter
+	 */
+	public Instrumenter withPackedApproximationSets() {
+		packApproximationSets = true;
+		
+		return this;
+	}
+	
+	/**
+	 * Stores approximation sets as packed blocks that are spilled to a
+	 * temporary file in the given directory, keeping the memory used by the
+	 * accumulator bounded on long runs.  This implies
+	 * {@link #withPackedApproximationSets()}.  Call
+	 * {@link Accumulator#dispose()} to delete the temporary files once the
+	 * accumulator is no longer needed.
+	 * 
+	 * @param directory the directory where temporary files are created
+	 * @return a reference to this instrumenter
+	 */
+	public Instrumenter withSpillDirectory(File directory) {
+		packApproximationSets = true;
+		spillDirectory = directory;
+		
+		return this;
+	}
+	
 	/**
 	 * Includes the specified collector when instrumenting algorithms.
 	 * 
@@ -528,6 +723,109 @@ public class Instrumenter extends ProblemBuilder {
 		return super.getReferenceSet();
 	}
 
+	/**
+	 * Returns the fields declared by the given class that are visited when
+	 * walking the object graph.  Static fields, fields of primitive type, and
+	 * fields that can not be made accessible are omitted.  The result is
+	 * cached by this instrumenter.
+	 * 
+	 * @param type the class
+	 * @return the fields declared by the given class that are visited when
+	 *         walking the object graph
+	 */
+	private Field[] getFieldPlan(Class<?> type) {
+		Field[] plan = fieldPlanCache.get(type);
+		
+		if (plan == null) {
+			List<Field> fields = new ArrayList<Field>();
+			
+			for (Field field : type.getDeclaredFields()) {
+				if (Modifier.isStatic(field.getModifiers()) ||
+						field.getType().isPrimitive()) {
+					continue;
+				}
+				
+				try {
+					field.setAccessible(true);
+					fields.add(field);
+				} catch (RuntimeException e) {
+					// the field is not accessible, such as when the security
+					// manager or module system prevents reflective access
+				}
+			}
+			
+			plan = fields.toArray(new Field[fields.size()]);
+			fieldPlanCache.put(type, plan);
+		}
+		
+		return plan;
+	}
+	
+	/**
+	 * Returns {@code true} if objects of the given type are skipped when
+	 * walking the object graph; {@code false} otherwise.  Objects are skipped
+	 * if they are primitive arrays, are instances of an excluded type, or
+	 * belong to an excluded package.  The result is cached until the
+	 * exclusions are modified.
+	 * 
+	 * @param type the type of the object
+	 * @return {@code true} if objects of the given type are skipped when
+	 *         walking the object graph; {@code false} otherwise
+	 */
+	private boolean isExcluded(Class<?> type) {
+		Boolean result = exclusionCache.get(type);
+		
+		if (result == null) {
+			result = false;
+			
+			if (type.isArray() && type.getComponentType().isPrimitive()) {
+				result = true;
+			}
+			
+			for (Class<?> excludedType : excludedTypes) {
+				if (excludedType.isAssignableFrom(type)) {
+					result = true;
+				}
+			}
+			
+			if (type.getPackage() != null) {
+				String packageName = type.getPackage().getName();
+				
+				for (String excludedPackage : excludedPackages) {
+					if (packageName.startsWith(excludedPackage)) {
+						result = true;
+					}
+				}
+			}
+			
+			exclusionCache.put(type, result);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Returns {@code true} if the object is a registered component type, or
+	 * if no component types are registered; {@code false} otherwise.
+	 * 
+	 * @param object the object
+	 * @return {@code true} if the object is a registered component type, or
+	 *         if no component types are registered; {@code false} otherwise
+	 */
+	private boolean isComponent(Object object) {
+		if (componentTypes.isEmpty()) {
+			return true;
+		}
+		
+		for (Class<?> componentType : componentTypes) {
+			if (componentType.isInstance(object)) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+
 	/**
 	 * Recursively walks the object graph to 1) determine the nesting of objects
 	 * to help determine which objects are to be instrumented; and 2) attach the
@@ -545,6 +843,14 @@ public class Instrumenter extends ProblemBuilder {
 	 * the nesting will show {@code CompoundVariation >> PM} instead of
 	 * {@code CompoundVariation >> ArrayList >> Object[] >> PM}.
 	 * <p>
+	 * Objects with an excluded type (see {@link #addExcludedType(Class)} and
+	 * {@link #addExcludedPackage(String)}) are neither instrumented nor
+	 * traversed.  If any component types are registered (see
+	 * {@link #addComponentType(Class)}), only the algorithm itself and objects
+	 * of the registered types are instrumented and traversed, although arrays
+	 * and collections are still searched for such objects.  Static fields and
+	 * fields of primitive type are never traversed.
+	 * <p>
 	 * This method is reentrant.
 	 * 
 	 * @param algorithm the instrumented algorithm
@@ -580,24 +886,30 @@ public class Instrumenter extends ProblemBuilder {
 		} else if (object instanceof Instrumenter) {
 			//well this is embarrassing
 			return;
+		} else if (isExcluded(object.getClass())) {
+			//ignore objects which are explicitly excluded
+			return;
 		} else if (type.isArray()) {
 			//recursively walk the elements in the array
-			for (int i=0; i<Array.getLength(object); i++) {
-				instrument(algorithm, collectors, visited, parents, 
-						Array.get(object, i), null);
+			for (Object element : (Object[])object) {
+				instrument(algorithm, collectors, visited, parents, element,
+						null);
 			}
+			
+			return;
 		} else if (object instanceof Collection) {
-			//recursively walk the elements in the array
+			//recursively walk the elements in the collection
 			for (Object element : (Collection<?>)object) {
 				instrument(algorithm, collectors, visited, parents, element, 
 						null);
 			}
-		} else if (type.getPackage() != null) {
-			// Previous versions support the idea of "allowed packages" that
-			// could be scanned by the instrumenter.  We now handle any
-			// exceptions that sometimes occur when walking the object graph,
-			// so we can now scan all packages.  It may be useful in the future
-			// to add "excluded packages" for performance.
+			
+			if (!componentTypes.isEmpty()) {
+				return;
+			}
+		} else if (!parents.isEmpty() && !isComponent(object)) {
+			//ignore objects which are not registered components
+			return;
 		}
 		
 		if (!visited.contains(object)) {
@@ -622,9 +934,7 @@ public class Instrumenter extends ProblemBuilder {
 		//recursively walk fields
 		parents.push(object);
 		
-		for (Field field : type.getDeclaredFields()) {
-			field.setAccessible(true);
-			
+		for (Field field : getFieldPlan(type)) {
 			try {
 				instrument(algorithm, collectors, visited, parents, 
 						field.get(object), null);
@@ -756,9 +1066,11 @@ public class Instrumenter extends ProblemBuilder {
 		collectors.addAll(customCollectors);
 		
 		InstrumentedAlgorithm instrumentedAlgorithm = new InstrumentedAlgorithm(
-				algorithm, frequency);
+				algorithm, frequency, new Accumulator(packApproximationSets,
+						spillDirectory));
 		
-		instrument(instrumentedAlgorithm, collectors, new HashSet<Object>(), 
+		instrument(instrumentedAlgorithm, collectors, 
+				Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>()),
 				new Stack<Object>(), algorithm, null);
 		
 		lastAccumulator = instrumentedAlgorithm.getAccumulator();
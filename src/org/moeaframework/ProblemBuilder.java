@@ -25,8 +25,8 @@ import org.apache.commons.lang3.reflect.ConstructorUtils;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
-import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.ReferenceSetCache;
 import org.moeaframework.core.comparator.ParetoDominanceComparator;
 import org.moeaframework.core.spi.ProblemFactory;
 
@@ -255,38 +255,41 @@ class ProblemBuilder {
 	 *         could not be loaded
 	 */
 	NondominatedPopulation getReferenceSet() {
-		NondominatedPopulation referenceSet = newArchive();
+		NondominatedPopulation loadedSet = null;
 		
 		if (referenceSetFile == null) {
 			//determine if the problem factory provides a reference set
-			NondominatedPopulation factorySet = null;
-			
 			if (problemName != null) {
 				if (problemFactory == null) {
-					factorySet = ProblemFactory.getInstance().getReferenceSet(
+					loadedSet = ProblemFactory.getInstance().getReferenceSet(
 							problemName);
 				} else {
-					factorySet = problemFactory.getReferenceSet(problemName);
+					loadedSet = problemFactory.getReferenceSet(problemName);
 				}
 			}
 			
-			if (factorySet == null) {
+			if (loadedSet == null) {
 				throw new IllegalArgumentException(
 						"no reference set available");
-			} else {
-				referenceSet.addAll(factorySet);
 			}
 		} else {
 			try {
-				referenceSet.addAll(PopulationIO.readObjectives(
-						referenceSetFile));
+				loadedSet = ReferenceSetCache.load(referenceSetFile);
 			} catch (IOException e) {
 				throw new IllegalArgumentException(
 						"unable to load reference set", e);
 			}
 		}
 		
-		return referenceSet;
+		//the loaded set is already Pareto non-dominated, so it only needs to
+		//be copied into a new archive when using epsilon-dominance
+		if (epsilon == null) {
+			return loadedSet;
+		} else {
+			NondominatedPopulation referenceSet = newArchive();
+			referenceSet.addAll(loadedSet);
+			return referenceSet;
+		}
 	}
 	
 	/**
@@ -20,8 +20,14 @@ package org.moeaframework.algorithm;
 import java.io.NotSerializableException;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Set;
 
+import org.moeaframework.core.AsynchronousAlgorithm;
 import org.moeaframework.core.EvolutionaryAlgorithm;
 import org.moeaframework.core.Initialization;
 import org.moeaframework.core.NondominatedPopulation;
@@ -56,6 +62,19 @@ public abstract class AbstractEvolutionaryAlgorithm extends AbstractAlgorithm
 	 */
 	protected final Initialization initialization;
 
+	/**
+	 * The initial solutions not yet returned by
+	 * {@link #nextInitialSolution()}; or {@code null} if the initial
+	 * population is not being evaluated asynchronously.
+	 */
+	private LinkedList<Solution> pendingInitialSolutions;
+
+	/**
+	 * The initial solutions returned by {@link #nextInitialSolution()} that
+	 * have not yet been passed to {@link #addInitialSolution(Solution)}.
+	 */
+	private Set<Solution> outstandingInitialSolutions;
+
 	/**
 	 * Constructs an abstract evolutionary algorithm.
 	 * 
@@ -104,6 +123,60 @@ public abstract class AbstractEvolutionaryAlgorithm extends AbstractAlgorithm
 		}
 	}
 
+	/**
+	 * Returns the next initial solution to be evaluated asynchronously,
+	 * initializing this algorithm on the first call.  Unlike
+	 * {@link #initialize()}, the initial solutions are not evaluated here;
+	 * once evaluated, they should be passed to
+	 * {@link #addInitialSolution(Solution)}.  This method is intended for
+	 * algorithms implementing {@link AsynchronousAlgorithm}.
+	 * 
+	 * @return the next initial solution to be evaluated, or {@code null} if
+	 *         all initial solutions have been returned
+	 */
+	protected Solution nextInitialSolution() {
+		if (!isInitialized()) {
+			super.initialize();
+
+			pendingInitialSolutions = new LinkedList<Solution>(
+					Arrays.asList(initialization.initialize()));
+			outstandingInitialSolutions = Collections.newSetFromMap(
+					new IdentityHashMap<Solution, Boolean>());
+		}
+
+		if ((pendingInitialSolutions == null) ||
+				pendingInitialSolutions.isEmpty()) {
+			return null;
+		}
+
+		Solution solution = pendingInitialSolutions.removeFirst();
+		outstandingInitialSolutions.add(solution);
+		return solution;
+	}
+
+	/**
+	 * Adds the evaluated solution to the population and archive if it is one
+	 * of the initial solutions returned by {@link #nextInitialSolution()}.
+	 * 
+	 * @param solution the evaluated solution
+	 * @return {@code true} if the solution is an initial solution and was
+	 *         added to the population; {@code false} otherwise
+	 */
+	protected boolean addInitialSolution(Solution solution) {
+		if ((outstandingInitialSolutions == null) ||
+				!outstandingInitialSolutions.remove(solution)) {
+			return false;
+		}
+
+		population.add(solution);
+
+		if (archive != null) {
+			archive.add(solution);
+		}
+
+		return true;
+	}
+
 	@Override
 	public NondominatedPopulation getArchive() {
 		return archive;
@@ -0,0 +1,670 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.apache.commons.math3.stat.StatUtils;
+import org.moeaframework.core.FastNondominatedSorting;
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.AggregateConstraintComparator;
+import org.moeaframework.core.comparator.ChainedComparator;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.FitnessComparator;
+import org.moeaframework.core.comparator.NondominatedSortingComparator;
+import org.moeaframework.core.comparator.ObjectiveComparator;
+import org.moeaframework.core.comparator.RankComparator;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Abstract class for CMA-ES variants that avoid storing the full covariance
+ * matrix, making them applicable to problems with thousands of decision
+ * variables.  Subclasses define how the covariance matrix is represented by
+ * implementing {@link #transform(double[], double[])}, which maps a standard
+ * normally distributed vector {@code z} onto a mutation step {@code y = A*z}
+ * where {@code A*A^T} is the covariance matrix, and
+ * {@link #updateDistribution(double[], double[][], boolean)}, which adapts
+ * the representation after each iteration.
+ * <p>
+ * This class implements the remaining parts of the algorithm, which are
+ * shared with {@link CMAES}: weighted recombination of the {@code mu} best
+ * offspring, cumulative step size adaptation, and the extension for multiple
+ * objectives.  As in {@code CMAES}, offspring of multiobjective problems are
+ * ranked by nondominated sorting, with ties broken by crowding distance or
+ * by the given {@link FitnessEvaluator}.
+ * <p>
+ * Unlike {@code CMAES}, offspring violating the variable bounds are not
+ * resampled, since the probability of sampling a feasible offspring
+ * decreases exponentially with the number of variables near a bound.
+ * Instead, infeasible offspring are projected onto the bounds, and the
+ * projected mutation step is used when updating the mean and covariance
+ * matrix.
+ * <p>
+ * Since step size adaptation uses the standard normally distributed vectors
+ * of the selected offspring, it never requires the inverse of the
+ * covariance matrix.  Consequently, the memory and time per sample are
+ * determined solely by the subclass's representation.
+ */
+public abstract class AbstractLargeScaleCMAES extends AbstractAlgorithm {
+
+	/**
+	 * An initial search point to start searching from, or {@code null} if no
+	 * initial search point is specified.
+	 */
+	private final double[] initialSearchPoint;
+	
+	/**
+	 * Secondary comparison criteria for comparing population individuals
+	 * with the same rank.  If {@code null}, the default crowding distance
+	 * metric is used.
+	 */
+	private final FitnessEvaluator fitnessEvaluator;
+	
+	/**
+	 * Nondominated archive of the best solutions found.
+	 */
+	private final NondominatedPopulation archive;
+	
+	/**
+	 * Number of offspring generated each iteration.
+	 */
+	protected final int lambda;
+	
+	/**
+	 * Number of offspring selected for recombination.
+	 */
+	protected int mu;
+	
+	/**
+	 * Weights for recombination.
+	 */
+	protected double[] weights;
+	
+	/**
+	 * Variance-effectiveness.
+	 */
+	protected double mueff;
+	
+	/**
+	 * The number of iterations already performed.
+	 */
+	protected int iteration;
+	
+	/**
+	 * Overall standard deviation.
+	 */
+	private double sigma;
+	
+	/**
+	 * Step size cumulation parameter.
+	 */
+	private double cs;
+	
+	/**
+	 * Damping for step size.
+	 */
+	private double damps;
+	
+	/**
+	 * Expectation of ||N(0, I)||.
+	 */
+	private double chiN;
+	
+	/**
+	 * Current centroid of the distribution.
+	 */
+	private double[] xmean;
+	
+	/**
+	 * Evolution path for sigma.
+	 */
+	private double[] ps;
+	
+	/**
+	 * The lower bounds of the decision variables.
+	 */
+	private double[] lowerBounds;
+	
+	/**
+	 * The upper bounds of the decision variables.
+	 */
+	private double[] upperBounds;
+	
+	/**
+	 * The current population.
+	 */
+	private Population population;
+	
+	/**
+	 * The standard normally distributed vector of each offspring in the
+	 * current population.
+	 */
+	private double[][] arz;
+	
+	/**
+	 * The mutation step, {@code A*z}, of each offspring in the current
+	 * population.
+	 */
+	private double[][] ary;
+	
+	/**
+	 * Constructs a new large-scale CMA-ES instance with the given parameters.
+	 * If the parameters {@code cs}, {@code damps}, and {@code sigma} are set
+	 * to any negative number, then the default parameter will be used.
+	 * 
+	 * @param problem the problem to optimize
+	 * @param lambda the offspring population size
+	 * @param fitnessEvaluator secondary comparison criteria for comparing
+	 *        population individuals with the same rank, or {@code null} to use
+	 *        the default crowding distance metric
+	 * @param archive the nondominated archive for storing the elite individuals
+	 * @param initialSearchPoint an initial search point, or {@code null} if
+	 *        no initial search point is specified
+	 * @param cs the step size of the cumulation parameter
+	 * @param damps the damping factor for the step size
+	 * @param sigma the initial standard deviation
+	 */
+	public AbstractLargeScaleCMAES(Problem problem, int lambda,
+			FitnessEvaluator fitnessEvaluator, NondominatedPopulation archive,
+			double[] initialSearchPoint, double cs, double damps,
+			double sigma) {
+		super(problem);
+		this.lambda = lambda;
+		this.fitnessEvaluator = fitnessEvaluator;
+		this.archive = archive;
+		this.initialSearchPoint = initialSearchPoint;
+		this.cs = cs;
+		this.damps = damps;
+		this.sigma = sigma;
+		
+		population = new Population();
+	}
+	
+	/**
+	 * Initializes the representation of the covariance matrix.  This method
+	 * is called by {@link #initialize()} after the recombination weights are
+	 * computed.  The initial covariance matrix is the identity matrix.
+	 * 
+	 * @param N the number of decision variables
+	 */
+	protected abstract void initializeDistribution(int N);
+	
+	/**
+	 * Computes the mutation step {@code y = A*z}, where {@code A*A^T} is the
+	 * current covariance matrix.
+	 * 
+	 * @param z the standard normally distributed vector
+	 * @param y the array for storing the mutation step
+	 */
+	protected abstract void transform(double[] z, double[] y);
+	
+	/**
+	 * Adapts the representation of the covariance matrix given the selected
+	 * offspring.
+	 * 
+	 * @param ymean the weighted mean of the selected mutation steps, equal to
+	 *        {@code (xmean - xold) / sigma}
+	 * @param steps the mutation steps of the {@code mu} best offspring, best
+	 *        first
+	 * @param hsig {@code false} if the update of the evolution path should be
+	 *        stalled because the step size is too small; {@code true}
+	 *        otherwise
+	 */
+	protected abstract void updateDistribution(double[] ymean,
+			double[][] steps, boolean hsig);
+	
+	/**
+	 * Returns the state of the covariance matrix representation for
+	 * checkpointing.
+	 * 
+	 * @return the state of the covariance matrix representation
+	 */
+	protected abstract Serializable getDistributionState();
+	
+	/**
+	 * Restores the state of the covariance matrix representation from a
+	 * checkpoint.  This method is called after {@link #initialize()}.
+	 * 
+	 * @param state the state previously returned by
+	 *        {@link #getDistributionState()}
+	 */
+	protected abstract void setDistributionState(Serializable state);
+	
+	/**
+	 * Validates parameters prior to calling the {@link #initialize()} method.
+	 * Checks include ensuring the initial search point is valid and ensures
+	 * each decision variable is real-valued.
+	 * 
+	 * @param prototypeSolution an example solution for retrieving variable
+	 *        types and bounds
+	 * @throws IllegalArgumentException if any of the checks fail
+	 */
+	private void preInitChecks(Solution prototypeSolution) {
+		if (problem.getNumberOfVariables() == 0) {
+			throw new IllegalArgumentException("dimension must be greater than zero");
+		}
+		
+		if (lambda <= 1) {
+			throw new IllegalArgumentException("offspring population size, lambda, must be greater than one (lambda=" + lambda + ")");
+		}
+		
+		if (initialSearchPoint != null) {
+			if (initialSearchPoint.length != prototypeSolution.getNumberOfVariables()) {
+				throw new IllegalArgumentException("initial search point is not the correct length (expected=" + prototypeSolution.getNumberOfVariables() + ", actual=" + initialSearchPoint.length + ")");
+			}
+		}
+		
+		for (int i = 0; i < problem.getNumberOfVariables(); i++) {
+			if (prototypeSolution.getVariable(i) instanceof RealVariable) {
+				RealVariable variable = (RealVariable)prototypeSolution.getVariable(i);
+				
+				if (initialSearchPoint != null) {
+					if (initialSearchPoint[i] > variable.getUpperBound()) {
+						throw new IllegalArgumentException("initial search point is out of bounds (index=" + i + ", value=" + initialSearchPoint[i] + ", ub=" + variable.getUpperBound() + ")");
+					} else if (initialSearchPoint[i] < variable.getLowerBound()) {
+						throw new IllegalArgumentException("initial search point is out of bounds (index=" + i + ", value=" + initialSearchPoint[i] + ", lb=" + variable.getLowerBound() + ")");
+					}
+				}
+			} else {
+				throw new IllegalArgumentException("CMA-ES is only applicable to real-valued decision variables");
+			}
+		}
+	}
+	
+	/**
+	 * Validates parameters after calling the {@link #initialize()} method.
+	 * 
+	 * @throws IllegalArgumentException if any of the checks fail
+	 */
+	private void postInitChecks() {
+		if (cs <= 0 || cs > 1) {
+			throw new IllegalArgumentException("0 < cs <= 1 must hold for step-size cumulation parameter (cs=" + cs + ")");
+		}
+		
+		if (damps <= 0) {
+			throw new IllegalArgumentException("step size damping parameter, damps, must be greater than zero (damps=" + damps + ")");
+		}
+		
+		if (sigma <= 0) {
+			throw new IllegalArgumentException("initial standard deviation, sigma, must be positive (sigma=" + sigma + ")");
+		}
+	}
+	
+	@Override
+	public void initialize() {
+		super.initialize();
+		
+		int N = problem.getNumberOfVariables();
+		Solution prototypeSolution = problem.newSolution();
+		
+		preInitChecks(prototypeSolution);
+		
+		if (sigma < 0) {
+			sigma = 0.5;
+		}
+		
+		ps = new double[N];
+		lowerBounds = new double[N];
+		upperBounds = new double[N];
+		
+		for (int i = 0; i < N; i++) {
+			RealVariable variable = (RealVariable)prototypeSolution.getVariable(i);
+			
+			lowerBounds[i] = variable.getLowerBound();
+			upperBounds[i] = variable.getUpperBound();
+		}
+		
+		// initialization of xmean
+		if (xmean == null) {
+			xmean = new double[N];
+			
+			if (initialSearchPoint == null) {
+				for (int i = 0; i < N; i++) {
+					double offset = sigma;
+					double range = upperBounds[i] - lowerBounds[i] - 2*sigma;
+					
+					if (offset > 0.4 * (upperBounds[i] - lowerBounds[i])) {
+						offset = 0.4 * (upperBounds[i] - lowerBounds[i]);
+						range = 0.2 * (upperBounds[i] - lowerBounds[i]);
+					}
+					
+					xmean[i] = lowerBounds[i] + offset + PRNG.nextDouble() * range;
+				}
+			} else {
+				for (int i = 0; i < N; i++) {
+					xmean[i] = initialSearchPoint[i] + sigma * PRNG.nextGaussian();
+				}
+			}
+		}
+		
+		// initialization of the recombination weights
+		chiN = Math.sqrt(N) * (1.0 - 1.0 / (4.0 * N) + 1.0 / (21.0 * N * N));
+		mu = (int)Math.floor(lambda / 2.0);
+		weights = new double[mu];
+		
+		for (int i = 0; i < mu; i++) {
+			weights[i] = Math.log(mu + 1) - Math.log(i + 1);
+		}
+		
+		double sum = StatUtils.sum(weights);
+		
+		for (int i = 0; i < mu; i++) {
+			weights[i] /= sum;
+		}
+		
+		mueff = 1.0 / StatUtils.sumSq(weights);
+		
+		if (cs < 0) {
+			cs = (mueff + 2) / (N + mueff + 3);
+		}
+		
+		if (damps < 0) {
+			damps = (1 + 2 * Math.max(0, Math.sqrt((mueff - 1.0) / (N + 1)) - 1)) + cs;
+		}
+		
+		postInitChecks();
+		initializeDistribution(N);
+	}
+	
+	/**
+	 * Samples a new population.  Offspring violating the variable bounds are
+	 * projected onto the bounds.
+	 */
+	private void samplePopulation() {
+		int N = problem.getNumberOfVariables();
+		
+		population.clear();
+		arz = new double[lambda][N];
+		ary = new double[lambda][N];
+		
+		for (int i = 0; i < lambda; i++) {
+			double[] x = new double[N];
+			
+			for (int j = 0; j < N; j++) {
+				arz[i][j] = PRNG.nextGaussian();
+			}
+			
+			transform(arz[i], ary[i]);
+			toSearchPoint(ary[i], x);
+			
+			Solution solution = problem.newSolution();
+			EncodingUtils.setReal(solution, x);
+			population.add(solution);
+		}
+	}
+	
+	/**
+	 * Computes the search point, {@code xmean + sigma * y}, of an offspring.
+	 * Any component outside the variable bounds is projected onto the bound,
+	 * and the corresponding component of the mutation step is updated to
+	 * match the projected search point.
+	 * 
+	 * @param y the mutation step of the offspring, which is modified if the
+	 *        search point is projected
+	 * @param x the array for storing the search point
+	 */
+	private void toSearchPoint(double[] y, double[] x) {
+		for (int j = 0; j < x.length; j++) {
+			double value = xmean[j] + sigma * y[j];
+			
+			if (value < lowerBounds[j]) {
+				value = lowerBounds[j];
+				y[j] = (value - xmean[j]) / sigma;
+			} else if (value > upperBounds[j]) {
+				value = upperBounds[j];
+				y[j] = (value - xmean[j]) / sigma;
+			}
+			
+			x[j] = value;
+		}
+	}
+	
+	/**
+	 * Returns the comparator used to select the {@code mu} best offspring.
+	 * 
+	 * @return the comparator used to select the {@code mu} best offspring
+	 */
+	private DominanceComparator getSelectionComparator() {
+		if (problem.getNumberOfObjectives() == 1) {
+			return new ChainedComparator(new AggregateConstraintComparator(),
+					new ObjectiveComparator(0));
+		} else if (fitnessEvaluator == null) {
+			return new NondominatedSortingComparator();
+		} else {
+			return new ChainedComparator(new RankComparator(),
+					new FitnessComparator(
+							fitnessEvaluator.areLargerValuesPreferred()));
+		}
+	}
+	
+	/**
+	 * Updates the mean, step size and covariance matrix given the evaluated
+	 * population.
+	 */
+	private void updateDistribution() {
+		int N = problem.getNumberOfVariables();
+		final DominanceComparator comparator = getSelectionComparator();
+		Integer[] order = new Integer[lambda];
+		
+		for (int i = 0; i < lambda; i++) {
+			order[i] = i;
+		}
+		
+		// sort the offspring indices so the matching z and y are known
+		Arrays.sort(order, new Comparator<Integer>() {
+		
+			@Override
+			public int compare(Integer i, Integer j) {
+				return comparator.compare(population.get(i), population.get(j));
+			}
+		
+		});
+		
+		double[][] steps = new double[mu][];
+		double[] ymean = new double[N];
+		double[] zmean = new double[N];
+		
+		for (int k = 0; k < mu; k++) {
+			steps[k] = ary[order[k]];
+			
+			for (int i = 0; i < N; i++) {
+				ymean[i] += weights[k] * steps[k][i];
+				zmean[i] += weights[k] * arz[order[k]][i];
+			}
+		}
+		
+		for (int i = 0; i < N; i++) {
+			xmean[i] += sigma * ymean[i];
+		}
+		
+		// cumulation for sigma (ps) using the selected z vectors, which
+		// avoids computing the inverse square root of the covariance matrix
+		double psxps = 0.0;
+		
+		for (int i = 0; i < N; i++) {
+			ps[i] = (1.0 - cs) * ps[i] + Math.sqrt(cs * (2.0 - cs) * mueff) * zmean[i];
+			psxps += ps[i] * ps[i];
+		}
+		
+		boolean hsig = Math.sqrt(psxps) / Math.sqrt(1.0 - Math.pow(1.0 - cs, 2.0 * (iteration + 1))) / chiN < 1.4 + 2.0 / (N + 1);
+		
+		updateDistribution(ymean, steps, hsig);
+		
+		// update of sigma
+		sigma *= Math.exp(((Math.sqrt(psxps) / chiN) - 1) * cs / damps);
+		iteration++;
+	}
+	
+	@Override
+	protected void iterate() {
+		samplePopulation();
+		evaluateAll(population);
+		
+		// extension for multiple objectives
+		if (problem.getNumberOfObjectives() > 1) {
+			new FastNondominatedSorting().evaluate(population);
+			
+			if (fitnessEvaluator != null) {
+				fitnessEvaluator.evaluate(population);
+			}
+		}
+		
+		archive.addAll(population);
+		updateDistribution();
+	}
+	
+	@Override
+	public void step() {
+		// As with CMAES, the initialize() method does not produce an initial
+		// population, so iterate() is also called after initialize().
+		if (isTerminated()) {
+			throw new AlgorithmTerminationException(this,
+					"algorithm already terminated");
+		} else if (!isInitialized()) {
+			initialize();
+			iterate();
+		} else {
+			iterate();
+		}
+	}
+	
+	@Override
+	public NondominatedPopulation getResult() {
+		return archive;
+	}
+	
+	/**
+	 * Returns the current overall standard deviation.
+	 * 
+	 * @return the current overall standard deviation
+	 */
+	public double getSigma() {
+		return sigma;
+	}
+	
+	/**
+	 * Proxy for serializing and deserializing the state of an
+	 * {@code AbstractLargeScaleCMAES} instance.
+	 */
+	private static class LargeScaleCMAESState implements Serializable {
+	
+		private static final long serialVersionUID = -2393624856113736466L;
+		
+		/**
+		 * The archive stored in a serializable list.
+		 */
+		private final List<Solution> archive;
+		
+		/**
+		 * The value of {@code iteration} from the
+		 * {@code AbstractLargeScaleCMAES} instance.
+		 */
+		private final int iteration;
+		
+		/**
+		 * The value of {@code sigma} from the
+		 * {@code AbstractLargeScaleCMAES} instance.
+		 */
+		private final double sigma;
+		
+		/**
+		 * The value of {@code xmean} from the
+		 * {@code AbstractLargeScaleCMAES} instance.
+		 */
+		private final double[] xmean;
+		
+		/**
+		 * The value of {@code ps} from the
+		 * {@code AbstractLargeScaleCMAES} instance.
+		 */
+		private final double[] ps;
+		
+		/**
+		 * The state of the covariance matrix representation.
+		 */
+		private final Serializable distribution;
+		
+		/**
+		 * Constructs a proxy for serializing and deserializing the state of
+		 * an {@code AbstractLargeScaleCMAES} instance.
+		 * 
+		 * @param archive the archive stored in a serializable list
+		 * @param iteration the value of {@code iteration}
+		 * @param sigma the value of {@code sigma}
+		 * @param xmean the value of {@code xmean}
+		 * @param ps the value of {@code ps}
+		 * @param distribution the state of the covariance matrix
+		 *        representation
+		 */
+		public LargeScaleCMAESState(List<Solution> archive, int iteration,
+				double sigma, double[] xmean, double[] ps,
+				Serializable distribution) {
+			super();
+			this.archive = archive;
+			this.iteration = iteration;
+			this.sigma = sigma;
+			this.xmean = xmean;
+			this.ps = ps;
+			this.distribution = distribution;
+		}
+	
+	}
+	
+	@Override
+	public Serializable getState() throws NotSerializableException {
+		if (!isInitialized()) {
+			throw new AlgorithmInitializationException(this,
+					"algorithm not initialized");
+		}
+		
+		List<Solution> archiveList = new ArrayList<Solution>();
+		
+		for (Solution solution : archive) {
+			archiveList.add(solution);
+		}
+		
+		return new LargeScaleCMAESState(archiveList, iteration, sigma,
+				xmean.clone(), ps.clone(), getDistributionState());
+	}
+	
+	@Override
+	public void setState(Object objState) throws NotSerializableException {
+		LargeScaleCMAESState state = (LargeScaleCMAESState)objState;
+		
+		xmean = state.xmean.clone();
+		initialize();
+		
+		archive.addAll(state.archive);
+		iteration = state.iteration;
+		sigma = state.sigma;
+		ps = state.ps.clone();
+		setDistributionState(state.distribution);
+	}
+
+}
@@ -23,10 +23,15 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.math3.stat.StatUtils;
 import org.moeaframework.core.FastNondominatedSorting;
 import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Population;
@@ -49,6 +54,13 @@ import org.moeaframework.core.variable.RealVariable;
  * replace the crowding distance calculation with, for example, the
  * hypervolume indicator.
  * <p>
+ * The covariance matrix and coordinate system are stored as contiguous
+ * row-major arrays.  Offspring are sampled in blocks so that each row of the
+ * coordinate system is reused while it remains in cache, and the rank-mu
+ * update of the covariance matrix is blocked by rows.  Sampling can
+ * optionally be distributed across threads by calling
+ * {@link #setExecutorService(ExecutorService)}.
+ * <p>
  * This file is based on the Java implementation of CMA-ES by Nikolaus Hansen
  * available at https://www.lri.fr/~hansen/cmaes_inmatlab.html#java,
  * originally licensed under the GNU LGPLv3.
@@ -68,6 +80,12 @@ import org.moeaframework.core.variable.RealVariable;
  */
 public class CMAES extends AbstractAlgorithm {
 	
+	/**
+	 * The number of offspring or rows processed together by the blocked
+	 * matrix operations.
+	 */
+	private static final int BLOCK_SIZE = 8;
+	
 	/**
 	 * An initial search point to start searching from, or {@code null} if no
 	 * initial search point is specified.
@@ -181,14 +199,31 @@ public class CMAES extends AbstractAlgorithm {
 	private double[] ps;
 
 	/**
-	 * Coordinate system.
+	 * Coordinate system, stored in row-major order.
 	 */
-	private double[][] B;
+	private double[] B;
 
 	/**
-	 * Current covariance matrix.
+	 * Current covariance matrix, stored in row-major order.  Only the lower
+	 * triangle is maintained.
+	 */
+	private double[] C;
+	
+	/**
+	 * The lower bounds of the decision variables.
+	 */
+	private double[] lowerBounds;
+	
+	/**
+	 * The upper bounds of the decision variables.
+	 */
+	private double[] upperBounds;
+	
+	/**
+	 * The executor service used to sample offspring in parallel, or
+	 * {@code null} if offspring are sampled by the calling thread.
 	 */
-	private double[][] C;
+	private ExecutorService executor;
 	
 	/**
 	 * The current population.
@@ -273,6 +308,19 @@ public class CMAES extends AbstractAlgorithm {
 		population = new Population();
 	}
 	
+	/**
+	 * Sets the executor service used to sample offspring in parallel.  The
+	 * random numbers are always generated by the calling thread, so the
+	 * sampled offspring do not depend on the executor.  The executor is not
+	 * shut down by this algorithm.
+	 * 
+	 * @param executor the executor service, or {@code null} to sample
+	 *        offspring in the calling thread
+	 */
+	public void setExecutorService(ExecutorService executor) {
+		this.executor = executor;
+	}
+	
 	/**
 	 * Validates parameters prior to calling the {@link #initialize()} method.
 	 * Checks include ensuring the initial search point is valid and ensures
@@ -378,24 +426,19 @@ public class CMAES extends AbstractAlgorithm {
 		diagD = new double[N];
 		pc = new double[N];
 		ps = new double[N];
-		B = new double[N][N];
-		C = new double[N][N];
+		B = new double[N*N];
+		C = new double[N*N];
+		lowerBounds = new double[N];
+		upperBounds = new double[N];
 
 		for (int i = 0; i < N; i++) {
-			pc[i] = 0;
-			ps[i] = 0;
+			RealVariable variable = (RealVariable)prototypeSolution.getVariable(i);
+			
 			diagD[i] = 1;
-
-			for (int j = 0; j < N; j++) {
-				B[i][j] = 0;
-			}
-
-			for (int j = 0; j < i; j++) {
-				C[i][j] = 0;
-			}
-
-			B[i][i] = 1;
-			C[i][i] = diagD[i] * diagD[i];
+			B[i*N + i] = 1;
+			C[i*N + i] = diagD[i] * diagD[i];
+			lowerBounds[i] = variable.getLowerBound();
+			upperBounds[i] = variable.getUpperBound();
 		}
 		
 		// initialization of xmean
@@ -474,13 +517,13 @@ public class CMAES extends AbstractAlgorithm {
 
 		if (diagonalIterations >= iteration) {
 			for (int i = 0; i < N; i++) {
-				diagD[i] = Math.sqrt(C[i][i]);
+				diagD[i] = Math.sqrt(C[i*N + i]);
 			}
 		} else {
 			// set B <- C
 			for (int i = 0; i < N; i++) {
 				for (int j = 0; j <= i; j++) {
-					B[i][j] = B[j][i] = C[i][j];
+					B[i*N + j] = B[j*N + i] = C[i*N + j];
 				}
 			}
 
@@ -529,14 +572,15 @@ public class CMAES extends AbstractAlgorithm {
 		}
 		
 		if (fac != 1.0) {
+			int N = problem.getNumberOfVariables();
 			sigma /= fac;
 			
-			for (int i = 0; i < problem.getNumberOfVariables(); i++) {
+			for (int i = 0; i < N; i++) {
 				pc[i] *= fac;
 				diagD[i] *= fac;
 				
 				for (int j = 0; j <= i; j++) {
-					C[i][j] *= fac*fac;
+					C[i*N + j] *= fac*fac;
 				}
 			}
 		}
@@ -546,7 +590,6 @@ public class CMAES extends AbstractAlgorithm {
 	 * Samples a new population.
 	 */
 	private void samplePopulation() {
-		boolean feasible = true;
 		int N = problem.getNumberOfVariables();
 
 		if ((iteration - lastEigenupdate) > 1.0 / ccov / N / 5.0) {
@@ -558,64 +601,158 @@ public class CMAES extends AbstractAlgorithm {
 		}
 		
 		population.clear();
+		
+		boolean diagonal = diagonalIterations >= iteration;
+		double[] arz = new double[lambda * N];
+		double[] ary = new double[lambda * N];
+
+		// draw all random numbers in the calling thread
+		for (int i = 0; i < lambda * N; i++) {
+			arz[i] = PRNG.nextGaussian();
+		}
+		
+		transformAll(arz, ary, diagonal);
 
-		// sample the distribution
+		// convert to solutions, resampling any infeasible offspring
 		for (int i = 0; i < lambda; i++) {
+			double[] x = new double[N];
+			
+			while (!toSearchPoint(ary, i, x)) {
+				for (int j = 0; j < N; j++) {
+					arz[i*N + j] = PRNG.nextGaussian();
+				}
+				
+				transform(arz, ary, i, i + 1, diagonal);
+			}
+			
 			Solution solution = problem.newSolution();
+			EncodingUtils.setReal(solution, x);
+			population.add(solution);
+		}
 
-			if (diagonalIterations >= iteration) {
-				// loop until a feasible solution is generated
-				do {
-					feasible = true;
-
-					for (int j = 0; j < N; j++) {
-						RealVariable variable = (RealVariable)solution.getVariable(j);
-						double value = xmean[j] + sigma * diagD[j] * PRNG.nextGaussian();
-
-						if (value < variable.getLowerBound() || value > variable.getUpperBound()) {
-							feasible = false;
-							break;
-						}
-
-						variable.setValue(value);
-					}
-				} while (!feasible);
-			} else {
-				double[] artmp = new double[N];
+		iteration++;
+	}
+	
+	/**
+	 * Computes the mutation steps, {@code B * (D*z)}, of all offspring,
+	 * distributing blocks of offspring across the executor service if one is
+	 * set.
+	 * 
+	 * @param arz the standard normally distributed samples of each offspring,
+	 *        stored in row-major order; this array is overwritten
+	 * @param ary the mutation step of each offspring, stored in row-major
+	 *        order
+	 * @param diagonal {@code true} if only the covariance diagonal is used
+	 */
+	private void transformAll(final double[] arz, final double[] ary,
+			final boolean diagonal) {
+		if ((executor == null) || (lambda <= BLOCK_SIZE)) {
+			transform(arz, ary, 0, lambda, diagonal);
+		} else {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			
+			for (int start = 0; start < lambda; start += BLOCK_SIZE) {
+				final int blockStart = start;
+				final int blockEnd = Math.min(start + BLOCK_SIZE, lambda);
 				
-				// loop until a feasible solution is generated
-				do {
-					feasible = true;
+				futures.add(executor.submit(new Callable<Void>() {
 
-					for (int j = 0; j < N; j++) {
-						artmp[j] = diagD[j] * PRNG.nextGaussian();
+					@Override
+					public Void call() {
+						transform(arz, ary, blockStart, blockEnd, diagonal);
+						return null;
 					}
-
-					// add mutation (sigma * B * (D*z))
-					for (int j = 0; j < N; j++) {
-						RealVariable variable = (RealVariable)solution.getVariable(j);
-						double sum = 0.0;
-
-						for (int k = 0; k < N; k++) {
-							sum += B[j][k] * artmp[k];
-						}
-
-						double value = xmean[j] + sigma * sum;
-
-						if (value < variable.getLowerBound() || value > variable.getUpperBound()) {
-							feasible = false;
-							break;
-						}
-
-						variable.setValue(value);
+					
+				}));
+			}
+			
+			try {
+				for (Future<Void> future : futures) {
+					future.get();
+				}
+			} catch (InterruptedException e) {
+				throw new FrameworkException(e);
+			} catch (ExecutionException e) {
+				throw new FrameworkException(e.getCause());
+			}
+		}
+	}
+	
+	/**
+	 * Computes the mutation steps, {@code B * (D*z)}, of a range of
+	 * offspring.  The offspring are processed in blocks so that each row of
+	 * {@code B} is read once per block.
+	 * 
+	 * @param arz the standard normally distributed samples of each offspring,
+	 *        stored in row-major order; the rows in the range are overwritten
+	 * @param ary the mutation step of each offspring, stored in row-major
+	 *        order
+	 * @param start the index of the first offspring
+	 * @param end the index after the last offspring
+	 * @param diagonal {@code true} if only the covariance diagonal is used
+	 */
+	private void transform(double[] arz, double[] ary, int start, int end,
+			boolean diagonal) {
+		int N = problem.getNumberOfVariables();
+		
+		for (int i = start*N; i < end*N; i += N) {
+			for (int j = 0; j < N; j++) {
+				arz[i + j] *= diagD[j];
+			}
+		}
+		
+		if (diagonal) {
+			// given B=I we have B*D*z = D*z
+			System.arraycopy(arz, start*N, ary, start*N, (end-start)*N);
+			return;
+		}
+		
+		for (int block = start; block < end; block += BLOCK_SIZE) {
+			int blockEnd = Math.min(block + BLOCK_SIZE, end);
+			
+			for (int j = 0; j < N; j++) {
+				int row = j*N;
+				
+				for (int i = block; i < blockEnd; i++) {
+					int offset = i*N;
+					double sum = 0.0;
+					
+					for (int k = 0; k < N; k++) {
+						sum += B[row + k] * arz[offset + k];
 					}
-				} while (!feasible);
+					
+					ary[offset + j] = sum;
+				}
 			}
+		}
+	}
+	
+	/**
+	 * Computes the search point, {@code xmean + sigma * B*D*z}, of an
+	 * offspring.
+	 * 
+	 * @param ary the mutation step of each offspring, stored in row-major
+	 *        order
+	 * @param index the index of the offspring
+	 * @param x the array for storing the search point
+	 * @return {@code true} if the search point is within the variable bounds;
+	 *         {@code false} otherwise
+	 */
+	private boolean toSearchPoint(double[] ary, int index, double[] x) {
+		int N = x.length;
+		int offset = index*N;
+		
+		for (int j = 0; j < N; j++) {
+			double value = xmean[j] + sigma * ary[offset + j];
 			
-			population.add(solution);
+			if ((value < lowerBounds[j]) || (value > upperBounds[j])) {
+				return false;
+			}
+			
+			x[j] = value;
 		}
-
-		iteration++;
+		
+		return true;
 	}
 	
 	/**
@@ -664,14 +801,26 @@ public class CMAES extends AbstractAlgorithm {
 			}
 		}
 
-		// calculate xmean and BDz
-		for (int i = 0; i < N; i++) {
-			xmean[i] = 0;
+		// copy the mu best search points into a contiguous array
+		double[] arx = new double[mu * N];
+		
+		for (int k = 0; k < mu; k++) {
+			System.arraycopy(EncodingUtils.getReal(population.get(k)), 0,
+					arx, k*N, N);
+		}
 
-			for (int j = 0; j < mu; j++) {
-				xmean[i] += weights[j] * EncodingUtils.getReal(population.get(j).getVariable(i));
+		// calculate xmean and BDz
+		Arrays.fill(xmean, 0.0);
+		
+		for (int k = 0; k < mu; k++) {
+			int offset = k*N;
+			
+			for (int i = 0; i < N; i++) {
+				xmean[i] += weights[k] * arx[offset + i];
 			}
-
+		}
+		
+		for (int i = 0; i < N; i++) {
 			BDz[i] = Math.sqrt(mueff) * (xmean[i] - xold[i]) / sigma;
 		}
 
@@ -682,21 +831,25 @@ public class CMAES extends AbstractAlgorithm {
 				ps[i] = (1.0 - cs) * ps[i] + Math.sqrt(cs * (2.0 - cs)) * BDz[i] / diagD[i];
 			}
 		} else {
-			for (int i = 0; i < N; i++) {
-				double sum = 0.0;
-
-				for (int j = 0; j < N; j++) {
-					sum += B[j][i] * BDz[j];
+			// artmp = D^-1 * B^T * BDz, reading B by rows
+			for (int j = 0; j < N; j++) {
+				int row = j*N;
+				
+				for (int i = 0; i < N; i++) {
+					artmp[i] += B[row + i] * BDz[j];
 				}
-
-				artmp[i] = sum / diagD[i];
+			}
+			
+			for (int i = 0; i < N; i++) {
+				artmp[i] /= diagD[i];
 			}
 
 			for (int i = 0; i < N; i++) {
+				int row = i*N;
 				double sum = 0.0;
 
 				for (int j = 0; j < N; j++) {
-					sum += B[i][j] * artmp[j];
+					sum += B[row + j] * artmp[j];
 				}
 
 				ps[i] = (1.0 - cs) * ps[i] + Math.sqrt(cs * (2.0 - cs)) * sum;
@@ -722,18 +875,71 @@ public class CMAES extends AbstractAlgorithm {
 		}
 
 		// update of C
-		for (int i = 0; i < N; i++) {
-			for (int j = (diagonalIterations >= iteration ? i : 0); j <= i; j++) {
-				C[i][j] = (1.0 - (diagonalIterations >= iteration ? ccovsep : ccov)) * C[i][j] + ccov * (1.0 / mueff) * (pc[i] * pc[j] + (1 - hsig) * cc * (2.0 - cc) * C[i][j]);
+		updateCovariance(arx, xold, hsig);
 
-				for (int k = 0; k < mu; k++) {
-					C[i][j] += ccov * (1 - 1.0 / mueff) * weights[k] * (EncodingUtils.getReal(population.get(k).getVariable(i)) - xold[i]) * (EncodingUtils.getReal(population.get(k).getVariable(j)) - xold[j]) / sigma / sigma;
+		// update of sigma
+		sigma *= Math.exp(((Math.sqrt(psxps) / chiN) - 1) * cs / damps);
+	}
+	
+	/**
+	 * Performs the rank-one and rank-mu updates of the covariance matrix.
+	 * Only the lower triangle is updated, or only the diagonal when in
+	 * diagonal mode.  The rank-mu update is blocked by rows so that each
+	 * block of {@code C} remains in cache while the selected search points
+	 * are applied.
+	 * 
+	 * @param arx the mu best search points, stored in row-major order
+	 * @param xold the previous centroid of the distribution
+	 * @param hsig the indicator for stalling the update of {@code pc}
+	 */
+	private void updateCovariance(double[] arx, double[] xold, int hsig) {
+		int N = problem.getNumberOfVariables();
+		boolean diagonal = diagonalIterations >= iteration;
+		double decay = 1.0 - (diagonal ? ccovsep : ccov);
+		double rankOne = ccov * (1.0 / mueff);
+		double rankMu = ccov * (1 - 1.0 / mueff);
+		double correction = (1 - hsig) * cc * (2.0 - cc);
+		
+		// the selected steps, (x - xold) / sigma
+		double[] ary = new double[mu * N];
+		
+		for (int k = 0; k < mu; k++) {
+			int offset = k*N;
+			
+			for (int i = 0; i < N; i++) {
+				ary[offset + i] = (arx[offset + i] - xold[i]) / sigma;
+			}
+		}
+		
+		for (int block = 0; block < N; block += BLOCK_SIZE) {
+			int blockEnd = Math.min(block + BLOCK_SIZE, N);
+			
+			for (int i = block; i < blockEnd; i++) {
+				int row = i*N;
+				
+				for (int j = (diagonal ? i : 0); j <= i; j++) {
+					C[row + j] = decay * C[row + j] + rankOne * (pc[i] * pc[j] + correction * C[row + j]);
+				}
+			}
+			
+			for (int k = 0; k < mu; k++) {
+				int offset = k*N;
+				double factor = rankMu * weights[k];
+				
+				for (int i = block; i < blockEnd; i++) {
+					int row = i*N;
+					double yi = factor * ary[offset + i];
+					
+					if (diagonal) {
+						C[row + i] += yi * ary[offset + i];
+					} else {
+						for (int j = 0; j <= i; j++) {
+							C[row + j] += yi * ary[offset + j];
+						}
+					}
 				}
 			}
 		}
-
-		// update of sigma
-		sigma *= Math.exp(((Math.sqrt(psxps) / chiN) - 1) * cs / damps);
 	}
 	
 	@Override
@@ -787,8 +993,24 @@ public class CMAES extends AbstractAlgorithm {
 	 * and the corresponding Fortran subroutine in EISPACK.
 	 */
 	public static void tred2(int n, double[][] V, double[] d, double[] e) {
+		double[] flatV = toRowMajor(V);
+		tred2(n, flatV, d, e);
+		fromRowMajor(flatV, V);
+	}
+	
+	/**
+	 * Symmetric Householder reduction to tridiagonal form, taken from JAMA
+	 * package.
+	 * 
+	 * This is derived from the Algol procedures tred2 by Bowdler, Martin,
+	 * Reinsch, and Wilkinson, Handbook for Auto. Comp., Vol.ii-Linear Algebra,
+	 * and the corresponding Fortran subroutine in EISPACK.
+	 * 
+	 * This version operates on a matrix stored in row-major order.
+	 */
+	public static void tred2(int n, double[] V, double[] d, double[] e) {
 		for (int j = 0; j < n; j++) {
-			d[j] = V[n-1][j];
+			d[j] = V[(n-1)*n + j];
 		}
 
 		// Householder reduction to tridiagonal form.
@@ -803,9 +1025,9 @@ public class CMAES extends AbstractAlgorithm {
 			if (scale == 0.0) {
 				e[i] = d[i-1];
 				for (int j = 0; j < i; j++) {
-					d[j] = V[i-1][j];
-					V[i][j] = 0.0;
-					V[j][i] = 0.0;
+					d[j] = V[(i-1)*n + j];
+					V[i*n + j] = 0.0;
+					V[j*n + i] = 0.0;
 				}
 			} else {
 				// Generate Householder vector.
@@ -828,11 +1050,11 @@ public class CMAES extends AbstractAlgorithm {
 				// Apply similarity transformation to remaining columns.
 				for (int j = 0; j < i; j++) {
 					f = d[j];
-					V[j][i] = f;
-					g = e[j] + V[j][j] * f;
+					V[j*n + i] = f;
+					g = e[j] + V[j*n + j] * f;
 					for (int k = j+1; k <= i-1; k++) {
-						g += V[k][j] * d[k];
-						e[k] += V[k][j] * f;
+						g += V[k*n + j] * d[k];
+						e[k] += V[k*n + j] * f;
 					}
 					e[j] = g;
 				}
@@ -849,10 +1071,10 @@ public class CMAES extends AbstractAlgorithm {
 					f = d[j];
 					g = e[j];
 					for (int k = j; k <= i-1; k++) {
-						V[k][j] -= (f * e[k] + g * d[k]);
+						V[k*n + j] -= (f * e[k] + g * d[k]);
 					}
-					d[j] = V[i-1][j];
-					V[i][j] = 0.0;
+					d[j] = V[(i-1)*n + j];
+					V[i*n + j] = 0.0;
 				}
 			}
 			d[i] = h;
@@ -860,32 +1082,32 @@ public class CMAES extends AbstractAlgorithm {
 
 		// Accumulate transformations.
 		for (int i = 0; i < n-1; i++) {
-			V[n-1][i] = V[i][i];
-			V[i][i] = 1.0;
+			V[(n-1)*n + i] = V[i*n + i];
+			V[i*n + i] = 1.0;
 			double h = d[i+1];
 			if (h != 0.0) {
 				for (int k = 0; k <= i; k++) {
-					d[k] = V[k][i+1] / h;
+					d[k] = V[k*n + i+1] / h;
 				}
 				for (int j = 0; j <= i; j++) {
 					double g = 0.0;
 					for (int k = 0; k <= i; k++) {
-						g += V[k][i+1] * V[k][j];
+						g += V[k*n + i+1] * V[k*n + j];
 					}
 					for (int k = 0; k <= i; k++) {
-						V[k][j] -= g * d[k];
+						V[k*n + j] -= g * d[k];
 					}
 				}
 			}
 			for (int k = 0; k <= i; k++) {
-				V[k][i+1] = 0.0;
+				V[k*n + i+1] = 0.0;
 			}
 		}
 		for (int j = 0; j < n; j++) {
-			d[j] = V[n-1][j];
-			V[n-1][j] = 0.0;
+			d[j] = V[(n-1)*n + j];
+			V[(n-1)*n + j] = 0.0;
 		}
-		V[n-1][n-1] = 1.0;
+		V[(n-1)*n + n-1] = 1.0;
 		e[0] = 0.0;
 	}
 	
@@ -897,6 +1119,21 @@ public class CMAES extends AbstractAlgorithm {
 	 * and the corresponding Fortran subroutine in EISPACK.
 	 */
 	public static void tql2(int n, double[] d, double[] e, double[][] V) {
+		double[] flatV = toRowMajor(V);
+		tql2(n, d, e, flatV);
+		fromRowMajor(flatV, V);
+	}
+	
+	/**
+	 * Symmetric tridiagonal QL algorithm, taken from JAMA package.
+	 * 
+	 * This is derived from the Algol procedures tql2, by Bowdler, Martin,
+	 * Reinsch, and Wilkinson, Handbook for Auto. Comp., Vol.ii-Linear Algebra,
+	 * and the corresponding Fortran subroutine in EISPACK.
+	 * 
+	 * This version operates on a matrix stored in row-major order.
+	 */
+	public static void tql2(int n, double[] d, double[] e, double[] V) {
 		for (int i = 1; i < n; i++) {
 			e[i-1] = e[i];
 		}
@@ -962,9 +1199,9 @@ public class CMAES extends AbstractAlgorithm {
 
 						// Accumulate transformation.
 						for (int k = 0; k < n; k++) {
-							h = V[k][i+1];
-							V[k][i+1] = s * V[k][i] + c * h;
-							V[k][i] = c * V[k][i] - s * h;
+							h = V[k*n + i+1];
+							V[k*n + i+1] = s * V[k*n + i] + c * h;
+							V[k*n + i] = c * V[k*n + i] - s * h;
 						}
 					}
 					p = -s * s2 * c3 * el1 * e[l] / dl1;
@@ -992,9 +1229,9 @@ public class CMAES extends AbstractAlgorithm {
 				d[k] = d[i]; // swap k and i
 				d[i] = p;
 				for (int j = 0; j < n; j++) {
-					p = V[j][i];
-					V[j][i] = V[j][k];
-					V[j][k] = p;
+					p = V[j*n + i];
+					V[j*n + i] = V[j*n + k];
+					V[j*n + k] = p;
 				}
 			}
 		}
@@ -1006,7 +1243,7 @@ public class CMAES extends AbstractAlgorithm {
 	 * 
 	 * @return the number of detected inaccuracies
 	 */
-	private static int checkEigenSystem(int N, double[][] C, double[] diag, double[][] Q) {
+	private static int checkEigenSystem(int N, double[] C, double[] diag, double[] Q) {
 		/* compute Q diag Q^T and Q Q^T to check */
 		int i;
 		int j;
@@ -1018,13 +1255,13 @@ public class CMAES extends AbstractAlgorithm {
 		for (i=0; i < N; ++i) {
 			for (j=0; j < N; ++j) {
 				for (cc=0.,dd=0., k=0; k < N; ++k) {
-					cc += diag[k] * Q[i][k] * Q[j][k];
-					dd += Q[i][k] * Q[j][k];
+					cc += diag[k] * Q[i*N + k] * Q[j*N + k];
+					dd += Q[i*N + k] * Q[j*N + k];
 				}
 				/* check here, is the normalization the right one? */
-				if (Math.abs(cc - C[i>j?i:j][i>j?j:i])/Math.sqrt(C[i][i]*C[j][j]) > 1e-10
-						&& Math.abs(cc - C[i>j?i:j][i>j?j:i]) > 1e-9) { /* quite large */
-					System.err.println("imprecise result detected " + i + " " + j + " " + cc + " " + C[i>j?i:j][i>j?j:i] + " " + (cc-C[i>j?i:j][i>j?j:i]));
+				if (Math.abs(cc - C[(i>j?i:j)*N + (i>j?j:i)])/Math.sqrt(C[i*N + i]*C[j*N + j]) > 1e-10
+						&& Math.abs(cc - C[(i>j?i:j)*N + (i>j?j:i)]) > 1e-9) { /* quite large */
+					System.err.println("imprecise result detected " + i + " " + j + " " + cc + " " + C[(i>j?i:j)*N + (i>j?j:i)] + " " + (cc-C[(i>j?i:j)*N + (i>j?j:i)]));
 					++res;
 				}
 				if (Math.abs(dd - (i==j?1:0)) > 1e-10) {
@@ -1036,6 +1273,38 @@ public class CMAES extends AbstractAlgorithm {
 		return res;
 	}
 
+	/**
+	 * Copies a square matrix into a new array in row-major order.
+	 * 
+	 * @param matrix the square matrix
+	 * @return the matrix stored in row-major order
+	 */
+	private static double[] toRowMajor(double[][] matrix) {
+		int n = matrix.length;
+		double[] result = new double[n*n];
+		
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(matrix[i], 0, result, i*n, n);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Copies a square matrix stored in row-major order into an existing
+	 * two-dimensional array.
+	 * 
+	 * @param values the matrix stored in row-major order
+	 * @param matrix the two-dimensional array receiving the matrix
+	 */
+	private static void fromRowMajor(double[] values, double[][] matrix) {
+		int n = matrix.length;
+		
+		for (int i = 0; i < n; i++) {
+			System.arraycopy(values, i*n, matrix[i], 0, n);
+		}
+	}
+	
 	/**
 	 * Compute sqrt(a^2 + b^2) without under/overflow.
 	 */
@@ -1170,9 +1439,18 @@ public class CMAES extends AbstractAlgorithm {
 			}
 		}
 
+		// B and C are stored as two-dimensional arrays to remain compatible
+		// with existing checkpoint files
+		int N = problem.getNumberOfVariables();
+		double[][] stateB = new double[N][N];
+		double[][] stateC = new double[N][N];
+		
+		fromRowMajor(B, stateB);
+		fromRowMajor(C, stateC);
+
 		return new CMAESState(populationList, archiveList, iteration, sigma,
 				diagD.clone(), xmean.clone(), pc.clone(), ps.clone(),
-				B.clone(), C.clone(), lastEigenupdate);
+				stateB, stateC, lastEigenupdate);
 	}
 
 	@Override
@@ -1193,8 +1471,8 @@ public class CMAES extends AbstractAlgorithm {
 		diagD = state.diagD.clone();
 		pc = state.pc.clone();
 		ps = state.ps.clone();
-		B = state.B.clone();
-		C = state.C.clone();
+		B = toRowMajor(state.B);
+		C = toRowMajor(state.C);
 		lastEigenupdate = state.lastEigenupdate;
 	}
 
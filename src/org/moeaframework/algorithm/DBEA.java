@@ -449,13 +449,7 @@ public class DBEA extends AbstractEvolutionaryAlgorithm {
 	 * @return the constraint violation
 	 */
 	private double sumOfConstraintViolations(Solution solution) {
-		double result = 0.0;
-		
-		for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
-			result += Math.abs(solution.getConstraint(i));
-		}
-		
-		return result;
+		return solution.getConstraintViolation();
 	}
 	
 	/**
@@ -18,9 +18,12 @@
 package org.moeaframework.algorithm;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
 import java.util.List;
 
 import org.apache.commons.lang3.ArrayUtils;
+import org.moeaframework.core.AsynchronousAlgorithm;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.EpsilonBoxEvolutionaryAlgorithm;
 import org.moeaframework.core.Initialization;
@@ -44,9 +47,13 @@ import org.moeaframework.core.comparator.ParetoDominanceComparator;
  *   <li>Deb et al. "A Fast Multi-Objective Evolutionary Algorithm for Finding
  *   Well-Spread Pareto-Optimal Solutions." KanGAL Report No 2003002. Feb 2003.
  * </ol>
+ * <p>
+ * This algorithm also supports asynchronous evaluation through the
+ * {@link AsynchronousAlgorithm} interface.  Each evaluated offspring is
+ * inserted into the population and archive as soon as it is returned.
  */
 public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
-		EpsilonBoxEvolutionaryAlgorithm {
+		EpsilonBoxEvolutionaryAlgorithm, AsynchronousAlgorithm {
 
 	/**
 	 * The dominance comparator used for updating the population.
@@ -63,6 +70,12 @@ public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
 	 */
 	private final Variation variation;
 
+	/**
+	 * Offspring produced by the variation operator but not yet returned by
+	 * {@link #nextSolution()}.
+	 */
+	private final LinkedList<Solution> pendingOffspring;
+
 	/**
 	 * Constructs the &epsilon;-MOEA algorithm with the specified components.
 	 * 
@@ -100,10 +113,57 @@ public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
 		this.variation = variation;
 		this.selection = selection;
 		this.dominanceComparator = dominanceComparator;
+		
+		pendingOffspring = new LinkedList<Solution>();
 	}
 
 	@Override
 	public void iterate() {
+		Solution[] children = generateOffspring();
+
+		for (Solution child : children) {
+			evaluate(child);
+			addToPopulation(child);
+			archive.add(child);
+		}
+	}
+	
+	@Override
+	public Solution nextSolution() {
+		Solution solution = nextInitialSolution();
+		
+		if (solution != null) {
+			return solution;
+		}
+		
+		if (pendingOffspring.isEmpty()) {
+			if (population.isEmpty()) {
+				return null;
+			}
+			
+			pendingOffspring.addAll(Arrays.asList(generateOffspring()));
+		}
+		
+		return pendingOffspring.removeFirst();
+	}
+	
+	@Override
+	public void onEvaluated(Solution solution) {
+		numberOfEvaluations++;
+		
+		if (!addInitialSolution(solution)) {
+			addToPopulation(solution);
+			archive.add(solution);
+		}
+	}
+	
+	/**
+	 * Selects parents from the population and archive and returns the
+	 * offspring produced by the variation operator.
+	 * 
+	 * @return the offspring produced by the variation operator
+	 */
+	private Solution[] generateOffspring() {
 		Solution[] parents = null;
 		
 		if (archive.size() <= 1) {
@@ -116,13 +176,7 @@ public class EpsilonMOEA extends AbstractEvolutionaryAlgorithm implements
 		
 		PRNG.shuffle(parents);
 
-		Solution[] children = variation.evolve(parents);
-
-		for (Solution child : children) {
-			evaluate(child);
-			addToPopulation(child);
-			archive.add(child);
-		}
+		return variation.evolve(parents);
 	}
 
 	/**
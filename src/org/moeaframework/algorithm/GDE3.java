@@ -17,6 +17,10 @@
  */
 package org.moeaframework.algorithm;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.moeaframework.core.AsynchronousAlgorithm;
 import org.moeaframework.core.Initialization;
 import org.moeaframework.core.NondominatedSortingPopulation;
 import org.moeaframework.core.Population;
@@ -34,8 +38,16 @@ import org.moeaframework.core.operator.real.DifferentialEvolutionSelection;
  * <li>Kukkonen and Lampinen (2005). "GDE3: The Third Evolution Step of
  * Generalized Differential Evolution." KanGAL Report Number 2005013.
  * </ol>
+ * <p>
+ * This algorithm also supports asynchronous evaluation through the
+ * {@link AsynchronousAlgorithm} interface.  Offspring are generated for each
+ * target solution in turn, and each evaluated offspring is compared against
+ * its target as soon as it is returned.  An offspring that dominates its
+ * target replaces it; an offspring that is non-dominated with its target is
+ * added to the population, which is then pruned back to its original size.
  */
-public class GDE3 extends AbstractEvolutionaryAlgorithm {
+public class GDE3 extends AbstractEvolutionaryAlgorithm implements
+		AsynchronousAlgorithm {
 
 	/**
 	 * The dominance comparator used to determine if offspring survive until
@@ -53,6 +65,17 @@ public class GDE3 extends AbstractEvolutionaryAlgorithm {
 	 */
 	private final DifferentialEvolution variation;
 
+	/**
+	 * The target solutions of offspring that are being evaluated
+	 * asynchronously.
+	 */
+	private final Map<Solution, Solution> targets;
+
+	/**
+	 * The index of the next target solution when evaluating asynchronously.
+	 */
+	private int nextTarget;
+
 	/**
 	 * Constructs the GDE3 algorithm with the specified components.
 	 * 
@@ -72,6 +95,8 @@ public class GDE3 extends AbstractEvolutionaryAlgorithm {
 		this.comparator = comparator;
 		this.selection = selection;
 		this.variation = variation;
+		
+		targets = new IdentityHashMap<Solution, Solution>();
 	}
 
 	@Override
@@ -113,6 +138,62 @@ public class GDE3 extends AbstractEvolutionaryAlgorithm {
 		population.prune(populationSize);
 	}
 
+	@Override
+	public Solution nextSolution() {
+		Solution solution = nextInitialSolution();
+		
+		if (solution != null) {
+			return solution;
+		}
+		
+		NondominatedSortingPopulation population = getPopulation();
+		
+		if (population.size() < variation.getArity()) {
+			return null;
+		}
+		
+		nextTarget = nextTarget % population.size();
+		selection.setCurrentIndex(nextTarget);
+		
+		Solution[] parents = selection.select(variation.getArity(),
+				population);
+		Solution child = variation.evolve(parents)[0];
+		
+		targets.put(child, population.get(nextTarget));
+		nextTarget++;
+		return child;
+	}
+
+	@Override
+	public void onEvaluated(Solution solution) {
+		numberOfEvaluations++;
+		
+		if (addInitialSolution(solution)) {
+			return;
+		}
+		
+		NondominatedSortingPopulation population = getPopulation();
+		Solution target = targets.remove(solution);
+		int index = (target == null) ? -1 : population.indexOf(target);
+		int populationSize = population.size();
+		
+		if (index >= 0) {
+			int result = comparator.compare(solution, target);
+			
+			if (result < 0) {
+				population.replace(index, solution);
+				return;
+			} else if (result > 0) {
+				return;
+			}
+		}
+		
+		// the offspring and target are non-dominated, or the target was
+		// already replaced by another offspring
+		population.add(solution);
+		population.prune(populationSize);
+	}
+
 	@Override
 	public NondominatedSortingPopulation getPopulation() {
 		return (NondominatedSortingPopulation)super.getPopulation();
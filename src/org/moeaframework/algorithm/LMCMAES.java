@@ -0,0 +1,335 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import java.io.Serializable;
+
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+
+/**
+ * The limited-memory CMA-ES (LM-CMA-ES).  Instead of storing the covariance
+ * matrix, the Cholesky factor {@code A} is reconstructed on demand from the
+ * last {@code m} stored evolution paths, each applied as a rank-one update
+ * {@code A <- a*A + b*p*v^T} with {@code v = A^-1 * p}.  Sampling and
+ * updating take {@code O(mN)} time and the algorithm stores {@code O(mN)}
+ * values, where {@code m} is typically around {@code 4 + 3 ln(N)}.
+ * <p>
+ * This implementation stores a new evolution path every {@code interval}
+ * iterations and discards the oldest path once {@code m} paths are stored.
+ * The step size is adapted by cumulative step size adaptation using the
+ * selected standard normally distributed vectors, which keeps the algorithm
+ * compatible with the multiobjective ranking used by {@link CMAES}.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Loshchilov, I.  "A Computationally Efficient Limited Memory CMA-ES
+ *       for Large Scale Optimization."  Proceedings of the 2014 Genetic and
+ *       Evolutionary Computation Conference, pp. 397-404, 2014.
+ *   <li>Krause, O., Arbones, D. R., and Igel, C.  "CMA-ES with Optimal
+ *       Covariance Update and Storage Complexity."  Advances in Neural
+ *       Information Processing Systems 29, pp. 370-378, 2016.
+ * </ol>
+ */
+public class LMCMAES extends AbstractLargeScaleCMAES {
+
+	/**
+	 * The maximum number of stored evolution paths.
+	 */
+	private int m;
+	
+	/**
+	 * The number of iterations between storing evolution paths.
+	 */
+	private int interval;
+	
+	/**
+	 * Cumulation parameter.
+	 */
+	private double cc;
+	
+	/**
+	 * Learning rate of the rank-one updates.
+	 */
+	private double c1;
+	
+	/**
+	 * Evolution path.
+	 */
+	private double[] pc;
+	
+	/**
+	 * The stored evolution paths, stored in row-major order.  Row
+	 * {@code (start + t) % m} holds the {@code t}-th oldest path.
+	 */
+	private double[] P;
+	
+	/**
+	 * The vectors {@code v = A^-1 * p} of the stored evolution paths, stored
+	 * in row-major order.
+	 */
+	private double[] V;
+	
+	/**
+	 * The coefficients of the rank-one updates of the Cholesky factor.
+	 */
+	private double[] b;
+	
+	/**
+	 * The coefficients of the rank-one updates of the inverse Cholesky
+	 * factor.
+	 */
+	private double[] c;
+	
+	/**
+	 * The row of the oldest stored evolution path.
+	 */
+	private int start;
+	
+	/**
+	 * The number of stored evolution paths.
+	 */
+	private int count;
+	
+	/**
+	 * Constructs a new LM-CMA-ES instance using default parameters.
+	 * 
+	 * @param problem the problem to optimize
+	 * @param lambda the offspring population size
+	 */
+	public LMCMAES(Problem problem, int lambda) {
+		this(problem, lambda, null, new NondominatedPopulation(), null,
+				-1, -1, -1, -1, -1, -1, -1);
+	}
+	
+	/**
+	 * Constructs a new LM-CMA-ES instance with the given parameters.
+	 * <p>
+	 * If the parameters {@code m}, {@code interval}, {@code cc}, {@code cs},
+	 * {@code damps}, {@code c1}, and {@code sigma} are set to any negative
+	 * number, then the default parameter will be used.
+	 * 
+	 * @param problem the problem to optimize
+	 * @param lambda the offspring population size
+	 * @param fitnessEvaluator secondary comparison criteria for comparing
+	 *        population individuals with the same rank, or {@code null} to use
+	 *        the default crowding distance metric
+	 * @param archive the nondominated archive for storing the elite individuals
+	 * @param initialSearchPoint an initial search point, or {@code null} if
+	 *        no initial search point is specified
+	 * @param m the maximum number of stored evolution paths
+	 * @param interval the number of iterations between storing evolution
+	 *        paths
+	 * @param cc the cumulation parameter
+	 * @param cs the step size of the cumulation parameter
+	 * @param damps the damping factor for the step size
+	 * @param c1 the learning rate of the rank-one updates
+	 * @param sigma the initial standard deviation
+	 */
+	public LMCMAES(Problem problem, int lambda,
+			FitnessEvaluator fitnessEvaluator, NondominatedPopulation archive,
+			double[] initialSearchPoint, int m, int interval, double cc,
+			double cs, double damps, double c1, double sigma) {
+		super(problem, lambda, fitnessEvaluator, archive, initialSearchPoint,
+				cs, damps, sigma);
+		this.m = m;
+		this.interval = interval;
+		this.cc = cc;
+		this.c1 = c1;
+	}
+	
+	@Override
+	protected void initializeDistribution(int N) {
+		if (m < 0) {
+			m = 4 + (int)Math.floor(3 * Math.log(N));
+		}
+		
+		if (interval < 0) {
+			interval = Math.max(1, (int)Math.floor(Math.log(N)));
+		}
+		
+		if (cc < 0) {
+			cc = 1.0 / m;
+		}
+		
+		if (c1 < 0) {
+			c1 = 1.0 / (10.0 * Math.log(N + 1.0));
+		}
+		
+		if (m < 1) {
+			throw new IllegalArgumentException("number of stored evolution paths, m, must be at least one (m=" + m + ")");
+		}
+		
+		if (interval < 1) {
+			throw new IllegalArgumentException("interval must be at least one (interval=" + interval + ")");
+		}
+		
+		if ((cc <= 0) || (cc > 1)) {
+			throw new IllegalArgumentException("0 < cc <= 1 must hold for cumulation parameter (cc=" + cc + ")");
+		}
+		
+		if ((c1 <= 0) || (c1 >= 1)) {
+			throw new IllegalArgumentException("0 < c1 < 1 must hold (c1=" + c1 + ")");
+		}
+		
+		pc = new double[N];
+		P = new double[m * N];
+		V = new double[m * N];
+		b = new double[m];
+		c = new double[m];
+		start = 0;
+		count = 0;
+	}
+	
+	@Override
+	protected void transform(double[] z, double[] y) {
+		int N = z.length;
+		double a = Math.sqrt(1.0 - c1);
+		
+		System.arraycopy(z, 0, y, 0, N);
+		
+		// A*z = a*(...(a*z + b1*p1*(v1^T z))...) + bt*pt*(vt^T z)
+		for (int t = 0; t < count; t++) {
+			int row = ((start + t) % m) * N;
+			double dot = 0.0;
+			
+			for (int i = 0; i < N; i++) {
+				dot += V[row + i] * z[i];
+			}
+			
+			double scale = b[(start + t) % m] * dot;
+			
+			for (int i = 0; i < N; i++) {
+				y[i] = a * y[i] + scale * P[row + i];
+			}
+		}
+	}
+	
+	/**
+	 * Computes {@code A^-1 * x} using the first {@code limit} stored
+	 * evolution paths.
+	 * 
+	 * @param x the vector
+	 * @param limit the number of stored evolution paths to use
+	 * @param result the array for storing the result
+	 */
+	private void inverseTransform(double[] x, int limit, double[] result) {
+		int N = x.length;
+		double a = Math.sqrt(1.0 - c1);
+		
+		System.arraycopy(x, 0, result, 0, N);
+		
+		for (int t = 0; t < limit; t++) {
+			int row = ((start + t) % m) * N;
+			double dot = 0.0;
+			
+			for (int i = 0; i < N; i++) {
+				dot += V[row + i] * result[i];
+			}
+			
+			double scale = c[(start + t) % m] * dot;
+			
+			for (int i = 0; i < N; i++) {
+				result[i] = result[i] / a - scale * V[row + i];
+			}
+		}
+	}
+	
+	/**
+	 * Recomputes the vectors {@code v} and the coefficients of the stored
+	 * evolution paths starting at the given position.  Each vector depends on
+	 * the paths stored before it, so all vectors are recomputed whenever the
+	 * oldest path is discarded.
+	 * 
+	 * @param from the position, from oldest to newest, of the first stored
+	 *        evolution path to update
+	 */
+	private void updateVectors(int from) {
+		int N = pc.length;
+		double[] p = new double[N];
+		double[] v = new double[N];
+		
+		for (int t = from; t < count; t++) {
+			int index = (start + t) % m;
+			int row = index * N;
+			
+			System.arraycopy(P, row, p, 0, N);
+			inverseTransform(p, t, v);
+			System.arraycopy(v, 0, V, row, N);
+			
+			double norm = 0.0;
+			
+			for (int i = 0; i < N; i++) {
+				norm += v[i] * v[i];
+			}
+			
+			if (norm > 0.0) {
+				double root = Math.sqrt(1.0 + c1 / (1.0 - c1) * norm);
+				
+				b[index] = Math.sqrt(1.0 - c1) / norm * (root - 1.0);
+				c[index] = 1.0 / (Math.sqrt(1.0 - c1) * norm) * (1.0 - 1.0 / root);
+			} else {
+				b[index] = 0.0;
+				c[index] = 0.0;
+			}
+		}
+	}
+	
+	@Override
+	protected void updateDistribution(double[] ymean, double[][] steps,
+			boolean hsig) {
+		int N = ymean.length;
+		double pcScale = hsig ? Math.sqrt(cc * (2.0 - cc) * mueff) : 0.0;
+		
+		for (int i = 0; i < N; i++) {
+			pc[i] = (1.0 - cc) * pc[i] + pcScale * ymean[i];
+		}
+		
+		if ((iteration + 1) % interval == 0) {
+			int from = count;
+			
+			if (count == m) {
+				start = (start + 1) % m;
+				count--;
+				from = 0;
+			}
+			
+			System.arraycopy(pc, 0, P, ((start + count) % m) * N, N);
+			count++;
+			updateVectors(from);
+		}
+	}
+	
+	@Override
+	protected Serializable getDistributionState() {
+		return new Object[] { pc.clone(), P.clone(), start, count };
+	}
+	
+	@Override
+	protected void setDistributionState(Serializable state) {
+		Object[] values = (Object[])state;
+		
+		pc = ((double[])values[0]).clone();
+		P = ((double[])values[1]).clone();
+		start = (Integer)values[2];
+		count = (Integer)values[3];
+		updateVectors(0);
+	}
+
+}
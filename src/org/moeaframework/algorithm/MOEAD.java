@@ -568,13 +568,7 @@ public class MOEAD extends AbstractAlgorithm {
 	}
 	
 	private double sumOfConstraintViolations(Solution solution) {
-		double sum = 0.0;
-		
-		for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
-			sum += Math.abs(solution.getConstraint(i));
-		}
-		
-		return sum;
+		return solution.getConstraintViolation();
 	}
 
 	/**
@@ -20,6 +20,7 @@ package org.moeaframework.algorithm;
 import java.io.Serializable;
 import java.util.Comparator;
 
+import org.moeaframework.core.AsynchronousAlgorithm;
 import org.moeaframework.core.FastNondominatedSorting;
 import org.moeaframework.core.FitnessEvaluator;
 import org.moeaframework.core.Initialization;
@@ -43,8 +44,15 @@ import org.moeaframework.core.operator.TournamentSelection;
  *   <li>Emmerich, M., N. Beume, and B. Naujoks (2007).  An EMO Algorithm Using
  *       the Hypervolume Measure as Selection Criterion.  European Journal of
  *       Operational Research, 3:1653-1669.
+ * </ol>
+ * <p>
+ * This algorithm also supports asynchronous evaluation through the
+ * {@link AsynchronousAlgorithm} interface.  Since SMS-EMOA is a steady-state
+ * algorithm, each evaluated offspring replaces the worst solution in the
+ * population as soon as it is returned.
  */
-public class SMSEMOA extends AbstractEvolutionaryAlgorithm {
+public class SMSEMOA extends AbstractEvolutionaryAlgorithm implements
+		AsynchronousAlgorithm {
 	
 	/**
 	 * The fitness evaluator to use (e.g., hypervolume or additive-epsilon
@@ -92,22 +100,67 @@ public class SMSEMOA extends AbstractEvolutionaryAlgorithm {
 	protected void initialize() {
 		super.initialize();
 		
-		// rank the solutions
-		new FastNondominatedSorting().evaluate(population);
-		
-		if (fitnessEvaluator != null) {
-			fitnessEvaluator.evaluate(population);
-		}
+		rankPopulation();
 	}
 
 	@Override
 	protected void iterate() {
-		int populationSize = population.size();
 		Solution[] parents = selection.select(variation.getArity(), population);
 		Solution[] offspring = variation.evolve(parents);
 		
 		evaluate(offspring[0]);
-		population.add(offspring[0]);
+		addOffspring(offspring[0]);
+	}
+	
+	@Override
+	public Solution nextSolution() {
+		Solution solution = nextInitialSolution();
+		
+		if (solution != null) {
+			return solution;
+		}
+		
+		if (population.isEmpty()) {
+			return null;
+		}
+		
+		Solution[] parents = selection.select(variation.getArity(), population);
+		return variation.evolve(parents)[0];
+	}
+	
+	@Override
+	public void onEvaluated(Solution solution) {
+		numberOfEvaluations++;
+		
+		if (addInitialSolution(solution)) {
+			rankPopulation();
+		} else {
+			addOffspring(solution);
+		}
+	}
+	
+	/**
+	 * Ranks the solutions in the population and, if a fitness evaluator is
+	 * given, computes their fitness.
+	 */
+	private void rankPopulation() {
+		new FastNondominatedSorting().evaluate(population);
+		
+		if (fitnessEvaluator != null) {
+			fitnessEvaluator.evaluate(population);
+		}
+	}
+	
+	/**
+	 * Adds the evaluated offspring to the population and removes the worst
+	 * solution, keeping the population size unchanged.
+	 * 
+	 * @param offspring the evaluated offspring
+	 */
+	private void addOffspring(Solution offspring) {
+		int populationSize = population.size();
+		
+		population.add(offspring);
 		
 		// rank the solutions and remove the worst
 		new FastNondominatedSorting().evaluate(population);
@@ -0,0 +1,189 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import java.io.Serializable;
+
+import org.moeaframework.core.FitnessEvaluator;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+
+/**
+ * The separable CMA-ES (sep-CMA-ES), which restricts the covariance matrix
+ * to its diagonal.  Memory and time per sample are linear in the number of
+ * decision variables, and the larger learning rate lets the variances adapt
+ * faster than with the full covariance matrix.  This is equivalent to the
+ * diagonal mode of {@link CMAES} run for all iterations, except that no
+ * {@code N x N} matrices are allocated.  Sep-CMA-ES performs best on
+ * separable or nearly separable problems.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Ros, R. and Hansen, N.  "A Simple Modification in CMA-ES Achieving
+ *       Linear Time and Space Complexity."  Parallel Problem Solving from
+ *       Nature - PPSN X, pp. 296-305, 2008.
+ * </ol>
+ */
+public class SepCMAES extends AbstractLargeScaleCMAES {
+
+	/**
+	 * Cumulation parameter.
+	 */
+	private double cc;
+	
+	/**
+	 * Learning rate of the diagonal covariance matrix.
+	 */
+	private double ccov;
+	
+	/**
+	 * The diagonal of the covariance matrix.
+	 */
+	private double[] diagC;
+	
+	/**
+	 * Scaling factors, the square roots of {@code diagC}.
+	 */
+	private double[] diagD;
+	
+	/**
+	 * Evolution path.
+	 */
+	private double[] pc;
+	
+	/**
+	 * Constructs a new sep-CMA-ES instance using default parameters.
+	 * 
+	 * @param problem the problem to optimize
+	 * @param lambda the offspring population size
+	 */
+	public SepCMAES(Problem problem, int lambda) {
+		this(problem, lambda, null, new NondominatedPopulation(), null,
+				-1, -1, -1, -1, -1);
+	}
+	
+	/**
+	 * Constructs a new sep-CMA-ES instance with the given parameters.
+	 * <p>
+	 * If the parameters {@code cc}, {@code cs}, {@code damps}, {@code ccov},
+	 * and {@code sigma} are set to any negative number, then the default
+	 * parameter will be used.
+	 * 
+	 * @param problem the problem to optimize
+	 * @param lambda the offspring population size
+	 * @param fitnessEvaluator secondary comparison criteria for comparing
+	 *        population individuals with the same rank, or {@code null} to use
+	 *        the default crowding distance metric
+	 * @param archive the nondominated archive for storing the elite individuals
+	 * @param initialSearchPoint an initial search point, or {@code null} if
+	 *        no initial search point is specified
+	 * @param cc the cumulation parameter
+	 * @param cs the step size of the cumulation parameter
+	 * @param damps the damping factor for the step size
+	 * @param ccov the learning rate of the diagonal covariance matrix
+	 * @param sigma the initial standard deviation
+	 */
+	public SepCMAES(Problem problem, int lambda,
+			FitnessEvaluator fitnessEvaluator, NondominatedPopulation archive,
+			double[] initialSearchPoint, double cc, double cs, double damps,
+			double ccov, double sigma) {
+		super(problem, lambda, fitnessEvaluator, archive, initialSearchPoint,
+				cs, damps, sigma);
+		this.cc = cc;
+		this.ccov = ccov;
+	}
+	
+	@Override
+	protected void initializeDistribution(int N) {
+		if (cc < 0) {
+			cc = 4.0 / (N + 4.0);
+		}
+		
+		if (ccov < 0) {
+			double ccovFull = 2.0 / (N + 1.41) / (N + 1.41) / mueff + (1 - (1.0 / mueff)) * Math.min(1, (2 * mueff - 1) / (mueff + (N + 2) * (N + 2)));
+			ccov = Math.min(1, ccovFull * (N + 1.5) / 3.0);
+		}
+		
+		if ((cc <= 0) || (cc > 1)) {
+			throw new IllegalArgumentException("0 < cc <= 1 must hold for cumulation parameter (cc=" + cc + ")");
+		}
+		
+		if ((ccov < 0) || (ccov > 1)) {
+			throw new IllegalArgumentException("0 <= ccov <= 1 must hold (ccov=" + ccov + ")");
+		}
+		
+		diagC = new double[N];
+		diagD = new double[N];
+		pc = new double[N];
+		
+		for (int i = 0; i < N; i++) {
+			diagC[i] = 1.0;
+			diagD[i] = 1.0;
+		}
+	}
+	
+	@Override
+	protected void transform(double[] z, double[] y) {
+		for (int i = 0; i < z.length; i++) {
+			y[i] = diagD[i] * z[i];
+		}
+	}
+	
+	@Override
+	protected void updateDistribution(double[] ymean, double[][] steps,
+			boolean hsig) {
+		int N = ymean.length;
+		double pcScale = hsig ? Math.sqrt(cc * (2.0 - cc) * mueff) : 0.0;
+		double correction = hsig ? 0.0 : cc * (2.0 - cc);
+		double rankOne = ccov / mueff;
+		double rankMu = ccov * (1.0 - 1.0 / mueff);
+		
+		for (int i = 0; i < N; i++) {
+			pc[i] = (1.0 - cc) * pc[i] + pcScale * ymean[i];
+		}
+		
+		for (int i = 0; i < N; i++) {
+			double sum = 0.0;
+			
+			for (int k = 0; k < mu; k++) {
+				sum += weights[k] * steps[k][i] * steps[k][i];
+			}
+			
+			diagC[i] = (1.0 - ccov) * diagC[i] + rankOne * (pc[i] * pc[i] + correction * diagC[i]) + rankMu * sum;
+			diagD[i] = Math.sqrt(diagC[i]);
+		}
+	}
+	
+	@Override
+	protected Serializable getDistributionState() {
+		return new double[][] { diagC.clone(), pc.clone() };
+	}
+	
+	@Override
+	protected void setDistributionState(Serializable state) {
+		double[][] arrays = (double[][])state;
+		
+		diagC = arrays[0].clone();
+		pc = arrays[1].clone();
+		
+		for (int i = 0; i < diagC.length; i++) {
+			diagD[i] = Math.sqrt(diagC[i]);
+		}
+	}
+
+}
@@ -116,6 +116,12 @@ import org.moeaframework.util.TypedProperties;
  *         pm.distributionIndex, indicator}</td>
  *   </tr>
  *   <tr>
+ *     <td>LM-CMA-ES</td>
+ *     <td>Real</td>
+ *     <td>{@code lambda, m, interval, cc, cs, damps, c1, sigma, indicator,
+ *         initialSearchPoint}</td>
+ *   </tr>
+ *   <tr>
  *     <td>MOEAD</td>
  *     <td>Real</td>
  *     <td>{@code populationSize, de.crossoverRate, de.stepSize, pm.rate,
@@ -160,6 +166,12 @@ import org.moeaframework.util.TypedProperties;
  *     <td>{@code populationSize, epsilon}</td>
  *   </tr>
  *   <tr>
+ *     <td>sep-CMA-ES</td>
+ *     <td>Real</td>
+ *     <td>{@code lambda, cc, cs, damps, ccov, sigma, indicator,
+ *         initialSearchPoint}</td>
+ *   </tr>
+ *   <tr>
  *     <td>SMPSO</td>
  *     <td>Real</td>
  *     <td>{@code populationSize, archiveSize, pm.rate,
@@ -223,6 +235,12 @@ public class StandardAlgorithms extends AlgorithmProvider {
 					name.equalsIgnoreCase("CMAES") ||
 					name.equalsIgnoreCase("MO-CMA-ES")) {
 				return newCMAES(typedProperties, problem);
+			} else if (name.equalsIgnoreCase("sep-CMA-ES") ||
+					name.equalsIgnoreCase("SepCMAES")) {
+				return newSepCMAES(typedProperties, problem);
+			} else if (name.equalsIgnoreCase("LM-CMA-ES") ||
+					name.equalsIgnoreCase("LMCMAES")) {
+				return newLMCMAES(typedProperties, problem);
 			} else if (name.equalsIgnoreCase("SPEA2")) {
 				return newSPEA2(typedProperties, problem);
 			} else if (name.equalsIgnoreCase("PAES")) {
@@ -614,30 +632,114 @@ public class StandardAlgorithms extends AlgorithmProvider {
 		double ccovsep = properties.getDouble("ccovsep", -1.0);
 		double sigma = properties.getDouble("sigma", -1.0);
 		int diagonalIterations = (int)properties.getDouble("diagonalIterations", 0);
-		String indicator = properties.getString("indicator", "crowding");
 		double[] initialSearchPoint = properties.getDoubleArray("initialSearchPoint", null);
-		NondominatedPopulation archive = null;
-		FitnessEvaluator fitnessEvaluator = null;
+		NondominatedPopulation archive = newCMAESArchive(properties, problem);
+		FitnessEvaluator fitnessEvaluator = newCMAESFitnessEvaluator(properties, problem);
+		
+		CMAES cmaes = new CMAES(problem, lambda, fitnessEvaluator, archive,
+				initialSearchPoint, false, cc, cs, damps, ccov, ccovsep, sigma,
+				diagonalIterations);
+
+		return cmaes;
+	}
+	
+	/**
+	 * Returns a new {@link SepCMAES} instance.
+	 * 
+	 * @param properties the properties for customizing the new
+	 *        {@code SepCMAES} instance
+	 * @param problem the problem
+	 * @return a new {@code SepCMAES} instance
+	 */
+	private Algorithm newSepCMAES(TypedProperties properties, Problem problem) {
+		if (!checkType(RealVariable.class, problem)) {
+			throw new FrameworkException("unsupported decision variable type");
+		}
 		
+		int lambda = (int)properties.getDouble("lambda", 100);
+		double cc = properties.getDouble("cc", -1.0);
+		double cs = properties.getDouble("cs", -1.0);
+		double damps = properties.getDouble("damps", -1.0);
+		double ccov = properties.getDouble("ccov", -1.0);
+		double sigma = properties.getDouble("sigma", -1.0);
+		double[] initialSearchPoint = properties.getDoubleArray("initialSearchPoint", null);
+		NondominatedPopulation archive = newCMAESArchive(properties, problem);
+		FitnessEvaluator fitnessEvaluator = newCMAESFitnessEvaluator(properties, problem);
+		
+		return new SepCMAES(problem, lambda, fitnessEvaluator, archive,
+				initialSearchPoint, cc, cs, damps, ccov, sigma);
+	}
+	
+	/**
+	 * Returns a new {@link LMCMAES} instance.
+	 * 
+	 * @param properties the properties for customizing the new
+	 *        {@code LMCMAES} instance
+	 * @param problem the problem
+	 * @return a new {@code LMCMAES} instance
+	 */
+	private Algorithm newLMCMAES(TypedProperties properties, Problem problem) {
+		if (!checkType(RealVariable.class, problem)) {
+			throw new FrameworkException("unsupported decision variable type");
+		}
+		
+		int lambda = (int)properties.getDouble("lambda", 100);
+		int m = (int)properties.getDouble("m", -1);
+		int interval = (int)properties.getDouble("interval", -1);
+		double cc = properties.getDouble("cc", -1.0);
+		double cs = properties.getDouble("cs", -1.0);
+		double damps = properties.getDouble("damps", -1.0);
+		double c1 = properties.getDouble("c1", -1.0);
+		double sigma = properties.getDouble("sigma", -1.0);
+		double[] initialSearchPoint = properties.getDoubleArray("initialSearchPoint", null);
+		NondominatedPopulation archive = newCMAESArchive(properties, problem);
+		FitnessEvaluator fitnessEvaluator = newCMAESFitnessEvaluator(properties, problem);
+		
+		return new LMCMAES(problem, lambda, fitnessEvaluator, archive,
+				initialSearchPoint, m, interval, cc, cs, damps, c1, sigma);
+	}
+	
+	/**
+	 * Returns the archive used by the CMA-ES variants.  Single-objective
+	 * problems use a {@link NondominatedPopulation}; multiobjective problems
+	 * use an {@link EpsilonBoxDominanceArchive}.
+	 * 
+	 * @param properties the properties for customizing the archive
+	 * @param problem the problem
+	 * @return the archive used by the CMA-ES variants
+	 */
+	private NondominatedPopulation newCMAESArchive(TypedProperties properties,
+			Problem problem) {
 		if (problem.getNumberOfObjectives() == 1) {
-			archive = new NondominatedPopulation();
+			return new NondominatedPopulation();
 		} else {
-			archive = new EpsilonBoxDominanceArchive(
+			return new EpsilonBoxDominanceArchive(
 					properties.getDoubleArray("epsilon", 
 							new double[] { EpsilonHelper.getEpsilon(problem) }));
 		}
+	}
+	
+	/**
+	 * Returns the fitness evaluator selected by the {@code indicator}
+	 * property of the CMA-ES variants, or {@code null} to use the crowding
+	 * distance.
+	 * 
+	 * @param properties the properties for customizing the fitness evaluator
+	 * @param problem the problem
+	 * @return the fitness evaluator, or {@code null} to use the crowding
+	 *         distance
+	 */
+	private FitnessEvaluator newCMAESFitnessEvaluator(
+			TypedProperties properties, Problem problem) {
+		String indicator = properties.getString("indicator", "crowding");
 		
 		if ("hypervolume".equals(indicator)) {
-			fitnessEvaluator = new HypervolumeFitnessEvaluator(problem);
+			return new HypervolumeFitnessEvaluator(problem);
 		} else if ("epsilon".equals(indicator)) {
-			fitnessEvaluator = new AdditiveEpsilonIndicatorFitnessEvaluator(problem);
+			return new AdditiveEpsilonIndicatorFitnessEvaluator(problem);
+		} else {
+			return null;
 		}
-		
-		CMAES cmaes = new CMAES(problem, lambda, fitnessEvaluator, archive,
-				initialSearchPoint, false, cc, cs, damps, ccov, ccovsep, sigma,
-				diagonalIterations);
-
-		return cmaes;
 	}
 	
 	/**
@@ -0,0 +1,263 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm.pisa;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import org.moeaframework.core.Solution;
+import org.moeaframework.util.io.FileUtils;
+
+/**
+ * Transport using the file-based communication channel defined by PISA.  The
+ * state file is checked once every poll interval, so each change of state
+ * is observed, on average, half a poll interval after it occurs.
+ */
+public class FileTransport implements Transport {
+	
+	/**
+	 * The file prefix used when creating the PISA communication files.
+	 */
+	private final String filePrefix;
+	
+	/**
+	 * The shared state.
+	 */
+	protected final State state;
+	
+	/**
+	 * Constructs a new file-based transport.
+	 * 
+	 * @param filePrefix the file prefix used when creating the PISA
+	 *        communication files
+	 * @param pollRate the delay in milliseconds between successive reads of
+	 *        the state file
+	 */
+	public FileTransport(String filePrefix, long pollRate) {
+		super();
+		this.filePrefix = filePrefix;
+		
+		state = new State(getFile("sta"), pollRate);
+	}
+	
+	/**
+	 * Returns the communication file with the given extension.
+	 * 
+	 * @param extension the file extension
+	 * @return the communication file with the given extension
+	 */
+	protected File getFile(String extension) {
+		return new File(filePrefix + extension);
+	}
+
+	@Override
+	public String getFilePrefix() {
+		return filePrefix;
+	}
+
+	@Override
+	public void configure(int alpha, int mu, int lambda, int dimension)
+			throws IOException {
+		FileUtils.delete(getFile("arc"));
+		FileUtils.delete(getFile("cfg"));
+		FileUtils.delete(getFile("ini"));
+		FileUtils.delete(getFile("sel"));
+		FileUtils.delete(getFile("sta"));
+
+		PrintWriter writer = null;
+
+		try {
+			writer = new PrintWriter(new BufferedWriter(new FileWriter(
+					getFile("cfg"))));
+
+			writer.print("alpha ");
+			writer.println(alpha);
+			writer.print("mu ");
+			writer.println(mu);
+			writer.print("lambda ");
+			writer.println(lambda);
+			writer.print("dim ");
+			writer.print(dimension);
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+	}
+
+	@Override
+	public int getState() throws IOException {
+		if (!state.getFile().exists()) {
+			return -1;
+		}
+		
+		return state.get();
+	}
+
+	@Override
+	public void setState(int value) throws IOException, InterruptedException {
+		state.set(value);
+	}
+
+	@Override
+	public int waitWhile(int value) throws IOException,
+			InterruptedException {
+		return state.waitWhile(value);
+	}
+
+	@Override
+	public void writeInitialPopulation(int[] ids, Solution[] solutions)
+			throws IOException {
+		writePopulation(getFile("ini"), ids, solutions);
+	}
+
+	@Override
+	public void writeOffspring(int[] ids, Solution[] solutions)
+			throws IOException {
+		writePopulation(getFile("var"), ids, solutions);
+	}
+
+	@Override
+	public int[] readSelection() throws IOException {
+		return readList(getFile("sel"));
+	}
+
+	@Override
+	public int[] readArchive() throws IOException {
+		return readList(getFile("arc"));
+	}
+
+	@Override
+	public void clearSelectionAndArchive() throws IOException {
+		clearFile(getFile("sel"));
+		clearFile(getFile("arc"));
+	}
+	
+	/**
+	 * Clears the specified file.
+	 * 
+	 * @param file the file to clear
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void clearFile(File file) throws IOException {
+		PrintWriter writer = null;
+
+		try {
+			writer = new PrintWriter(new BufferedWriter(new FileWriter(file)));
+			writer.println('0');
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+	}
+	
+	/**
+	 * Reads either the {@code sel} or {@code arc} files, returning the list
+	 * of identifiers contained in the file.
+	 * 
+	 * @param file the {@code sel} or {@code arc} file
+	 * @return the list of identifiers contained in the file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private int[] readList(File file) throws IOException {
+		BufferedReader reader = null;
+		String line = null;
+
+		try {
+			reader = new BufferedReader(new FileReader(file));
+			line = reader.readLine();
+
+			if (line == null) {
+				throw new IOException("unexpected end of file");
+			}
+
+			int size = Integer.parseInt(line);
+			int[] result = new int[size];
+
+			for (int i = 0; i < size; i++) {
+				line = reader.readLine();
+
+				if (line == null) {
+					throw new IOException("unexpected end of file");
+				}
+
+				result[i] = Integer.parseInt(line);
+			}
+
+			// sanity check
+			if (!"END".equals(reader.readLine())) {
+				throw new IOException("expected END on last line");
+			}
+
+			return result;
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Writes either the {@code ini} or {@code var} file with the specified
+	 * identifiers.
+	 * 
+	 * @param file the {@code ini} or {@code var} file
+	 * @param ids the identifiers of solutions written to the file
+	 * @param solutions the solutions written to the file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writePopulation(File file, int[] ids, Solution[] solutions)
+			throws IOException {
+		PrintWriter writer = null;
+
+		try {
+			writer = new PrintWriter(new BufferedWriter(new FileWriter(file)));
+
+			if (ids.length == 0) {
+				writer.println(0);
+			} else {
+				writer.println(ids.length *
+						(solutions[0].getNumberOfObjectives() + 1));
+			}
+
+			for (int i = 0; i < ids.length; i++) {
+				writer.print(ids[i]);
+
+				for (int j = 0; j < solutions[i].getNumberOfObjectives(); j++) {
+					writer.print(' ');
+					writer.print(solutions[i].getObjective(j));
+				}
+
+				writer.println();
+			}
+
+			writer.println("END");
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+	}
+
+}
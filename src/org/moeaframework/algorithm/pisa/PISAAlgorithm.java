@@ -17,10 +17,8 @@
  */
 package org.moeaframework.algorithm.pisa;
 
-import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.io.PrintWriter;
@@ -44,7 +42,6 @@ import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.operator.RandomInitialization;
 import org.moeaframework.util.TypedProperties;
-import org.moeaframework.util.io.FileUtils;
 import org.moeaframework.util.io.RedirectStream;
 
 /**
@@ -65,25 +62,25 @@ import org.moeaframework.util.io.RedirectStream;
  * contain whitespace in the filename.  It may be necessary to set the JVM
  * property {@code java.io.tmpdir} to a folder with no whitespace in the
  * filename.
+ * <p>
+ * The transport used to communicate with the selector is controlled by
+ * {@link Settings#getPISATransport()}.  The default transport polls the state
+ * file; the {@code "spin"} transport exchanges the same files but detects
+ * state changes with lower latency.
  * 
  * @see <a href="http://www.tik.ee.ethz.ch/pisa/">PISA Homepage</a>
  */
 public class PISAAlgorithm extends AbstractAlgorithm {
 
-	/**
-	 * The file prefix used when creating the PISA communication files.
-	 */
-	private final String filePrefix;
-
 	/**
 	 * The {@link ProcessBuilder} to start the selector process.
 	 */
 	private final ProcessBuilder selector;
 
 	/**
-	 * The shared state.
+	 * The transport used to communicate with the selector.
 	 */
-	private final State state;
+	private final Transport transport;
 
 	/**
 	 * The population size.
@@ -138,7 +135,7 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 		//PISA add the arc, cfg, ini, sel and sta extensions.  This
 		//dependency on files for communication is part of PISA's 
 		//design.
-		filePrefix = File.createTempFile("pisa", "").getCanonicalPath();
+		String filePrefix = File.createTempFile("pisa", "").getCanonicalPath();
 		
 		//ensure the seed property is set
 		if (!properties.containsKey("seed")) {
@@ -187,7 +184,8 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 		alpha = populationSize;
 		mu = (int)typedProperties.getDouble("mu", alpha);
 		lambda = (int)typedProperties.getDouble("lambda", alpha);
-		state = new State(new File(filePrefix + "sta"));
+		transport = createTransport(Settings.getPISATransport(), filePrefix,
+				pollRate);
 		solutions = new HashMap<Integer, Solution>();
 	}
 
@@ -196,10 +194,11 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 		super.initialize();
 
 		try {
-			configure();
-			state.set(0);
+			transport.configure(alpha, mu, lambda,
+					problem.getNumberOfObjectives());
+			transport.setState(0);
 			state0();
-			state.set(1);
+			transport.setState(1);
 
 			Process process = selector.start();
 			RedirectStream.redirect(process.getInputStream(), System.out);
@@ -220,18 +219,18 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 		}
 
 		try {
-			int currentState = state.get();
+			int currentState = transport.getState();
 
 			while (true) {
 				if (currentState == 2) {
-					state.set(4);
+					transport.setState(4);
 					state4();
-					state.set(5);
+					transport.setState(5);
 					break;
 				} else if ((currentState == 4) || (currentState == 7)) {
 					break;
 				} else if (currentState < 8) {
-					currentState = state.waitWhile(currentState);
+					currentState = transport.waitWhile(currentState);
 				} else {
 					throw new AlgorithmException(this, "restart not supported");
 				}
@@ -244,18 +243,18 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 	@Override
 	public void iterate() {
 		try {
-			int currentState = state.get();
+			int currentState = transport.getState();
 
 			while (true) {
 				if (currentState == 2) {
 					state2();
-					state.set(3);
+					transport.setState(3);
 					break;
 				} else if ((currentState == 4) || (currentState == 7)) {
 					terminate();
 					break;
 				} else if (currentState < 8) {
-					currentState = state.waitWhile(currentState);
+					currentState = transport.waitWhile(currentState);
 				} else {
 					throw new AlgorithmException(this, "restart not supported");
 				}
@@ -272,26 +271,6 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 		return result;
 	}
 
-	/**
-	 * Clears the specified file. Some selector implementations may block until
-	 * the {@code sel} and {@code arc} files are cleared.
-	 * 
-	 * @param file the file to clear
-	 * @throws IOException if an I/O error occurred
-	 */
-	private void clearFile(File file) throws IOException {
-		PrintWriter writer = null;
-
-		try {
-			writer = new PrintWriter(new BufferedWriter(new FileWriter(file)));
-			writer.println('0');
-		} finally {
-			if (writer != null) {
-				writer.close();
-			}
-		}
-	}
-
 	/**
 	 * Updates the population, retaining only those solutions with the
 	 * specified identifiers.
@@ -353,7 +332,7 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 			initialIds[i] = addToPopulation(initialPopulation[i]);
 		}
 
-		writePopulation(new File(filePrefix + "ini"), initialIds);
+		transport.writeInitialPopulation(initialIds, initialPopulation);
 	}
 
 	/**
@@ -362,7 +341,7 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 	 * @throws IOException if an I/O error occurred
 	 */
 	private void state4() throws IOException {
-		int[] archivedIds = readList(new File(filePrefix + "arc"));
+		int[] archivedIds = transport.readArchive();
 
 //		if (archivedIds.length != alpha) {
 //			throw new IOException("invalid archive length");
@@ -377,8 +356,8 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 	 * @throws IOException if an I/O error occurred
 	 */
 	private void state2() throws IOException {
-		int[] selectionIds = readList(new File(filePrefix + "sel"));
-		int[] archivedIds = readList(new File(filePrefix + "arc"));
+		int[] selectionIds = transport.readSelection();
+		int[] archivedIds = transport.readArchive();
 		int[] variationIds = new int[lambda];
 
 		if (selectionIds.length != mu) {
@@ -391,8 +370,7 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 		//}
 
 		updatePopulation(archivedIds);
-		clearFile(new File(filePrefix + "sel"));
-		clearFile(new File(filePrefix + "arc"));
+		transport.clearSelectionAndArchive();
 
 		List<Solution> offspring = new ArrayList<Solution>();
 
@@ -416,121 +394,30 @@ public class PISAAlgorithm extends AbstractAlgorithm {
 			variationIds[i] = addToPopulation(offspring.get(i));
 		}
 
-		writePopulation(new File(filePrefix + "var"), variationIds);
-	}
-
-	/**
-	 * Reads either the {@code sel} or {@code arc} files, returning the list
-	 * of identifiers contained in the file.
-	 * 
-	 * @param file the {@code sel} or {@code arc} file
-	 * @return the list of identifiers contained in the file
-	 * @throws IOException if an I/O error occurred
-	 */
-	private int[] readList(File file) throws IOException {
-		BufferedReader reader = null;
-		String line = null;
-
-		try {
-			reader = new BufferedReader(new FileReader(file));
-			line = reader.readLine();
-
-			if (line == null) {
-				throw new IOException("unexpected end of file");
-			}
-
-			int size = Integer.parseInt(line);
-			int[] result = new int[size];
-
-			for (int i = 0; i < size; i++) {
-				line = reader.readLine();
-
-				if (line == null) {
-					throw new IOException("unexpected end of file");
-				}
-
-				result[i] = Integer.parseInt(line);
-			}
-
-			// sanity check
-			if (!"END".equals(reader.readLine())) {
-				throw new IOException("expected END on last line");
-			}
-
-			return result;
-		} finally {
-			if (reader != null) {
-				reader.close();
-			}
-		}
-	}
-
-	/**
-	 * Writes either the {@code ini} or {@code var} file with the specified
-	 * identifiers.
-	 * 
-	 * @param file the {@code ini} or {@code var} file
-	 * @param ids the identifiers of solutions written to the file
-	 * @throws IOException if an I/O error occurred
-	 */
-	private void writePopulation(File file, int[] ids) throws IOException {
-		PrintWriter writer = null;
-
-		try {
-			writer = new PrintWriter(new BufferedWriter(new FileWriter(file)));
-
-			writer.println(ids.length * (problem.getNumberOfObjectives() + 1));
-
-			for (int i = 0; i < ids.length; i++) {
-				writer.print(ids[i]);
-
-				for (int j = 0; j < problem.getNumberOfObjectives(); j++) {
-					writer.print(' ');
-					writer.print(solutions.get(ids[i]).getObjective(j));
-				}
-
-				writer.println();
-			}
-
-			writer.println("END");
-		} finally {
-			if (writer != null) {
-				writer.close();
-			}
-		}
+		transport.writeOffspring(variationIds,
+				offspring.toArray(new Solution[lambda]));
 	}
 
 	/**
-	 * Removes any existing PISA communication files, creating a new {@code cfg}
-	 * file with the appropriate settings.
+	 * Creates the transport used to communicate with the selector.
 	 * 
-	 * @throws IOException if an I/O error occurred
+	 * @param name the name of the transport
+	 * @param filePrefix the file prefix used when creating the PISA
+	 *        communication files
+	 * @param pollRate the delay in milliseconds between successive reads of
+	 *        the state file
+	 * @return the transport used to communicate with the selector
+	 * @throws IllegalArgumentException if the transport is not supported
 	 */
-	private void configure() throws IOException {
-		FileUtils.delete(new File(filePrefix + "arc"));
-		FileUtils.delete(new File(filePrefix + "cfg"));
-		FileUtils.delete(new File(filePrefix + "ini"));
-		FileUtils.delete(new File(filePrefix + "sel"));
-		FileUtils.delete(new File(filePrefix + "sta"));
-
-		PrintWriter writer = null;
-
-		try {
-			writer = new PrintWriter(new BufferedWriter(new FileWriter(
-					new File(filePrefix + "cfg"))));
-
-			writer.print("alpha ");
-			writer.println(alpha);
-			writer.print("mu ");
-			writer.println(mu);
-			writer.print("lambda ");
-			writer.println(lambda);
-			writer.print("dim ");
-			writer.print(problem.getNumberOfObjectives());
-		} finally {
-			if (writer != null) {
-				writer.close();
-			}
+	private static Transport createTransport(String name, String filePrefix,
+			int pollRate) {
+		if (name.equalsIgnoreCase("poll")) {
+			return new FileTransport(filePrefix, pollRate);
+		} else if (name.equalsIgnoreCase("spin")) {
+			return new SpinParkTransport(filePrefix, pollRate);
+		} else {
+			throw new IllegalArgumentException("unsupported transport: " +
+					name);
 		}
 	}
 
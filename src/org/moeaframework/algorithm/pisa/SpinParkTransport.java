@@ -0,0 +1,122 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm.pisa;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Low-latency transport using the file-based communication channel defined
+ * by PISA.  Rather than sleeping a full poll interval between reads of the
+ * state file, this transport reads the state file continuously for a short
+ * spin period and then parks the thread with an exponentially increasing
+ * delay, capped at the poll interval.  State changes arriving shortly after
+ * the variator or selector finishes its work are therefore observed almost
+ * immediately, while long waits cost no more CPU time than polling.
+ * <p>
+ * The files exchanged with the selector are unchanged, so this transport
+ * works with any PISA selector.
+ */
+public class SpinParkTransport extends FileTransport {
+	
+	/**
+	 * The default time, in nanoseconds, spent reading the state file
+	 * continuously before parking.
+	 */
+	public static final long DEFAULT_SPIN_TIME =
+			TimeUnit.MILLISECONDS.toNanos(1);
+	
+	/**
+	 * The initial time, in nanoseconds, the thread is parked after the spin
+	 * period elapses.
+	 */
+	private static final long MINIMUM_PARK_TIME =
+			TimeUnit.MICROSECONDS.toNanos(10);
+	
+	/**
+	 * The time, in nanoseconds, spent reading the state file continuously
+	 * before parking.
+	 */
+	private final long spinTime;
+	
+	/**
+	 * The maximum time, in nanoseconds, the thread is parked between reads of
+	 * the state file.
+	 */
+	private final long maximumParkTime;
+
+	/**
+	 * Constructs a new low-latency transport using the default spin time.
+	 * 
+	 * @param filePrefix the file prefix used when creating the PISA
+	 *        communication files
+	 * @param pollRate the maximum delay in milliseconds between successive
+	 *        reads of the state file
+	 */
+	public SpinParkTransport(String filePrefix, long pollRate) {
+		this(filePrefix, pollRate, DEFAULT_SPIN_TIME);
+	}
+	
+	/**
+	 * Constructs a new low-latency transport.
+	 * 
+	 * @param filePrefix the file prefix used when creating the PISA
+	 *        communication files
+	 * @param pollRate the maximum delay in milliseconds between successive
+	 *        reads of the state file
+	 * @param spinTime the time, in nanoseconds, spent reading the state file
+	 *        continuously before parking
+	 */
+	public SpinParkTransport(String filePrefix, long pollRate, long spinTime) {
+		super(filePrefix, pollRate);
+		this.spinTime = spinTime;
+		
+		maximumParkTime = Math.max(MINIMUM_PARK_TIME,
+				TimeUnit.MILLISECONDS.toNanos(pollRate));
+	}
+
+	@Override
+	public int waitWhile(int value) throws IOException,
+			InterruptedException {
+		long start = System.nanoTime();
+		long parkTime = MINIMUM_PARK_TIME;
+		
+		while (true) {
+			int current = getState();
+			
+			//an empty or missing state file indicates the state is being
+			//rewritten, so keep waiting
+			if ((current != value) && (current != -1)) {
+				return current;
+			}
+			
+			if (System.nanoTime() - start < spinTime) {
+				Thread.yield();
+			} else {
+				LockSupport.parkNanos(parkTime);
+				parkTime = Math.min(2 * parkTime, maximumParkTime);
+			}
+			
+			if (Thread.interrupted()) {
+				throw new InterruptedException();
+			}
+		}
+	}
+
+}
@@ -39,7 +39,7 @@ public class State {
 	/**
 	 * The delay in milliseconds between successive reads of the state file.
 	 */
-	private static final long pollRate = Settings.getPISAPollRate();
+	private final long pollRate;
 	
 	/**
 	 * The number of times this class will attempt to write to the state file
@@ -54,8 +54,41 @@ public class State {
 	 * @param file the state file
 	 */
 	public State(File file) {
+		this(file, Settings.getPISAPollRate());
+	}
+	
+	/**
+	 * Constructs a state indicator backed by the specified file, reading the
+	 * state file at the given poll rate when waiting for changes.
+	 * 
+	 * @param file the state file
+	 * @param pollRate the delay in milliseconds between successive reads of
+	 *        the state file
+	 */
+	public State(File file, long pollRate) {
 		super();
 		this.file = file;
+		this.pollRate = pollRate;
+	}
+	
+	/**
+	 * Returns the state file.
+	 * 
+	 * @return the state file
+	 */
+	public File getFile() {
+		return file;
+	}
+	
+	/**
+	 * Returns the delay in milliseconds between successive reads of the state
+	 * file.
+	 * 
+	 * @return the delay in milliseconds between successive reads of the state
+	 *         file
+	 */
+	public long getPollRate() {
+		return pollRate;
 	}
 
 	/**
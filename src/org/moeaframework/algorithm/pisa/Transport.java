@@ -0,0 +1,128 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm.pisa;
+
+import java.io.IOException;
+
+import org.moeaframework.core.Solution;
+
+/**
+ * The communication channel between a {@link PISAAlgorithm} and an external
+ * PISA selector.  The transport exchanges the shared state and the
+ * {@code ini}, {@code var}, {@code sel} and {@code arc} messages defined by
+ * the PISA protocol.  Implementations may differ in how they detect state
+ * changes, but must remain compatible with existing PISA selectors.
+ */
+public interface Transport {
+	
+	/**
+	 * Returns the prefix of the communication files, which is passed to the
+	 * PISA selector on the command line.
+	 * 
+	 * @return the prefix of the communication files
+	 */
+	public String getFilePrefix();
+	
+	/**
+	 * Removes any existing communication files and writes the {@code cfg}
+	 * message describing the population sizes and number of objectives.
+	 * 
+	 * @param alpha the population size
+	 * @param mu the number of parents
+	 * @param lambda the number of offspring
+	 * @param dimension the number of objectives
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void configure(int alpha, int mu, int lambda, int dimension)
+			throws IOException;
+	
+	/**
+	 * Reads the state.
+	 * 
+	 * @return the state, or {@code -1} if the state is not available
+	 * @throws IOException if an I/O error occurred
+	 */
+	public int getState() throws IOException;
+	
+	/**
+	 * Sets the state.
+	 * 
+	 * @param state the state
+	 * @throws IOException if an I/O error occurred
+	 * @throws InterruptedException if the thread was interrupted
+	 */
+	public void setState(int state) throws IOException, InterruptedException;
+	
+	/**
+	 * Blocks while the state remains at the specified value, returning the
+	 * new state value when it changes.
+	 * 
+	 * @param state the state to wait on
+	 * @return the new state
+	 * @throws IOException if an I/O error occurred
+	 * @throws InterruptedException if the thread was interrupted
+	 */
+	public int waitWhile(int state) throws IOException, InterruptedException;
+	
+	/**
+	 * Writes the {@code ini} message containing the initial population.
+	 * 
+	 * @param ids the identifiers of the solutions
+	 * @param solutions the solutions
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void writeInitialPopulation(int[] ids, Solution[] solutions)
+			throws IOException;
+	
+	/**
+	 * Writes the {@code var} message containing the offspring.
+	 * 
+	 * @param ids the identifiers of the solutions
+	 * @param solutions the solutions
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void writeOffspring(int[] ids, Solution[] solutions)
+			throws IOException;
+	
+	/**
+	 * Reads the {@code sel} message containing the identifiers of the
+	 * selected parents.
+	 * 
+	 * @return the identifiers of the selected parents
+	 * @throws IOException if an I/O error occurred
+	 */
+	public int[] readSelection() throws IOException;
+	
+	/**
+	 * Reads the {@code arc} message containing the identifiers of the
+	 * archived solutions.
+	 * 
+	 * @return the identifiers of the archived solutions
+	 * @throws IOException if an I/O error occurred
+	 */
+	public int[] readArchive() throws IOException;
+	
+	/**
+	 * Clears the {@code sel} and {@code arc} messages.  Some selector
+	 * implementations may block until these messages are cleared.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void clearSelectionAndArchive() throws IOException;
+
+}
@@ -17,12 +17,23 @@
  */
 package org.moeaframework.analysis.collector;
 
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.FileWriter;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.ObjectStreamException;
+import java.io.ObjectStreamField;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -30,32 +41,113 @@ import java.util.Map;
 import java.util.Set;
 
 import org.apache.commons.lang3.StringEscapeUtils;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.util.io.FileUtils;
 
 /**
  * An accumulator stores collected data from a single run of an algorithm.
+ * <p>
+ * Data is stored in columns, one per key.  Sequences of {@link Integer},
+ * {@link Long} and {@link Double} observations are stored in primitive arrays,
+ * avoiding the overhead of storing each observation as a separate object.  If
+ * a key later receives a value of a different type, the column is converted to
+ * generic object storage.
+ * <p>
+ * Approximation sets, which are recorded as lists of solutions, are by default
+ * stored as-is.  When packing is enabled, only the objectives and constraints
+ * of each solution are retained in a single {@code double[]} block per
+ * observation, and these blocks can optionally be spilled to a temporary file
+ * on disk.  Solutions returned by {@link #get(String, int)} from a packed
+ * column are reconstructed from these blocks and contain no decision
+ * variables or attributes.  Call {@link #dispose()} to delete the temporary
+ * files once the accumulator is no longer needed.
+ * <p>
+ * The serialized form stores the observations for each key in a list, which
+ * is compatible with accumulators saved by earlier versions.  Deserialized
+ * accumulators use the default storage and do not pack approximation sets.
  */
 public class Accumulator implements Serializable {
 
 	private static final long serialVersionUID = -7483439787468468601L;
 	
+	/**
+	 * The serialized fields, matching earlier versions that stored the data as
+	 * a {@code Map<String, List<Serializable>>}.
+	 */
+	private static final ObjectStreamField[] serialPersistentFields = {
+			new ObjectStreamField("data", Map.class) };
+	
 	/**
 	 * The error message displayed when attempting to access and invalid key
 	 * that does not exist in an accumulator.
 	 */
 	private static final String INVALID_KEY =
 			"key not defined in accumulator: {0}";
+	
+	/**
+	 * The initial capacity of columns.
+	 */
+	private static final int INITIAL_CAPACITY = 16;
 
 	/**
 	 * The internal storage of data.
 	 */
-	private final Map<String, List<Serializable>> data;
+	private final transient Map<String, Column> data;
+	
+	/**
+	 * {@code true} if approximation sets are packed into objective blocks;
+	 * {@code false} if the solutions are stored as-is.
+	 */
+	private final transient boolean packSolutions;
+	
+	/**
+	 * The directory where packed approximation sets are spilled; or
+	 * {@code null} if packed approximation sets are kept in memory.
+	 */
+	private final transient File spillDirectory;
+	
+	/**
+	 * The data read when deserializing this accumulator, which is copied into
+	 * a new accumulator by {@link #readResolve()}.
+	 */
+	private transient Map<String, List<Serializable>> serializedData;
 
 	/**
 	 * Constructs an empty accumulator.
 	 */
 	public Accumulator() {
-		data = new HashMap<String, List<Serializable>>();
+		this(false, null);
+	}
+	
+	/**
+	 * Constructs an empty accumulator, optionally packing approximation sets
+	 * into objective blocks.
+	 * 
+	 * @param packSolutions {@code true} if approximation sets are packed into
+	 *        objective blocks; {@code false} if the solutions are stored as-is
+	 */
+	public Accumulator(boolean packSolutions) {
+		this(packSolutions, null);
+	}
+	
+	/**
+	 * Constructs an empty accumulator, optionally packing approximation sets
+	 * into objective blocks that are spilled to disk.
+	 * 
+	 * @param packSolutions {@code true} if approximation sets are packed into
+	 *        objective blocks; {@code false} if the solutions are stored as-is
+	 * @param spillDirectory the directory where packed approximation sets are
+	 *        spilled; or {@code null} if packed approximation sets are kept in
+	 *        memory
+	 */
+	public Accumulator(boolean packSolutions, File spillDirectory) {
+		super();
+		this.packSolutions = packSolutions;
+		this.spillDirectory = spillDirectory;
+		
+		data = new HashMap<String, Column>();
 	}
 
 	/**
@@ -65,14 +157,43 @@ public class Accumulator implements Serializable {
 	 * @param value the value of this observation
 	 */
 	public void add(String key, Serializable value) {
-		List<Serializable> entries = data.get(key);
+		Column column = data.get(key);
 		
-		if (entries == null) {
-			entries = new ArrayList<Serializable>();
-			data.put(key, entries);
+		if (column == null) {
+			column = createColumn(value);
+			data.put(key, column);
 		}
 
-		entries.add(value);
+		if (!column.add(value)) {
+			Column objectColumn = new ObjectColumn(column);
+			objectColumn.add(value);
+			data.put(key, objectColumn);
+			column.dispose();
+		}
+	}
+	
+	/**
+	 * Creates the column best suited for storing the given value.
+	 * 
+	 * @param value the first value stored in the column
+	 * @return the column best suited for storing the given value
+	 */
+	private Column createColumn(Serializable value) {
+		if (value instanceof Integer) {
+			return new IntColumn();
+		} else if (value instanceof Long) {
+			return new LongColumn();
+		} else if (value instanceof Double) {
+			return new DoubleColumn();
+		} else if (packSolutions && SolutionColumn.accepts(value)) {
+			if (spillDirectory == null) {
+				return new SolutionColumn();
+			} else {
+				return new SpilledSolutionColumn(spillDirectory);
+			}
+		} else {
+			return new ObjectColumn();
+		}
 	}
 
 	/**
@@ -96,13 +217,14 @@ public class Accumulator implements Serializable {
 	 *         (index < 0 || index >= size(key))}
 	 */
 	public Serializable get(String key, int index) {
-		List<Serializable> entries = data.get(key);
+		Column column = data.get(key);
 		
-		if (entries == null) {
+		if (column == null) {
 			throw new IllegalArgumentException(MessageFormat.format(
 					INVALID_KEY, key));
 		} else {
-			return entries.get(index);
+			column.checkIndex(index);
+			return column.get(index);
 		}
 	}
 
@@ -115,28 +237,109 @@ public class Accumulator implements Serializable {
 	 *         accumulator
 	 */
 	public int size(String key) {
-		List<Serializable> entries = data.get(key);
+		Column column = data.get(key);
 		
-		if (entries == null) {
+		if (column == null) {
 			throw new IllegalArgumentException(MessageFormat.format(
 					INVALID_KEY, key));
 		} else {
-			return entries.size();
+			return column.size();
 		}
 	}
 	
 	/**
-	 * Saves the contests of this accumulator to a CSV file.
+	 * Deletes any temporary files used to spill approximation sets to disk
+	 * and removes all data from this accumulator.  Temporary files are
+	 * otherwise only deleted when the JVM exits.
+	 */
+	public void dispose() {
+		for (Column column : data.values()) {
+			column.dispose();
+		}
+		
+		data.clear();
+	}
+	
+	/**
+	 * Writes this accumulator in the serialized form of earlier versions,
+	 * storing the observations for each key in a list.
+	 * 
+	 * @param stream the stream
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeObject(ObjectOutputStream stream) throws IOException {
+		Map<String, List<Serializable>> serializedData =
+				new HashMap<String, List<Serializable>>();
+		
+		for (Map.Entry<String, Column> entry : data.entrySet()) {
+			Column column = entry.getValue();
+			List<Serializable> values = new ArrayList<Serializable>(
+					column.size());
+			
+			for (int i = 0; i < column.size(); i++) {
+				values.add(column.get(i));
+			}
+			
+			serializedData.put(entry.getKey(), values);
+		}
+		
+		ObjectOutputStream.PutField fields = stream.putFields();
+		fields.put("data", serializedData);
+		stream.writeFields();
+	}
+	
+	/**
+	 * Reads an accumulator stored in the serialized form of earlier versions.
+	 * 
+	 * @param stream the stream
+	 * @throws IOException if an I/O error occurred
+	 * @throws ClassNotFoundException if the class of a stored value could not
+	 *         be found
+	 */
+	@SuppressWarnings("unchecked")
+	private void readObject(ObjectInputStream stream) throws IOException,
+	ClassNotFoundException {
+		ObjectInputStream.GetField fields = stream.readFields();
+		serializedData = (Map<String, List<Serializable>>)fields.get("data",
+				null);
+	}
+	
+	/**
+	 * Replaces the deserialized instance with a new accumulator containing
+	 * the deserialized data.
+	 * 
+	 * @return the new accumulator containing the deserialized data
+	 * @throws ObjectStreamException if an error occurred during
+	 *         deserialization
+	 */
+	private Object readResolve() throws ObjectStreamException {
+		Accumulator accumulator = new Accumulator();
+		
+		if (serializedData != null) {
+			for (Map.Entry<String, List<Serializable>> entry :
+					serializedData.entrySet()) {
+				for (Serializable value : entry.getValue()) {
+					accumulator.add(entry.getKey(), value);
+				}
+			}
+		}
+		
+		return accumulator;
+	}
+	
+	/**
+	 * Saves the contests of this accumulator to a CSV file.  The contents
+	 * are streamed to the file one row at a time.
 	 * 
 	 * @param file the file to create
 	 * @throws IOException if an I/O error occurred
 	 */
 	public void saveCSV(File file) throws IOException {
-		FileWriter writer = null;
+		Writer writer = null;
 		
 		try {
-			writer = new FileWriter(file);
-			writer.write(toCSV());
+			writer = new BufferedWriter(new FileWriter(file));
+			writeCSV(writer);
 		} finally {
 			if (writer != null) {
 				writer.close();
@@ -150,7 +353,26 @@ public class Accumulator implements Serializable {
 	 * @return the contents of this accumulator as a string in CSV format
 	 */
 	public String toCSV() {
-		StringBuilder sb = new StringBuilder();
+		StringWriter writer = new StringWriter();
+		
+		try {
+			writeCSV(writer);
+		} catch (IOException e) {
+			//should never occur when writing to a string
+			throw new FrameworkException(e);
+		}
+		
+		return writer.toString();
+	}
+	
+	/**
+	 * Writes the contents of this accumulator in CSV format to the given
+	 * writer.  The writer is not closed by this method.
+	 * 
+	 * @param writer the writer
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void writeCSV(Writer writer) throws IOException {
 		boolean firstValue = true;
 		
 		// determine the ordering of the fields
@@ -166,29 +388,481 @@ public class Accumulator implements Serializable {
 		// create the header
 		for (String field : fields) {
 			if (!firstValue) {
-				sb.append(", ");
+				writer.write(", ");
 			}
 			
-			sb.append(StringEscapeUtils.escapeCsv(field));
+			writer.write(StringEscapeUtils.escapeCsv(field));
 			firstValue = false;
 		}
 		
 		// create the data
 		for (int i = 0; i < size("NFE"); i++) {
-			sb.append(Settings.NEW_LINE);
+			writer.write(Settings.NEW_LINE);
 			firstValue = true;
 			
 			for (String field : fields) {
 				if (!firstValue) {
-					sb.append(", ");
+					writer.write(", ");
 				}
 				
-				sb.append(StringEscapeUtils.escapeCsv(get(field, i).toString()));
+				writer.write(StringEscapeUtils.escapeCsv(
+						get(field, i).toString()));
 				firstValue = false;
 			}
 		}
+	}
+	
+	/**
+	 * A sequence of observations stored for a single key.
+	 */
+	private static abstract class Column {
+		
+		/**
+		 * The number of observations stored in this column.
+		 */
+		protected int size;
+		
+		/**
+		 * Appends the value to this column.
+		 * 
+		 * @param value the value to append
+		 * @return {@code true} if the value was appended; {@code false} if
+		 *         this column can not store values of this type
+		 */
+		public abstract boolean add(Serializable value);
+		
+		/**
+		 * Returns the value at the specified index.  The index is assumed to
+		 * be valid.
+		 * 
+		 * @param index the index
+		 * @return the value at the specified index
+		 */
+		public abstract Serializable get(int index);
+		
+		/**
+		 * Returns the number of observations stored in this column.
+		 * 
+		 * @return the number of observations stored in this column
+		 */
+		public int size() {
+			return size;
+		}
+		
+		/**
+		 * Releases any resources held by this column.
+		 */
+		public void dispose() {
+			// no resources held by default
+		}
+		
+		/**
+		 * Ensures the index is valid for this column.
+		 * 
+		 * @param index the index
+		 * @throws IndexOutOfBoundsException if the index is out of range
+		 */
+		public void checkIndex(int index) {
+			if ((index < 0) || (index >= size)) {
+				throw new IndexOutOfBoundsException("Index: " + index + 
+						", Size: " + size);
+			}
+		}
+		
+		/**
+		 * Returns the new capacity of an array that must hold at least
+		 * {@code size + 1} elements.
+		 * 
+		 * @param capacity the current capacity
+		 * @return the new capacity
+		 */
+		protected int grow(int capacity) {
+			return capacity + Math.max(capacity >> 1, 1);
+		}
+		
+	}
+	
+	/**
+	 * Column storing {@link Integer} values in an {@code int[]}.
+	 */
+	private static class IntColumn extends Column {
+		
+		/**
+		 * The stored values.
+		 */
+		private int[] values = new int[INITIAL_CAPACITY];
+
+		@Override
+		public boolean add(Serializable value) {
+			if (!(value instanceof Integer)) {
+				return false;
+			}
+			
+			if (size == values.length) {
+				values = Arrays.copyOf(values, grow(values.length));
+			}
+			
+			values[size++] = (Integer)value;
+			return true;
+		}
+
+		@Override
+		public Serializable get(int index) {
+			return values[index];
+		}
+		
+	}
+	
+	/**
+	 * Column storing {@link Long} values in a {@code long[]}.
+	 */
+	private static class LongColumn extends Column {
+		
+		/**
+		 * The stored values.
+		 */
+		private long[] values = new long[INITIAL_CAPACITY];
+
+		@Override
+		public boolean add(Serializable value) {
+			if (!(value instanceof Long)) {
+				return false;
+			}
+			
+			if (size == values.length) {
+				values = Arrays.copyOf(values, grow(values.length));
+			}
+			
+			values[size++] = (Long)value;
+			return true;
+		}
+
+		@Override
+		public Serializable get(int index) {
+			return values[index];
+		}
+		
+	}
+	
+	/**
+	 * Column storing {@link Double} values in a {@code double[]}.
+	 */
+	private static class DoubleColumn extends Column {
+		
+		/**
+		 * The stored values.
+		 */
+		private double[] values = new double[INITIAL_CAPACITY];
+
+		@Override
+		public boolean add(Serializable value) {
+			if (!(value instanceof Double)) {
+				return false;
+			}
+			
+			if (size == values.length) {
+				values = Arrays.copyOf(values, grow(values.length));
+			}
+			
+			values[size++] = (Double)value;
+			return true;
+		}
+
+		@Override
+		public Serializable get(int index) {
+			return values[index];
+		}
+		
+	}
+	
+	/**
+	 * Column storing arbitrary values.
+	 */
+	private static class ObjectColumn extends Column {
+		
+		/**
+		 * The stored values.
+		 */
+		private final List<Serializable> values;
+		
+		/**
+		 * Constructs an empty column.
+		 */
+		public ObjectColumn() {
+			super();
+			values = new ArrayList<Serializable>();
+		}
+		
+		/**
+		 * Constructs a column containing the values of an existing column.
+		 * 
+		 * @param column the existing column
+		 */
+		public ObjectColumn(Column column) {
+			this();
+			
+			for (int i = 0; i < column.size(); i++) {
+				add(column.get(i));
+			}
+		}
+
+		@Override
+		public boolean add(Serializable value) {
+			values.add(value);
+			size++;
+			return true;
+		}
+
+		@Override
+		public Serializable get(int index) {
+			return values.get(index);
+		}
+		
+	}
+	
+	/**
+	 * Column storing lists of solutions as packed blocks of objective and
+	 * constraint values.  Each block is laid out row-by-row, with the
+	 * objectives followed by the constraints of each solution.
+	 */
+	private static class SolutionColumn extends Column {
+		
+		/**
+		 * The number of solutions in each stored list.
+		 */
+		protected int[] lengths = new int[INITIAL_CAPACITY];
+		
+		/**
+		 * The number of objectives, which must be identical for all stored
+		 * solutions; or {@code -1} if no solutions have been stored.
+		 */
+		protected int numberOfObjectives = -1;
+		
+		/**
+		 * The number of constraints, which must be identical for all stored
+		 * solutions; or {@code -1} if no solutions have been stored.
+		 */
+		protected int numberOfConstraints = -1;
+		
+		/**
+		 * The packed blocks.
+		 */
+		private List<double[]> blocks = new ArrayList<double[]>();
+		
+		/**
+		 * Returns {@code true} if the value is a list of solutions that can be
+		 * stored by this column; {@code false} otherwise.
+		 * 
+		 * @param value the value
+		 * @return {@code true} if the value is a list of solutions that can be
+		 *         stored by this column; {@code false} otherwise
+		 */
+		public static boolean accepts(Serializable value) {
+			if (!(value instanceof List)) {
+				return false;
+			}
+			
+			for (Object element : (List<?>)value) {
+				if (!(element instanceof Solution)) {
+					return false;
+				}
+			}
+			
+			return true;
+		}
+
+		@Override
+		public boolean add(Serializable value) {
+			if (!accepts(value)) {
+				return false;
+			}
+			
+			List<?> solutions = (List<?>)value;
+			
+			// ensure all solutions share the same dimensions
+			for (Object element : solutions) {
+				Solution solution = (Solution)element;
+				
+				if (numberOfObjectives < 0) {
+					numberOfObjectives = solution.getNumberOfObjectives();
+					numberOfConstraints = solution.getNumberOfConstraints();
+				} else if ((solution.getNumberOfObjectives() != 
+						numberOfObjectives) ||
+						(solution.getNumberOfConstraints() != 
+						numberOfConstraints)) {
+					return false;
+				}
+			}
+
+			int width = numberOfObjectives + numberOfConstraints;
+			double[] block = new double[solutions.size() * Math.max(width, 0)];
+			int offset = 0;
+			
+			for (Object element : solutions) {
+				Solution solution = (Solution)element;
+				
+				for (int i = 0; i < numberOfObjectives; i++) {
+					block[offset++] = solution.getObjective(i);
+				}
+				
+				for (int i = 0; i < numberOfConstraints; i++) {
+					block[offset++] = solution.getConstraint(i);
+				}
+			}
+			
+			if (size == lengths.length) {
+				lengths = Arrays.copyOf(lengths, grow(lengths.length));
+			}
+			
+			store(block);
+			lengths[size++] = solutions.size();
+			return true;
+		}
+		
+		/**
+		 * Stores the block for the next observation.
+		 * 
+		 * @param block the packed block
+		 */
+		protected void store(double[] block) {
+			blocks.add(block);
+		}
+		
+		/**
+		 * Loads the block for the given observation.
+		 * 
+		 * @param index the index of the observation
+		 * @return the packed block
+		 */
+		protected double[] load(int index) {
+			return blocks.get(index);
+		}
+
+		@Override
+		public Serializable get(int index) {
+			double[] block = load(index);
+			ArrayList<Solution> solutions = new ArrayList<Solution>();
+			int offset = 0;
+			
+			for (int i = 0; i < lengths[index]; i++) {
+				Solution solution = new Solution(0, numberOfObjectives,
+						numberOfConstraints);
+				
+				for (int j = 0; j < numberOfObjectives; j++) {
+					solution.setObjective(j, block[offset++]);
+				}
+				
+				for (int j = 0; j < numberOfConstraints; j++) {
+					solution.setConstraint(j, block[offset++]);
+				}
+				
+				solutions.add(solution);
+			}
+			
+			return solutions;
+		}
+		
+	}
+	
+	/**
+	 * Column storing lists of solutions as packed blocks that are spilled to
+	 * a temporary file.  Only the offset of each block is kept in memory.  The
+	 * file is opened only while reading or writing a block, so many spilled
+	 * columns can coexist without holding open file handles.
+	 */
+	private static class SpilledSolutionColumn extends SolutionColumn {
+		
+		/**
+		 * The temporary file storing the packed blocks.
+		 */
+		private final File file;
+		
+		/**
+		 * The offset, in bytes, of each block in the file.
+		 */
+		private long[] offsets = new long[INITIAL_CAPACITY + 1];
+		
+		/**
+		 * Constructs a new column that spills to a temporary file in the given
+		 * directory.
+		 * 
+		 * @param directory the directory where the temporary file is created
+		 */
+		public SpilledSolutionColumn(File directory) {
+			super();
+			
+			try {
+				file = File.createTempFile("accumulator", ".bin", directory);
+				file.deleteOnExit();
+			} catch (IOException e) {
+				throw new FrameworkException(e);
+			}
+		}
+
+		@Override
+		protected void store(double[] block) {
+			ByteBuffer buffer = ByteBuffer.allocate(8 * block.length);
+			buffer.asDoubleBuffer().put(block);
+			
+			FileOutputStream output = null;
+			
+			try {
+				output = new FileOutputStream(file, true);
+				output.write(buffer.array());
+			} catch (IOException e) {
+				throw new FrameworkException(e);
+			} finally {
+				if (output != null) {
+					try {
+						output.close();
+					} catch (IOException e) {
+						throw new FrameworkException(e);
+					}
+				}
+			}
+			
+			if (size + 1 == offsets.length) {
+				offsets = Arrays.copyOf(offsets, grow(offsets.length));
+			}
+			
+			offsets[size + 1] = offsets[size] + buffer.capacity();
+		}
+
+		@Override
+		protected double[] load(int index) {
+			byte[] bytes = new byte[(int)(offsets[index+1] - offsets[index])];
+			RandomAccessFile input = null;
+			
+			try {
+				input = new RandomAccessFile(file, "r");
+				input.seek(offsets[index]);
+				input.readFully(bytes);
+			} catch (IOException e) {
+				throw new FrameworkException(e);
+			} finally {
+				if (input != null) {
+					try {
+						input.close();
+					} catch (IOException e) {
+						throw new FrameworkException(e);
+					}
+				}
+			}
+			
+			double[] block = new double[bytes.length / 8];
+			ByteBuffer.wrap(bytes).asDoubleBuffer().get(block);
+			return block;
+		}
+		
+		@Override
+		public void dispose() {
+			try {
+				FileUtils.delete(file);
+			} catch (IOException e) {
+				throw new FrameworkException(e);
+			}
+		}
 		
-		return sb.toString();
 	}
 
 }
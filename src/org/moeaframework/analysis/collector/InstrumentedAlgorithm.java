@@ -49,9 +49,24 @@ public class InstrumentedAlgorithm extends PeriodicAction {
 	 * @param frequency the frequency, in evaluations, that data is collected
 	 */
 	public InstrumentedAlgorithm(Algorithm algorithm, int frequency) {
+		this(algorithm, frequency, new Accumulator());
+	}
+	
+	/**
+	 * Decorates the specified algorithm to periodically collect information
+	 * about its runtime behavior, storing the information in the given
+	 * accumulator.
+	 * 
+	 * @param algorithm the algorithm to decorate
+	 * @param frequency the frequency, in evaluations, that data is collected
+	 * @param accumulator the accumulator to which all recorded information is
+	 *        stored
+	 */
+	public InstrumentedAlgorithm(Algorithm algorithm, int frequency,
+			Accumulator accumulator) {
 		super(algorithm, frequency, FrequencyType.EVALUATIONS);
+		this.accumulator = accumulator;
 		
-		accumulator = new Accumulator();
 		collectors = new ArrayList<Collector>();
 	}
 	
@@ -17,6 +17,8 @@
  */
 package org.moeaframework.analysis.diagnostics;
 
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -25,18 +27,36 @@ import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.PrintStream;
+import java.io.Serializable;
 import java.io.StreamCorruptedException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
 
 import javax.swing.JOptionPane;
 import javax.swing.SwingUtilities;
+import javax.swing.Timer;
 
 import org.apache.commons.lang3.event.EventListenerSupport;
+import org.apache.commons.math3.random.RandomAdaptor;
+import org.apache.commons.math3.random.RandomGeneratorFactory;
+import org.apache.commons.math3.random.SynchronizedRandomGenerator;
 import org.moeaframework.Analyzer;
 import org.moeaframework.Executor;
 import org.moeaframework.Instrumenter;
@@ -44,7 +64,9 @@ import org.moeaframework.analysis.collector.Accumulator;
 import org.moeaframework.analysis.sensitivity.EpsilonHelper;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.util.progress.ProgressEvent;
@@ -55,7 +77,13 @@ import org.moeaframework.util.progress.ProgressListener;
  * of jobs, and notifies any listeners when its state changes.
  */
 public class Controller {
-
+	
+	/**
+	 * The interval, in milliseconds, between adding the results of running
+	 * seeds to the data model.
+	 */
+	private static final int UPDATE_INTERVAL = 250;
+	
 	/**
 	 * The collection of listeners which are notified when the controller state
 	 * changes.
@@ -197,9 +225,41 @@ public class Controller {
 	private boolean showIndividualTraces;
 	
 	/**
-	 * The executor for the current run.
+	 * The executors of the current job.
+	 */
+	private final List<Executor> executors;
+	
+	/**
+	 * {@code true} if the current job was canceled; {@code false} otherwise.
+	 */
+	private volatile boolean canceled;
+	
+	/**
+	 * The maximum number of seeds run in parallel.
+	 */
+	private int numberOfThreads;
+	
+	/**
+	 * {@code true} if approximation sets are stored as packed blocks of
+	 * objective and constraint values; {@code false} otherwise.
+	 */
+	private final boolean packApproximationSets;
+	
+	/**
+	 * The results of running seeds waiting to be added to the data model.
+	 */
+	private final Queue<Update> pendingUpdates;
+	
+	/**
+	 * The accumulators of running seeds mapped to their partial copies in the
+	 * data model.
 	 */
-	private Executor executor;
+	private final Map<Accumulator, Accumulator> liveAccumulators;
+	
+	/**
+	 * The timer adding the results of running seeds to the data model.
+	 */
+	private final Timer updateTimer;
 	
 	/**
 	 * Constructs a new controller for the specified {@code DiagnosticTool}
@@ -213,6 +273,21 @@ public class Controller {
 		
 		listeners = EventListenerSupport.create(ControllerListener.class);
 		accumulators = new HashMap<ResultKey, List<Accumulator>>();
+		executors = new CopyOnWriteArrayList<Executor>();
+		numberOfThreads = Settings.getDiagnosticToolThreads();
+		packApproximationSets =
+				Settings.getDiagnosticToolPackedApproximationSets();
+		pendingUpdates = new ConcurrentLinkedQueue<Update>();
+		liveAccumulators = new IdentityHashMap<Accumulator, Accumulator>();
+		
+		updateTimer = new Timer(UPDATE_INTERVAL, new ActionListener() {
+
+			@Override
+			public void actionPerformed(ActionEvent e) {
+				processUpdates();
+			}
+			
+		});
 	}
 	
 	/**
@@ -328,6 +403,7 @@ public class Controller {
 		
 		synchronized (accumulators) {
 			accumulators.clear();
+			liveAccumulators.clear();
 			frame.getPaintHelper().clear();
 			lastAccumulator = null;
 		}
@@ -548,7 +624,121 @@ public class Controller {
 	}
 	
 	/**
-	 * Launches a thread to run the current evaluation job.
+	 * Creates the instrumenter collecting the selected metrics.  Each thread
+	 * running seeds requires its own instrumenter.
+	 * 
+	 * @param problemName the name of the problem
+	 * @param epsilon the &epsilon; value of the problem
+	 * @return the instrumenter collecting the selected metrics
+	 */
+	private Instrumenter createInstrumenter(String problemName,
+			double epsilon) {
+		Instrumenter instrumenter = new Instrumenter()
+				.withFrequency(100)
+				.withProblem(problemName)
+				.withEpsilon(epsilon);
+		
+		if (packApproximationSets) {
+			instrumenter.withPackedApproximationSets();
+		}
+		
+		if (getIncludeHypervolume()) {
+			instrumenter.attachHypervolumeCollector();
+		}
+		
+		if (getIncludeGenerationalDistance()) {
+			instrumenter.attachGenerationalDistanceCollector();
+		}
+		
+		if (getIncludeInvertedGenerationalDistance()) {
+			instrumenter.attachInvertedGenerationalDistanceCollector();
+		}
+		
+		if (getIncludeSpacing()) {
+			instrumenter.attachSpacingCollector();
+		}
+		
+		if (getIncludeAdditiveEpsilonIndicator()) {
+			instrumenter.attachAdditiveEpsilonIndicatorCollector();
+		}
+		
+		if (getIncludeContribution()) {
+			instrumenter.attachContributionCollector();
+		}
+		
+		if (getIncludeR1()) {
+			instrumenter.attachR1Collector();
+		}
+		
+		if (getIncludeR2()) {
+			instrumenter.attachR2Collector();
+		}
+		
+		if (getIncludeR3()) {
+			instrumenter.attachR3Collector();
+		}
+		
+		if (getIncludeEpsilonProgress()) {
+			instrumenter.attachEpsilonProgressCollector();
+		}
+		
+		if (getIncludeAdaptiveMultimethodVariation()) {
+			instrumenter.attachAdaptiveMultimethodVariationCollector();
+		}
+		
+		if (getIncludeAdaptiveTimeContinuation()) {
+			instrumenter.attachAdaptiveTimeContinuationCollector();
+		}
+		
+		if (getIncludeElapsedTime()) {
+			instrumenter.attachElapsedTimeCollector();
+		}
+		
+		if (getIncludeApproximationSet()) {
+			instrumenter.attachApproximationSetCollector();
+		}
+		
+		if (getIncludePopulationSize()) {
+			instrumenter.attachPopulationSizeCollector();
+		}
+		
+		return instrumenter;
+	}
+	
+	/**
+	 * Installs a thread-safe random number generator in {@link PRNG}, which
+	 * is shared by all seeds running in parallel.  The installed generator
+	 * wraps the current generator, so any seed or generator configured by
+	 * the user is still used.
+	 * 
+	 * @return the original random number generator, which must be restored
+	 *         by calling {@link #restoreRandom(Random)} when the seeds finish
+	 */
+	private static synchronized Random installThreadSafeRandom() {
+		Random random = PRNG.getRandom();
+		
+		PRNG.setRandom(new RandomAdaptor(new SynchronizedRandomGenerator(
+				RandomGeneratorFactory.createRandomGenerator(random))));
+		
+		return random;
+	}
+	
+	/**
+	 * Restores the random number generator replaced by
+	 * {@link #installThreadSafeRandom()}.
+	 * 
+	 * @param random the original random number generator
+	 */
+	private static synchronized void restoreRandom(Random random) {
+		PRNG.setRandom(random);
+	}
+	
+	/**
+	 * Launches a thread to run the current evaluation job.  Up to
+	 * {@link #getNumberOfThreads()} seeds are run in parallel.  While the
+	 * seeds are running, their partial results are added to the data model
+	 * with at most one {@code MODEL_CHANGED} event every
+	 * {@value #UPDATE_INTERVAL} milliseconds.
 	 */
 	public void run() {
 		if (thread != null) {
@@ -560,145 +750,198 @@ public class Controller {
 		final String algorithmName = frame.getAlgorithm();
 		final int numberOfEvaluations = frame.getNumberOfEvaluations();
 		final int numberOfSeeds = frame.getNumberOfSeeds();
+		final int threads = Math.max(1, Math.min(numberOfThreads,
+				numberOfSeeds));
+		
+		canceled = false;
 		
 		thread = new Thread() {
 			
 			public void run() {
+				ExecutorService pool = null;
+				Random originalRandom = null;
+				
 				try {
 					updateProgress(0, 0, numberOfEvaluations, numberOfSeeds);
-
-					// setup the instrumenter to collect the necessary info
-					Instrumenter instrumenter = new Instrumenter()
-							.withFrequency(100)
-							.withProblem(problemName);
-					
-					if (getIncludeHypervolume()) {
-						instrumenter.attachHypervolumeCollector();
-					}
 					
-					if (getIncludeGenerationalDistance()) {
-						instrumenter.attachGenerationalDistanceCollector();
-					}
+					// lookup predefined epsilons for this problem
+					Problem problem = null;
+					double epsilon;
 					
-					if (getIncludeInvertedGenerationalDistance()) {
-						instrumenter.attachInvertedGenerationalDistanceCollector();
+					try {
+						problem = ProblemFactory.getInstance().getProblem(
+								problemName);
+						
+						epsilon = EpsilonHelper.getEpsilon(problem);
+					} finally {
+						if (problem != null) {
+							problem.close();
+						}
 					}
 					
-					if (getIncludeSpacing()) {
-						instrumenter.attachSpacingCollector();
+					if (threads > 1) {
+						originalRandom = installThreadSafeRandom();
 					}
 					
-					if (getIncludeAdditiveEpsilonIndicator()) {
-						instrumenter.attachAdditiveEpsilonIndicatorCollector();
-					}
+					// run the seeds in parallel, each thread with its own
+					// instrumenter and executor
+					ResultKey key = new ResultKey(algorithmName, problemName);
+					JobState state = new JobState(numberOfEvaluations,
+							numberOfSeeds, threads);
+					List<Future<?>> futures = new ArrayList<Future<?>>();
 					
-					if (getIncludeContribution()) {
-						instrumenter.attachContributionCollector();
-					}
+					pool = Executors.newFixedThreadPool(threads);
+					updateTimer.start();
 					
-					if (getIncludeR1()) {
-						instrumenter.attachR1Collector();
+					for (int i = 0; i < threads; i++) {
+						futures.add(pool.submit(new SeedRunner(key,
+								algorithmName, state, i,
+								createInstrumenter(problemName, epsilon))));
 					}
 					
-					if (getIncludeR2()) {
-						instrumenter.attachR2Collector();
+					for (Future<?> future : futures) {
+						future.get();
 					}
+				} catch (ExecutionException e) {
+					cancel();
 					
-					if (getIncludeR3()) {
-						instrumenter.attachR3Collector();
+					if (e.getCause() instanceof Exception) {
+						handleException((Exception)e.getCause());
+					} else {
+						handleException(e);
 					}
-					
-					if (getIncludeEpsilonProgress()) {
-						instrumenter.attachEpsilonProgressCollector();
+				} catch (Exception e) {
+					handleException(e);
+				} finally {
+					if (pool != null) {
+						pool.shutdown();
+						
+						try {
+							pool.awaitTermination(Long.MAX_VALUE,
+									TimeUnit.MILLISECONDS);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
 					}
 					
-					if (getIncludeAdaptiveMultimethodVariation()) {
-						instrumenter.attachAdaptiveMultimethodVariationCollector();
+					if (originalRandom != null) {
+						restoreRandom(originalRandom);
 					}
 					
-					if (getIncludeAdaptiveTimeContinuation()) {
-						instrumenter.attachAdaptiveTimeContinuationCollector();
+					finishUpdates();
+					thread = null;
+					fireStateChangedEvent();
+				}
+			}
+		};
+		
+		thread.setDaemon(true);
+		thread.start();
+		fireStateChangedEvent();
+	}
+	
+	/**
+	 * Adds the pending results from running seeds to the data model and fires
+	 * a single {@code MODEL_CHANGED} event if any were added.  This method
+	 * must only be invoked on the event dispatch thread.
+	 */
+	private void processUpdates() {
+		boolean changed = false;
+		Update update = null;
+		
+		while ((update = pendingUpdates.poll()) != null) {
+			synchronized (accumulators) {
+				List<Accumulator> list = accumulators.get(update.key);
+				
+				if (list == null) {
+					list = new CopyOnWriteArrayList<Accumulator>();
+					accumulators.put(update.key, list);
+				}
+				
+				Accumulator live = liveAccumulators.get(update.source);
+				
+				if (update.rows == null) {
+					// the seed finished and its remaining values were already
+					// forwarded, so the live copy becomes the result; keeping
+					// the same instance lets the plots continue their cached
+					// series
+					if (live == null) {
+						list.add(update.source);
+						lastAccumulator = update.source;
+					} else {
+						liveAccumulators.remove(update.source);
+						lastAccumulator = live;
 					}
-					
-					if (getIncludeElapsedTime()) {
-						instrumenter.attachElapsedTimeCollector();
+				} else {
+					if (live == null) {
+						live = new Accumulator(packApproximationSets);
+						liveAccumulators.put(update.source, live);
+						list.add(live);
 					}
 					
-					if (getIncludeApproximationSet()) {
-						instrumenter.attachApproximationSetCollector();
+					for (Map.Entry<String, List<Serializable>> entry :
+							update.rows.entrySet()) {
+						for (Serializable value : entry.getValue()) {
+							live.add(entry.getKey(), value);
+						}
 					}
-					
-					if (getIncludePopulationSize()) {
-						instrumenter.attachPopulationSizeCollector();
+				}
+			}
+			
+			changed = true;
+		}
+		
+		if (changed) {
+			fireModelChangedEvent();
+		}
+	}
+	
+	/**
+	 * Adds the remaining results after a job finishes and removes the partial
+	 * results of any seeds that did not complete.  A {@code MODEL_CHANGED}
+	 * event is fired if the data model changed.
+	 */
+	private void finishUpdates() {
+		SwingUtilities.invokeLater(new Runnable() {
+
+			@Override
+			public void run() {
+				updateTimer.stop();
+				processUpdates();
+				
+				synchronized (accumulators) {
+					if (liveAccumulators.isEmpty()) {
+						return;
 					}
 					
-					// lookup predefined epsilons for this problem
-					Problem problem = null;
+					Iterator<List<Accumulator>> iterator =
+							accumulators.values().iterator();
 					
-					try {
-						problem = ProblemFactory.getInstance().getProblem(
-								problemName);
+					while (iterator.hasNext()) {
+						List<Accumulator> list = iterator.next();
+						list.removeAll(liveAccumulators.values());
 						
-						instrumenter.withEpsilon(EpsilonHelper.getEpsilon(
-								problem));
-					} finally {
-						if (problem != null) {
-							problem.close();
+						if (list.isEmpty()) {
+							iterator.remove();
 						}
 					}
 					
-					// setup the progress listener to receive updates
-					ProgressListener listener = new ProgressListener() {
-						
-						@Override
-						public void progressUpdate(ProgressEvent event) {
-							updateProgress(
-									event.getCurrentNFE(),
-									event.getCurrentSeed(),
-									event.getMaxNFE(),
-									event.getTotalSeeds());
-							
-							if (event.isSeedFinished()) {
-								Executor executor = event.getExecutor();
-								Instrumenter instrumenter =
-										executor.getInstrumenter();
-								
-								add(algorithmName, problemName,
-										instrumenter.getLastAccumulator());
-							}
-						}
-						
-					};
-					
-					// setup the executor to run for the desired time
-					executor = new Executor()
-							.withSameProblemAs(instrumenter)
-							.withInstrumenter(instrumenter)
-							.withAlgorithm(algorithmName)
-							.withMaxEvaluations(numberOfEvaluations)
-							.withProgressListener(listener);
-					
-					// run the executor using the listener to collect results
-					executor.runSeeds(numberOfSeeds);
-				} catch (Exception e) {
-					handleException(e);
-				} finally {
-					thread = null;
-					fireStateChangedEvent();
+					liveAccumulators.clear();
 				}
+				
+				fireModelChangedEvent();
 			}
-		};
-		
-		thread.setDaemon(true);
-		thread.start();
-		fireStateChangedEvent();
+			
+		});
 	}
 	
 	/**
 	 * Notifies the controller that it should cancel the current evaluation job.
 	 */
 	public void cancel() {
-		if (executor != null) {
+		canceled = true;
+		
+		for (Executor executor : executors) {
 			executor.cancel();
 		}
 	}
@@ -1062,6 +1305,26 @@ public class Controller {
 		this.includePopulationSize = includePopulationSize;
 	}
 	
+	/**
+	 * Returns the maximum number of seeds run in parallel.
+	 * 
+	 * @return the maximum number of seeds run in parallel
+	 */
+	public int getNumberOfThreads() {
+		return numberOfThreads;
+	}
+	
+	/**
+	 * Sets the maximum number of seeds run in parallel.  When running more
+	 * than one seed in parallel, a thread-safe random number generator is
+	 * installed in {@link PRNG}.
+	 * 
+	 * @param numberOfThreads the maximum number of seeds run in parallel
+	 */
+	public void setNumberOfThreads(int numberOfThreads) {
+		this.numberOfThreads = numberOfThreads;
+	}
+	
 	/**
 	 * Returns the run progress of the current job being evaluated.  The run
 	 * progress measures the number of evaluations completed thus far.
@@ -1129,5 +1392,268 @@ public class Controller {
 				"Error", 
 				JOptionPane.ERROR_MESSAGE);
 	}
+	
+	/**
+	 * The progress of a job shared by all threads running its seeds.
+	 */
+	private static class JobState {
+		
+		/**
+		 * The number of evaluations of each seed.
+		 */
+		private final int numberOfEvaluations;
+		
+		/**
+		 * The number of seeds to run.
+		 */
+		private final int numberOfSeeds;
+		
+		/**
+		 * The number of seeds started.
+		 */
+		private final AtomicInteger startedSeeds;
+		
+		/**
+		 * The number of seeds completed.
+		 */
+		private final AtomicInteger completedSeeds;
+		
+		/**
+		 * The number of evaluations of the seed currently run by each thread.
+		 */
+		private final AtomicIntegerArray currentEvaluations;
+		
+		/**
+		 * Constructs the shared state of a new job.
+		 * 
+		 * @param numberOfEvaluations the number of evaluations of each seed
+		 * @param numberOfSeeds the number of seeds to run
+		 * @param numberOfThreads the number of threads running seeds
+		 */
+		public JobState(int numberOfEvaluations, int numberOfSeeds,
+				int numberOfThreads) {
+			super();
+			this.numberOfEvaluations = numberOfEvaluations;
+			this.numberOfSeeds = numberOfSeeds;
+			
+			startedSeeds = new AtomicInteger();
+			completedSeeds = new AtomicInteger();
+			currentEvaluations = new AtomicIntegerArray(numberOfThreads);
+		}
+		
+		/**
+		 * Returns the average number of evaluations of the seeds currently
+		 * running.
+		 * 
+		 * @return the average number of evaluations of the seeds currently
+		 *         running
+		 */
+		public int getAverageEvaluations() {
+			long sum = 0;
+			
+			for (int i = 0; i < currentEvaluations.length(); i++) {
+				sum += currentEvaluations.get(i);
+			}
+			
+			return (int)(sum / currentEvaluations.length());
+		}
+		
+	}
+	
+	/**
+	 * The results collected by a running seed since the last update, or the
+	 * notification that a seed finished.
+	 */
+	private static class Update {
+		
+		/**
+		 * The result key identifying the algorithm and problem.
+		 */
+		private final ResultKey key;
+		
+		/**
+		 * The accumulator recording the seed.  Only the thread running the
+		 * seed may access its contents until the seed is finished.
+		 */
+		private final Accumulator source;
+		
+		/**
+		 * The values collected since the last update, or {@code null} if the
+		 * seed is finished.
+		 */
+		private final Map<String, List<Serializable>> rows;
+		
+		/**
+		 * Constructs a new update.
+		 * 
+		 * @param key the result key identifying the algorithm and problem
+		 * @param source the accumulator recording the seed
+		 * @param rows the values collected since the last update, or
+		 *        {@code null} if the seed is finished
+		 */
+		public Update(ResultKey key, Accumulator source,
+				Map<String, List<Serializable>> rows) {
+			super();
+			this.key = key;
+			this.source = source;
+			this.rows = rows;
+		}
+		
+	}
+	
+	/**
+	 * Runs seeds of a job until all seeds are started or the job is canceled.
+	 * The values collected while a seed runs are forwarded to the event
+	 * dispatch thread as {@link Update}s.
+	 */
+	private class SeedRunner implements Runnable, ProgressListener {
+		
+		/**
+		 * The result key identifying the algorithm and problem.
+		 */
+		private final ResultKey key;
+		
+		/**
+		 * The name of the algorithm.
+		 */
+		private final String algorithmName;
+		
+		/**
+		 * The progress of the job.
+		 */
+		private final JobState state;
+		
+		/**
+		 * The index of this thread.
+		 */
+		private final int index;
+		
+		/**
+		 * The instrumenter used by this thread.
+		 */
+		private final Instrumenter instrumenter;
+		
+		/**
+		 * The accumulator of the seed currently running.
+		 */
+		private Accumulator source;
+		
+		/**
+		 * The number of values of each key of the current accumulator that
+		 * were already forwarded.
+		 */
+		private final Map<String, Integer> forwarded;
+		
+		/**
+		 * Constructs a new thread for running seeds of a job.
+		 * 
+		 * @param key the result key identifying the algorithm and problem
+		 * @param algorithmName the name of the algorithm
+		 * @param state the progress of the job
+		 * @param index the index of this thread
+		 * @param instrumenter the instrumenter used by this thread
+		 */
+		public SeedRunner(ResultKey key, String algorithmName, JobState state,
+				int index, Instrumenter instrumenter) {
+			super();
+			this.key = key;
+			this.algorithmName = algorithmName;
+			this.state = state;
+			this.index = index;
+			this.instrumenter = instrumenter;
+			
+			forwarded = new HashMap<String, Integer>();
+		}
+		
+		@Override
+		public void run() {
+			Executor executor = new Executor()
+					.withSameProblemAs(instrumenter)
+					.withInstrumenter(instrumenter)
+					.withAlgorithm(algorithmName)
+					.withMaxEvaluations(state.numberOfEvaluations)
+					.withProgressListener(this);
+			
+			executors.add(executor);
+			
+			try {
+				while (!canceled && (state.startedSeeds.getAndIncrement() <
+						state.numberOfSeeds)) {
+					executor.runSeeds(1);
+				}
+			} finally {
+				executors.remove(executor);
+			}
+		}
+		
+		@Override
+		public void progressUpdate(ProgressEvent event) {
+			// runSeeds clears the canceled flag of the executor when started
+			if (canceled) {
+				event.getExecutor().cancel();
+				return;
+			}
+			
+			Accumulator accumulator = instrumenter.getLastAccumulator();
+			
+			if (event.isSeedFinished()) {
+				state.currentEvaluations.set(index, 0);
+				state.completedSeeds.incrementAndGet();
+				forward(accumulator);
+				pendingUpdates.add(new Update(key, accumulator, null));
+				source = null;
+			} else {
+				state.currentEvaluations.set(index, event.getCurrentNFE());
+				forward(accumulator);
+			}
+			
+			updateProgress(
+					state.getAverageEvaluations(),
+					state.completedSeeds.get(),
+					state.numberOfEvaluations,
+					state.numberOfSeeds);
+		}
+		
+		/**
+		 * Forwards the values collected since the last update.
+		 * 
+		 * @param accumulator the accumulator of the seed currently running
+		 */
+		private void forward(Accumulator accumulator) {
+			if (accumulator != source) {
+				source = accumulator;
+				forwarded.clear();
+			}
+			
+			Map<String, List<Serializable>> rows = null;
+			
+			for (String name : accumulator.keySet()) {
+				Integer start = forwarded.get(name);
+				int end = accumulator.size(name);
+				
+				for (int i = (start == null ? 0 : start); i < end; i++) {
+					if (rows == null) {
+						rows = new HashMap<String, List<Serializable>>();
+					}
+					
+					List<Serializable> values = rows.get(name);
+					
+					if (values == null) {
+						values = new ArrayList<Serializable>();
+						rows.put(name, values);
+					}
+					
+					values.add(accumulator.get(name, i));
+				}
+				
+				forwarded.put(name, end);
+			}
+			
+			if (rows != null) {
+				pendingUpdates.add(new Update(key, accumulator, rows));
+			}
+		}
+		
+	}
 
 }
@@ -0,0 +1,119 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.diagnostics;
+
+/**
+ * Reduces the number of points in a line plot while preserving its visual
+ * shape using the Largest-Triangle-Three-Buckets (LTTB) algorithm.  The first
+ * and last points are always kept.  The remaining points are divided into
+ * equally-sized buckets, and from each bucket the point forming the largest
+ * triangle with the point selected from the previous bucket and the average
+ * of the next bucket is kept.  This preserves local minima and maxima, so
+ * decimating a trace to roughly one point per pixel produces the same
+ * picture at a fraction of the rendering cost.
+ * <p>
+ * References:
+ * <ol>
+ *   <li>Steinarsson, S.  "Downsampling Time Series for Visual
+ *       Representation."  M.S. Thesis, University of Iceland, 2013.
+ * </ol>
+ */
+class Decimator {
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private Decimator() {
+		super();
+	}
+	
+	/**
+	 * Returns the indices of the points kept when decimating the line to at
+	 * most {@code threshold} points.  If the line contains no more than
+	 * {@code threshold} points, or {@code threshold} is less than {@code 3},
+	 * all points are kept.
+	 * 
+	 * @param x the x values of the line, in increasing order
+	 * @param y the y values of the line
+	 * @param threshold the maximum number of points kept
+	 * @return the indices of the points kept, in increasing order
+	 */
+	public static int[] decimate(double[] x, double[] y, int threshold) {
+		int n = x.length;
+		
+		if ((threshold >= n) || (threshold < 3)) {
+			int[] indices = new int[n];
+			
+			for (int i = 0; i < n; i++) {
+				indices[i] = i;
+			}
+			
+			return indices;
+		}
+		
+		int[] indices = new int[threshold];
+		double bucketSize = (n - 2) / (double)(threshold - 2);
+		int selected = 0;
+		
+		indices[0] = 0;
+		
+		for (int i = 0; i < threshold - 2; i++) {
+			// average of the next bucket, or the last point
+			int nextStart = (int)Math.floor((i + 1) * bucketSize) + 1;
+			int nextEnd = Math.min((int)Math.floor((i + 2) * bucketSize) + 1,
+					n);
+			double averageX = 0.0;
+			double averageY = 0.0;
+			
+			if (i == threshold - 3) {
+				nextStart = n - 1;
+				nextEnd = n;
+			}
+			
+			for (int j = nextStart; j < nextEnd; j++) {
+				averageX += x[j];
+				averageY += y[j];
+			}
+			
+			averageX /= nextEnd - nextStart;
+			averageY /= nextEnd - nextStart;
+			
+			// point in this bucket forming the largest triangle
+			int start = (int)Math.floor(i * bucketSize) + 1;
+			int end = (int)Math.floor((i + 1) * bucketSize) + 1;
+			double maxArea = -1.0;
+			
+			for (int j = start; j < end; j++) {
+				double area = Math.abs(
+						(x[selected] - averageX) * (y[j] - y[selected]) -
+						(x[selected] - x[j]) * (averageY - y[selected]));
+				
+				if (area > maxArea) {
+					maxArea = area;
+					indices[i + 1] = j;
+				}
+			}
+			
+			selected = indices[i + 1];
+		}
+		
+		indices[threshold - 1] = n - 1;
+		return indices;
+	}
+
+}
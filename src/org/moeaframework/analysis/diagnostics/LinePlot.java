@@ -22,14 +22,15 @@ import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Paint;
 import java.util.ArrayList;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.WeakHashMap;
 
-import org.apache.commons.lang3.builder.CompareToBuilder;
-import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -44,10 +45,8 @@ import org.jfree.chart.plot.XYPlot;
 import org.jfree.chart.renderer.xy.DeviationRenderer;
 import org.jfree.chart.renderer.xy.XYLineAndShapeRenderer;
 import org.jfree.chart.title.LegendTitle;
-import org.jfree.data.xy.DefaultTableXYDataset;
+import org.jfree.data.xy.AbstractXYDataset;
 import org.jfree.data.xy.XYDataset;
-import org.jfree.data.xy.XYSeries;
-import org.jfree.data.xy.YIntervalSeries;
 import org.jfree.data.xy.YIntervalSeriesCollection;
 import org.jfree.ui.RectangleEdge;
 import org.jfree.ui.RectangleInsets;
@@ -56,7 +55,12 @@ import org.moeaframework.util.Localization;
 
 /**
  * Displays a line plot of the runtime dynamics of a metric, displaying the
- * 25, 50, and 75 quantiles.
+ * 25, 50, and 75 quantiles.  The plotted series are decimated to roughly one
+ * point per pixel, so the cost of rendering the plot does not grow with the
+ * number of collected samples.  The series are built incrementally: each
+ * update only reads the values collected since the previous update, which
+ * are appended to the cached {@link StreamingTrace} of each accumulator or
+ * the cached {@link StreamingQuantiles} of each result.
  */
 public class LinePlot extends ResultPlot {
 
@@ -73,46 +77,130 @@ public class LinePlot extends ResultPlot {
 	 * samples are included in each plotted point.
 	 */
 	private final int RESOLUTION = 500;
-
+	
+	/**
+	 * The number of points plotted per series if the width of this plot is
+	 * not yet known.
+	 */
+	private static final int DEFAULT_WIDTH = 800;
+	
+	/**
+	 * The cached trace of each accumulator.  Accumulators only grow while
+	 * their seed is running, so the values already in the trace are never
+	 * read again.
+	 */
+	private final Map<Accumulator, StreamingTrace> traces;
+	
+	/**
+	 * The cached quantiles of each result.
+	 */
+	private final Map<ResultKey, QuantileState> quantiles;
+	
 	/**
-	 * A data point, storing the NFE and corresponding metric value.
+	 * The cached quantiles of a result and the number of values read from
+	 * each of its accumulators.
 	 */
-	private static class DataPoint implements Comparable<DataPoint> {
+	private static class QuantileState {
 		
 		/**
-		 * The number of evaluations of this data point.
+		 * The quantiles.
 		 */
-		private final int NFE;
+		private final StreamingQuantiles quantiles;
 		
 		/**
-		 * The metric value of this data point.
+		 * The number of values read from each accumulator.
 		 */
-		private final double value;
-	
+		private final Map<Accumulator, Integer> counts;
+		
 		/**
-		 * Constructs a data point with the specified number of evaluations and
-		 * metric value.
+		 * Constructs a new, empty state.
 		 * 
-		 * @param NFE the number of evaluations of this data point
-		 * @param value the metric value of this data point
+		 * @param quantiles the quantiles
 		 */
-		public DataPoint(int NFE, double value) {
+		public QuantileState(StreamingQuantiles quantiles) {
 			super();
-			this.NFE = NFE;
-			this.value = value;
+			this.quantiles = quantiles;
+			
+			counts = new IdentityHashMap<Accumulator, Integer>();
 		}
-	
+		
+	}
+
+	/**
+	 * A dataset of line series that, unlike {@code DefaultTableXYDataset},
+	 * neither requires the series to share their x values nor requires unique
+	 * series keys.
+	 */
+	private static class TraceDataset extends AbstractXYDataset {
+		
+		private static final long serialVersionUID = 3786186421963574370L;
+
+		/**
+		 * The key of each series.
+		 */
+		private final List<Comparable<?>> keys;
+		
+		/**
+		 * The x and y values of each series.
+		 */
+		private final List<double[][]> values;
+		
+		/**
+		 * Constructs a new, empty dataset.
+		 */
+		public TraceDataset() {
+			super();
+			
+			keys = new ArrayList<Comparable<?>>();
+			values = new ArrayList<double[][]>();
+		}
+		
+		/**
+		 * Adds a series to this dataset.
+		 * 
+		 * @param key the key of the series
+		 * @param x the x values of the series
+		 * @param y the y values of the series
+		 */
+		public void addSeries(Comparable<?> key, double[] x, double[] y) {
+			keys.add(key);
+			values.add(new double[][] { x, y });
+		}
+
 		@Override
-		public int compareTo(DataPoint rhs) {
-			return new CompareToBuilder().append(NFE, rhs.NFE).toComparison();
+		public int getSeriesCount() {
+			return keys.size();
 		}
 
-		public int getNFE() {
-			return NFE;
+		@SuppressWarnings("rawtypes")
+		@Override
+		public Comparable getSeriesKey(int series) {
+			return keys.get(series);
 		}
 
-		public double getValue() {
-			return value;
+		@Override
+		public int getItemCount(int series) {
+			return values.get(series)[0].length;
+		}
+
+		@Override
+		public Number getX(int series, int item) {
+			return values.get(series)[0][item];
+		}
+
+		@Override
+		public Number getY(int series, int item) {
+			return values.get(series)[1][item];
+		}
+		
+		@Override
+		public double getXValue(int series, int item) {
+			return values.get(series)[0][item];
+		}
+		
+		@Override
+		public double getYValue(int series, int item) {
+			return values.get(series)[1][item];
 		}
 		
 	}
@@ -126,9 +214,62 @@ public class LinePlot extends ResultPlot {
 	public LinePlot(DiagnosticTool frame, String metric) {
 		super(frame, metric);
 		
+		traces = new WeakHashMap<Accumulator, StreamingTrace>();
+		quantiles = new HashMap<ResultKey, QuantileState>();
+		
 		setLayout(new BorderLayout());
 	}
 	
+	/**
+	 * Returns the maximum number of points plotted per series, which is the
+	 * width of this plot in pixels.
+	 * 
+	 * @return the maximum number of points plotted per series
+	 */
+	protected int getMaximumPoints() {
+		return getWidth() > 0 ? getWidth() : DEFAULT_WIDTH;
+	}
+	
+	/**
+	 * Returns the number of values of the metric, with their NFE, stored in
+	 * the accumulator.
+	 * 
+	 * @param accumulator the accumulator
+	 * @return the number of values of the metric stored in the accumulator
+	 */
+	private int size(Accumulator accumulator) {
+		return Math.min(accumulator.size(metric), accumulator.size("NFE"));
+	}
+	
+	/**
+	 * Adds the trace of the metric stored in the accumulator to the dataset,
+	 * decimated to at most twice {@link #getMaximumPoints()} points.  Only the
+	 * values collected since the trace was last generated are read.
+	 * 
+	 * @param key the key of the generated series
+	 * @param accumulator the accumulator storing the trace
+	 * @param dataset the dataset to store the generated series
+	 */
+	private void generateTrace(Comparable<?> key, Accumulator accumulator,
+			TraceDataset dataset) {
+		StreamingTrace trace = traces.get(accumulator);
+		
+		if ((trace == null) ||
+				(trace.getMaximumPoints() != getMaximumPoints())) {
+			trace = new StreamingTrace(getMaximumPoints());
+			traces.put(accumulator, trace);
+		}
+		
+		int size = size(accumulator);
+		
+		for (int i=trace.getCount(); i<size; i++) {
+			trace.add(((Number)accumulator.get("NFE", i)).doubleValue(),
+					((Number)accumulator.get(metric, i)).doubleValue());
+		}
+		
+		dataset.addSeries(key, trace.getX(), trace.getY());
+	}
+	
 	/**
 	 * Generate the individual series for the specified key.
 	 * 
@@ -136,99 +277,94 @@ public class LinePlot extends ResultPlot {
 	 * @param dataset the dataset to store the generated series
 	 */
 	protected void generateIndividualSeries(ResultKey key, 
-			DefaultTableXYDataset dataset) {
+			TraceDataset dataset) {
 		for (Accumulator accumulator : controller.get(key)) {
 			if (!accumulator.keySet().contains(metric)) {
 				continue;
 			}
-		
-			XYSeries series = new XYSeries(key, false, false);
-
-			for (int i=0; i<accumulator.size(metric); i++) {
-				series.add((Number)accumulator.get("NFE", i), 
-						(Number)accumulator.get(metric, i));
-			}
 			
-			dataset.addSeries(series);
+			generateTrace(key, accumulator, dataset);
 		}
 	}
 
 	/**
-	 * Generates the quantile series for the specified key.
+	 * Generates the quantile series for the specified key.  Only the values
+	 * collected since the series was last generated are read, unless the
+	 * accumulators were removed or the width of this plot changed.
 	 * 
 	 * @param key the key identifying which result to plot
 	 * @param dataset the dataset to store the generated series
 	 */
 	protected void generateQuantileSeries(ResultKey key, 
 			YIntervalSeriesCollection dataset) {
-		List<DataPoint> dataPoints = new ArrayList<DataPoint>();
+		List<Accumulator> accumulators = new ArrayList<Accumulator>();
 		
 		for (Accumulator accumulator : controller.get(key)) {
-			if (!accumulator.keySet().contains(metric)) {
-				continue;
-			}
-			
-			for (int i=0; i<accumulator.size(metric); i++) {
-				dataPoints.add(new DataPoint(
-						(Integer)accumulator.get("NFE", i), 
-						((Number)accumulator.get(metric, i)).doubleValue()));
+			if (accumulator.keySet().contains(metric)) {
+				accumulators.add(accumulator);
 			}
 		}
+		
+		QuantileState state = quantiles.get(key);
+		
+		if ((state == null) || 
+				(state.quantiles.getMaximumPoints() != getMaximumPoints()) ||
+				!containsAll(accumulators, state.counts.keySet())) {
+			state = new QuantileState(new StreamingQuantiles(RESOLUTION,
+					getMaximumPoints()));
+			quantiles.put(key, state);
+		}
+		
+		for (Accumulator accumulator : accumulators) {
+			Integer count = state.counts.get(accumulator);
+			int size = size(accumulator);
 			
-		Collections.sort(dataPoints);
-
-		YIntervalSeries series = new YIntervalSeries(key);
-		DescriptiveStatistics statistics = new DescriptiveStatistics();
-		int index = 0;
-		int currentNFE = RESOLUTION;
-
-		while (index < dataPoints.size()) {
-			DataPoint point = dataPoints.get(index);
-
-			if (point.getNFE() <= currentNFE) {
-				statistics.addValue(point.getValue());
-				index++;
-			} else {
-				if (statistics.getN() > 0) {
-					series.add(currentNFE, 
-							statistics.getPercentile(50), 
-							statistics.getPercentile(25), 
-							statistics.getPercentile(75));
-				}
-
-				statistics.clear();
-				currentNFE += RESOLUTION;
+			for (int i=(count == null ? 0 : count); i<size; i++) {
+				state.quantiles.add(
+						((Number)accumulator.get("NFE", i)).intValue(), 
+						((Number)accumulator.get(metric, i)).doubleValue());
 			}
+			
+			state.counts.put(accumulator, size);
 		}
-
-		if (statistics.getN() > 0) {
-			//if only entry, add extra point to display non-zero width
-			if (series.isEmpty()) {
-				series.add(currentNFE-RESOLUTION, 
-						statistics.getPercentile(50), 
-						statistics.getPercentile(25), 
-						statistics.getPercentile(75));
-			}
-
-			series.add(currentNFE, 
-					statistics.getPercentile(50), 
-					statistics.getPercentile(25), 
-					statistics.getPercentile(75));
+		
+		dataset.addSeries(state.quantiles.toSeries(key));
+	}
+	
+	/**
+	 * Returns {@code true} if the list contains all of the given
+	 * accumulators, compared by identity.
+	 * 
+	 * @param list the list of accumulators
+	 * @param accumulators the accumulators
+	 * @return {@code true} if the list contains all of the given
+	 *         accumulators; {@code false} otherwise
+	 */
+	private static boolean containsAll(List<Accumulator> list,
+			Set<Accumulator> accumulators) {
+		Map<Accumulator, Accumulator> identities =
+				new IdentityHashMap<Accumulator, Accumulator>();
+		
+		for (Accumulator accumulator : list) {
+			identities.put(accumulator, accumulator);
 		}
 		
-		dataset.addSeries(series);
+		return identities.keySet().containsAll(accumulators);
 	}
 	
 	@Override
 	protected void update() {
 		XYDataset dataset = null;
 		
+		//discard the cached quantiles of results no longer displayed
+		quantiles.keySet().retainAll(frame.getSelectedResults());
+		
 		//generate the plot data
 		if (controller.getShowIndividualTraces()) {
-			dataset = new DefaultTableXYDataset();
+			dataset = new TraceDataset();
 			
 			for (ResultKey key : frame.getSelectedResults()) {
-				generateIndividualSeries(key, (DefaultTableXYDataset)dataset);
+				generateIndividualSeries(key, (TraceDataset)dataset);
 			}
 		} else {
 			dataset = new YIntervalSeriesCollection();
@@ -320,18 +456,9 @@ public class LinePlot extends ResultPlot {
 				!controller.getShowIndividualTraces() &&
 				(controller.getLastAccumulator() != null) && 
 				controller.getLastAccumulator().keySet().contains(metric)) {
-			DefaultTableXYDataset dataset2 = new DefaultTableXYDataset();
-			XYSeries series = new XYSeries(
-					localization.getString("text.last"),
-					false, false);
-			
-			for (int i=0; i<controller.getLastAccumulator().size(metric); i++) {
-				series.add(
-						(Number)controller.getLastAccumulator().get("NFE", i), 
-						(Number)controller.getLastAccumulator().get(metric, i));
-			}
-			
-			dataset2.addSeries(series);
+			TraceDataset dataset2 = new TraceDataset();
+			generateTrace(localization.getString("text.last"),
+					controller.getLastAccumulator(), dataset2);
 			
 			XYLineAndShapeRenderer renderer2 = new XYLineAndShapeRenderer(true, 
 					false);
@@ -0,0 +1,261 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.diagnostics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.jfree.data.xy.YIntervalSeries;
+
+/**
+ * Computes the 25, 50 and 75 quantiles of a metric over intervals of NFE
+ * while the values are being collected.  A value collected at {@code NFE}
+ * falls into the interval {@code (k-1)*resolution < NFE <= k*resolution},
+ * which is plotted at {@code k*resolution}.  The resolution starts at the
+ * given minimum and is doubled, merging adjacent intervals, whenever the
+ * number of intervals would exceed the maximum number of points, so the
+ * number of plotted points is bounded by the width of the plot.  The quantiles
+ * of an interval are only recomputed after values are added to it.
+ */
+class StreamingQuantiles {
+
+	/**
+	 * The maximum number of intervals.
+	 */
+	private final int maximumPoints;
+	
+	/**
+	 * The width, in NFE, of each interval.
+	 */
+	private int resolution;
+	
+	/**
+	 * The intervals, where the interval at index {@code i} is plotted at
+	 * {@code (i+1)*resolution}.
+	 */
+	private final List<Interval> intervals;
+	
+	/**
+	 * Constructs a new, empty collection of quantiles.
+	 * 
+	 * @param minimumResolution the minimum width, in NFE, of each interval
+	 * @param maximumPoints the maximum number of intervals
+	 */
+	public StreamingQuantiles(int minimumResolution, int maximumPoints) {
+		super();
+		this.maximumPoints = Math.max(1, maximumPoints);
+		
+		resolution = Math.max(1, minimumResolution);
+		intervals = new ArrayList<Interval>();
+	}
+	
+	/**
+	 * Returns the maximum number of intervals.
+	 * 
+	 * @return the maximum number of intervals
+	 */
+	public int getMaximumPoints() {
+		return maximumPoints;
+	}
+	
+	/**
+	 * Returns the width, in NFE, of each interval.
+	 * 
+	 * @return the width, in NFE, of each interval
+	 */
+	public int getResolution() {
+		return resolution;
+	}
+	
+	/**
+	 * Adds the value collected at the given NFE.
+	 * 
+	 * @param NFE the number of evaluations when the value was collected
+	 * @param value the value
+	 */
+	public void add(int NFE, double value) {
+		while (getIndex(NFE) >= maximumPoints) {
+			coarsen();
+		}
+		
+		int index = getIndex(NFE);
+		
+		while (intervals.size() <= index) {
+			intervals.add(new Interval());
+		}
+		
+		intervals.get(index).add(value);
+	}
+	
+	/**
+	 * Returns the index of the interval containing the given NFE.
+	 * 
+	 * @param NFE the number of evaluations
+	 * @return the index of the interval containing the given NFE
+	 */
+	private int getIndex(int NFE) {
+		return Math.max(0, (int)((NFE + (long)resolution - 1) / resolution) - 1);
+	}
+	
+	/**
+	 * Doubles the resolution, merging each pair of adjacent intervals.
+	 */
+	private void coarsen() {
+		resolution *= 2;
+		
+		for (int i = 0; i < intervals.size(); i += 2) {
+			Interval interval = intervals.get(i);
+			
+			if (i + 1 < intervals.size()) {
+				interval.addAll(intervals.get(i + 1));
+			}
+			
+			intervals.set(i / 2, interval);
+		}
+		
+		int size = (intervals.size() + 1) / 2;
+		
+		while (intervals.size() > size) {
+			intervals.remove(intervals.size() - 1);
+		}
+	}
+	
+	/**
+	 * Returns the series of the median, with the 25 and 75 quantiles as the
+	 * interval, of each non-empty interval.  If only one interval is
+	 * non-empty, an extra point is added at the start of the interval to
+	 * display a non-zero width.
+	 * 
+	 * @param key the key of the series
+	 * @return the series of quantiles
+	 */
+	public YIntervalSeries toSeries(Comparable<?> key) {
+		YIntervalSeries series = new YIntervalSeries(key);
+		int last = -1;
+		
+		for (int i = 0; i < intervals.size(); i++) {
+			Interval interval = intervals.get(i);
+			
+			if (interval.size > 0) {
+				interval.update();
+				series.add((i + 1) * (double)resolution, interval.median,
+						interval.lower, interval.upper);
+				last = i;
+			}
+		}
+		
+		if (series.getItemCount() == 1) {
+			Interval interval = intervals.get(last);
+			series.add(last * (double)resolution, interval.median,
+					interval.lower, interval.upper);
+		}
+		
+		return series;
+	}
+	
+	/**
+	 * The values collected within an interval and their cached quantiles.
+	 */
+	private static class Interval {
+	
+		/**
+		 * The values collected within this interval.
+		 */
+		private double[] values;
+		
+		/**
+		 * The number of values collected within this interval.
+		 */
+		private int size;
+		
+		/**
+		 * {@code true} if the cached quantiles must be recomputed;
+		 * {@code false} otherwise.
+		 */
+		private boolean dirty;
+		
+		/**
+		 * The cached 25 quantile.
+		 */
+		private double lower;
+		
+		/**
+		 * The cached 50 quantile.
+		 */
+		private double median;
+		
+		/**
+		 * The cached 75 quantile.
+		 */
+		private double upper;
+		
+		/**
+		 * Constructs a new, empty interval.
+		 */
+		public Interval() {
+			super();
+			
+			values = new double[16];
+		}
+		
+		/**
+		 * Adds a value to this interval.
+		 * 
+		 * @param value the value
+		 */
+		public void add(double value) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, 2*size);
+			}
+			
+			values[size++] = value;
+			dirty = true;
+		}
+		
+		/**
+		 * Adds all values of another interval to this interval.
+		 * 
+		 * @param interval the other interval
+		 */
+		public void addAll(Interval interval) {
+			for (int i = 0; i < interval.size; i++) {
+				add(interval.values[i]);
+			}
+		}
+		
+		/**
+		 * Recomputes the cached quantiles if values were added since they
+		 * were last computed.
+		 */
+		public void update() {
+			if (dirty) {
+				DescriptiveStatistics statistics = new DescriptiveStatistics(
+						Arrays.copyOf(values, size));
+				
+				lower = statistics.getPercentile(25);
+				median = statistics.getPercentile(50);
+				upper = statistics.getPercentile(75);
+				dirty = false;
+			}
+		}
+	
+	}
+
+}
@@ -0,0 +1,155 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.diagnostics;
+
+import java.util.Arrays;
+
+/**
+ * A line trace that is extended one point at a time while keeping the number
+ * of stored points proportional to the width of the plot.  The trace consists
+ * of a decimated head followed by the raw points appended since the head was
+ * last decimated.  Once the raw tail reaches the maximum number of points, the
+ * head and tail are decimated together with {@link Decimator}, so appending a
+ * point costs amortized constant time and the trace never holds more than
+ * twice the maximum number of points, regardless of how many points were
+ * appended.
+ */
+class StreamingTrace {
+
+	/**
+	 * The maximum number of points kept when decimating the trace.
+	 */
+	private final int maximumPoints;
+	
+	/**
+	 * The x values of the decimated head followed by the raw tail.
+	 */
+	private double[] x;
+	
+	/**
+	 * The y values of the decimated head followed by the raw tail.
+	 */
+	private double[] y;
+	
+	/**
+	 * The number of stored points.
+	 */
+	private int size;
+	
+	/**
+	 * The number of points in the decimated head.
+	 */
+	private int headSize;
+	
+	/**
+	 * The number of points appended to this trace.
+	 */
+	private int count;
+	
+	/**
+	 * Constructs a new, empty trace.
+	 * 
+	 * @param maximumPoints the maximum number of points kept when decimating
+	 *        the trace
+	 */
+	public StreamingTrace(int maximumPoints) {
+		super();
+		this.maximumPoints = maximumPoints;
+		
+		x = new double[16];
+		y = new double[16];
+	}
+	
+	/**
+	 * Returns the maximum number of points kept when decimating the trace.
+	 * 
+	 * @return the maximum number of points kept when decimating the trace
+	 */
+	public int getMaximumPoints() {
+		return maximumPoints;
+	}
+	
+	/**
+	 * Returns the number of points appended to this trace, including points
+	 * since removed by decimation.
+	 * 
+	 * @return the number of points appended to this trace
+	 */
+	public int getCount() {
+		return count;
+	}
+	
+	/**
+	 * Appends a point to this trace.  The x values must be appended in
+	 * non-decreasing order.
+	 * 
+	 * @param xValue the x value of the point
+	 * @param yValue the y value of the point
+	 */
+	public void add(double xValue, double yValue) {
+		if (size == x.length) {
+			x = Arrays.copyOf(x, 2*size);
+			y = Arrays.copyOf(y, 2*size);
+		}
+		
+		x[size] = xValue;
+		y[size] = yValue;
+		size++;
+		count++;
+		
+		if (size - headSize >= maximumPoints) {
+			decimate();
+		}
+	}
+	
+	/**
+	 * Decimates the head and tail, which become the new head.  Since the kept
+	 * indices are increasing, the points are moved in place.
+	 */
+	private void decimate() {
+		int[] indices = Decimator.decimate(Arrays.copyOf(x, size),
+				Arrays.copyOf(y, size), maximumPoints);
+		
+		for (int i = 0; i < indices.length; i++) {
+			x[i] = x[indices[i]];
+			y[i] = y[indices[i]];
+		}
+		
+		size = indices.length;
+		headSize = size;
+	}
+	
+	/**
+	 * Returns the x values of the stored points.
+	 * 
+	 * @return the x values of the stored points
+	 */
+	public double[] getX() {
+		return Arrays.copyOf(x, size);
+	}
+	
+	/**
+	 * Returns the y values of the stored points.
+	 * 
+	 * @return the y values of the stored points
+	 */
+	public double[] getY() {
+		return Arrays.copyOf(y, size);
+	}
+
+}
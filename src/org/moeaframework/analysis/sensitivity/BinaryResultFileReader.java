@@ -0,0 +1,670 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.BLOCK_HEADER_LENGTH;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.BLOCK_MARKER;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.COMPRESSION_DEFLATE;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.COMPRESSION_NONE;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.INDEX_MARKER;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.MAGIC;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.TRAILER_LENGTH;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.TRAILER_MARKER;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.TYPE_BINARY;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.TYPE_PERMUTATION;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.TYPE_REAL;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.UTF8;
+import static org.moeaframework.analysis.sensitivity.BinaryResultFileWriter.VERSION;
+import static org.moeaframework.analysis.sensitivity.ResultFileWriter.ENCODING_WARNING;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.Permutation;
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Reads result files in the binary format written by
+ * {@link BinaryResultFileWriter}.  The block index is read when the file is
+ * opened, allowing {@link #seek(int)} to position the reader at any entry
+ * after reading a single block.  If the file was not closed properly and is
+ * missing its block index, the index is rebuilt by scanning the block
+ * headers, ignoring any incomplete block at the end of the file.
+ * <p>
+ * The decision variables are read only if the problem has the same number
+ * and types of decision variables as stored in the file; otherwise, the
+ * solutions only contain the objectives.
+ *
+ * @see BinaryResultFileWriter
+ */
+class BinaryResultFileReader implements Closeable {
+
+	/**
+	 * The file being read.
+	 */
+	private final RandomAccessFile file;
+	
+	/**
+	 * The problem.
+	 */
+	private final Problem problem;
+	
+	/**
+	 * The number of decision variables stored for each solution.
+	 */
+	private int numberOfVariables;
+	
+	/**
+	 * The number of objectives stored for each solution.
+	 */
+	private int numberOfObjectives;
+	
+	/**
+	 * The type of each decision variable.
+	 */
+	private byte[] types;
+	
+	/**
+	 * The number of bits or the length of each binary or permutation
+	 * decision variable, respectively; {@code 0} for other types.
+	 */
+	private int[] sizes;
+	
+	/**
+	 * The number of real-valued decision variables.
+	 */
+	private int numberOfRealVariables;
+	
+	/**
+	 * The compression method.
+	 */
+	private byte compression;
+	
+	/**
+	 * {@code true} if the decision variables are decoded; {@code false} if
+	 * the solutions only contain the objectives.
+	 */
+	private final boolean readVariables;
+	
+	/**
+	 * The file offset of each block.
+	 */
+	private long[] blockOffsets;
+	
+	/**
+	 * The index of the first entry in each block, with one additional element
+	 * storing the total number of entries.
+	 */
+	private int[] firstEntries;
+	
+	/**
+	 * The index of the next block to load.
+	 */
+	private int nextBlock;
+	
+	/**
+	 * The uncompressed contents of the current block; or {@code null} if no
+	 * block is loaded.
+	 */
+	private ByteBuffer block;
+	
+	/**
+	 * The number of entries remaining in the current block.
+	 */
+	private int remainingInBlock;
+	
+	/**
+	 * The decompressor.
+	 */
+	private final Inflater inflater;
+	
+	/**
+	 * {@code true} if an error occurred parsing the result file; {@code false}
+	 * otherwise.
+	 */
+	private boolean error;
+	
+	/**
+	 * {@code true} if the warning for unsupported decision variables was
+	 * displayed; {@code false} otherwise.
+	 */
+	private boolean printedWarning;
+	
+	/**
+	 * Constructs a reader for the binary result file.
+	 * 
+	 * @param problem the problem
+	 * @param file the binary result file
+	 * @throws IOException if an I/O error occurred or the file is not a
+	 *         supported binary result file
+	 */
+	public BinaryResultFileReader(Problem problem, File file)
+			throws IOException {
+		super();
+		this.problem = problem;
+		this.file = new RandomAccessFile(file, "r");
+		
+		try {
+			long headerLength = readHeader();
+			
+			if (!readIndex(headerLength)) {
+				scanBlocks(headerLength);
+			}
+		} catch (IOException e) {
+			this.file.close();
+			throw e;
+		} catch (RuntimeException e) {
+			this.file.close();
+			throw e;
+		}
+		
+		readVariables = (numberOfVariables > 0) &&
+				(problem.getNumberOfVariables() == numberOfVariables) &&
+				matchesProblem();
+		inflater = new Inflater();
+	}
+	
+	/**
+	 * Reads the file header, returning the length of the header.
+	 * 
+	 * @return the length of the header
+	 * @throws IOException if an I/O error occurred or the file is not a
+	 *         supported binary result file
+	 */
+	private long readHeader() throws IOException {
+		byte[] magic = new byte[MAGIC.length];
+		file.readFully(magic);
+		
+		if (!Arrays.equals(magic, MAGIC)) {
+			throw new IOException("not a binary result file");
+		}
+		
+		int version = file.readInt();
+		
+		if (version > VERSION) {
+			throw new IOException("unsupported binary result file version " +
+					version);
+		}
+		
+		file.skipBytes(file.readInt()); // the problem name
+		numberOfVariables = file.readInt();
+		numberOfObjectives = file.readInt();
+		compression = file.readByte();
+		
+		if ((compression != COMPRESSION_NONE) &&
+				(compression != COMPRESSION_DEFLATE)) {
+			throw new IOException("unsupported compression method " +
+					compression);
+		}
+		
+		if (numberOfObjectives != problem.getNumberOfObjectives()) {
+			throw new FrameworkException("result file contains " +
+					numberOfObjectives + " objectives, expected " +
+					problem.getNumberOfObjectives());
+		}
+		
+		types = new byte[numberOfVariables];
+		sizes = new int[numberOfVariables];
+		
+		for (int i = 0; i < numberOfVariables; i++) {
+			types[i] = file.readByte();
+			sizes[i] = file.readInt();
+			
+			if (types[i] == TYPE_REAL) {
+				numberOfRealVariables++;
+			}
+		}
+		
+		return file.getFilePointer();
+	}
+	
+	/**
+	 * Reads the block index stored at the end of the file.
+	 * 
+	 * @param headerLength the length of the header
+	 * @return {@code true} if the block index was read; {@code false} if the
+	 *         file does not contain a valid block index
+	 * @throws IOException if an I/O error occurred
+	 */
+	private boolean readIndex(long headerLength) throws IOException {
+		long length = file.length();
+		
+		if (length < headerLength + 8 + TRAILER_LENGTH) {
+			return false;
+		}
+		
+		file.seek(length - TRAILER_LENGTH);
+		long indexOffset = file.readLong();
+		
+		if ((file.readInt() != TRAILER_MARKER) ||
+				(indexOffset < headerLength) ||
+				(indexOffset > length - TRAILER_LENGTH - 8)) {
+			return false;
+		}
+		
+		file.seek(indexOffset);
+		
+		if (file.readInt() != INDEX_MARKER) {
+			return false;
+		}
+		
+		int numberOfBlocks = file.readInt();
+		
+		if ((numberOfBlocks < 0) || (indexOffset + 8 + 12L*numberOfBlocks !=
+				length - TRAILER_LENGTH)) {
+			return false;
+		}
+		
+		blockOffsets = new long[numberOfBlocks];
+		firstEntries = new int[numberOfBlocks + 1];
+		
+		for (int i = 0; i < numberOfBlocks; i++) {
+			blockOffsets[i] = file.readLong();
+			firstEntries[i+1] = firstEntries[i] + file.readInt();
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Rebuilds the block index by scanning the block headers.  Scanning stops
+	 * at the first incomplete or invalid block.
+	 * 
+	 * @param headerLength the length of the header
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void scanBlocks(long headerLength) throws IOException {
+		List<Long> offsets = new ArrayList<Long>();
+		List<Integer> entries = new ArrayList<Integer>();
+		long length = file.length();
+		long offset = headerLength;
+		
+		while (offset + BLOCK_HEADER_LENGTH <= length) {
+			file.seek(offset);
+			
+			if (file.readInt() != BLOCK_MARKER) {
+				break;
+			}
+			
+			int count = file.readInt();
+			file.readInt(); // uncompressed length
+			int storedLength = file.readInt();
+			
+			if ((count < 0) || (storedLength < 0) || (offset +
+					BLOCK_HEADER_LENGTH + storedLength > length)) {
+				break;
+			}
+			
+			offsets.add(offset);
+			entries.add(count);
+			offset += BLOCK_HEADER_LENGTH + storedLength;
+		}
+		
+		blockOffsets = new long[offsets.size()];
+		firstEntries = new int[offsets.size() + 1];
+		
+		for (int i = 0; i < offsets.size(); i++) {
+			blockOffsets[i] = offsets.get(i);
+			firstEntries[i+1] = firstEntries[i] + entries.get(i);
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the problem's decision variables match the
+	 * types and sizes stored in the file; {@code false} otherwise.
+	 * 
+	 * @return {@code true} if the problem's decision variables match the
+	 *         types and sizes stored in the file; {@code false} otherwise
+	 */
+	private boolean matchesProblem() {
+		Solution template = problem.newSolution();
+		
+		for (int i = 0; i < numberOfVariables; i++) {
+			Variable variable = template.getVariable(i);
+			
+			switch (types[i]) {
+			case TYPE_REAL:
+				if (!(variable instanceof RealVariable)) {
+					return false;
+				}
+				break;
+			case TYPE_BINARY:
+				if (!(variable instanceof BinaryVariable) ||
+						(((BinaryVariable)variable).getNumberOfBits() !=
+								sizes[i])) {
+					return false;
+				}
+				break;
+			case TYPE_PERMUTATION:
+				if (!(variable instanceof Permutation) ||
+						(((Permutation)variable).size() != sizes[i])) {
+					return false;
+				}
+				break;
+			default:
+				break;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the number of entries in the file.
+	 * 
+	 * @return the number of entries in the file
+	 */
+	public int getNumberOfEntries() {
+		return firstEntries[firstEntries.length - 1];
+	}
+	
+	/**
+	 * Positions this reader so the next entry read is the entry with the
+	 * given index.  Only the block containing the entry is read.
+	 * 
+	 * @param index the index of the entry
+	 * @throws IOException if an I/O error occurred
+	 * @throws IndexOutOfBoundsException if the index is negative or greater
+	 *         than the number of entries in the file
+	 */
+	public void seek(int index) throws IOException {
+		if ((index < 0) || (index > getNumberOfEntries())) {
+			throw new IndexOutOfBoundsException("invalid entry " + index);
+		}
+		
+		block = null;
+		remainingInBlock = 0;
+		
+		if (index == getNumberOfEntries()) {
+			nextBlock = blockOffsets.length;
+			return;
+		}
+		
+		int blockIndex = Arrays.binarySearch(firstEntries, index);
+		
+		if (blockIndex < 0) {
+			blockIndex = -blockIndex - 2;
+		} else {
+			// skip any empty blocks starting at the same entry
+			while (firstEntries[blockIndex + 1] == index) {
+				blockIndex++;
+			}
+		}
+		
+		nextBlock = blockIndex;
+		
+		if (!loadBlock()) {
+			return;
+		}
+		
+		for (int i = firstEntries[blockIndex]; i < index; i++) {
+			block.position(block.position() + block.getInt(block.position()) +
+					4);
+			remainingInBlock--;
+		}
+	}
+	
+	/**
+	 * Loads the next block.
+	 * 
+	 * @return {@code true} if the block was loaded; {@code false} if the block
+	 *         is corrupt
+	 * @throws IOException if an I/O error occurred
+	 */
+	private boolean loadBlock() throws IOException {
+		file.seek(blockOffsets[nextBlock]);
+		
+		file.readInt(); // block marker
+		int count = file.readInt();
+		int length = file.readInt();
+		int storedLength = file.readInt();
+		int checksum = file.readInt();
+		
+		byte[] stored = new byte[storedLength];
+		file.readFully(stored);
+		
+		CRC32 crc = new CRC32();
+		crc.update(stored);
+		
+		if ((int)crc.getValue() != checksum) {
+			System.err.println("corrupt block in result file, ignoring remaining entries in the file");
+			error = true;
+			return false;
+		}
+		
+		byte[] data = stored;
+		
+		if (compression == COMPRESSION_DEFLATE) {
+			data = new byte[length];
+			inflater.reset();
+			inflater.setInput(stored);
+			
+			try {
+				if ((inflater.inflate(data) != length) ||
+						!inflater.finished()) {
+					throw new DataFormatException();
+				}
+			} catch (DataFormatException e) {
+				System.err.println("corrupt block in result file, ignoring remaining entries in the file");
+				error = true;
+				return false;
+			}
+		}
+		
+		block = ByteBuffer.wrap(data, 0, length);
+		remainingInBlock = count;
+		nextBlock++;
+		return true;
+	}
+	
+	/**
+	 * Returns the next entry in the file; or {@code null} if the end of the
+	 * file is reached or an error occurred.
+	 * 
+	 * @return the next entry in the file; or {@code null} if the end of the
+	 *         file is reached or an error occurred
+	 * @throws IOException if an I/O error occurred
+	 */
+	public ResultEntry readNextEntry() throws IOException {
+		while (!error && (remainingInBlock == 0)) {
+			if (nextBlock >= blockOffsets.length) {
+				return null;
+			}
+			
+			loadBlock();
+		}
+		
+		if (error) {
+			return null;
+		}
+		
+		remainingInBlock--;
+		
+		int end = block.getInt() + block.position();
+		
+		try {
+			return readEntry(end);
+		} catch (Exception e) {
+			e.printStackTrace();
+			System.err.println("unable to parse solution, ignoring remaining entries in the file");
+			error = true;
+			return null;
+		} finally {
+			block.position(end);
+		}
+	}
+	
+	/**
+	 * Decodes the entry at the current position of the block.
+	 * 
+	 * @param end the position in the block where the entry ends
+	 * @return the decoded entry
+	 * @throws Exception if the entry could not be decoded
+	 */
+	private ResultEntry readEntry(int end) throws Exception {
+		int size = block.getInt();
+		int numberOfProperties = block.getInt();
+		Properties properties = new Properties();
+		
+		for (int i = 0; i < numberOfProperties; i++) {
+			String key = getString();
+			properties.setProperty(key, getString());
+		}
+		
+		List<Solution> solutions = new ArrayList<Solution>(size);
+		
+		for (int i = 0; i < size; i++) {
+			Solution solution = readVariables ? problem.newSolution() :
+				new Solution(0, numberOfObjectives);
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				solution.setObjective(j, block.getDouble());
+			}
+			
+			solutions.add(solution);
+		}
+		
+		if (readVariables) {
+			for (Solution solution : solutions) {
+				for (int j = 0; j < numberOfVariables; j++) {
+					if (types[j] == TYPE_REAL) {
+						((RealVariable)solution.getVariable(j)).setValue(
+								block.getDouble());
+					}
+				}
+			}
+			
+			for (Solution solution : solutions) {
+				for (int j = 0; j < numberOfVariables; j++) {
+					if (types[j] != TYPE_REAL) {
+						solution.setVariable(j, getVariable(
+								solution.getVariable(j), j));
+					}
+				}
+			}
+		}
+		
+		if (block.position() > end) {
+			throw new FrameworkException("entry exceeds its length");
+		}
+		
+		return new ResultEntry(new NondominatedPopulation(solutions),
+				properties);
+	}
+	
+	/**
+	 * Decodes a binary, permutation or serialized decision variable, returning
+	 * the variable with the decoded value.
+	 * 
+	 * @param variable the decision variable
+	 * @param index the index of the decision variable
+	 * @return the variable with the decoded value
+	 * @throws Exception if the decision variable could not be decoded
+	 */
+	private Variable getVariable(Variable variable, int index)
+			throws Exception {
+		if (types[index] == TYPE_BINARY) {
+			BinaryVariable bv = (BinaryVariable)variable;
+			byte[] bits = new byte[(sizes[index] + 7) / 8];
+			block.get(bits);
+			
+			for (int i = 0; i < sizes[index]; i++) {
+				bv.set(i, (bits[i / 8] & (1 << (i % 8))) != 0);
+			}
+			
+			return bv;
+		} else if (types[index] == TYPE_PERMUTATION) {
+			Permutation p = (Permutation)variable;
+			int[] array = new int[sizes[index]];
+			
+			for (int i = 0; i < array.length; i++) {
+				array[i] = block.getInt();
+			}
+			
+			try {
+				p.fromArray(array);
+			} catch (IllegalArgumentException e) {
+				throw new FrameworkException("invalid permutation", e);
+			}
+			
+			return p;
+		} else {
+			int length = block.getInt();
+			
+			if (length < 0) {
+				if (!printedWarning) {
+					System.err.println(ENCODING_WARNING);
+					printedWarning = true;
+				}
+				
+				return variable;
+			}
+			
+			ObjectInputStream ois = null;
+			
+			try {
+				ois = new ObjectInputStream(new ByteArrayInputStream(
+						block.array(), block.position(), length));
+				block.position(block.position() + length);
+				return (Variable)ois.readObject();
+			} finally {
+				if (ois != null) {
+					ois.close();
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Decodes a length-prefixed UTF-8 string.
+	 * 
+	 * @return the decoded string
+	 */
+	private String getString() {
+		int length = block.getInt();
+		String string = new String(block.array(), block.position(), length,
+				UTF8);
+		block.position(block.position() + length);
+		return string;
+	}
+	
+	@Override
+	public void close() throws IOException {
+		inflater.end();
+		file.close();
+	}
+
+}
@@ -0,0 +1,702 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import static org.moeaframework.analysis.sensitivity.ResultFileWriter.ENCODING_WARNING;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variable;
+import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.Permutation;
+import org.moeaframework.core.variable.RealVariable;
+
+/**
+ * Writes result files in the binary format.  All values are stored in
+ * big-endian byte order.  A binary result file consists of:
+ * <ol>
+ *   <li>A header containing the {@link #MAGIC} bytes, the format
+ *       {@link #VERSION}, the problem name, the number of decision variables
+ *       and objectives, the compression method, and the type and size of
+ *       each decision variable.  The number of decision variables is zero if
+ *       the decision variables are not stored.
+ *   <li>A sequence of blocks, each containing one or more entries.  A block
+ *       starts with {@link #BLOCK_MARKER}, the number of entries, the
+ *       uncompressed and stored lengths, and the CRC-32 checksum of the
+ *       stored data, followed by the (optionally compressed) entries.
+ *   <li>The block index, starting with {@link #INDEX_MARKER} and the number
+ *       of blocks, followed by the file offset and number of entries of each
+ *       block.
+ *   <li>A trailer containing the file offset of the block index and
+ *       {@link #TRAILER_MARKER}.
+ * </ol>
+ * Each entry stores its length, the number of solutions, the properties, the
+ * objectives of all solutions as a block of fixed-width doubles, the
+ * real-valued decision variables of all solutions as a second block of
+ * fixed-width doubles, and finally the remaining decision variables of each
+ * solution.  Binary variables are stored as packed bits, permutations as
+ * integers, and all other variables as serialized objects.
+ * <p>
+ * The block index and trailer are written when this writer is closed.  If
+ * the file is not closed properly, {@link BinaryResultFileReader} recovers
+ * all complete blocks by scanning the file.  Entries are buffered until a
+ * block is complete or {@link #flush()} is invoked, so any entries still
+ * buffered are lost.  {@link ResultFileWriter} flushes after each entry, so
+ * a killed process, such as the {@link Evaluator}, loses no complete entries.
+ *
+ * @see BinaryResultFileReader
+ */
+class BinaryResultFileWriter implements Closeable {
+
+	/**
+	 * The bytes identifying a binary result file.
+	 */
+	static final byte[] MAGIC = new byte[] { (byte)0x89, 'M', 'O', 'E', 'A',
+		'R', 'F', '\n' };
+	
+	/**
+	 * The version of the binary format written by this class.
+	 */
+	static final int VERSION = 1;
+	
+	/**
+	 * The marker starting each block.
+	 */
+	static final int BLOCK_MARKER = 0x424C4B31;
+	
+	/**
+	 * The marker starting the block index.
+	 */
+	static final int INDEX_MARKER = 0x49445831;
+	
+	/**
+	 * The marker ending the file.
+	 */
+	static final int TRAILER_MARKER = 0x454E4431;
+	
+	/**
+	 * The length, in bytes, of the block header.
+	 */
+	static final int BLOCK_HEADER_LENGTH = 20;
+	
+	/**
+	 * The length, in bytes, of the trailer.
+	 */
+	static final int TRAILER_LENGTH = 12;
+	
+	/**
+	 * Indicates the blocks are not compressed.
+	 */
+	static final byte COMPRESSION_NONE = 0;
+	
+	/**
+	 * Indicates the blocks are compressed with Deflate.
+	 */
+	static final byte COMPRESSION_DEFLATE = 1;
+	
+	/**
+	 * Indicates a real-valued decision variable.
+	 */
+	static final byte TYPE_REAL = 0;
+	
+	/**
+	 * Indicates a binary decision variable.
+	 */
+	static final byte TYPE_BINARY = 1;
+	
+	/**
+	 * Indicates a permutation decision variable.
+	 */
+	static final byte TYPE_PERMUTATION = 2;
+	
+	/**
+	 * Indicates a decision variable stored as a serialized object.
+	 */
+	static final byte TYPE_SERIALIZED = 3;
+	
+	/**
+	 * The character set for encoding strings.
+	 */
+	static final Charset UTF8 = Charset.forName("UTF-8");
+	
+	/**
+	 * The stream for writing to the file.
+	 */
+	private final FileOutputStream output;
+	
+	/**
+	 * The number of decision variables stored for each solution.
+	 */
+	private final int numberOfVariables;
+	
+	/**
+	 * The number of objectives stored for each solution.
+	 */
+	private final int numberOfObjectives;
+	
+	/**
+	 * The type of each decision variable.
+	 */
+	private final byte[] types;
+	
+	/**
+	 * The number of bits or the length of each binary or permutation
+	 * decision variable, respectively; {@code 0} for other types.
+	 */
+	private final int[] sizes;
+	
+	/**
+	 * The number of real-valued decision variables.
+	 */
+	private final int numberOfRealVariables;
+	
+	/**
+	 * The compression method.
+	 */
+	private final byte compression;
+	
+	/**
+	 * The uncompressed size, in bytes, at which a block is written.
+	 */
+	private final int blockSize;
+	
+	/**
+	 * The compressor; or {@code null} if the blocks are not compressed.
+	 */
+	private final Deflater deflater;
+	
+	/**
+	 * The buffer containing the entries of the current block.
+	 */
+	private ByteBuffer buffer;
+	
+	/**
+	 * The number of entries in the current block.
+	 */
+	private int entriesInBlock;
+	
+	/**
+	 * The number of entries written to the file.
+	 */
+	private int numberOfEntries;
+	
+	/**
+	 * The current file offset.
+	 */
+	private long position;
+	
+	/**
+	 * The file offset of each block.
+	 */
+	private final List<Long> blockOffsets;
+	
+	/**
+	 * The number of entries in each block.
+	 */
+	private final List<Integer> blockEntries;
+	
+	/**
+	 * {@code true} if the warning for unsupported decision variables was
+	 * displayed; {@code false} otherwise.
+	 */
+	private boolean printedWarning;
+	
+	/**
+	 * {@code true} if this writer has been closed; {@code false} otherwise.
+	 */
+	private boolean closed;
+	
+	/**
+	 * Constructs a writer for a new binary result file, replacing any existing
+	 * file.  The compression method and block size are read from
+	 * {@link Settings}.
+	 * 
+	 * @param problem the problem
+	 * @param file the file to which the results are stored
+	 * @param includeVariables {@code true} if this writer should save the
+	 *        decision variables; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	public BinaryResultFileWriter(Problem problem, File file,
+			boolean includeVariables) throws IOException {
+		super();
+		
+		String method = Settings.getResultFileCompression();
+		
+		if (method.equalsIgnoreCase("none")) {
+			compression = COMPRESSION_NONE;
+			deflater = null;
+		} else if (method.equalsIgnoreCase("deflate")) {
+			compression = COMPRESSION_DEFLATE;
+			deflater = new Deflater(Deflater.BEST_SPEED);
+		} else {
+			throw new FrameworkException("unsupported compression method: " +
+					method);
+		}
+		
+		blockSize = Math.max(1, Settings.getResultFileBlockSize());
+		numberOfObjectives = problem.getNumberOfObjectives();
+		numberOfVariables = includeVariables ?
+				problem.getNumberOfVariables() : 0;
+		types = new byte[numberOfVariables];
+		sizes = new int[numberOfVariables];
+		
+		// the variable types are determined from a template solution
+		Solution template = problem.newSolution();
+		int reals = 0;
+		
+		for (int i = 0; i < numberOfVariables; i++) {
+			Variable variable = template.getVariable(i);
+			
+			if (variable instanceof RealVariable) {
+				types[i] = TYPE_REAL;
+				reals++;
+			} else if (variable instanceof BinaryVariable) {
+				types[i] = TYPE_BINARY;
+				sizes[i] = ((BinaryVariable)variable).getNumberOfBits();
+			} else if (variable instanceof Permutation) {
+				types[i] = TYPE_PERMUTATION;
+				sizes[i] = ((Permutation)variable).size();
+			} else {
+				types[i] = TYPE_SERIALIZED;
+			}
+		}
+		
+		numberOfRealVariables = reals;
+		blockOffsets = new ArrayList<Long>();
+		blockEntries = new ArrayList<Integer>();
+		buffer = ByteBuffer.allocate(Math.min(blockSize, 0x10000));
+		output = new FileOutputStream(file);
+		
+		try {
+			writeHeader(problem.getName());
+		} catch (IOException e) {
+			output.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Returns the number of entries written to the file.
+	 * 
+	 * @return the number of entries written to the file
+	 */
+	public int getNumberOfEntries() {
+		return numberOfEntries;
+	}
+	
+	/**
+	 * Writes the file header.
+	 * 
+	 * @param name the name of the problem
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeHeader(String name) throws IOException {
+		byte[] encodedName = name == null ? new byte[0] : name.getBytes(UTF8);
+		ByteBuffer header = ByteBuffer.allocate(MAGIC.length + 17 +
+				encodedName.length + 5*numberOfVariables);
+		
+		header.put(MAGIC);
+		header.putInt(VERSION);
+		header.putInt(encodedName.length);
+		header.put(encodedName);
+		header.putInt(numberOfVariables);
+		header.putInt(numberOfObjectives);
+		header.put(compression);
+		
+		for (int i = 0; i < numberOfVariables; i++) {
+			header.put(types[i]);
+			header.putInt(sizes[i]);
+		}
+		
+		write(header);
+	}
+	
+	/**
+	 * Appends an entry to the file.  The entry is written once its block is
+	 * complete, {@link #flush()} is invoked or this writer is closed.
+	 * 
+	 * @param solutions the solutions in the entry
+	 * @param properties the properties of the entry; or {@code null} if the
+	 *        entry has no properties
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void append(List<Solution> solutions, Properties properties)
+			throws IOException {
+		int start = buffer.position();
+		
+		try {
+			putEntry(solutions, properties);
+		} catch (RuntimeException e) {
+			// discard the partially encoded entry
+			buffer.position(start);
+			throw e;
+		}
+		
+		entriesInBlock++;
+		numberOfEntries++;
+		
+		if (buffer.position() >= blockSize) {
+			writeBlock();
+		}
+	}
+	
+	/**
+	 * Encodes an entry into the buffer.
+	 * 
+	 * @param solutions the solutions in the entry
+	 * @param properties the properties of the entry; or {@code null} if the
+	 *        entry has no properties
+	 */
+	private void putEntry(List<Solution> solutions, Properties properties) {
+		int start = buffer.position();
+		int size = solutions.size();
+		
+		ensureCapacity(8);
+		buffer.putInt(0); // length, filled in below
+		buffer.putInt(size);
+		
+		// properties
+		if (properties == null) {
+			ensureCapacity(4);
+			buffer.putInt(0);
+		} else {
+			ensureCapacity(4);
+			buffer.putInt(properties.size());
+			
+			for (Map.Entry<Object, Object> property : properties.entrySet()) {
+				putString(property.getKey().toString());
+				putString(property.getValue().toString());
+			}
+		}
+		
+		// objectives
+		ensureCapacity(8*size*numberOfObjectives);
+		
+		for (Solution solution : solutions) {
+			for (int j = 0; j < numberOfObjectives; j++) {
+				buffer.putDouble(solution.getObjective(j));
+			}
+		}
+		
+		if (numberOfVariables > 0) {
+			for (Solution solution : solutions) {
+				if (solution.getNumberOfVariables() != numberOfVariables) {
+					throw new FrameworkException(
+							"solution does not match the result file header");
+				}
+			}
+			
+			// real-valued decision variables
+			ensureCapacity(8*size*numberOfRealVariables);
+			
+			for (Solution solution : solutions) {
+				for (int j = 0; j < numberOfVariables; j++) {
+					if (types[j] == TYPE_REAL) {
+						buffer.putDouble(((RealVariable)checkType(
+								solution.getVariable(j), j)).getValue());
+					}
+				}
+			}
+			
+			// all other decision variables
+			for (Solution solution : solutions) {
+				for (int j = 0; j < numberOfVariables; j++) {
+					if (types[j] != TYPE_REAL) {
+						putVariable(checkType(solution.getVariable(j), j), j);
+					}
+				}
+			}
+		}
+		
+		buffer.putInt(start, buffer.position() - start - 4);
+	}
+	
+	/**
+	 * Checks if the decision variable matches the type and size recorded in
+	 * the header.
+	 * 
+	 * @param variable the decision variable
+	 * @param index the index of the decision variable
+	 * @return the decision variable
+	 * @throws FrameworkException if the decision variable does not match the
+	 *         type and size recorded in the header
+	 */
+	private Variable checkType(Variable variable, int index) {
+		boolean valid;
+		
+		switch (types[index]) {
+		case TYPE_REAL:
+			valid = variable instanceof RealVariable;
+			break;
+		case TYPE_BINARY:
+			valid = (variable instanceof BinaryVariable) &&
+					(((BinaryVariable)variable).getNumberOfBits() ==
+							sizes[index]);
+			break;
+		case TYPE_PERMUTATION:
+			valid = (variable instanceof Permutation) &&
+					(((Permutation)variable).size() == sizes[index]);
+			break;
+		default:
+			valid = true;
+			break;
+		}
+		
+		if (!valid) {
+			throw new FrameworkException(
+					"decision variable does not match the result file header");
+		}
+		
+		return variable;
+	}
+	
+	/**
+	 * Stores a binary, permutation or serialized decision variable.
+	 * 
+	 * @param variable the decision variable
+	 * @param index the index of the decision variable
+	 */
+	private void putVariable(Variable variable, int index) {
+		if (types[index] == TYPE_BINARY) {
+			BinaryVariable bv = (BinaryVariable)variable;
+			byte[] bits = new byte[(sizes[index] + 7) / 8];
+			
+			for (int i = 0; i < sizes[index]; i++) {
+				if (bv.get(i)) {
+					bits[i / 8] |= 1 << (i % 8);
+				}
+			}
+			
+			ensureCapacity(bits.length);
+			buffer.put(bits);
+		} else if (types[index] == TYPE_PERMUTATION) {
+			Permutation p = (Permutation)variable;
+			ensureCapacity(4*sizes[index]);
+			
+			for (int i = 0; i < sizes[index]; i++) {
+				buffer.putInt(p.get(i));
+			}
+		} else {
+			byte[] bytes = null;
+			
+			try {
+				bytes = serialize(variable);
+			} catch (IOException e) {
+				if (!printedWarning) {
+					System.err.println(ENCODING_WARNING);
+					printedWarning = true;
+				}
+			}
+			
+			if (bytes == null) {
+				ensureCapacity(4);
+				buffer.putInt(-1);
+			} else {
+				ensureCapacity(4 + bytes.length);
+				buffer.putInt(bytes.length);
+				buffer.put(bytes);
+			}
+		}
+	}
+	
+	/**
+	 * Returns the serialized form of the decision variable.
+	 * 
+	 * @param variable the variable to serialize
+	 * @return the serialized form of the decision variable
+	 * @throws IOException if the variable could not be serialized
+	 */
+	private byte[] serialize(Variable variable) throws IOException {
+		ObjectOutputStream oos = null;
+		
+		try {
+			ByteArrayOutputStream baos = new ByteArrayOutputStream();
+			oos = new ObjectOutputStream(baos);
+			oos.writeObject(variable);
+			oos.flush();
+			return baos.toByteArray();
+		} finally {
+			if (oos != null) {
+				oos.close();
+			}
+		}
+	}
+	
+	/**
+	 * Stores a length-prefixed UTF-8 string.
+	 * 
+	 * @param string the string
+	 */
+	private void putString(String string) {
+		byte[] bytes = string.getBytes(UTF8);
+		ensureCapacity(4 + bytes.length);
+		buffer.putInt(bytes.length);
+		buffer.put(bytes);
+	}
+	
+	/**
+	 * Ensures the buffer can hold the given number of additional bytes,
+	 * growing the buffer if necessary.
+	 * 
+	 * @param length the number of additional bytes
+	 */
+	private void ensureCapacity(int length) {
+		if (buffer.remaining() < length) {
+			ByteBuffer larger = ByteBuffer.allocate(Math.max(
+					2*buffer.capacity(), buffer.position() + length));
+			buffer.flip();
+			larger.put(buffer);
+			buffer = larger;
+		}
+	}
+	
+	/**
+	 * Compresses and writes the entries of the current block.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeBlock() throws IOException {
+		byte[] data = buffer.array();
+		int length = buffer.position();
+		byte[] stored = data;
+		int storedLength = length;
+		
+		if (compression == COMPRESSION_DEFLATE) {
+			ByteArrayOutputStream compressed = new ByteArrayOutputStream(
+					length / 2 + 64);
+			byte[] chunk = new byte[0x10000];
+			
+			deflater.reset();
+			deflater.setInput(data, 0, length);
+			deflater.finish();
+			
+			while (!deflater.finished()) {
+				int count = deflater.deflate(chunk);
+				compressed.write(chunk, 0, count);
+			}
+			
+			stored = compressed.toByteArray();
+			storedLength = stored.length;
+		}
+		
+		CRC32 crc = new CRC32();
+		crc.update(stored, 0, storedLength);
+		
+		ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_LENGTH);
+		header.putInt(BLOCK_MARKER);
+		header.putInt(entriesInBlock);
+		header.putInt(length);
+		header.putInt(storedLength);
+		header.putInt((int)crc.getValue());
+		
+		blockOffsets.add(position);
+		blockEntries.add(entriesInBlock);
+		
+		write(header);
+		output.write(stored, 0, storedLength);
+		position += storedLength;
+		
+		buffer.clear();
+		entriesInBlock = 0;
+	}
+	
+	/**
+	 * Writes any buffered entries to the file as a block, ensuring they are
+	 * recovered by {@link BinaryResultFileReader} even if this writer is never
+	 * closed.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void flush() throws IOException {
+		if (entriesInBlock > 0) {
+			writeBlock();
+		}
+	}
+	
+	/**
+	 * Writes the contents of the buffer to the file.
+	 * 
+	 * @param data the buffer
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void write(ByteBuffer data) throws IOException {
+		output.write(data.array(), 0, data.position());
+		position += data.position();
+	}
+	
+	/**
+	 * Writes any buffered entries followed by the block index and trailer.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		
+		closed = true;
+		
+		try {
+			if (entriesInBlock > 0) {
+				writeBlock();
+			}
+			
+			long indexOffset = position;
+			ByteBuffer index = ByteBuffer.allocate(8 +
+					12*blockOffsets.size() + TRAILER_LENGTH);
+			
+			index.putInt(INDEX_MARKER);
+			index.putInt(blockOffsets.size());
+			
+			for (int i = 0; i < blockOffsets.size(); i++) {
+				index.putLong(blockOffsets.get(i));
+				index.putInt(blockEntries.get(i));
+			}
+			
+			index.putLong(indexOffset);
+			index.putInt(TRAILER_MARKER);
+			write(index);
+		} finally {
+			output.close();
+			
+			if (deflater != null) {
+				deflater.end();
+			}
+		}
+	}
+
+}
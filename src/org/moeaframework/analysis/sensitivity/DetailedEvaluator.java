@@ -210,7 +210,7 @@ public class DetailedEvaluator extends CommandLineUtility {
 						File outputFile = new File(outputFileName);
 						
 						if (outputFile.exists()) {
-							outputFile.delete();
+							ResultFileWriter.delete(outputFile);
 						}
 						
 						output = new ResultFileWriter(problem, outputFile, !commandLine.hasOption("novariables"));
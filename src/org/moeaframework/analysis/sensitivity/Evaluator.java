@@ -29,8 +29,8 @@ import org.moeaframework.core.Algorithm;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PRNG;
-import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.ReferenceSetCache;
 import org.moeaframework.core.indicator.QualityIndicator;
 import org.moeaframework.core.spi.AlgorithmFactory;
 import org.moeaframework.core.spi.ProblemFactory;
@@ -101,6 +101,12 @@ import org.moeaframework.util.TypedProperties;
  *     <td>{@code -n, --novariables}</td>
  *     <td>To save on space, do not save decision variables in the results.</td>
  *   </tr>
+ *   <tr>
+ *     <td>{@code --binary}</td>
+ *     <td>Save the results in the binary result file format.  The binary
+ *         format is also used if the output file ends with
+ *         {@value ResultFileFormat#BINARY_EXTENSION}.</td>
+ *   </tr>
  * </table>
  */
 public class Evaluator extends CommandLineUtility {
@@ -193,6 +199,9 @@ public class Evaluator extends CommandLineUtility {
 		options.addOption(OptionBuilder
 				.withLongOpt("force")
 				.create('f'));
+		options.addOption(OptionBuilder
+				.withLongOpt("binary")
+				.create());
 
 		return options;
 	}
@@ -228,10 +237,8 @@ public class Evaluator extends CommandLineUtility {
 
 						// load reference set and create the quality indicator
 						if (commandLine.hasOption("reference")) {
-							referenceSet = new NondominatedPopulation(
-									PopulationIO.readObjectives(new File(
-											commandLine.getOptionValue(
-													"reference"))));
+							referenceSet = ReferenceSetCache.load(new File(
+									commandLine.getOptionValue("reference")));
 						} else {
 							referenceSet = ProblemFactory.getInstance()
 									.getReferenceSet(commandLine.getOptionValue(
@@ -249,7 +256,10 @@ public class Evaluator extends CommandLineUtility {
 						output = new MetricFileWriter(indicator, outputFile);
 					} else {
 						output = new ResultFileWriter(problem, outputFile,
-								!commandLine.hasOption("novariables"));
+								!commandLine.hasOption("novariables"),
+								commandLine.hasOption("binary") ?
+										ResultFileFormat.BINARY :
+										ResultFileFormat.forFile(outputFile));
 					}
 
 					// resume at the last good output
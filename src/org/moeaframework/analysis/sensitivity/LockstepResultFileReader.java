@@ -0,0 +1,244 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.Problem;
+
+/**
+ * Reads several result files in lockstep, returning the i-th entry from every
+ * file together.  The files are read concurrently, and the next group of
+ * entries is read in the background while the current group is processed.
+ * At most two entries per file are held in memory at any time.
+ * <p>
+ * Each file remains open until this reader is closed.
+ */
+class LockstepResultFileReader implements Closeable {
+
+	/**
+	 * The files being read.
+	 */
+	private final File[] files;
+	
+	/**
+	 * The readers of each file.
+	 */
+	private final ResultFileReader[] readers;
+	
+	/**
+	 * The executor reading the files.
+	 */
+	private final ExecutorService executor;
+	
+	/**
+	 * The pending reads of the next group; {@code null} for files that have
+	 * no more entries.
+	 */
+	private Future<ResultEntry>[] pending;
+	
+	/**
+	 * The next group of entries; or {@code null} if the pending reads have
+	 * not yet completed.
+	 */
+	private ResultEntry[] nextGroup;
+	
+	/**
+	 * Constructs a reader for reading several result files in lockstep.
+	 * 
+	 * @param problem the problem
+	 * @param files the result files
+	 * @param numberOfThreads the number of threads reading the files
+	 * @throws IOException if an I/O error occurred
+	 */
+	public LockstepResultFileReader(Problem problem, File[] files,
+			int numberOfThreads) throws IOException {
+		super();
+		this.files = files.clone();
+		
+		readers = new ResultFileReader[files.length];
+		
+		try {
+			for (int i = 0; i < files.length; i++) {
+				readers[i] = new ResultFileReader(problem, files[i]);
+			}
+		} catch (IOException e) {
+			closeReaders();
+			throw e;
+		}
+		
+		executor = Executors.newFixedThreadPool(Math.max(1,
+				Math.min(numberOfThreads, files.length)));
+		
+		readAhead();
+	}
+	
+	/**
+	 * Returns the number of files being read.
+	 * 
+	 * @return the number of files being read
+	 */
+	public int getNumberOfFiles() {
+		return files.length;
+	}
+	
+	/**
+	 * Returns the i-th file being read.
+	 * 
+	 * @param index the index of the file
+	 * @return the i-th file being read
+	 */
+	public File getFile(int index) {
+		return files[index];
+	}
+	
+	/**
+	 * Submits the reads of the next group of entries.
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	private void readAhead() {
+		Future<ResultEntry>[] reads = new Future[readers.length];
+		
+		for (int i = 0; i < readers.length; i++) {
+			if ((pending == null) || (pending[i] != null)) {
+				final ResultFileReader reader = readers[i];
+				
+				reads[i] = executor.submit(new Callable<ResultEntry>() {
+				
+					@Override
+					public ResultEntry call() {
+						return reader.hasNext() ? reader.next() : null;
+					}
+				
+				});
+			}
+		}
+		
+		pending = reads;
+	}
+	
+	/**
+	 * Waits for the pending reads to complete.  Files that have no more
+	 * entries are not read again.
+	 */
+	private void awaitNextGroup() {
+		if (nextGroup != null) {
+			return;
+		}
+		
+		ResultEntry[] group = new ResultEntry[readers.length];
+		
+		try {
+			for (int i = 0; i < readers.length; i++) {
+				if (pending[i] != null) {
+					group[i] = pending[i].get();
+					
+					if (group[i] == null) {
+						pending[i] = null;
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			throw new FrameworkException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			} else {
+				throw new FrameworkException(e.getCause());
+			}
+		}
+		
+		nextGroup = group;
+	}
+	
+	/**
+	 * Returns {@code true} if any file contains another entry; {@code false}
+	 * otherwise.
+	 * 
+	 * @return {@code true} if any file contains another entry; {@code false}
+	 *         otherwise
+	 */
+	public boolean hasNext() {
+		awaitNextGroup();
+		
+		for (ResultEntry entry : nextGroup) {
+			if (entry != null) {
+				return true;
+			}
+		}
+		
+		return false;
+	}
+	
+	/**
+	 * Returns the next entry from each file.  The returned array contains
+	 * {@code null} for files that have no more entries.
+	 * 
+	 * @return the next entry from each file
+	 * @throws NoSuchElementException if no file contains another entry
+	 */
+	public ResultEntry[] next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		
+		ResultEntry[] group = nextGroup;
+		nextGroup = null;
+		readAhead();
+		return group;
+	}
+	
+	/**
+	 * Closes the readers of each file, ignoring any errors.
+	 */
+	private void closeReaders() {
+		for (ResultFileReader reader : readers) {
+			if (reader != null) {
+				try {
+					reader.close();
+				} catch (IOException e) {
+					// ignore, continue closing the remaining readers
+				}
+			}
+		}
+	}
+	
+	@Override
+	public void close() throws IOException {
+		executor.shutdownNow();
+		
+		try {
+			executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		
+		closeReaders();
+	}
+
+}
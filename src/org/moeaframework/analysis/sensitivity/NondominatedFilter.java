@@ -0,0 +1,264 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+/**
+ * Bulk filter returning the Pareto non-dominated solutions from a collection.
+ * The solutions are first sorted lexicographically by their constraint
+ * violation and objectives.  In this order, no solution can dominate a
+ * solution appearing before it, so each solution only needs to be compared
+ * against the non-dominated solutions already found, and no solution is ever
+ * removed.  With two objectives and no constraint violations, the sorted
+ * solutions are filtered in a single linear sweep.
+ * <p>
+ * The surviving solutions retain their original order, and identical
+ * solutions keep the first occurrence.  Solutions within {@link Settings#EPS}
+ * of each other in objective space are also treated as duplicates, but the
+ * solution kept is the first in the lexicographic order rather than the first
+ * in the original order.  Therefore, when near-duplicates exist, the result
+ * may differ from adding the solutions, in order, to a
+ * {@link NondominatedPopulation}, which keeps the first occurrence.
+ */
+class NondominatedFilter {
+
+	/**
+	 * The Pareto dominance comparator.
+	 */
+	private static final ParetoDominanceComparator COMPARATOR =
+			new ParetoDominanceComparator();
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private NondominatedFilter() {
+		super();
+	}
+	
+	/**
+	 * Returns the non-dominated solutions in the given list.
+	 * 
+	 * @param solutions the solutions
+	 * @return the non-dominated solutions in the given list
+	 */
+	public static NondominatedPopulation filter(List<Solution> solutions) {
+		int size = solutions.size();
+		Candidate[] candidates = new Candidate[size];
+		boolean feasible = true;
+		int numberOfObjectives = -1;
+		
+		for (int i = 0; i < size; i++) {
+			Solution solution = solutions.get(i);
+			candidates[i] = new Candidate(solution, i);
+			
+			if (candidates[i].violation != 0.0) {
+				feasible = false;
+			}
+			
+			if (numberOfObjectives < 0) {
+				numberOfObjectives = solution.getNumberOfObjectives();
+			} else if (numberOfObjectives !=
+					solution.getNumberOfObjectives()) {
+				numberOfObjectives = 0;
+			}
+		}
+		
+		// stable sort, so identical solutions keep their original order
+		Arrays.sort(candidates);
+		
+		boolean[] keep = new boolean[size];
+		
+		if (feasible && (numberOfObjectives == 2)) {
+			sweep(candidates, keep);
+		} else {
+			scan(candidates, keep);
+		}
+		
+		FilteredPopulation result = new FilteredPopulation();
+		
+		for (int i = 0; i < size; i++) {
+			if (keep[i]) {
+				result.addFiltered(solutions.get(i));
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Filters the sorted solutions by comparing each solution against the
+	 * non-dominated solutions preceding it.
+	 * 
+	 * @param candidates the solutions in lexicographic order
+	 * @param keep the array for marking the non-dominated solutions
+	 */
+	private static void scan(Candidate[] candidates, boolean[] keep) {
+		List<Solution> front = new ArrayList<Solution>();
+		
+		for (Candidate candidate : candidates) {
+			Solution solution = candidate.solution;
+			boolean dominated = false;
+			
+			for (Solution other : front) {
+				int flag = COMPARATOR.compare(other, solution);
+				
+				if ((flag < 0) || ((flag == 0) &&
+						(distance(other, solution) < Settings.EPS))) {
+					dominated = true;
+					break;
+				}
+			}
+			
+			if (!dominated) {
+				front.add(solution);
+				keep[candidate.index] = true;
+			}
+		}
+	}
+	
+	/**
+	 * Filters the sorted, feasible, bi-objective solutions in a single sweep.
+	 * Since the solutions are sorted by the first objective, a solution is
+	 * dominated or duplicated if and only if its second objective is no
+	 * better than that of the last non-dominated solution.
+	 * 
+	 * @param candidates the solutions in lexicographic order
+	 * @param keep the array for marking the non-dominated solutions
+	 */
+	private static void sweep(Candidate[] candidates, boolean[] keep) {
+		Solution last = null;
+		
+		for (Candidate candidate : candidates) {
+			Solution solution = candidate.solution;
+			
+			if ((last == null) ||
+					((candidate.objectives[1] < last.getObjective(1)) &&
+					(distance(last, solution) >= Settings.EPS))) {
+				last = solution;
+				keep[candidate.index] = true;
+			}
+		}
+	}
+	
+	/**
+	 * Returns the Euclidean distance between two solutions in objective space.
+	 * 
+	 * @param s1 the first solution
+	 * @param s2 the second solution
+	 * @return the distance between the two solutions in objective space
+	 */
+	private static double distance(Solution s1, Solution s2) {
+		double distance = 0.0;
+
+		for (int i = 0; i < s1.getNumberOfObjectives(); i++) {
+			distance += Math.pow(s1.getObjective(i) - s2.getObjective(i), 2.0);
+		}
+
+		return Math.sqrt(distance);
+	}
+	
+	/**
+	 * A solution being filtered, ordered lexicographically by its constraint
+	 * violation and then by its objectives.
+	 */
+	private static class Candidate implements Comparable<Candidate> {
+		
+		/**
+		 * The solution.
+		 */
+		private final Solution solution;
+		
+		/**
+		 * The index of the solution in the original list.
+		 */
+		private final int index;
+		
+		/**
+		 * The constraint violation of the solution.
+		 */
+		private final double violation;
+		
+		/**
+		 * The objectives of the solution.
+		 */
+		private final double[] objectives;
+		
+		/**
+		 * Constructs a new solution being filtered.
+		 * 
+		 * @param solution the solution
+		 * @param index the index of the solution in the original list
+		 */
+		public Candidate(Solution solution, int index) {
+			super();
+			this.solution = solution;
+			this.index = index;
+			
+			violation = solution.getConstraintViolation();
+			objectives = solution.peekObjectives();
+		}
+
+		@Override
+		public int compareTo(Candidate other) {
+			int flag = Double.compare(violation, other.violation);
+			
+			if (flag != 0) {
+				return flag;
+			}
+			
+			int length = Math.min(objectives.length, other.objectives.length);
+			
+			for (int i = 0; i < length; i++) {
+				flag = Double.compare(objectives[i], other.objectives[i]);
+				
+				if (flag != 0) {
+					return flag;
+				}
+			}
+			
+			return 0;
+		}
+		
+	}
+	
+	/**
+	 * Non-dominated population for storing the filtered solutions without
+	 * repeating the dominance checks.
+	 */
+	private static class FilteredPopulation extends NondominatedPopulation {
+	
+		/**
+		 * Adds a solution known to be non-dominated.
+		 * 
+		 * @param solution the solution
+		 */
+		public void addFiltered(Solution solution) {
+			forceAddWithoutCheck(solution);
+		}
+	
+	}
+
+}
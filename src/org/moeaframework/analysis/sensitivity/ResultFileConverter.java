@@ -0,0 +1,179 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.File;
+
+import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.OptionBuilder;
+import org.apache.commons.cli.OptionGroup;
+import org.apache.commons.cli.Options;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.util.CommandLineUtility;
+
+/**
+ * Command line utility for converting result files between the text and
+ * binary formats.  The format of the input file is detected automatically.
+ * All entries, including their properties and decision variables, are copied
+ * to the output file, so converting a file to the other format and back
+ * reproduces the original entries.
+ * <p>
+ * Usage: {@code java -cp "..." org.moeaframework.analysis.sensitivity.ResultFileConverter <options>}
+ * <p>
+ * Arguments:
+ * <table border="0" style="margin-left: 1em">
+ *   <tr>
+ *     <td>{@code -b, --problem}</td>
+ *     <td>The name of the problem.  This name should reference one of the
+ *         problems recognized by the MOEA Framework.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code -d, --dimension}</td>
+ *     <td>The number of objectives (use instead of -b).  Decision variables
+ *         are not copied when using this option.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code -i, --input}</td>
+ *     <td>The result file to convert.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code -o, --output}</td>
+ *     <td>The converted result file.  Any existing file is replaced.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code --binary}</td>
+ *     <td>Write the output in the binary result file format.  The binary
+ *         format is also used if the output file ends with
+ *         {@value ResultFileFormat#BINARY_EXTENSION}; otherwise, the output
+ *         is written in the text format.</td>
+ *   </tr>
+ * </table>
+ */
+public class ResultFileConverter extends CommandLineUtility {
+
+	/**
+	 * Constructs the command line utility for converting result files between
+	 * the text and binary formats.
+	 */
+	public ResultFileConverter() {
+		super();
+	}
+	
+	@SuppressWarnings("static-access")
+	@Override
+	public Options getOptions() {
+		Options options = super.getOptions();
+		
+		OptionGroup group = new OptionGroup();
+		group.setRequired(true);
+		group.addOption(OptionBuilder
+				.withLongOpt("problem")
+				.hasArg()
+				.withArgName("name")
+				.create('b'));
+		group.addOption(OptionBuilder
+				.withLongOpt("dimension")
+				.hasArg()
+				.withArgName("number")
+				.create('d'));
+		options.addOptionGroup(group);
+		
+		options.addOption(OptionBuilder
+				.withLongOpt("input")
+				.hasArg()
+				.withArgName("file")
+				.isRequired()
+				.create('i'));
+		options.addOption(OptionBuilder
+				.withLongOpt("output")
+				.hasArg()
+				.withArgName("file")
+				.isRequired()
+				.create('o'));
+		options.addOption(OptionBuilder
+				.withLongOpt("binary")
+				.create());
+		
+		return options;
+	}
+	
+	@Override
+	public void run(CommandLine commandLine) throws Exception {
+		File input = new File(commandLine.getOptionValue("input"));
+		File output = new File(commandLine.getOptionValue("output"));
+		Problem problem = null;
+		ResultFileReader reader = null;
+		ResultFileWriter writer = null;
+		
+		if (input.getCanonicalFile().equals(output.getCanonicalFile())) {
+			throw new IllegalArgumentException(
+					"input and output files must differ");
+		}
+		
+		try {
+			// setup the problem
+			if (commandLine.hasOption("problem")) {
+				problem = ProblemFactory.getInstance().getProblem(commandLine
+						.getOptionValue("problem"));
+			} else {
+				problem = new ProblemStub(Integer.parseInt(commandLine
+						.getOptionValue("dimension")));
+			}
+			
+			//delete the file to avoid appending
+			ResultFileWriter.delete(output);
+			
+			try {
+				reader = new ResultFileReader(problem, input);
+				writer = new ResultFileWriter(problem, output, true,
+						commandLine.hasOption("binary") ?
+								ResultFileFormat.BINARY :
+								ResultFileFormat.forFile(output));
+				
+				while (reader.hasNext()) {
+					writer.append(reader.next());
+				}
+			} finally {
+				if (writer != null) {
+					writer.close();
+				}
+				
+				if (reader != null) {
+					reader.close();
+				}
+			}
+		} finally {
+			if (problem != null) {
+				problem.close();
+			}
+		}
+	}
+	
+	/**
+	 * Starts the command line utility for converting result files between the
+	 * text and binary formats.
+	 * 
+	 * @param args the command line arguments
+	 * @throws Exception if an error occurred
+	 */
+	public static void main(String[] args) throws Exception {
+		new ResultFileConverter().start(args);
+	}
+
+}
@@ -25,8 +25,8 @@ import org.apache.commons.cli.OptionGroup;
 import org.apache.commons.cli.Options;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.NondominatedPopulation;
-import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.ReferenceSetCache;
 import org.moeaframework.core.indicator.QualityIndicator;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.util.CommandLineUtility;
@@ -156,9 +156,8 @@ public class ResultFileEvaluator extends CommandLineUtility {
 
 		// load reference set and create the quality indicator
 		if (commandLine.hasOption("reference")) {
-			referenceSet = new NondominatedPopulation(PopulationIO
-					.readObjectives(new File(commandLine
-							.getOptionValue("reference"))));
+			referenceSet = ReferenceSetCache.load(new File(commandLine
+					.getOptionValue("reference")));
 		} else {
 			referenceSet = ProblemFactory.getInstance().getReferenceSet(
 					commandLine.getOptionValue("problem"));
@@ -188,8 +187,11 @@ public class ResultFileEvaluator extends CommandLineUtility {
 				try {
 					writer = new MetricFileWriter(indicator, outputFile);
 
-					// resume at the last good output
-					for (int i = 0; i < writer.getNumberOfEntries(); i++) {
+					// resume at the last good output, seeking to the last
+					// evaluated entry to confirm it exists in the input
+					if (writer.getNumberOfEntries() > 0) {
+						reader.seek(writer.getNumberOfEntries() - 1);
+						
 						if (reader.hasNext()) {
 							reader.next();
 						} else {
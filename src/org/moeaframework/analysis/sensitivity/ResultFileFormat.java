@@ -0,0 +1,113 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * Enumeration of the formats of result files.  {@link ResultFileReader}
+ * detects the format of a result file from its contents, while
+ * {@link ResultFileWriter} selects the format from the file extension unless
+ * a format is given explicitly.
+ *
+ * @see BinaryResultFileWriter
+ */
+public enum ResultFileFormat {
+
+	/**
+	 * The human-readable text format, with one solution per line and entries
+	 * separated by lines starting with {@code #}.
+	 */
+	TEXT,
+	
+	/**
+	 * The compact binary format, storing each entry's objectives and
+	 * real-valued decision variables as fixed-width doubles in optionally
+	 * compressed blocks with an index for random access.
+	 */
+	BINARY;
+	
+	/**
+	 * The file extension selecting the binary format.
+	 */
+	public static final String BINARY_EXTENSION = ".bin";
+	
+	/**
+	 * Returns the format used when writing the given file.  Files ending with
+	 * the {@link #BINARY_EXTENSION} extension use the binary format; all other
+	 * files use the text format.
+	 * 
+	 * @param file the result file
+	 * @return the format used when writing the given file
+	 */
+	public static ResultFileFormat forFile(File file) {
+		if (file.getName().toLowerCase().endsWith(BINARY_EXTENSION)) {
+			return BINARY;
+		} else {
+			return TEXT;
+		}
+	}
+	
+	/**
+	 * Returns the format of an existing result file by inspecting its leading
+	 * bytes.  Empty or missing files are reported as text.
+	 * 
+	 * @param file the result file
+	 * @return the format of the existing result file
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static ResultFileFormat detect(File file) throws IOException {
+		if (!file.exists()) {
+			return TEXT;
+		}
+		
+		InputStream input = null;
+		
+		try {
+			input = new FileInputStream(file);
+			
+			byte[] magic = new byte[BinaryResultFileWriter.MAGIC.length];
+			int offset = 0;
+			
+			while (offset < magic.length) {
+				int count = input.read(magic, offset, magic.length - offset);
+				
+				if (count < 0) {
+					return TEXT;
+				}
+				
+				offset += count;
+			}
+			
+			if (Arrays.equals(magic, BinaryResultFileWriter.MAGIC)) {
+				return BINARY;
+			} else {
+				return TEXT;
+			}
+		} finally {
+			if (input != null) {
+				input.close();
+			}
+		}
+	}
+
+}
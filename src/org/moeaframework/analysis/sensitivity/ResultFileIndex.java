@@ -0,0 +1,300 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Sidecar index recording the byte offset of each entry in a text result
+ * file.  The index is stored next to the result file in a hidden file with
+ * the {@code .index} extension.  It starts with a header containing the
+ * {@link #MAGIC} bytes and the length and last-modified time of the result
+ * file when the index was last updated, followed by one 8-byte offset per
+ * entry giving the position immediately following the {@code #} line
+ * terminating that entry.  The first entry always starts at the beginning of
+ * the file.
+ * <p>
+ * The index is maintained by {@link ResultFileWriter}, which records each
+ * offset after the entry itself is flushed to disk and then updates the
+ * header.  An index is only used if its header matches the current length and
+ * last-modified time of the result file and its last offset is the end of the
+ * file.  Otherwise, such as when the writer was interrupted or the result
+ * file was replaced by another program, the index is ignored and readers fall
+ * back to scanning the file.
+ *
+ * @see ResultFileReader#seek(int)
+ */
+class ResultFileIndex implements Closeable {
+
+	/**
+	 * The magic bytes identifying index files.
+	 */
+	private static final byte[] MAGIC = new byte[] { 'M', 'O', 'E', 'A', 'I',
+			'D', 'X', '1' };
+	
+	/**
+	 * The length of the header, in bytes.
+	 */
+	private static final int HEADER_LENGTH = MAGIC.length + 16;
+	
+	/**
+	 * The number of bytes used to store each offset.
+	 */
+	private static final int OFFSET_LENGTH = 8;
+	
+	/**
+	 * The maximum length of the line terminating an entry that is checked
+	 * when validating the index.
+	 */
+	private static final int MAX_TERMINATOR_LENGTH = 256;
+	
+	/**
+	 * The result file.
+	 */
+	private final File file;
+	
+	/**
+	 * The index file opened for writing.
+	 */
+	private final RandomAccessFile output;
+	
+	/**
+	 * The number of offsets stored in the index.
+	 */
+	private int numberOfEntries;
+	
+	/**
+	 * Opens the index of the specified result file for appending.  Any
+	 * offsets beyond the first {@code numberOfEntries} are discarded, and the
+	 * header is updated to match the current state of the result file.
+	 * 
+	 * @param file the result file
+	 * @param numberOfEntries the number of entries already in the result
+	 *        file whose offsets are retained
+	 * @throws IOException if an I/O error occurred
+	 */
+	public ResultFileIndex(File file, int numberOfEntries) throws IOException {
+		super();
+		this.file = file;
+		this.numberOfEntries = numberOfEntries;
+		
+		output = new RandomAccessFile(getIndexFile(file), "rw");
+		
+		try {
+			output.setLength(HEADER_LENGTH +
+					(long)numberOfEntries * OFFSET_LENGTH);
+			writeHeader();
+		} catch (IOException e) {
+			output.close();
+			throw e;
+		}
+	}
+	
+	/**
+	 * Records the offset immediately following the next entry, which must be
+	 * the end of the result file.
+	 * 
+	 * @param offset the offset immediately following the next entry
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void add(long offset) throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(OFFSET_LENGTH);
+		buffer.putLong(offset);
+		
+		output.seek(HEADER_LENGTH + (long)numberOfEntries * OFFSET_LENGTH);
+		output.write(buffer.array());
+		numberOfEntries++;
+		
+		// update the header last so an interrupted update is detected
+		writeHeader();
+	}
+	
+	/**
+	 * Writes the header recording the current length and last-modified time
+	 * of the result file.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeHeader() throws IOException {
+		ByteBuffer buffer = ByteBuffer.allocate(HEADER_LENGTH);
+		buffer.put(MAGIC);
+		buffer.putLong(file.length());
+		buffer.putLong(file.lastModified());
+		
+		output.seek(0);
+		output.write(buffer.array());
+	}
+	
+	@Override
+	public void close() throws IOException {
+		output.close();
+	}
+	
+	/**
+	 * Returns the index file for the specified result file.
+	 * 
+	 * @param file the result file
+	 * @return the index file for the specified result file
+	 */
+	public static File getIndexFile(File file) {
+		return new File(file.getParent(), "." + file.getName() + ".index");
+	}
+	
+	/**
+	 * Returns the number of entries recorded in the index of the specified
+	 * result file; or {@code 0} if the index is missing or does not match the
+	 * result file.
+	 * 
+	 * @param file the result file
+	 * @return the number of entries recorded in the index of the specified
+	 *         result file
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static int getNumberOfEntries(File file) throws IOException {
+		File indexFile = getIndexFile(file);
+		
+		if (!indexFile.exists() || !file.exists()) {
+			return 0;
+		}
+		
+		long count = Math.min((indexFile.length() - HEADER_LENGTH) /
+				OFFSET_LENGTH, Integer.MAX_VALUE);
+		
+		if (count <= 0) {
+			return 0;
+		}
+		
+		RandomAccessFile input = null;
+		
+		try {
+			byte[] magic = new byte[MAGIC.length];
+			
+			input = new RandomAccessFile(indexFile, "r");
+			input.readFully(magic);
+			
+			long length = input.readLong();
+			long lastModified = input.readLong();
+			
+			if (!Arrays.equals(magic, MAGIC) ||
+					(length != file.length()) ||
+					(lastModified != file.lastModified())) {
+				return 0;
+			}
+			
+			input.seek(HEADER_LENGTH + (count - 1) * OFFSET_LENGTH);
+			
+			if (input.readLong() != length) {
+				return 0;
+			}
+		} finally {
+			if (input != null) {
+				input.close();
+			}
+		}
+		
+		if (isEntryBoundary(file, file.length())) {
+			return (int)count;
+		} else {
+			return 0;
+		}
+	}
+	
+	/**
+	 * Returns the byte offset at which the specified entry starts.  The
+	 * entry must not exceed the value returned by
+	 * {@link #getNumberOfEntries(File)}; the offset of the entry one past the
+	 * last indexed entry is the end of the file.
+	 * 
+	 * @param file the result file
+	 * @param entry the index of the entry
+	 * @return the byte offset at which the specified entry starts
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static long getOffset(File file, int entry) throws IOException {
+		if (entry == 0) {
+			return 0;
+		}
+		
+		RandomAccessFile input = null;
+		
+		try {
+			input = new RandomAccessFile(getIndexFile(file), "r");
+			input.seek(HEADER_LENGTH + (long)(entry - 1) * OFFSET_LENGTH);
+			return input.readLong();
+		} finally {
+			if (input != null) {
+				input.close();
+			}
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the offset immediately follows a line starting
+	 * with {@code #} in the result file; {@code false} otherwise.
+	 * 
+	 * @param file the result file
+	 * @param offset the offset
+	 * @return {@code true} if the offset immediately follows a line starting
+	 *         with {@code #} in the result file; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static boolean isEntryBoundary(File file, long offset)
+			throws IOException {
+		if ((offset < 2) || (offset > file.length())) {
+			return false;
+		}
+		
+		RandomAccessFile input = null;
+		
+		try {
+			int length = (int)Math.min(offset, MAX_TERMINATOR_LENGTH);
+			byte[] buffer = new byte[length];
+			
+			input = new RandomAccessFile(file, "r");
+			input.seek(offset - length);
+			input.readFully(buffer);
+			
+			if (buffer[length - 1] != '\n') {
+				return false;
+			}
+			
+			// find the start of the line ending at the offset
+			int start = length - 2;
+			
+			while ((start >= 0) && (buffer[start] != '\n')) {
+				start--;
+			}
+			
+			if ((start < 0) && (length < offset)) {
+				return false;
+			}
+			
+			return buffer[start + 1] == '#';
+		} finally {
+			if (input != null) {
+				input.close();
+			}
+		}
+	}
+
+}
@@ -18,6 +18,9 @@
 package org.moeaframework.analysis.sensitivity;
 
 import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.OptionBuilder;
@@ -27,10 +30,10 @@ import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.util.CommandLineUtility;
 import org.moeaframework.util.TypedProperties;
-import org.moeaframework.util.io.FileUtils;
 
 /**
  * Command line utility for merging the approximation sets stored in one or more
@@ -66,10 +69,28 @@ import org.moeaframework.util.io.FileUtils;
  *     <td>Output a result file, which includes all of the decision variables
  *         when combined with the -b option.</td>
  *   </tr>
+ *   <tr>
+ *     <td>{@code -s, --stream}</td>
+ *     <td>Reads the input files concurrently and periodically reduces the
+ *         merged solutions with a bulk non-dominated filter, instead of
+ *         adding each solution to the merged set individually.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code --binary}</td>
+ *     <td>Output the result file (-r) in the binary result file format.
+ *         The binary format is also used if the output file ends with
+ *         {@value ResultFileFormat#BINARY_EXTENSION}.</td>
+ *   </tr>
  * </table>
  */
 public class ResultFileMerger extends CommandLineUtility {
 
+	/**
+	 * The minimum number of buffered solutions before the bulk non-dominated
+	 * filter is applied when streaming.
+	 */
+	private static final int BUFFER_SIZE = 10000;
+
 	/**
 	 * Constructs the command line utility for merging the approximation sets 
 	 * stored in one or more result files.
@@ -111,9 +132,83 @@ public class ResultFileMerger extends CommandLineUtility {
 		options.addOption(OptionBuilder
 				.withLongOpt("resultFile")
 				.create('r'));
+		options.addOption(OptionBuilder
+				.withLongOpt("stream")
+				.create('s'));
+		options.addOption(OptionBuilder
+				.withLongOpt("binary")
+				.create());
 		
 		return options;
 	}
+	
+	/**
+	 * Merges the result files by reading them concurrently.  Without
+	 * &epsilon;-dominance, the solutions are buffered and the bulk
+	 * non-dominated filter is applied whenever the buffer has grown to twice
+	 * the size of the last filtered set, so the merged set is never rebuilt
+	 * one solution at a time.
+	 * 
+	 * @param problem the problem
+	 * @param files the result files
+	 * @param mergedSet the merged set, which is used directly if it is an
+	 *        &epsilon;-dominance archive
+	 * @return the merged set
+	 * @throws IOException if an I/O error occurred
+	 */
+	private NondominatedPopulation mergeStreaming(Problem problem,
+			File[] files, NondominatedPopulation mergedSet) throws IOException {
+		boolean filter = !(mergedSet instanceof EpsilonBoxDominanceArchive);
+		List<Solution> buffer = new ArrayList<Solution>();
+		int threshold = BUFFER_SIZE;
+		LockstepResultFileReader reader = null;
+		
+		try {
+			reader = new LockstepResultFileReader(problem, files,
+					Runtime.getRuntime().availableProcessors());
+			
+			while (reader.hasNext()) {
+				for (ResultEntry entry : reader.next()) {
+					if (entry == null) {
+						continue;
+					} else if (filter) {
+						for (Solution solution : entry.getPopulation()) {
+							buffer.add(solution);
+						}
+					} else {
+						mergedSet.addAll(entry.getPopulation());
+					}
+				}
+				
+				if (filter && (buffer.size() > threshold)) {
+					buffer = toList(NondominatedFilter.filter(buffer));
+					threshold = Math.max(BUFFER_SIZE, 2 * buffer.size());
+				}
+			}
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+		
+		return filter ? NondominatedFilter.filter(buffer) : mergedSet;
+	}
+	
+	/**
+	 * Returns the solutions in the given population as a list.
+	 * 
+	 * @param population the population
+	 * @return the solutions in the given population as a list
+	 */
+	private static List<Solution> toList(NondominatedPopulation population) {
+		List<Solution> list = new ArrayList<Solution>(population.size());
+		
+		for (Solution solution : population) {
+			list.add(solution);
+		}
+		
+		return list;
+	}
 
 	@Override
 	public void run(CommandLine commandLine) throws Exception {
@@ -142,16 +237,28 @@ public class ResultFileMerger extends CommandLineUtility {
 			}
 
 			// read in result files
-			for (String filename : commandLine.getArgs()) {
-				try {
-					reader = new ResultFileReader(problem, new File(filename));
-
-					while (reader.hasNext()) {
-						mergedSet.addAll(reader.next().getPopulation());
-					}
-				} finally {
-					if (reader != null) {
-						reader.close();
+			if (commandLine.hasOption("stream")) {
+				String[] filenames = commandLine.getArgs();
+				File[] files = new File[filenames.length];
+				
+				for (int i = 0; i < filenames.length; i++) {
+					files[i] = new File(filenames[i]);
+				}
+				
+				mergedSet = mergeStreaming(problem, files, mergedSet);
+			} else {
+				for (String filename : commandLine.getArgs()) {
+					try {
+						reader = new ResultFileReader(problem,
+								new File(filename));
+						
+						while (reader.hasNext()) {
+							mergedSet.addAll(reader.next().getPopulation());
+						}
+					} finally {
+						if (reader != null) {
+							reader.close();
+						}
 					}
 				}
 			}
@@ -163,10 +270,13 @@ public class ResultFileMerger extends CommandLineUtility {
 				ResultFileWriter writer = null;
 				
 				//delete the file to avoid appending
-				FileUtils.delete(output);
+				ResultFileWriter.delete(output);
 				
 				try {
-					writer = new ResultFileWriter(problem, output);
+					writer = new ResultFileWriter(problem, output, true,
+							commandLine.hasOption("binary") ?
+									ResultFileFormat.BINARY :
+									ResultFileFormat.forFile(output));
 					
 					writer.append(new ResultEntry(mergedSet));
 				} finally {
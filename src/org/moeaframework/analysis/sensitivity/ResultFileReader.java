@@ -23,8 +23,10 @@ import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.StringReader;
 import java.io.StringWriter;
@@ -50,6 +52,11 @@ import org.moeaframework.core.variable.RealVariable;
  * formatted files. Unless a serious I/O error occurred, this reader will
  * attempt to load the file to the last valid entry. This requirement enables a
  * {@code ResultWriter} to resume processing at a valid state.
+ * <p>
+ * Both the text and binary formats are supported.  The format is detected
+ * from the contents of the file.  Use {@link #seek(int)} to skip directly to
+ * an entry; this is a constant-time operation for binary files and for text
+ * files with an index maintained by {@link ResultFileWriter}.
  * 
  * @see ResultFileWriter
  */
@@ -57,9 +64,16 @@ public class ResultFileReader implements Closeable, Iterator<ResultEntry>,
 Iterable<ResultEntry> {
 
 	/**
-	 * The internal stream for reading data from the file.
+	 * The internal stream for reading data from the file; or {@code null} if
+	 * the file uses the binary format.
+	 */
+	private BufferedReader reader;
+	
+	/**
+	 * The reader for files using the binary format; or {@code null} if the
+	 * file uses the text format.
 	 */
-	private final BufferedReader reader;
+	private final BinaryResultFileReader binaryReader;
 
 	/**
 	 * The last line read from the internal stream.
@@ -70,6 +84,11 @@ Iterable<ResultEntry> {
 	 * The problem.
 	 */
 	private final Problem problem;
+	
+	/**
+	 * The file being read.
+	 */
+	private final File file;
 
 	/**
 	 * The next entry to be returned; or {@code null} if the next entry has not
@@ -100,16 +119,78 @@ Iterable<ResultEntry> {
 	public ResultFileReader(Problem problem, File file) throws IOException {
 		super();
 		this.problem = problem;
+		this.file = file;
 		
-		reader = new BufferedReader(new FileReader(file));
+		if (ResultFileFormat.detect(file).equals(ResultFileFormat.BINARY)) {
+			reader = null;
+			binaryReader = new BinaryResultFileReader(problem, file);
+		} else {
+			reader = new BufferedReader(new FileReader(file));
+			binaryReader = null;
 
-		// prime the reader by reading the first line
-		line = reader.readLine();
+			// prime the reader by reading the first line
+			line = reader.readLine();
+		}
 	}
 
 	@Override
 	public void close() throws IOException {
+		if (binaryReader == null) {
+			reader.close();
+		} else {
+			binaryReader.close();
+		}
+	}
+
+	/**
+	 * Positions this reader so the next entry returned is the entry with the
+	 * given index, starting at {@code 0} for the first entry in the file.  If
+	 * the index is larger than the number of entries in the file, this reader
+	 * is positioned at the end of the file.
+	 * <p>
+	 * Text files are positioned using the index maintained by
+	 * {@link ResultFileWriter}.  If the index is missing, incomplete or does
+	 * not match the file, any entries not covered by the index are skipped by
+	 * reading them.
+	 * 
+	 * @param entry the index of the entry
+	 * @throws IOException if an I/O error occurred
+	 * @throws IndexOutOfBoundsException if the index is negative
+	 */
+	public void seek(int entry) throws IOException {
+		if (entry < 0) {
+			throw new IndexOutOfBoundsException("invalid entry " + entry);
+		}
+		
+		nextEntry = null;
+		error = false;
+		
+		if (binaryReader != null) {
+			binaryReader.seek(Math.min(entry,
+					binaryReader.getNumberOfEntries()));
+			return;
+		}
+		
+		int indexedEntries = Math.min(entry,
+				ResultFileIndex.getNumberOfEntries(file));
+		FileInputStream stream = new FileInputStream(file);
+		
+		try {
+			stream.getChannel().position(ResultFileIndex.getOffset(file,
+					indexedEntries));
+		} catch (IOException e) {
+			stream.close();
+			throw e;
+		}
+		
 		reader.close();
+		reader = new BufferedReader(new InputStreamReader(stream));
+		line = reader.readLine();
+		
+		// skip any entries not covered by the index
+		for (int i = indexedEntries; (i < entry) && hasNext(); i++) {
+			next();
+		}
 	}
 
 	@Override
@@ -140,6 +221,10 @@ Iterable<ResultEntry> {
 	 */
 	private ResultEntry readNextEntry() throws NumberFormatException, 
 	IOException {
+		if (binaryReader != null) {
+			return binaryReader.readNextEntry();
+		}
+		
 		NondominatedPopulation population = new NondominatedPopulation();
 		StringWriter stringBuffer = new StringWriter();
 
@@ -185,7 +270,7 @@ Iterable<ResultEntry> {
 	 * @return the solution
 	 */
 	private Solution parseSolution(String line) {
-		String[] entries = line.trim().split("\\s+");
+		String[] entries = tokenize(line);
 		Solution solution = null;
 
 		if (entries.length < problem.getNumberOfObjectives()) {
@@ -223,6 +308,61 @@ Iterable<ResultEntry> {
 		return solution;
 	}
 
+	/**
+	 * Splits the line into its whitespace-separated tokens.  This behaves like
+	 * {@code line.trim().split("\\s+")}, but avoids compiling the regular
+	 * expression for every line.
+	 * 
+	 * @param line the line
+	 * @return the whitespace-separated tokens in the line
+	 */
+	private static String[] tokenize(String line) {
+		int length = line.length();
+		int count = 0;
+		
+		// first pass counts the tokens, second pass extracts them
+		for (int i = 0; i < length; i++) {
+			if (!isWhitespace(line.charAt(i)) &&
+					((i == 0) || isWhitespace(line.charAt(i-1)))) {
+				count++;
+			}
+		}
+		
+		if (count == 0) {
+			return new String[] { "" };
+		}
+		
+		String[] tokens = new String[count];
+		int index = 0;
+		int start = -1;
+		
+		for (int i = 0; i <= length; i++) {
+			if ((i == length) || isWhitespace(line.charAt(i))) {
+				if (start >= 0) {
+					tokens[index++] = line.substring(start, i);
+					start = -1;
+				}
+			} else if (start < 0) {
+				start = i;
+			}
+		}
+		
+		return tokens;
+	}
+	
+	/**
+	 * Returns {@code true} if the character matches the {@code \s} regular
+	 * expression character class; {@code false} otherwise.
+	 * 
+	 * @param c the character
+	 * @return {@code true} if the character matches the {@code \s} regular
+	 *         expression character class; {@code false} otherwise
+	 */
+	private static boolean isWhitespace(char c) {
+		return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\u000B') ||
+				(c == '\f') || (c == '\r');
+	}
+
 	@Override
 	public boolean hasNext() {
 		try {
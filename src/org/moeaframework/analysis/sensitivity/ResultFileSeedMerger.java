@@ -29,6 +29,7 @@ import org.apache.commons.cli.Options;
 import org.moeaframework.core.EpsilonBoxDominanceArchive;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.util.CommandLineUtility;
 import org.moeaframework.util.TypedProperties;
@@ -65,6 +66,18 @@ import org.moeaframework.util.TypedProperties;
  *         epsilon value is also used for any algorithms that include an
  *         epsilon parameter.</td>
  *   </tr>
+ *   <tr>
+ *     <td>{@code -s, --stream}</td>
+ *     <td>Reads the i-th entry from every file in lockstep and writes each
+ *         merged entry before reading the next, instead of loading all
+ *         files into memory.  The files are read concurrently.</td>
+ *   </tr>
+ *   <tr>
+ *     <td>{@code --binary}</td>
+ *     <td>Output the merged entries in the binary result file format.  The
+ *         binary format is also used if the output file ends with
+ *         {@value ResultFileFormat#BINARY_EXTENSION}.</td>
+ *   </tr>
  * </table>
  */
 public class ResultFileSeedMerger extends CommandLineUtility {
@@ -107,6 +120,12 @@ public class ResultFileSeedMerger extends CommandLineUtility {
 				.hasArg()
 				.withArgName("e1,e2,...")
 				.create('e'));
+		options.addOption(OptionBuilder
+				.withLongOpt("stream")
+				.create('s'));
+		options.addOption(OptionBuilder
+				.withLongOpt("binary")
+				.create());
 
 		return options;
 	}
@@ -142,6 +161,119 @@ public class ResultFileSeedMerger extends CommandLineUtility {
 		}
 	}
 
+	/**
+	 * Merges the approximation sets from one entry across all seeds.  Without
+	 * &epsilon;-dominance, the sets are merged with a bulk non-dominated
+	 * filter.
+	 * 
+	 * @param commandLine the command line
+	 * @param populations the approximation sets being merged
+	 * @return the merged approximation set
+	 */
+	private NondominatedPopulation merge(CommandLine commandLine,
+			List<NondominatedPopulation> populations) {
+		if (commandLine.hasOption("epsilon")) {
+			double[] epsilon = TypedProperties.withProperty("epsilon",
+					commandLine.getOptionValue("epsilon")).getDoubleArray(
+					"epsilon", null);
+			NondominatedPopulation mergedSet = new EpsilonBoxDominanceArchive(
+					epsilon);
+			
+			for (NondominatedPopulation population : populations) {
+				mergedSet.addAll(population);
+			}
+			
+			return mergedSet;
+		} else {
+			List<Solution> solutions = new ArrayList<Solution>();
+			
+			for (NondominatedPopulation population : populations) {
+				for (Solution solution : population) {
+					solutions.add(solution);
+				}
+			}
+			
+			return NondominatedFilter.filter(solutions);
+		}
+	}
+	
+	/**
+	 * Merges the result files in lockstep, writing each merged entry before
+	 * reading the next.
+	 * 
+	 * @param commandLine the command line
+	 * @param problem the problem
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void runStreaming(CommandLine commandLine, Problem problem)
+			throws IOException {
+		String[] filenames = commandLine.getArgs();
+		
+		if (filenames.length == 0) {
+			throw new IllegalArgumentException("requires at least one file");
+		}
+		
+		File[] files = new File[filenames.length];
+		
+		for (int i = 0; i < filenames.length; i++) {
+			files[i] = new File(filenames[i]);
+		}
+		
+		LockstepResultFileReader reader = null;
+		ResultFileWriter writer = null;
+		
+		try {
+			reader = new LockstepResultFileReader(problem, files,
+					Runtime.getRuntime().availableProcessors());
+			writer = createWriter(commandLine, problem);
+			
+			while (reader.hasNext()) {
+				ResultEntry[] group = reader.next();
+				List<NondominatedPopulation> populations =
+						new ArrayList<NondominatedPopulation>();
+				
+				for (int i = 0; i < group.length; i++) {
+					if (group[i] == null) {
+						throw new IllegalArgumentException(
+								"unbalanced number of entries: " +
+								filenames[i]);
+					}
+					
+					populations.add(group[i].getPopulation());
+				}
+				
+				writer.append(new ResultEntry(merge(commandLine,
+						populations)));
+			}
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+			
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Creates the writer for the output file, using the binary format if
+	 * requested on the command line or by the file extension.
+	 * 
+	 * @param commandLine the command line
+	 * @param problem the problem
+	 * @return the writer for the output file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private ResultFileWriter createWriter(CommandLine commandLine,
+			Problem problem) throws IOException {
+		File output = new File(commandLine.getOptionValue("output"));
+		
+		return new ResultFileWriter(problem, output, true,
+				commandLine.hasOption("binary") ? ResultFileFormat.BINARY :
+						ResultFileFormat.forFile(output));
+	}
+	
 	@Override
 	public void run(CommandLine commandLine) throws Exception {
 		List<List<NondominatedPopulation>> entries = 
@@ -158,6 +290,11 @@ public class ResultFileSeedMerger extends CommandLineUtility {
 				problem = new ProblemStub(Integer.parseInt(commandLine
 						.getOptionValue("dimension")));
 			}
+			
+			if (commandLine.hasOption("stream")) {
+				runStreaming(commandLine, problem);
+				return;
+			}
 
 			// load data from all input files
 			for (String filename : commandLine.getArgs()) {
@@ -184,8 +321,7 @@ public class ResultFileSeedMerger extends CommandLineUtility {
 
 			// process and output the merged sets
 			try {
-				writer = new ResultFileWriter(problem, new File(
-						commandLine.getOptionValue("output")));
+				writer = createWriter(commandLine, problem);
 
 				for (int i = 0; i < numberOfEntries; i++) {
 					NondominatedPopulation mergedSet = null;
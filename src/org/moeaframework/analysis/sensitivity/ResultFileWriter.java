@@ -21,13 +21,16 @@ import java.io.BufferedReader;
 import java.io.BufferedWriter;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileWriter;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.ObjectOutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Properties;
 
@@ -67,6 +70,20 @@ import org.moeaframework.util.io.FileUtils;
  * being appending after the last valid entry. Query the
  * {@link #getNumberOfEntries()} method to determine how many valid entries are
  * contained in the file.
+ * <p>
+ * The byte offset of each entry in a text result file is recorded in a
+ * sidecar index file, allowing {@link ResultFileReader#seek(int)} to jump
+ * directly to an entry.  When resuming a text result file that is unchanged
+ * since its index was last updated, the existing entries are kept in place
+ * rather than copied.  Use {@link #delete(File)} to delete a result file
+ * together with its index.
+ * <p>
+ * Result files can alternatively be written in a compact binary format,
+ * selected with {@link ResultFileFormat#BINARY} or by giving the file the
+ * {@value ResultFileFormat#BINARY_EXTENSION} extension.  The binary format
+ * stores the same content as the text format, so converting between the two
+ * formats is lossless.  See {@link BinaryResultFileWriter} for a description
+ * of the binary format.
  * 
  * @see ResultFileReader
  */
@@ -94,10 +111,30 @@ public class ResultFileWriter implements OutputWriter {
 			"requires manual intervention";
 
 	/**
-	 * The stream for appending data to the file.
+	 * The stream for appending data to the file; or {@code null} if the file
+	 * uses the binary format.
 	 */
 	private final PrintWriter writer;
 	
+	/**
+	 * The underlying stream of {@code writer}, used to determine the byte
+	 * offset of each entry; or {@code null} if the file uses the binary
+	 * format.
+	 */
+	private final FileOutputStream stream;
+	
+	/**
+	 * The index recording the byte offset of each entry; or {@code null} if
+	 * the file uses the binary format or is not indexed.
+	 */
+	private final ResultFileIndex index;
+	
+	/**
+	 * The writer for files using the binary format; or {@code null} if the
+	 * file uses the text format.
+	 */
+	private final BinaryResultFileWriter binaryWriter;
+	
 	/**
 	 * {@code true} if this writer should save the decision variables;
 	 * {@code false} otherwise.
@@ -145,6 +182,49 @@ public class ResultFileWriter implements OutputWriter {
 	 */
 	public ResultFileWriter(Problem problem, File file, 
 			boolean includeVariables) throws IOException {
+		this(problem, file, includeVariables, ResultFileFormat.forFile(file));
+	}
+	
+	/**
+	 * Constructs an output writer for writing the decision variables and
+	 * objectives of a sequence of non-dominated populations to a file using
+	 * the given format.  If the file already exists, any valid entries are
+	 * retained, regardless of the format of the existing file.  An existing
+	 * text file with a valid index is resumed in place.
+	 * 
+	 * @param problem the problem
+	 * @param file the file to which the results are stored
+	 * @param includeVariables {@code true} if this writer should save the 
+	 *        decision variables; {@code false} otherwise.
+	 * @param format the format of the result file
+	 * @throws IOException if an I/O error occurred
+	 */
+	public ResultFileWriter(Problem problem, File file, 
+			boolean includeVariables, ResultFileFormat format)
+			throws IOException {
+		this(problem, file, includeVariables, format, true);
+	}
+	
+	/**
+	 * Constructs an output writer for writing the decision variables and
+	 * objectives of a sequence of non-dominated populations to a file using
+	 * the given format.  If the file already exists, any valid entries are
+	 * retained, regardless of the format of the existing file.  Text files
+	 * are only indexed if {@code indexed} is {@code true}; temporary files
+	 * that are never resumed or sampled can skip the index.
+	 * 
+	 * @param problem the problem
+	 * @param file the file to which the results are stored
+	 * @param includeVariables {@code true} if this writer should save the 
+	 *        decision variables; {@code false} otherwise.
+	 * @param format the format of the result file
+	 * @param indexed {@code true} if this writer should maintain an index of
+	 *        the entries in text result files; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	public ResultFileWriter(Problem problem, File file, 
+			boolean includeVariables, ResultFileFormat format,
+			boolean indexed) throws IOException {
 		super();
 		this.includeVariables = includeVariables;
 		
@@ -170,26 +250,51 @@ public class ResultFileWriter implements OutputWriter {
 			}
 		}
 		
-		if (file.exists()) {
-			FileUtils.move(file, existingFile);
+		// resume in place if the file is unchanged since it was indexed
+		String header = createHeader(problem, includeVariables);
+		int resumedEntries = -1;
+		
+		if (indexed && format.equals(ResultFileFormat.TEXT) &&
+				!existingFile.exists()) {
+			resumedEntries = getResumableEntries(file, header);
+		}
+		
+		if (resumedEntries < 0) {
+			if (file.exists()) {
+				FileUtils.move(file, existingFile);
+			}
+			
+			// any existing index no longer describes the file
+			FileUtils.delete(ResultFileIndex.getIndexFile(file));
 		}
 
 		// prepare this class for writing
 		numberOfEntries = 0;
-		writer = new PrintWriter(new BufferedWriter(new FileWriter(file)), 
-				true);
-		
-		// print header information
-		writer.print("# Problem = ");
-		writer.println(problem.getName());
 		
-		if (includeVariables) {
-			writer.print("# Variables = ");
-			writer.println(problem.getNumberOfVariables());
+		if (format.equals(ResultFileFormat.BINARY)) {
+			writer = null;
+			stream = null;
+			index = null;
+			binaryWriter = new BinaryResultFileWriter(problem, file,
+					includeVariables);
+		} else if (resumedEntries >= 0) {
+			binaryWriter = null;
+			numberOfEntries = resumedEntries;
+			stream = new FileOutputStream(file, true);
+			index = new ResultFileIndex(file, numberOfEntries);
+			writer = new PrintWriter(new BufferedWriter(
+					new OutputStreamWriter(stream)));
+		} else {
+			binaryWriter = null;
+			stream = new FileOutputStream(file);
+			index = indexed ? new ResultFileIndex(file, 0) : null;
+			writer = new PrintWriter(new BufferedWriter(
+					new OutputStreamWriter(stream)));
+			
+			// print header information
+			writer.print(header);
+			writer.flush();
 		}
-		
-		writer.print("# Objectives = ");
-		writer.println(problem.getNumberOfObjectives());
 
 		// if the file already existed, copy all complete entries
 		if (existingFile.exists()) {
@@ -211,6 +316,89 @@ public class ResultFileWriter implements OutputWriter {
 		}
 	}
 
+	/**
+	 * Returns the header written at the start of text result files.
+	 * 
+	 * @param problem the problem
+	 * @param includeVariables {@code true} if the decision variables are
+	 *        saved; {@code false} otherwise
+	 * @return the header written at the start of text result files
+	 */
+	private static String createHeader(Problem problem,
+			boolean includeVariables) {
+		StringWriter stringBuffer = new StringWriter();
+		PrintWriter header = new PrintWriter(stringBuffer);
+		
+		header.print("# Problem = ");
+		header.println(problem.getName());
+		
+		if (includeVariables) {
+			header.print("# Variables = ");
+			header.println(problem.getNumberOfVariables());
+		}
+		
+		header.print("# Objectives = ");
+		header.println(problem.getNumberOfObjectives());
+		header.close();
+		
+		return stringBuffer.toString();
+	}
+	
+	/**
+	 * Returns the number of entries in an existing text result file if it can
+	 * be resumed in place; or {@code -1} otherwise.  A file can be resumed in
+	 * place if it starts with the expected header and its index matches the
+	 * file.
+	 * 
+	 * @param file the existing result file
+	 * @param header the header expected at the start of the file
+	 * @return the number of entries in the existing result file if it can be
+	 *         resumed in place; or {@code -1} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static int getResumableEntries(File file, String header)
+			throws IOException {
+		int entries = ResultFileIndex.getNumberOfEntries(file);
+		
+		if ((entries == 0) || !startsWith(file, header.getBytes())) {
+			return -1;
+		}
+		
+		return entries;
+	}
+	
+	/**
+	 * Returns {@code true} if the file starts with the given bytes;
+	 * {@code false} otherwise.
+	 * 
+	 * @param file the file
+	 * @param prefix the expected bytes at the start of the file
+	 * @return {@code true} if the file starts with the given bytes;
+	 *         {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static boolean startsWith(File file, byte[] prefix)
+			throws IOException {
+		if (file.length() < prefix.length) {
+			return false;
+		}
+		
+		RandomAccessFile input = null;
+		
+		try {
+			byte[] buffer = new byte[prefix.length];
+			
+			input = new RandomAccessFile(file, "r");
+			input.readFully(buffer);
+			
+			return Arrays.equals(buffer, prefix);
+		} finally {
+			if (input != null) {
+				input.close();
+			}
+		}
+	}
+
 	/**
 	 * Returns the number of entries written to the result file. Querying this
 	 * method immediately after the constructor in which the result file already
@@ -242,9 +430,17 @@ public class ResultFileWriter implements OutputWriter {
 			}
 		}
 		
-		//ensure a non-empty entry is written
 		Properties properties = entry.getProperties();
 		
+		if (binaryWriter != null) {
+			// write each entry immediately, like the text format, so it is
+			// kept when resuming
+			binaryWriter.append(feasibleSolutions, properties);
+			binaryWriter.flush();
+			return;
+		}
+		
+		//ensure a non-empty entry is written
 		if (feasibleSolutions.isEmpty() && 
 				((properties == null) || (properties.isEmpty()))) {
 			writer.println("//");
@@ -262,6 +458,12 @@ public class ResultFileWriter implements OutputWriter {
 		}
 
 		writer.println('#');
+		writer.flush();
+		
+		// record the offset only after the entry is written to the file
+		if (index != null) {
+			index.add(stream.getChannel().position());
+		}
 	}
 	
 	/**
@@ -328,7 +530,30 @@ public class ResultFileWriter implements OutputWriter {
 
 	@Override
 	public void close() {
-		writer.close();
+		try {
+			if (binaryWriter == null) {
+				writer.close();
+				
+				if (index != null) {
+					index.close();
+				}
+			} else {
+				binaryWriter.close();
+			}
+		} catch (IOException e) {
+			throw new FrameworkException(e);
+		}
+	}
+	
+	/**
+	 * Deletes the result file along with its index, if any.
+	 * 
+	 * @param file the result file
+	 * @throws IOException if the file or its index could not be deleted
+	 */
+	public static void delete(File file) throws IOException {
+		FileUtils.delete(file);
+		FileUtils.delete(ResultFileIndex.getIndexFile(file));
 	}
 	
 	/**
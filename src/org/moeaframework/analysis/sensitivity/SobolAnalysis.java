@@ -20,11 +20,21 @@ package org.moeaframework.analysis.sensitivity;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.OptionBuilder;
 import org.apache.commons.cli.Options;
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomGenerator;
 import org.apache.commons.math3.stat.StatUtils;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.util.CommandLineUtility;
 
@@ -35,6 +45,11 @@ import org.moeaframework.util.CommandLineUtility;
  * The following code was derived and translated from the C code used in the
  * study cited below. Refer to this article for a description of the procedure.
  * <p>
+ * The bootstrap confidence intervals are computed in parallel.  The
+ * resamples of each interval are split into blocks, and each block draws from
+ * its own random stream seeded from {@link PRNG}.  Consequently, the results
+ * are reproducible for a given seed regardless of the number of threads.
+ * <p>
  * References:
  * <ol>
  * <li>Tang, Y., Reed, P., Wagener, T., and van Werkhoven, K., "Comparing
@@ -47,10 +62,21 @@ import org.moeaframework.util.CommandLineUtility;
  */
 public class SobolAnalysis extends CommandLineUtility {
 
+	/**
+	 * The number of resamples in each block of the bootstrap.  Each block is
+	 * computed by a single task using its own random stream.
+	 */
+	private static final int BLOCK_SIZE = 100;
+	
 	/**
 	 * Number of resamples used to bootstrap the 50% confidence intervals.
 	 */
 	private int resamples = 1000;
+	
+	/**
+	 * Number of threads used to bootstrap the confidence intervals.
+	 */
+	private int threads = Runtime.getRuntime().availableProcessors();
 
 	/**
 	 * Parameters being analyzed.
@@ -84,13 +110,15 @@ public class SobolAnalysis extends CommandLineUtility {
 
 	/**
 	 * Output from the original samples where the j-th parameter is replaced by
-	 * the corresponding resampled parameter.
+	 * the corresponding resampled parameter.  Stored by parameter, so
+	 * {@code C_A[j]} contains the output for the j-th parameter.
 	 */
 	private double[][] C_A;
 
 	/**
 	 * Output from the resampled samples where the j-th parameter is replaced by
-	 * the corresponding original parameter.
+	 * the corresponding original parameter.  Stored by parameter, so
+	 * {@code C_B[j]} contains the output for the j-th parameter.
 	 */
 	private double[][] C_B;
 
@@ -117,18 +145,18 @@ public class SobolAnalysis extends CommandLineUtility {
 
 			A = new double[N];
 			B = new double[N];
-			C_A = new double[N][P];
-			C_B = new double[N][P];
+			C_A = new double[P][N];
+			C_B = new double[P][N];
 
 			for (int i = 0; i < N; i++) {
 				A[i] = reader.next()[index];
 
 				for (int j = 0; j < P; j++) {
-					C_A[i][j] = reader.next()[index];
+					C_A[j][i] = reader.next()[index];
 				}
 
 				for (int j = 0; j < P; j++) {
-					C_B[i][j] = reader.next()[index];
+					C_B[j][i] = reader.next()[index];
 				}
 
 				B[i] = reader.next()[index];
@@ -147,76 +175,61 @@ public class SobolAnalysis extends CommandLineUtility {
 	 * @param output the output stream
 	 */
 	private void display(PrintStream output) {
+		List<Estimator> estimators = new ArrayList<Estimator>();
+		
+		for (int j = 0; j < P; j++) {
+			estimators.add(new FirstOrder(j));
+		}
+		
+		for (int j = 0; j < P; j++) {
+			estimators.add(new TotalOrder(j));
+		}
+		
+		for (int j = 0; j < P; j++) {
+			for (int k = j + 1; k < P; k++) {
+				estimators.add(new SecondOrder(j, k));
+			}
+		}
+		
+		double[] confidence = computeConfidence(estimators, N, resamples);
+		int[] identity = identity(N);
+		int e = 0;
+		
 		output.println("Parameter	Sensitivity [Confidence]");
 
 		output.println("First-Order Effects");
 		for (int j = 0; j < P; j++) {
-			double[] a0 = new double[N];
-			double[] a1 = new double[N];
-			double[] a2 = new double[N];
-
-			for (int i = 0; i < N; i++) {
-				a0[i] = A[i];
-				a1[i] = C_A[i][j];
-				a2[i] = B[i];
-			}
-
 			output.print("  ");
 			output.print(parameterFile.get(j).getName());
 			output.print(' ');
-			output.print(computeFirstOrder(a0, a1, a2, N));
+			output.print(estimators.get(e).estimate(identity, N));
 			output.print(" [");
-			output.print(computeFirstOrderConfidence(a0, a1, a2, N, resamples));
+			output.print(confidence[e++]);
 			output.println(']');
 		}
 
 		output.println("Total-Order Effects");
 		for (int j = 0; j < P; j++) {
-			double[] a0 = new double[N];
-			double[] a1 = new double[N];
-			double[] a2 = new double[N];
-
-			for (int i = 0; i < N; i++) {
-				a0[i] = A[i];
-				a1[i] = C_A[i][j];
-				a2[i] = B[i];
-			}
-
 			output.print("  ");
 			output.print(parameterFile.get(j).getName());
 			output.print(' ');
-			output.print(computeTotalOrder(a0, a1, a2, N));
+			output.print(estimators.get(e).estimate(identity, N));
 			output.print(" [");
-			output.print(computeTotalOrderConfidence(a0, a1, a2, N, resamples));
+			output.print(confidence[e++]);
 			output.println(']');
 		}
 
 		output.println("Second-Order Effects");
 		for (int j = 0; j < P; j++) {
 			for (int k = j + 1; k < P; k++) {
-				double[] a0 = new double[N];
-				double[] a1 = new double[N];
-				double[] a2 = new double[N];
-				double[] a3 = new double[N];
-				double[] a4 = new double[N];
-
-				for (int i = 0; i < N; i++) {
-					a0[i] = A[i];
-					a1[i] = C_B[i][j];
-					a2[i] = C_A[i][k];
-					a3[i] = C_A[i][j];
-					a4[i] = B[i];
-				}
-
 				output.print("  ");
 				output.print(parameterFile.get(j).getName());
 				output.print(" * ");
 				output.print(parameterFile.get(k).getName());
 				output.print(' ');
-				output.print(computeSecondOrder(a0, a1, a2, a3, a4, N));
+				output.print(estimators.get(e).estimate(identity, N));
 				output.print(" [");
-				output.print(computeSecondOrderConfidence(a0, a1, a2, a3, a4, N,
-								resamples));
+				output.print(confidence[e++]);
 				output.println(']');
 			}
 		}
@@ -229,19 +242,11 @@ public class SobolAnalysis extends CommandLineUtility {
 	 * @param output the output stream
 	 */
 	private void displaySimple(PrintStream output) {
+		int[] identity = identity(N);
+		
 		output.println("First-Order Effects");
 		for (int j = 0; j < P; j++) {
-			double[] a0 = new double[N];
-			double[] a1 = new double[N];
-			double[] a2 = new double[N];
-
-			for (int i = 0; i < N; i++) {
-				a0[i] = A[i];
-				a1[i] = C_A[i][j];
-				a2[i] = B[i];
-			}
-
-			double value = computeFirstOrder(a0, a1, a2, N);
+			double value = new FirstOrder(j).estimate(identity, N);
 			output.print(value < 0 ? 0.0 : value);
 
 			if (j < P - 1) {
@@ -252,17 +257,7 @@ public class SobolAnalysis extends CommandLineUtility {
 		output.println();
 		output.println("Total-Order Effects");
 		for (int j = 0; j < P; j++) {
-			double[] a0 = new double[N];
-			double[] a1 = new double[N];
-			double[] a2 = new double[N];
-
-			for (int i = 0; i < N; i++) {
-				a0[i] = A[i];
-				a1[i] = C_A[i][j];
-				a2[i] = B[i];
-			}
-
-			double value = computeTotalOrder(a0, a1, a2, N);
+			double value = new TotalOrder(j).estimate(identity, N);
 			output.print(value < 0 ? 0.0 : value);
 
 			if (j < P - 1) {
@@ -274,40 +269,84 @@ public class SobolAnalysis extends CommandLineUtility {
 	}
 
 	/**
-	 * Returns the first-order confidence interval of the i-th parameter.  The
-	 * arguments to this method mirror the arguments to
-	 * {@link #computeFirstOrder}.
+	 * Returns the indices {@code 0, 1, ..., nsample-1}, which select the
+	 * original samples.
 	 * 
-	 * @param a0 the output from the first independent samples
-	 * @param a1 the output from the samples produced by swapping the i-th
-	 *        parameter in the first independent samples with the i-th parameter
-	 *        from the second independent samples
-	 * @param a2 the output from the second independent samples
+	 * @param nsample the number of samples
+	 * @return the indices selecting the original samples
+	 */
+	private static int[] identity(int nsample) {
+		int[] indices = new int[nsample];
+		
+		for (int i = 0; i < nsample; i++) {
+			indices[i] = i;
+		}
+		
+		return indices;
+	}
+	
+	/**
+	 * Returns the bootstrap confidence interval of each estimator.  The
+	 * resamples of every estimator are split into blocks of
+	 * {@value #BLOCK_SIZE} resamples, and all blocks are computed in parallel.
+	 * 
+	 * @param estimators the estimators
 	 * @param nsample the number of samples
 	 * @param nresample the number of resamples used when calculating the
 	 *        confidence interval
-	 * @return the first-order confidence interval of the i-th parameter
+	 * @return the bootstrap confidence interval of each estimator
 	 */
-	private static double computeFirstOrderConfidence(double[] a0, double[] a1,
-			double[] a2, int nsample, int nresample) {
-		double[] b0 = new double[nsample];
-		double[] b1 = new double[nsample];
-		double[] b2 = new double[nsample];
-		double[] s = new double[nresample];
+	private double[] computeConfidence(List<Estimator> estimators,
+			int nsample, int nresample) {
+		long seed = PRNG.getRandom().nextLong();
+		int blocks = (nresample + BLOCK_SIZE - 1) / BLOCK_SIZE;
+		double[] result = new double[estimators.size()];
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		
+		try {
+			List<Future<double[]>> futures = new ArrayList<Future<double[]>>();
+			
+			for (int i = 0; i < estimators.size(); i++) {
+				for (int j = 0; j < blocks; j++) {
+					int size = Math.min(BLOCK_SIZE, nresample - j * BLOCK_SIZE);
+					
+					futures.add(executor.submit(new BootstrapBlock(
+							estimators.get(i), nsample, size,
+							new int[] { (int)(seed >>> 32), (int)seed, i, j })));
+				}
+			}
+			
+			double[] s = new double[nresample];
 
-		for (int i = 0; i < nresample; i++) {
-			for (int j = 0; j < nsample; j++) {
-				int index = PRNG.nextInt(nsample);
+			for (int i = 0; i < estimators.size(); i++) {
+				for (int j = 0; j < blocks; j++) {
+					double[] values = futures.get(i * blocks + j).get();
+					System.arraycopy(values, 0, s, j * BLOCK_SIZE,
+							values.length);
+				}
 
-				b0[j] = a0[index];
-				b1[j] = a1[index];
-				b2[j] = a2[index];
+				result[i] = computeConfidence(s, nresample);
 			}
-
-			s[i] = computeFirstOrder(b0, b1, b2, nsample);
+		} catch (InterruptedException e) {
+			throw new FrameworkException(e);
+		} catch (ExecutionException e) {
+			throw new FrameworkException(e.getCause());
+		} finally {
+			executor.shutdownNow();
 		}
 
-		double ss = StatUtils.sum(s) / nresample;
+		return result;
+	}
+	
+	/**
+	 * Returns the 50% confidence interval from the bootstrapped estimates.
+	 * 
+	 * @param s the bootstrapped estimates
+	 * @param nresample the number of resamples
+	 * @return the 50% confidence interval
+	 */
+	private static double computeConfidence(double[] s, int nresample) {
+		double ss = StatUtils.sum(s, 0, nresample) / nresample;
 		double sss = 0.0;
 		
 		for (int i = 0; i < nresample; i++) {
@@ -316,6 +355,175 @@ public class SobolAnalysis extends CommandLineUtility {
 
 		return 1.96 * Math.sqrt(sss / (nresample - 1));
 	}
+	
+	/**
+	 * Computes one block of resamples for the bootstrap.  The indices of the
+	 * resampled outputs are drawn into a single buffer that is reused by each
+	 * resample, so the outputs themselves are never copied.
+	 */
+	private static class BootstrapBlock implements Callable<double[]> {
+	
+		/**
+		 * The estimator.
+		 */
+		private final Estimator estimator;
+		
+		/**
+		 * The number of samples.
+		 */
+		private final int nsample;
+		
+		/**
+		 * The number of resamples in this block.
+		 */
+		private final int nresample;
+		
+		/**
+		 * The seed of the random stream used by this block.
+		 */
+		private final int[] seed;
+		
+		/**
+		 * Constructs a new block of resamples for the bootstrap.
+		 * 
+		 * @param estimator the estimator
+		 * @param nsample the number of samples
+		 * @param nresample the number of resamples in this block
+		 * @param seed the seed of the random stream used by this block
+		 */
+		public BootstrapBlock(Estimator estimator, int nsample, int nresample,
+				int[] seed) {
+			super();
+			this.estimator = estimator;
+			this.nsample = nsample;
+			this.nresample = nresample;
+			this.seed = seed;
+		}
+		
+		@Override
+		public double[] call() {
+			RandomGenerator random = new MersenneTwister(seed);
+			int[] indices = new int[nsample];
+			double[] s = new double[nresample];
+			
+			for (int i = 0; i < nresample; i++) {
+				for (int j = 0; j < nsample; j++) {
+					indices[j] = random.nextInt(nsample);
+				}
+				
+				s[i] = estimator.estimate(indices, nsample);
+			}
+			
+			return s;
+		}
+	
+	}
+	
+	/**
+	 * Estimates a sensitivity from a selection of the samples.
+	 */
+	private static interface Estimator {
+	
+		/**
+		 * Returns the sensitivity estimated from the selected samples.
+		 * 
+		 * @param indices the indices of the selected samples, which may
+		 *        contain duplicates
+		 * @param nsample the number of samples
+		 * @return the sensitivity estimated from the selected samples
+		 */
+		public double estimate(int[] indices, int nsample);
+	
+	}
+	
+	/**
+	 * Estimates the first-order sensitivity of a parameter.
+	 */
+	private class FirstOrder implements Estimator {
+	
+		/**
+		 * The parameter.
+		 */
+		private final int j;
+		
+		/**
+		 * Constructs a new estimator of the first-order sensitivity.
+		 * 
+		 * @param j the parameter
+		 */
+		public FirstOrder(int j) {
+			super();
+			this.j = j;
+		}
+		
+		@Override
+		public double estimate(int[] indices, int nsample) {
+			return computeFirstOrder(A, C_A[j], B, indices, nsample);
+		}
+	
+	}
+	
+	/**
+	 * Estimates the total-order sensitivity of a parameter.
+	 */
+	private class TotalOrder implements Estimator {
+	
+		/**
+		 * The parameter.
+		 */
+		private final int j;
+		
+		/**
+		 * Constructs a new estimator of the total-order sensitivity.
+		 * 
+		 * @param j the parameter
+		 */
+		public TotalOrder(int j) {
+			super();
+			this.j = j;
+		}
+		
+		@Override
+		public double estimate(int[] indices, int nsample) {
+			return computeTotalOrder(A, C_A[j], B, indices, nsample);
+		}
+	
+	}
+	
+	/**
+	 * Estimates the second-order sensitivity of a pair of parameters.
+	 */
+	private class SecondOrder implements Estimator {
+	
+		/**
+		 * The first parameter.
+		 */
+		private final int j;
+		
+		/**
+		 * The second parameter.
+		 */
+		private final int k;
+		
+		/**
+		 * Constructs a new estimator of the second-order sensitivity.
+		 * 
+		 * @param j the first parameter
+		 * @param k the second parameter
+		 */
+		public SecondOrder(int j, int k) {
+			super();
+			this.j = j;
+			this.k = k;
+		}
+		
+		@Override
+		public double estimate(int[] indices, int nsample) {
+			return computeSecondOrder(A, C_B[j], C_A[k], C_A[j], B, indices,
+					nsample);
+		}
+	
+	}
 
 	/**
 	 * Returns the first-order sensitivity of the i-th parameter.  Note how
@@ -327,14 +535,15 @@ public class SobolAnalysis extends CommandLineUtility {
 	 *        parameter in the first independent samples with the i-th parameter
 	 *        from the second independent samples
 	 * @param a2 the output from the second independent samples
+	 * @param indices the indices of the selected samples
 	 * @param nsample the number of samples
 	 * @return the first-order sensitivity of the i-th parameter
 	 */
 	private static double computeFirstOrder(double[] a0, double[] a1,
-			double[] a2, int nsample) {
+			double[] a2, int[] indices, int nsample) {
 		double c = 0.0;
 		for (int i = 0; i < nsample; i++) {
-			c += a0[i];
+			c += a0[indices[i]];
 		}
 		c /= nsample;
 
@@ -344,10 +553,12 @@ public class SobolAnalysis extends CommandLineUtility {
 		double EY2 = 0.0;
 
 		for (int i = 0; i < nsample; i++) {
-			EY2 += (a0[i] - c) * (a2[i] - c);
-			tmp1 += (a2[i] - c) * (a2[i] - c);
-			tmp2 += (a2[i] - c);
-			tmp3 += (a1[i] - c) * (a2[i] - c);
+			int index = indices[i];
+			
+			EY2 += (a0[index] - c) * (a2[index] - c);
+			tmp1 += (a2[index] - c) * (a2[index] - c);
+			tmp2 += (a2[index] - c);
+			tmp3 += (a1[index] - c) * (a2[index] - c);
 		}
 
 		EY2 /= nsample;
@@ -368,15 +579,16 @@ public class SobolAnalysis extends CommandLineUtility {
 	 *        parameter in the first independent samples with the i-th parameter
 	 *        from the second independent samples
 	 * @param a2 the output from the second independent samples
+	 * @param indices the indices of the selected samples
 	 * @param nsample the number of samples
 	 * @return the total-order sensitivity of the i-th parameter
 	 */
 	private static double computeTotalOrder(double[] a0, double[] a1,
-			double[] a2, int nsample) {
+			double[] a2, int[] indices, int nsample) {
 		double c = 0.0;
 		
 		for (int i = 0; i < nsample; i++) {
-			c += a0[i];
+			c += a0[indices[i]];
 		}
 		
 		c /= nsample;
@@ -386,9 +598,11 @@ public class SobolAnalysis extends CommandLineUtility {
 		double tmp3 = 0.0;
 
 		for (int i = 0; i < nsample; i++) {
-			tmp1 += (a0[i] - c) * (a0[i] - c);
-			tmp2 += (a0[i] - c) * (a1[i] - c);
-			tmp3 += (a0[i] - c);
+			int index = indices[i];
+			
+			tmp1 += (a0[index] - c) * (a0[index] - c);
+			tmp2 += (a0[index] - c) * (a1[index] - c);
+			tmp3 += (a0[index] - c);
 		}
 
 		double EY2 = Math.pow(tmp3 / nsample, 2.0);
@@ -398,50 +612,6 @@ public class SobolAnalysis extends CommandLineUtility {
 		return 1.0 - ((U - EY2) / V);
 	}
 
-	/**
-	 * Returns the total-order confidence interval of the i-th parameter.  The
-	 * arguments to this method mirror the arguments to
-	 * {@link #computeTotalOrder}.
-	 * 
-	 * @param a0 the output from the first independent samples
-	 * @param a1 the output from the samples produced by swapping the i-th
-	 *        parameter in the first independent samples with the i-th parameter
-	 *        from the second independent samples
-	 * @param a2 the output from the second independent samples
-	 * @param nsample the number of samples
-	 * @param nresample the number of resamples used when calculating the
-	 *        confidence interval
-	 * @return the total-order confidence interval of the i-th parameter
-	 */
-	private static double computeTotalOrderConfidence(double[] a0, double[] a1,
-			double[] a2, int nsample, int nresample) {
-		double[] b0 = new double[nsample];
-		double[] b1 = new double[nsample];
-		double[] b2 = new double[nsample];
-		double[] s = new double[nresample];
-
-		for (int i = 0; i < nresample; i++) {
-			for (int j = 0; j < nsample; j++) {
-				int index = PRNG.nextInt(nsample);
-
-				b0[j] = a0[index];
-				b1[j] = a1[index];
-				b2[j] = a2[index];
-			}
-
-			s[i] = computeTotalOrder(b0, b1, b2, nsample);
-		}
-
-		double ss = StatUtils.sum(s) / nresample;
-		double sss = 0.0;
-		
-		for (int i = 0; i < nresample; i++) {
-			sss += Math.pow(s[i] - ss, 2.0);
-		}
-
-		return 1.96 * Math.sqrt(sss / (nresample - 1));
-	}
-
 	/**
 	 * Returns the second-order sensitivity of the i-th and j-th parameters.  
 	 * Note how the contents of the arrays {@code a1}, {@code a2}, and
@@ -458,17 +628,17 @@ public class SobolAnalysis extends CommandLineUtility {
 	 *        parameter in the first independent samples with the i-th parameter
 	 *        from the second independent samples
 	 * @param a4 the output from the second independent samples
+	 * @param indices the indices of the selected samples
 	 * @param nsample the number of samples
-	 * @param nresample the number of resamples used when calculating the
-	 *        confidence interval
 	 * @return the second-order sensitivity of the i-th and j-th parameters
 	 */
 	private static double computeSecondOrder(double[] a0, double[] a1,
-			double[] a2, double[] a3, double[] a4, int nsample) {
+			double[] a2, double[] a3, double[] a4, int[] indices,
+			int nsample) {
 		double c = 0.0;
 		
 		for (int i = 0; i < nsample; i++) {
-			c += a0[i];
+			c += a0[indices[i]];
 		}
 		
 		c /= nsample;
@@ -482,13 +652,15 @@ public class SobolAnalysis extends CommandLineUtility {
 		double tmp5 = 0.0;
 
 		for (int i = 0; i < nsample; i++) {
-			EY += (a0[i] - c) * (a4[i] - c);
-			EY2 += (a1[i] - c) * (a3[i] - c);
-			tmp1 += (a1[i] - c) * (a1[i] - c);
-			tmp2 += (a1[i] - c);
-			tmp3 += (a1[i] - c) * (a2[i] - c);
-			tmp4 += (a2[i] - c) * (a4[i] - c);
-			tmp5 += (a3[i] - c) * (a4[i] - c);
+			int index = indices[i];
+			
+			EY += (a0[index] - c) * (a4[index] - c);
+			EY2 += (a1[index] - c) * (a3[index] - c);
+			tmp1 += (a1[index] - c) * (a1[index] - c);
+			tmp2 += (a1[index] - c);
+			tmp3 += (a1[index] - c) * (a2[index] - c);
+			tmp4 += (a2[index] - c) * (a4[index] - c);
+			tmp5 += (a3[index] - c) * (a4[index] - c);
 		}
 
 		EY /= nsample;
@@ -502,60 +674,6 @@ public class SobolAnalysis extends CommandLineUtility {
 		return (Vij - Vi - Vj) / V;
 	}
 
-	/**
-	 * Returns the second-order confidence interval of the i-th and j-th
-	 * parameters.  The arguments to this method mirror the arguments to
-	 * {@link #computeSecondOrder}.
-	 * 
-	 * @param a0 the output from the first independent samples
-	 * @param a1 the output from the samples produced by swapping the i-th
-	 *        parameter in the second independent samples with the i-th
-	 *        parameter from the first independent samples
-	 * @param a2 the output from the samples produced by swapping the j-th
-	 *        parameter in the first independent samples with the j-th parameter
-	 *        from the second independent samples
-	 * @param a3 the output from the samples produced by swapping the i-th
-	 *        parameter in the first independent samples with the i-th parameter
-	 *        from the second independent samples
-	 * @param a4 the output from the second independent samples
-	 * @param nsample the number of samples
-	 * @return the second-order confidence interval of the i-th and j-th
-	 *         parameters
-	 */
-	private static double computeSecondOrderConfidence(double[] a0,
-			double[] a1, double[] a2, double[] a3, double[] a4, int nsample,
-			int nresample) {
-		double[] b0 = new double[nsample];
-		double[] b1 = new double[nsample];
-		double[] b2 = new double[nsample];
-		double[] b3 = new double[nsample];
-		double[] b4 = new double[nsample];
-		double[] s = new double[nresample];
-
-		for (int i = 0; i < nresample; i++) {
-			for (int j = 0; j < nsample; j++) {
-				int index = PRNG.nextInt(nsample);
-
-				b0[j] = a0[index];
-				b1[j] = a1[index];
-				b2[j] = a2[index];
-				b3[j] = a3[index];
-				b4[j] = a4[index];
-			}
-
-			s[i] = computeSecondOrder(b0, b1, b2, b3, b4, nsample);
-		}
-
-		double ss = StatUtils.sum(s) / nresample;
-		double sss = 0.0;
-		
-		for (int i = 0; i < nresample; i++) {
-			sss += Math.pow(s[i] - ss, 2.0);
-		}
-
-		return 1.96 * Math.sqrt(sss / (nresample - 1));
-	}
-
 	/**
 	 * Ensures the model output file contains N*(2P+2) lines and returns N, the
 	 * number of samples.
@@ -627,6 +745,16 @@ public class SobolAnalysis extends CommandLineUtility {
 				.hasArg()
 				.withArgName("number")
 				.create('r'));
+		options.addOption(OptionBuilder
+				.withLongOpt("threads")
+				.hasArg()
+				.withArgName("number")
+				.create('t'));
+		options.addOption(OptionBuilder
+				.withLongOpt("seed")
+				.hasArg()
+				.withArgName("value")
+				.create('S'));
 
 		return options;
 	}
@@ -645,6 +773,19 @@ public class SobolAnalysis extends CommandLineUtility {
 			resamples = Integer.parseInt(commandLine.getOptionValue(
 					"resamples"));
 		}
+		
+		if (commandLine.hasOption("threads")) {
+			threads = Integer.parseInt(commandLine.getOptionValue("threads"));
+			
+			if (threads <= 0) {
+				throw new FrameworkException(
+						"number of threads must be greater than 0");
+			}
+		}
+		
+		if (commandLine.hasOption("seed")) {
+			PRNG.setSeed(Long.parseLong(commandLine.getOptionValue("seed")));
+		}
 
 		//load and validate the model output file
 		File input = new File(commandLine.getOptionValue("input"));
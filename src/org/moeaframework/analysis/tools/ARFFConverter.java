@@ -18,8 +18,8 @@
 package org.moeaframework.analysis.tools;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -29,9 +29,9 @@ import org.apache.commons.cli.OptionBuilder;
 import org.apache.commons.cli.OptionGroup;
 import org.apache.commons.cli.Options;
 import org.moeaframework.analysis.sensitivity.ProblemStub;
+import org.moeaframework.analysis.sensitivity.ResultEntry;
 import org.moeaframework.analysis.sensitivity.ResultFileReader;
 import org.moeaframework.core.FrameworkException;
-import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
@@ -49,6 +49,9 @@ import org.moeaframework.util.CommandLineUtility;
  * variables.  Any other decision variable types will appear as missing values
  * in the ARFF file.
  * <p>
+ * The result file is converted in a single streaming pass, with the parsing,
+ * formatting and writing of the output file performed by separate threads.
+ * <p>
  * Usage: {@code java -cp "..." org.moeaframework.analysis.tools.ARFFConverter <options>}
  * <p>
  * Arguments:
@@ -200,16 +203,16 @@ public class ARFFConverter extends CommandLineUtility {
 	}
 	
 	/**
-	 * Prints the given population as the ARFF data section.
+	 * Formats the given population as the ARFF data section.
 	 * 
 	 * @param problem the problem
 	 * @param reduced {@code true} if the decision variables are suppressed;
 	 *        {@code false} if they are written to the output file
 	 * @param population the population to write
-	 * @param writer the writer where the output is written
+	 * @param builder the builder where the output is appended
 	 */
-	private void printData(Problem problem, boolean reduced,
-			Population population, PrintWriter writer) {
+	private void formatData(Problem problem, boolean reduced,
+			Population population, StringBuilder builder) {
 		int numberOfVariables = problem.getNumberOfVariables();
 		int numberOfObjectives = problem.getNumberOfObjectives();
 		
@@ -220,26 +223,26 @@ public class ARFFConverter extends CommandLineUtility {
 		for (Solution solution : population) {
 			for (int i = 0; i < numberOfVariables; i++) {
 				if (i > 0) {
-					writer.print(",");
+					builder.append(',');
 				}
 					
 				if (solution.getVariable(i) instanceof RealVariable) {
-					writer.print(EncodingUtils.getReal(
+					builder.append(EncodingUtils.getReal(
 							solution.getVariable(i)));
 				} else {
-					writer.print("?");
+					builder.append('?');
 				}
 			}
 			
 			for (int i = 0; i < numberOfObjectives; i++) {
 				if ((i > 0) || (numberOfVariables > 0)) {
-					writer.print(",");
+					builder.append(',');
 				}
 				
-				writer.print(solution.getObjective(i));
+				builder.append(solution.getObjective(i));
 			}
 			
-			writer.println();
+			builder.append(ConversionPipeline.LINE_SEPARATOR);
 		}
 	}
 
@@ -272,43 +275,48 @@ public class ARFFConverter extends CommandLineUtility {
 						commandLine.getOptionValue("dimension")));
 			}
 			
-			// read in the last entry from the result file
+			// format the ARFF header
+			StringWriter header = new StringWriter();
+			PrintWriter writer = new PrintWriter(header);
+			printHeader(problem, reduced, attributes, writer);
+			writer.close();
+			
+			// stream the last entry from the result file to the ARFF file
+			final Problem finalProblem = problem;
+			final boolean finalReduced = reduced;
 			ResultFileReader reader = null;
-			NondominatedPopulation population = null;
 			
 			try {
 				reader = new ResultFileReader(problem,
 						new File(commandLine.getOptionValue("input")));
+				
+				ConversionPipeline pipeline = new ConversionPipeline(
+						new ConversionPipeline.EntryFormatter() {
 
-				while (reader.hasNext()) {
-					population = reader.next().getPopulation();
-				}
+					@Override
+					public void format(ResultEntry entry,
+							StringBuilder builder) {
+						Population population = entry.getPopulation();
+						
+						// check if the population is empty
+						if (population.isEmpty()) {
+							throw new FrameworkException(
+									"population is empty, can not generate ARFF file");
+						}
+						
+						formatData(finalProblem, finalReduced, population,
+								builder);
+					}
+					
+				}, true);
+				
+				pipeline.convert(reader, header.toString(),
+						new File(commandLine.getOptionValue("output")));
 			} finally {
 				if (reader != null) {
 					reader.close();
 				}
 			}
-			
-			// check if the population is empty
-			if (population.isEmpty()) {
-				throw new FrameworkException(
-						"population is empty, can not generate ARFF file");
-			}
-			
-			// write the ARFF file
-			PrintWriter writer = null;
-			
-			try {
-				writer = new PrintWriter(new FileWriter(
-						commandLine.getOptionValue("output")));
-				
-				printHeader(problem, reduced, attributes, writer);
-				printData(problem, reduced, population, writer);
-			} finally {
-				if (writer != null) {
-					writer.close();
-				}
-			}
 		} finally {
 			if (problem != null) {
 				problem.close();
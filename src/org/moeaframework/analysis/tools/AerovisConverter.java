@@ -18,8 +18,8 @@
 package org.moeaframework.analysis.tools;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.PrintWriter;
+import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
@@ -35,6 +35,8 @@ import org.moeaframework.core.Population;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.core.variable.RealVariable;
 import org.moeaframework.util.CommandLineUtility;
 
 /**
@@ -42,6 +44,9 @@ import org.moeaframework.util.CommandLineUtility;
  * software package for exploring high-dimensional datasets, but is freely
  * available for non-commercial academic use at https://www.decisionvis.com/.
  * <p>
+ * The result file is converted in a single streaming pass, with the parsing,
+ * formatting and writing of the output file performed by separate threads.
+ * <p>
  * Usage: {@code java -cp "..." org.moeaframework.analysis.tools.AerovisConverter <options>}
  * <p>
  * Arguments:
@@ -201,17 +206,17 @@ public class AerovisConverter extends CommandLineUtility {
 	}
 	
 	/**
-	 * Converts and writes the contents of the result file to the Aerovis
-	 * format.
+	 * Formats the entry from the result file in the Aerovis format.
 	 * 
 	 * @param problem the problem
 	 * @param reduced {@code true} if the decision variables are suppressed;
 	 *        {@code false} if they are written to the output file
-	 * @param reader the result file reader
-	 * @param writer the writer where the output is written
+	 * @param entry the entry from the result file
+	 * @param builder the builder where the output is appended
 	 */
-	private void convert(Problem problem, boolean reduced,
-			ResultFileReader reader, PrintWriter writer) {
+	private void formatEntry(Problem problem, boolean reduced,
+			ResultEntry entry, StringBuilder builder) {
+		String newline = ConversionPipeline.LINE_SEPARATOR;
 		int numberOfVariables = problem.getNumberOfVariables();
 		int numberOfObjectives = problem.getNumberOfObjectives();
 		
@@ -219,59 +224,62 @@ public class AerovisConverter extends CommandLineUtility {
 			numberOfVariables = 0;
 		}
 		
-		while (reader.hasNext()) {
-			ResultEntry entry = reader.next();
-			Population population = entry.getPopulation();
-			Properties properties = entry.getProperties();
-			
-			if (population.isEmpty()) {
-				continue;
-			}
-			
-			if (properties.containsKey("NFE")) {
-				writer.print(properties.getProperty("NFE"));
-			} else {
-				writer.print("0");
-			}
-			
-			writer.print(" ");
-			
-			if (properties.containsKey("ElapsedTime")) {
-				writer.println(properties.getProperty("ElapsedTime"));
-			} else {
-				writer.println("0");
-			}
-			
-			writer.println("#");
-			
-			for (Solution solution : population) {
-				for (int i = 0; i < numberOfVariables; i++) {
-					if (i > 0) {
-						writer.print(" ");
-					}
-						
-					writer.print(solution.getVariable(i));
+		Population population = entry.getPopulation();
+		Properties properties = entry.getProperties();
+		
+		if (population.isEmpty()) {
+			return;
+		}
+		
+		if (properties.containsKey("NFE")) {
+			builder.append(properties.getProperty("NFE"));
+		} else {
+			builder.append('0');
+		}
+		
+		builder.append(' ');
+		
+		if (properties.containsKey("ElapsedTime")) {
+			builder.append(properties.getProperty("ElapsedTime"));
+		} else {
+			builder.append('0');
+		}
+		
+		builder.append(newline);
+		builder.append('#').append(newline);
+		
+		for (Solution solution : population) {
+			for (int i = 0; i < numberOfVariables; i++) {
+				if (i > 0) {
+					builder.append(' ');
 				}
 				
-				for (int i = 0; i < numberOfObjectives; i++) {
-					if ((i > 0) || (numberOfVariables > 0)) {
-						writer.print(" ");
-					}
-					
-					writer.print(solution.getObjective(i));
+				if (solution.getVariable(i) instanceof RealVariable) {
+					builder.append(EncodingUtils.getReal(
+							solution.getVariable(i)));
+				} else {
+					builder.append(solution.getVariable(i));
+				}
+			}
+			
+			for (int i = 0; i < numberOfObjectives; i++) {
+				if ((i > 0) || (numberOfVariables > 0)) {
+					builder.append(' ');
 				}
 				
-				writer.println();
+				builder.append(solution.getObjective(i));
 			}
-			writer.println("#");
+			
+			builder.append(newline);
 		}
+		
+		builder.append('#').append(newline);
 	}
 
 	@Override
 	public void run(CommandLine commandLine) throws Exception {
 		Problem problem = null;
 		ResultFileReader reader = null;
-		PrintWriter writer = null;
 		boolean reduced = false;
 		List<String> attributes = new ArrayList<String>();
 		
@@ -296,21 +304,32 @@ public class AerovisConverter extends CommandLineUtility {
 						commandLine.getOptionValue("dimension")));
 			}
 			
+			StringWriter header = new StringWriter();
+			PrintWriter writer = new PrintWriter(header);
+			printHeader(problem, reduced, attributes, writer);
+			writer.close();
+			
+			final Problem finalProblem = problem;
+			final boolean finalReduced = reduced;
+			
 			try {
 				reader = new ResultFileReader(problem,
 						new File(commandLine.getOptionValue("input")));
 				
-				try {
-					writer = new PrintWriter(new FileWriter(
-							commandLine.getOptionValue("output")));
-					
-					printHeader(problem, reduced, attributes, writer);
-					convert(problem, reduced, reader, writer);
-				} finally {
-					if (writer != null) {
-						writer.close();
+				ConversionPipeline pipeline = new ConversionPipeline(
+						new ConversionPipeline.EntryFormatter() {
+
+					@Override
+					public void format(ResultEntry entry,
+							StringBuilder builder) {
+						formatEntry(finalProblem, finalReduced, entry,
+								builder);
 					}
-				}
+					
+				}, false);
+				
+				pipeline.convert(reader, header.toString(),
+						new File(commandLine.getOptionValue("output")));
 			} finally {
 				if (reader != null) {
 					reader.close();
@@ -0,0 +1,474 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.tools;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.Properties;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.moeaframework.analysis.sensitivity.ResultEntry;
+import org.moeaframework.analysis.sensitivity.ResultFileReader;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+
+/**
+ * Converts result files in a single streaming pass.  One thread parses the
+ * entries from the result file, a second thread formats the entries as text,
+ * and the calling thread encodes the text and writes it to the output file
+ * through a large NIO buffer.  The stages are connected by bounded queues, so
+ * only a few entries are held in memory regardless of the size of the result
+ * file.
+ * <p>
+ * The output file is created when the first formatted text is available, so
+ * no output file is created if the conversion fails before writing any
+ * entries.  The text is encoded using the platform's default character set,
+ * matching {@link java.io.FileWriter}.
+ */
+class ConversionPipeline {
+
+	/**
+	 * Formats result file entries as text.  The formatter is invoked from the
+	 * formatting thread.
+	 */
+	static interface EntryFormatter {
+	
+		/**
+		 * Appends the text representation of the entry to the builder.
+		 * 
+		 * @param entry the result file entry
+		 * @param builder the builder where the text is appended
+		 */
+		public void format(ResultEntry entry, StringBuilder builder);
+	
+	}
+	
+	/**
+	 * The line separator.
+	 */
+	static final String LINE_SEPARATOR = System.getProperty("line.separator");
+	
+	/**
+	 * The maximum number of entries waiting to be formatted.
+	 */
+	private static final int ENTRY_QUEUE_CAPACITY = 16;
+	
+	/**
+	 * The maximum number of formatted chunks waiting to be written.
+	 */
+	private static final int CHUNK_QUEUE_CAPACITY = 16;
+	
+	/**
+	 * The number of characters formatted before the text is handed to the
+	 * writer.
+	 */
+	private static final int CHUNK_SIZE = 64*1024;
+	
+	/**
+	 * The size, in bytes, of the buffer used when writing the output file.
+	 */
+	private static final int BUFFER_SIZE = 1024*1024;
+	
+	/**
+	 * Marker signaling the end of the entries.
+	 */
+	private static final ResultEntry END_OF_ENTRIES = new ResultEntry(
+			new NondominatedPopulation());
+	
+	/**
+	 * Marker signaling the end of the formatted text.
+	 */
+	private static final CharBuffer END_OF_CHUNKS = CharBuffer.allocate(0);
+	
+	/**
+	 * The formatter for the entries.
+	 */
+	private final EntryFormatter formatter;
+	
+	/**
+	 * {@code true} if only the last entry in the result file is converted;
+	 * {@code false} if all entries are converted.
+	 */
+	private final boolean lastEntryOnly;
+	
+	/**
+	 * Constructs a new pipeline for converting result files.
+	 * 
+	 * @param formatter the formatter for the entries
+	 * @param lastEntryOnly {@code true} if only the last entry in the result
+	 *        file is converted; {@code false} if all entries are converted
+	 */
+	public ConversionPipeline(EntryFormatter formatter,
+			boolean lastEntryOnly) {
+		super();
+		this.formatter = formatter;
+		this.lastEntryOnly = lastEntryOnly;
+	}
+	
+	/**
+	 * Converts the entries read by the result file reader, writing the header
+	 * followed by the formatted entries to the output file.  If only the last
+	 * entry is converted and the result file contains no entries, an empty
+	 * entry is formatted.  The reader is not closed by this method.
+	 * 
+	 * @param reader the result file reader
+	 * @param header the header written at the start of the output file
+	 * @param file the output file
+	 * @throws IOException if an I/O error occurred
+	 */
+	public void convert(ResultFileReader reader, String header, File file)
+			throws IOException {
+		BlockingQueue<ResultEntry> entries =
+				new ArrayBlockingQueue<ResultEntry>(ENTRY_QUEUE_CAPACITY);
+		BlockingQueue<CharBuffer> chunks =
+				new ArrayBlockingQueue<CharBuffer>(CHUNK_QUEUE_CAPACITY);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		FileOutputStream output = null;
+		
+		try {
+			Future<Void> parsing = executor.submit(new Parser(reader, entries));
+			Future<Void> formatting = executor.submit(new Formatter(entries,
+					chunks));
+			
+			CharsetEncoder encoder = Charset.defaultCharset().newEncoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+			FileChannel channel = null;
+			
+			while (true) {
+				CharBuffer chunk = take(chunks);
+				
+				if (chunk == END_OF_CHUNKS) {
+					break;
+				}
+				
+				if (channel == null) {
+					output = new FileOutputStream(file);
+					channel = output.getChannel();
+					encode(encoder, CharBuffer.wrap(header), buffer, channel,
+							false);
+				}
+				
+				encode(encoder, chunk, buffer, channel, false);
+			}
+			
+			// rethrow any errors from the formatting and parsing threads; if
+			// formatting failed, the parsing thread may be blocked and is
+			// interrupted when the executor is shut down
+			await(formatting);
+			await(parsing);
+			
+			if (channel == null) {
+				output = new FileOutputStream(file);
+				channel = output.getChannel();
+				encode(encoder, CharBuffer.wrap(header), buffer, channel,
+						false);
+			}
+			
+			encode(encoder, CharBuffer.allocate(0), buffer, channel, true);
+			
+			while (encoder.flush(buffer).isOverflow()) {
+				drain(buffer, channel);
+			}
+			
+			drain(buffer, channel);
+		} finally {
+			executor.shutdownNow();
+			
+			try {
+				executor.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			
+			if (output != null) {
+				output.close();
+			}
+		}
+	}
+	
+	/**
+	 * Encodes the characters into the buffer, writing the buffer to the
+	 * channel whenever it fills.
+	 * 
+	 * @param encoder the character set encoder
+	 * @param chars the characters to encode
+	 * @param buffer the buffer
+	 * @param channel the channel where the encoded bytes are written
+	 * @param endOfInput {@code true} if no more characters follow;
+	 *        {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static void encode(CharsetEncoder encoder, CharBuffer chars,
+			ByteBuffer buffer, FileChannel channel, boolean endOfInput)
+			throws IOException {
+		while (true) {
+			CoderResult result = encoder.encode(chars, buffer, endOfInput);
+			
+			if (result.isOverflow()) {
+				drain(buffer, channel);
+			} else if (result.isUnderflow()) {
+				break;
+			} else {
+				result.throwException();
+			}
+		}
+	}
+	
+	/**
+	 * Writes the contents of the buffer to the channel and clears the buffer.
+	 * 
+	 * @param buffer the buffer
+	 * @param channel the channel
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static void drain(ByteBuffer buffer, FileChannel channel)
+			throws IOException {
+		buffer.flip();
+		
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		
+		buffer.clear();
+	}
+	
+	/**
+	 * Takes the next element from the queue, waiting if necessary.
+	 * 
+	 * @param queue the queue
+	 * @return the next element from the queue
+	 */
+	private static <T> T take(BlockingQueue<T> queue) {
+		try {
+			return queue.take();
+		} catch (InterruptedException e) {
+			throw new FrameworkException(e);
+		}
+	}
+	
+	/**
+	 * Adds the element to the queue, waiting if necessary.
+	 * 
+	 * @param queue the queue
+	 * @param element the element
+	 */
+	private static <T> void put(BlockingQueue<T> queue, T element) {
+		try {
+			queue.put(element);
+		} catch (InterruptedException e) {
+			throw new FrameworkException(e);
+		}
+	}
+	
+	/**
+	 * Signals the end of the elements after a failure.  The consumer may no
+	 * longer be taking elements from the queue, so the remaining elements are
+	 * discarded to ensure the marker is added without waiting.  This must
+	 * only be invoked by the sole producer for the queue.
+	 * 
+	 * @param queue the queue
+	 * @param marker the marker signaling the end of the elements
+	 */
+	private static <T> void abort(BlockingQueue<T> queue, T marker) {
+		queue.clear();
+		queue.offer(marker);
+	}
+	
+	/**
+	 * Waits for the task to complete, rethrowing any error thrown by the task.
+	 * 
+	 * @param future the task
+	 */
+	private static void await(Future<Void> future) {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			throw new FrameworkException(e);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			} else if (e.getCause() instanceof Error) {
+				throw (Error)e.getCause();
+			} else {
+				throw new FrameworkException(e.getCause());
+			}
+		}
+	}
+	
+	/**
+	 * The parsing stage, reading entries from the result file.
+	 */
+	private class Parser implements Callable<Void> {
+	
+		/**
+		 * The result file reader.
+		 */
+		private final ResultFileReader reader;
+		
+		/**
+		 * The queue receiving the entries.
+		 */
+		private final BlockingQueue<ResultEntry> entries;
+		
+		/**
+		 * Constructs the parsing stage.
+		 * 
+		 * @param reader the result file reader
+		 * @param entries the queue receiving the entries
+		 */
+		public Parser(ResultFileReader reader,
+				BlockingQueue<ResultEntry> entries) {
+			super();
+			this.reader = reader;
+			this.entries = entries;
+		}
+		
+		@Override
+		public Void call() {
+			boolean completed = false;
+			
+			try {
+				ResultEntry last = null;
+				
+				while (reader.hasNext()) {
+					ResultEntry entry = reader.next();
+					
+					if (lastEntryOnly) {
+						last = entry;
+					} else {
+						put(entries, entry);
+					}
+				}
+				
+				if (lastEntryOnly) {
+					if (last == null) {
+						last = new ResultEntry(new NondominatedPopulation(),
+								new Properties());
+					}
+					
+					put(entries, last);
+				}
+				
+				put(entries, END_OF_ENTRIES);
+				completed = true;
+			} finally {
+				if (!completed) {
+					abort(entries, END_OF_ENTRIES);
+				}
+			}
+			
+			return null;
+		}
+	
+	}
+	
+	/**
+	 * The formatting stage, formatting entries as text.
+	 */
+	private class Formatter implements Callable<Void> {
+	
+		/**
+		 * The queue supplying the entries.
+		 */
+		private final BlockingQueue<ResultEntry> entries;
+		
+		/**
+		 * The queue receiving the formatted text.
+		 */
+		private final BlockingQueue<CharBuffer> chunks;
+		
+		/**
+		 * Constructs the formatting stage.
+		 * 
+		 * @param entries the queue supplying the entries
+		 * @param chunks the queue receiving the formatted text
+		 */
+		public Formatter(BlockingQueue<ResultEntry> entries,
+				BlockingQueue<CharBuffer> chunks) {
+			super();
+			this.entries = entries;
+			this.chunks = chunks;
+		}
+		
+		@Override
+		public Void call() {
+			StringBuilder builder = new StringBuilder(2*CHUNK_SIZE);
+			boolean completed = false;
+			
+			try {
+				while (true) {
+					ResultEntry entry = take(entries);
+					
+					if (entry == END_OF_ENTRIES) {
+						break;
+					}
+					
+					formatter.format(entry, builder);
+					
+					if (builder.length() >= CHUNK_SIZE) {
+						flush(builder);
+					}
+				}
+				
+				if (builder.length() > 0) {
+					flush(builder);
+				}
+				
+				put(chunks, END_OF_CHUNKS);
+				completed = true;
+			} finally {
+				if (!completed) {
+					abort(chunks, END_OF_CHUNKS);
+				}
+			}
+			
+			return null;
+		}
+		
+		/**
+		 * Hands the formatted text to the writer and clears the builder.
+		 * 
+		 * @param builder the builder containing the formatted text
+		 */
+		private void flush(StringBuilder builder) {
+			char[] chars = new char[builder.length()];
+			builder.getChars(0, chars.length, chars, 0);
+			builder.setLength(0);
+			put(chunks, CharBuffer.wrap(chars));
+		}
+	
+	}
+
+}
@@ -44,7 +44,6 @@ import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.core.variable.EncodingUtils;
 import org.moeaframework.problem.ExternalProblem;
 import org.moeaframework.util.CommandLineUtility;
-import org.moeaframework.util.io.FileUtils;
 
 /**
  * Command line utility for solving an optimization problem using any of the
@@ -617,7 +616,7 @@ public class Solve extends CommandLineUtility {
 						problem);
 
 				// if the output file exists, delete first to avoid appending
-				FileUtils.delete(file);
+				ResultFileWriter.delete(file);
 				
 				try {
 					writer = new ResultFileWriter(problem, file);
@@ -0,0 +1,59 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+/**
+ * Interface for algorithms supporting asynchronous, steady-state evaluation.
+ * Instead of evaluating solutions within {@link #step()}, the algorithm hands
+ * out solutions through {@link #nextSolution()} and receives them back,
+ * evaluated, through {@link #onEvaluated(Solution)}.  Solutions may be
+ * returned in any order, and more solutions may be requested before earlier
+ * ones are returned, allowing a scheduler to keep several evaluations in
+ * flight at all times.
+ * <p>
+ * The first solutions handed out are the initial population.  Once all
+ * initial solutions are handed out, offspring are generated from the solutions
+ * returned so far.  An algorithm should be driven either by {@link #step()}
+ * or by these two methods, but not both.
+ *
+ * @see org.moeaframework.util.distributed.AsynchronousScheduler
+ */
+public interface AsynchronousAlgorithm extends Algorithm {
+
+	/**
+	 * Returns the next solution to be evaluated, initializing this algorithm
+	 * if necessary.  The returned solution must be passed to
+	 * {@link #onEvaluated(Solution)} after being evaluated with
+	 * {@link Problem#evaluate(Solution)}.
+	 * 
+	 * @return the next solution to be evaluated, or {@code null} if no
+	 *         solution can be generated until more evaluated solutions are
+	 *         returned
+	 */
+	public Solution nextSolution();
+	
+	/**
+	 * Incorporates a solution previously returned by {@link #nextSolution()}
+	 * that has since been evaluated.  This method also counts the evaluation
+	 * towards {@link #getNumberOfEvaluations()}.
+	 * 
+	 * @param solution the evaluated solution
+	 */
+	public void onEvaluated(Solution solution);
+
+}
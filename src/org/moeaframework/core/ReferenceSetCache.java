@@ -0,0 +1,420 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.moeaframework.util.io.CommentedLineReader;
+
+/**
+ * Process-wide cache of reference sets.  Loading a reference set from its text
+ * form requires parsing the file and filtering the solutions for
+ * non-dominance, which is quadratic in the size of the reference set.  This
+ * cache performs this work once per file and stores the resulting objective
+ * vectors in a compact, flat array.  Each request then returns a new
+ * {@link NondominatedPopulation} built from the cached values without
+ * repeating the non-dominance checks.  The least recently used reference sets
+ * are evicted once the cache exceeds
+ * {@link Settings#getReferenceSetCacheSize()} entries.
+ * <p>
+ * Reference sets may also be precompiled into a binary form using
+ * {@link #writeBinary(File, Iterable)}.  Binary files are memory-mapped when
+ * loaded and their contents are trusted to be non-dominated.  The cached
+ * entry reads directly from the mapping, which remains open until the entry
+ * is evicted and garbage collected.  When loading a text file, a binary file
+ * with the same name plus the {@value #BINARY_SUFFIX} suffix is used in its
+ * place if it is at least as recent as the text file.
+ * <p>
+ * This class is thread safe.
+ */
+public class ReferenceSetCache {
+	
+	/**
+	 * The suffix appended to the name of a reference set file to locate its
+	 * precompiled binary form.
+	 */
+	public static final String BINARY_SUFFIX = ".bin";
+	
+	/**
+	 * The magic number identifying binary reference set files.
+	 */
+	private static final int MAGIC = 0x4D4F5253;
+	
+	/**
+	 * The version of the binary reference set format.
+	 */
+	private static final int VERSION = 1;
+	
+	/**
+	 * The size, in bytes, of the header of binary reference set files.
+	 */
+	private static final int HEADER_SIZE = 16;
+	
+	/**
+	 * The cached reference sets, ordered from least to most recently used.
+	 */
+	private static final Map<String, Entry> CACHE = 
+			new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+				
+				private static final long serialVersionUID = 
+						-6384018213389612637L;
+				
+				@Override
+				protected boolean removeEldestEntry(
+						Map.Entry<String, Entry> eldest) {
+					return size() > Settings.getReferenceSetCacheSize();
+				}
+				
+			};
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private ReferenceSetCache() {
+		super();
+	}
+	
+	/**
+	 * Returns the reference set stored in the given file, which may be either
+	 * in the text format read by {@link PopulationIO#readObjectives(File)} or
+	 * the binary format written by {@link #writeBinary(File, Iterable)}.
+	 * Each invocation returns a new population that may be freely modified by
+	 * the caller.
+	 * 
+	 * @param file the file containing the reference set
+	 * @return the reference set stored in the given file
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static NondominatedPopulation load(File file) throws IOException {
+		if (!file.exists()) {
+			throw new FileNotFoundException(file.getPath());
+		}
+		
+		String key = file.getCanonicalPath();
+		Entry entry = null;
+		
+		synchronized (CACHE) {
+			entry = CACHE.get(key);
+		}
+		
+		if ((entry == null) || (entry.lastModified != file.lastModified()) ||
+				(entry.length != file.length())) {
+			File binaryFile = new File(file.getPath() + BINARY_SUFFIX);
+			
+			if (isBinary(file)) {
+				entry = readBinary(file);
+			} else if (binaryFile.exists() && 
+					(binaryFile.lastModified() >= file.lastModified())) {
+				entry = readBinary(binaryFile);
+			} else {
+				entry = new Entry(new NondominatedPopulation(
+						PopulationIO.readObjectives(file)));
+			}
+			
+			entry.lastModified = file.lastModified();
+			entry.length = file.length();
+			
+			synchronized (CACHE) {
+				CACHE.put(key, entry);
+			}
+		}
+		
+		return entry.toPopulation();
+	}
+	
+	/**
+	 * Returns the reference set stored in the given resource.  The resource is
+	 * first located on the file system, relative to the working directory,
+	 * and then on the classpath.  Resources on the classpath must be in the
+	 * text format.  Each invocation returns a new population that may be
+	 * freely modified by the caller.
+	 * 
+	 * @param resource the name of the resource, such as
+	 *        {@code "pf/DTLZ2.2D.pf"}
+	 * @return the reference set stored in the given resource
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static NondominatedPopulation loadResource(String resource)
+			throws IOException {
+		File file = new File(resource);
+		
+		if (file.exists()) {
+			return load(file);
+		}
+		
+		String key = "classpath:" + resource;
+		Entry entry = null;
+		
+		synchronized (CACHE) {
+			entry = CACHE.get(key);
+		}
+		
+		if (entry == null) {
+			InputStream input = ReferenceSetCache.class.getResourceAsStream(
+					"/" + resource);
+			
+			if (input == null) {
+				throw new FileNotFoundException(resource);
+			}
+			
+			try {
+				entry = new Entry(new NondominatedPopulation(
+						PopulationIO.readObjectives(new CommentedLineReader(
+								new InputStreamReader(input)))));
+			} finally {
+				input.close();
+			}
+			
+			synchronized (CACHE) {
+				CACHE.put(key, entry);
+			}
+		}
+		
+		return entry.toPopulation();
+	}
+	
+	/**
+	 * Removes all reference sets from this cache.
+	 */
+	public static void clear() {
+		synchronized (CACHE) {
+			CACHE.clear();
+		}
+	}
+	
+	/**
+	 * Writes the objective vectors of the solutions to a file in the binary
+	 * reference set format.  The solutions are written as-is, so the caller
+	 * must ensure they are non-dominated.  All solutions must have the same
+	 * number of objectives.
+	 * 
+	 * @param file the file to create
+	 * @param solutions the non-dominated solutions
+	 * @throws IOException if an I/O error occurred
+	 */
+	public static void writeBinary(File file, Iterable<Solution> solutions)
+			throws IOException {
+		int numberOfSolutions = 0;
+		int numberOfObjectives = 0;
+		
+		for (Solution solution : solutions) {
+			numberOfObjectives = solution.getNumberOfObjectives();
+			numberOfSolutions++;
+		}
+		
+		DataOutputStream output = null;
+		
+		try {
+			output = new DataOutputStream(new BufferedOutputStream(
+					new FileOutputStream(file)));
+			output.writeInt(MAGIC);
+			output.writeInt(VERSION);
+			output.writeInt(numberOfSolutions);
+			output.writeInt(numberOfObjectives);
+			
+			for (Solution solution : solutions) {
+				if (solution.getNumberOfObjectives() != numberOfObjectives) {
+					throw new IllegalArgumentException(
+							"solutions must have the same number of objectives");
+				}
+				
+				for (int i = 0; i < numberOfObjectives; i++) {
+					output.writeDouble(solution.getObjective(i));
+				}
+			}
+		} finally {
+			if (output != null) {
+				output.close();
+			}
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the file starts with the magic number of the
+	 * binary reference set format; {@code false} otherwise.
+	 * 
+	 * @param file the file
+	 * @return {@code true} if the file starts with the magic number of the
+	 *         binary reference set format; {@code false} otherwise
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static boolean isBinary(File file) throws IOException {
+		if (file.length() < HEADER_SIZE) {
+			return false;
+		}
+		
+		FileInputStream input = null;
+		
+		try {
+			input = new FileInputStream(file);
+			byte[] bytes = new byte[4];
+			
+			return (input.read(bytes) == 4) &&
+					(ByteBuffer.wrap(bytes).getInt() == MAGIC);
+		} finally {
+			if (input != null) {
+				input.close();
+			}
+		}
+	}
+	
+	/**
+	 * Memory-maps and reads a reference set in the binary format.
+	 * 
+	 * @param file the file in the binary format
+	 * @return the cache entry storing the reference set
+	 * @throws IOException if an I/O error occurred or the file is not in the
+	 *         binary format
+	 */
+	private static Entry readBinary(File file) throws IOException {
+		FileInputStream input = null;
+		
+		try {
+			input = new FileInputStream(file);
+			FileChannel channel = input.getChannel();
+			MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY,
+					0, channel.size());
+			
+			if ((buffer.getInt() != MAGIC) || (buffer.getInt() != VERSION)) {
+				throw new IOException("unsupported reference set format: " +
+						file);
+			}
+			
+			int numberOfSolutions = buffer.getInt();
+			int numberOfObjectives = buffer.getInt();
+			DoubleBuffer doubles = buffer.asDoubleBuffer();
+			
+			if (doubles.remaining() < 
+					(long)numberOfSolutions * numberOfObjectives) {
+				throw new IOException("truncated reference set: " + file);
+			}
+			
+			// the mapping remains valid after the channel is closed
+			doubles.limit(numberOfSolutions * numberOfObjectives);
+			
+			return new Entry(numberOfObjectives, doubles.slice());
+		} finally {
+			if (input != null) {
+				input.close();
+			}
+		}
+	}
+	
+	/**
+	 * A cached reference set, stored as a flat buffer of objective values.
+	 * Reference sets read from binary files are backed directly by the
+	 * memory-mapped file.
+	 */
+	private static class Entry {
+		
+		/**
+		 * The number of objectives.
+		 */
+		private final int numberOfObjectives;
+		
+		/**
+		 * The objective values, stored row-by-row.  This buffer is never
+		 * read through its own position, so it can be shared by concurrent
+		 * readers.
+		 */
+		private final DoubleBuffer values;
+		
+		/**
+		 * The last modified time of the source file; or {@code 0} if the
+		 * reference set was not loaded from a file.
+		 */
+		private long lastModified;
+		
+		/**
+		 * The length of the source file; or {@code 0} if the reference set was
+		 * not loaded from a file.
+		 */
+		private long length;
+		
+		/**
+		 * Constructs a new cache entry storing the given objective values.
+		 * 
+		 * @param numberOfObjectives the number of objectives
+		 * @param values the objective values, stored row-by-row
+		 */
+		public Entry(int numberOfObjectives, DoubleBuffer values) {
+			super();
+			this.numberOfObjectives = numberOfObjectives;
+			this.values = values;
+		}
+		
+		/**
+		 * Constructs a new cache entry storing the objective values of the
+		 * given non-dominated population.
+		 * 
+		 * @param population the non-dominated population
+		 */
+		public Entry(NondominatedPopulation population) {
+			this(population.isEmpty() ? 0 : 
+					population.get(0).getNumberOfObjectives(),
+					DoubleBuffer.allocate(population.isEmpty() ? 0 :
+							population.size() *
+							population.get(0).getNumberOfObjectives()));
+			
+			int index = 0;
+			
+			for (Solution solution : population) {
+				for (int i = 0; i < numberOfObjectives; i++) {
+					values.put(index++, solution.getObjective(i));
+				}
+			}
+		}
+		
+		/**
+		 * Returns a new population containing the cached reference set.
+		 * 
+		 * @return a new population containing the cached reference set
+		 */
+		public NondominatedPopulation toPopulation() {
+			NondominatedPopulation population = new NondominatedPopulation();
+			
+			if (numberOfObjectives > 0) {
+				DoubleBuffer buffer = values.duplicate();
+				
+				while (buffer.hasRemaining()) {
+					double[] objectives = new double[numberOfObjectives];
+					buffer.get(objectives);
+					population.forceAddWithoutCheck(new Solution(objectives));
+				}
+			}
+			
+			return population;
+		}
+		
+	}
+
+}
@@ -149,6 +149,13 @@ public class Settings {
 	 */
 	public static final String KEY_PISA_POLL = KEY_PISA_PREFIX + "poll";
 	
+	/**
+	 * The property key for the transport used to communicate with PISA
+	 * selectors.
+	 */
+	public static final String KEY_PISA_TRANSPORT = KEY_PISA_PREFIX +
+			"transport";
+	
 	/**
 	 * The property key for the file protection mode.
 	 */
@@ -161,12 +168,33 @@ public class Settings {
 	public static final String KEY_FILE_PROTECTION_FORMAT = KEY_PREFIX +
 			"util.io.file_protection_format";
 	
+	/**
+	 * The property key for the size, in bytes, of the blocks digested
+	 * individually by file protection.
+	 */
+	public static final String KEY_FILE_PROTECTION_BLOCK_SIZE = KEY_PREFIX +
+			"util.io.file_protection_block_size";
+	
 	/**
 	 * The property key for the algorithms available in the diagnostic tool.
 	 */
 	public static final String KEY_DIAGNOSTIC_TOOL_ALGORITHMS = KEY_PREFIX +
 			"analysis.diagnostics.algorithms";
 	
+	/**
+	 * The property key for the number of seeds the diagnostic tool runs in
+	 * parallel.
+	 */
+	public static final String KEY_DIAGNOSTIC_TOOL_THREADS = KEY_PREFIX +
+			"analysis.diagnostics.threads";
+	
+	/**
+	 * The property key for enabling packed approximation sets in the
+	 * diagnostic tool.
+	 */
+	public static final String KEY_DIAGNOSTIC_TOOL_PACKED_APPROXIMATION_SETS =
+			KEY_PREFIX + "analysis.diagnostics.packed_approximation_sets";
+	
 	/**
 	 * The property key for the problems available in the diagnostic tool.
 	 */
@@ -186,6 +214,39 @@ public class Settings {
 	public static final String KEY_CLEANUP_STRATEGY = KEY_PREFIX + 
 			"analysis.sensitivity.cleanup";
 	
+	/**
+	 * The property key for the compression method of binary result files.
+	 */
+	public static final String KEY_RESULT_FILE_COMPRESSION = KEY_PREFIX +
+			"analysis.sensitivity.result_file_compression";
+	
+	/**
+	 * The property key for the size, in bytes, of the blocks in binary result
+	 * files.
+	 */
+	public static final String KEY_RESULT_FILE_BLOCK_SIZE = KEY_PREFIX +
+			"analysis.sensitivity.result_file_block_size";
+	
+	/**
+	 * The property key for the maximum number of cached reference sets.
+	 */
+	public static final String KEY_REFERENCE_SET_CACHE_SIZE = KEY_PREFIX +
+			"core.reference_set_cache_size";
+	
+	/**
+	 * The property key for enabling copy-on-write objectives and constraints
+	 * in {@link Solution#copy()}.
+	 */
+	public static final String KEY_COPY_ON_WRITE = KEY_PREFIX +
+			"core.copy_on_write";
+	
+	/**
+	 * The property key for enabling pooling of problem instances in the
+	 * default {@link org.moeaframework.core.spi.ProblemFactory}.
+	 */
+	public static final String KEY_PROBLEM_POOLING = KEY_PREFIX +
+			"core.problem_pooling";
+	
 	/**
 	 * The property key for listing the allowed packages that can be
 	 * instrumented.
@@ -411,6 +472,19 @@ public class Settings {
 		return PROPERTIES.getInt(KEY_PISA_POLL, 100);
 	}
 	
+	/**
+	 * Returns the transport used to communicate with PISA selectors.  The
+	 * default, {@code "poll"}, checks the state file once every poll
+	 * interval.  The {@code "spin"} transport checks the state file
+	 * continuously for a short period before backing off, reducing the
+	 * latency of each generation.
+	 * 
+	 * @return the transport used to communicate with PISA selectors
+	 */
+	public static String getPISATransport() {
+		return PROPERTIES.getString(KEY_PISA_TRANSPORT, "poll");
+	}
+	
 	/**
 	 * Returns the command, invokable through {@link Runtime#exec(String)}, for
 	 * starting the PISA selector.
@@ -490,6 +564,18 @@ public class Settings {
 				".{0}.md5");
 	}
 	
+	/**
+	 * Returns the size, in bytes, of the blocks digested individually by file
+	 * protection.  The block size is recorded in each digest file, so
+	 * changing this value only affects new digest files.
+	 * 
+	 * @return the size, in bytes, of the blocks digested individually by file
+	 *         protection
+	 */
+	public static int getFileProtectionBlockSize() {
+		return PROPERTIES.getInt(KEY_FILE_PROTECTION_BLOCK_SIZE, 0x100000);
+	}
+	
 	/**
 	 * Returns the list of algorithms displayed in the diagnostic tool GUI.
 	 * 
@@ -502,6 +588,33 @@ public class Settings {
 				"IBEA", "SMS-EMOA", "VEGA", "DBEA", "Random" });
 	}
 	
+	/**
+	 * Returns the number of seeds the diagnostic tool runs in parallel.  By
+	 * default, this is the number of available processors.
+	 * 
+	 * @return the number of seeds the diagnostic tool runs in parallel
+	 */
+	public static int getDiagnosticToolThreads() {
+		return PROPERTIES.getInt(KEY_DIAGNOSTIC_TOOL_THREADS,
+				Runtime.getRuntime().availableProcessors());
+	}
+	
+	/**
+	 * Returns {@code true} if the diagnostic tool stores approximation sets as
+	 * packed blocks of objective and constraint values; {@code false}
+	 * otherwise.  Packing is enabled by default to reduce the memory used by
+	 * long runs, but the approximation set viewer can then only plot the
+	 * objectives and constraints, not the decision variables.
+	 * 
+	 * @return {@code true} if the diagnostic tool stores approximation sets as
+	 *         packed blocks of objective and constraint values; {@code false}
+	 *         otherwise
+	 */
+	public static boolean getDiagnosticToolPackedApproximationSets() {
+		return PROPERTIES.getBoolean(
+				KEY_DIAGNOSTIC_TOOL_PACKED_APPROXIMATION_SETS, true);
+	}
+	
 	/**
 	 * Returns the list of problems displayed in the diagnostic tool GUI.
 	 * 
@@ -562,6 +675,68 @@ public class Settings {
 		return PROPERTIES.getString(KEY_CLEANUP_STRATEGY, "error");
 	}
 	
+	/**
+	 * Returns the compression method used when writing binary result files.
+	 * Possible values are {@code none} and {@code deflate}.  The default is
+	 * {@code deflate}.
+	 * 
+	 * @return the compression method used when writing binary result files
+	 */
+	public static String getResultFileCompression() {
+		return PROPERTIES.getString(KEY_RESULT_FILE_COMPRESSION, "deflate");
+	}
+	
+	/**
+	 * Returns the uncompressed size, in bytes, of the blocks in binary result
+	 * files.  Larger blocks compress better, but more entries are lost if the
+	 * file is not closed properly.  {@code ResultFileWriter} writes each entry
+	 * as soon as it is appended, so that resumed runs lose no entries, and
+	 * therefore stores one entry per block regardless of this setting.
+	 * 
+	 * @return the uncompressed size, in bytes, of the blocks in binary result
+	 *         files
+	 */
+	public static int getResultFileBlockSize() {
+		return PROPERTIES.getInt(KEY_RESULT_FILE_BLOCK_SIZE, 0x40000);
+	}
+	
+	/**
+	 * Returns the maximum number of reference sets cached by
+	 * {@link ReferenceSetCache}.  The default is {@code 16}.  A value of
+	 * {@code 0} disables caching.
+	 * 
+	 * @return the maximum number of cached reference sets
+	 */
+	public static int getReferenceSetCacheSize() {
+		return PROPERTIES.getInt(KEY_REFERENCE_SET_CACHE_SIZE, 16);
+	}
+	
+	/**
+	 * Returns {@code true} if copies of solutions share the objective and
+	 * constraint arrays until they are modified; {@code false} if the arrays
+	 * are always copied.  The default is {@code true}.  This value is read
+	 * once when {@link Solution} is first loaded.
+	 * 
+	 * @return {@code true} if copies of solutions use copy-on-write objectives
+	 *         and constraints; {@code false} otherwise
+	 */
+	public static boolean isCopyOnWrite() {
+		return PROPERTIES.getBoolean(KEY_COPY_ON_WRITE, true);
+	}
+	
+	/**
+	 * Returns {@code true} if new problem factories pool problem instances;
+	 * {@code false} otherwise.  The default is {@code false}.  See
+	 * {@link org.moeaframework.core.spi.ProblemFactory#setPoolingEnabled(boolean)}
+	 * for details.
+	 * 
+	 * @return {@code true} if new problem factories pool problem instances;
+	 *         {@code false} otherwise
+	 */
+	public static boolean isProblemPooling() {
+		return PROPERTIES.getBoolean(KEY_PROBLEM_POOLING, false);
+	}
+	
 	/**
 	 * Returns the allowed packages that can be instrumented.  By default, only
 	 * packages in "org.moeaframework" can be instrumented.
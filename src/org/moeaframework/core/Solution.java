@@ -32,6 +32,14 @@ import org.apache.commons.lang3.SerializationUtils;
  * Solutions should only be constructed in {@link Problem#newSolution()} or 
  * cloned from an existing solution with {@link #copy()}.  This ensures the
  * solutions and configured correctly for the given optimization problem.
+ * <p>
+ * By default, copies share the objective and constraint arrays with the
+ * original solution until either solution modifies them (copy-on-write), and
+ * the attribute map is only allocated when the first attribute is set.  Set
+ * {@code org.moeaframework.core.copy_on_write = false} to always copy the
+ * arrays eagerly.  Copying a solution that is already shared does not modify
+ * it, so a solution may be copied by several threads concurrently, but, as
+ * before, it must not be modified while another thread is copying it.
  */
 public class Solution implements Serializable {
 
@@ -42,20 +50,55 @@ public class Solution implements Serializable {
 	 */
 	private final Variable[] variables;
 
+	/**
+	 * {@code true} if copies share the objective and constraint arrays until
+	 * they are modified; {@code false} if the arrays are always copied.
+	 */
+	private static final boolean COPY_ON_WRITE = Settings.isCopyOnWrite();
+
 	/**
 	 * The objectives of this solution.
 	 */
-	private final double[] objectives;
+	private double[] objectives;
 
 	/**
 	 * The constraints of this solution.
 	 */
-	private final double[] constraints;
+	private double[] constraints;
+
+	/**
+	 * {@code true} if the objectives array may be shared with another
+	 * solution and must be copied before being modified.  This flag is only
+	 * ever set once by the copy constructor, and is volatile so that setting
+	 * it is visible to the thread that later modifies this solution.
+	 */
+	private transient volatile boolean sharedObjectives;
+
+	/**
+	 * {@code true} if the constraints array may be shared with another
+	 * solution and must be copied before being modified.
+	 * 
+	 * @see #sharedObjectives
+	 */
+	private transient volatile boolean sharedConstraints;
+
+	/**
+	 * The cached sum of the absolute constraint values, valid only if
+	 * {@code constraintViolationCached} is {@code true}.
+	 */
+	private transient double constraintViolation;
+
+	/**
+	 * {@code true} if {@code constraintViolation} is valid; {@code false} if
+	 * it must be recomputed.
+	 */
+	private transient boolean constraintViolationCached;
 
 	/**
-	 * The attributes of this solutions.
+	 * The attributes of this solutions, or {@code null} if no attributes have
+	 * been set.
 	 */
-	private final Map<String, Serializable> attributes;
+	private Map<String, Serializable> attributes;
 
 	/**
 	 * Constructs a solution with the specified number of variables and 
@@ -84,7 +127,6 @@ public class Solution implements Serializable {
 		variables = new Variable[numberOfVariables];
 		objectives = new double[numberOfObjectives];
 		constraints = new double[numberOfConstraints];
-		attributes = new HashMap<String, Serializable>();
 	}
 
 	/**
@@ -107,20 +149,52 @@ public class Solution implements Serializable {
 	 * @param solution the solution being copied
 	 */
 	protected Solution(Solution solution) {
-		this(solution.getNumberOfVariables(), solution.getNumberOfObjectives(),
-				solution.getNumberOfConstraints());
-
-		for (int i = 0; i < solution.getNumberOfVariables(); i++) {
-			setVariable(i, solution.getVariable(i).copy());
-		}
+		this(solution, COPY_ON_WRITE, true);
+	}
 
-		for (int i = 0; i < getNumberOfObjectives(); i++) {
-			setObjective(i, solution.getObjective(i));
+	/**
+	 * Constructs a copy of the specified solution.
+	 * 
+	 * @param solution the solution being copied
+	 * @param share {@code true} if the objective and constraint arrays are
+	 *        shared until modified; {@code false} if they are copied
+	 * @param copyVariables {@code true} if the decision variables are copied;
+	 *        {@code false} if they are shared with the original solution
+	 */
+	private Solution(Solution solution, boolean share, boolean copyVariables) {
+		super();
+		variables = new Variable[solution.getNumberOfVariables()];
+
+		for (int i = 0; i < variables.length; i++) {
+			if (copyVariables) {
+				variables[i] = solution.getVariable(i).copy();
+			} else {
+				variables[i] = solution.getVariable(i);
+			}
 		}
 
-		for (int i = 0; i < getNumberOfConstraints(); i++) {
-			setConstraint(i, solution.getConstraint(i));
+		if (share) {
+			objectives = solution.objectives;
+			constraints = solution.constraints;
+			sharedObjectives = true;
+			sharedConstraints = true;
+			
+			// only mark the original the first time it is shared, so copying
+			// an already shared solution never writes to it
+			if (!solution.sharedObjectives) {
+				solution.sharedObjectives = true;
+			}
+			
+			if (!solution.sharedConstraints) {
+				solution.sharedConstraints = true;
+			}
+		} else {
+			objectives = solution.objectives.clone();
+			constraints = solution.constraints.clone();
 		}
+		
+		constraintViolation = solution.constraintViolation;
+		constraintViolationCached = solution.constraintViolationCached;
 	}
 
 	/**
@@ -140,6 +214,21 @@ public class Solution implements Serializable {
 		return new Solution(this);
 	}
 	
+	/**
+	 * Returns a lightweight view of this solution intended for computations
+	 * that only read or modify the objectives and constraints, such as
+	 * normalization.  The view shares the decision variables with this
+	 * solution, and shares the objectives and constraints until either
+	 * solution modifies them.  Unlike {@link #copy()}, the returned view is
+	 * not independent of this solution if its decision variables are
+	 * modified, and is always of type {@code Solution}.
+	 * 
+	 * @return a lightweight view of this solution
+	 */
+	public Solution view() {
+		return new Solution(this, true, false);
+	}
+	
 	/**
 	 * Similar to {@link #copy()} except all attributes are also copied.  As a
 	 * result, this method tends to be significantly slower than {@code copy()}
@@ -150,10 +239,12 @@ public class Solution implements Serializable {
 	public Solution deepCopy() {
 		Solution copy = copy();
 		
-		for (Map.Entry<String, Serializable> entry : getAttributes().entrySet()) {
-			copy.setAttribute(
-					entry.getKey(),
-					SerializationUtils.clone(entry.getValue()));
+		if (attributes != null) {
+			for (Map.Entry<String, Serializable> entry : attributes.entrySet()) {
+				copy.setAttribute(
+						entry.getKey(),
+						SerializationUtils.clone(entry.getValue()));
+			}
 		}
 		
 		return copy;
@@ -219,6 +310,11 @@ public class Solution implements Serializable {
 	 *         {@code (index < 0) || (index >= getNumberOfObjectives())}
 	 */
 	public void setObjective(int index, double objective) {
+		if (sharedObjectives) {
+			objectives = objectives.clone();
+			sharedObjectives = false;
+		}
+		
 		objectives[index] = objective;
 	}
 
@@ -233,6 +329,11 @@ public class Solution implements Serializable {
 		if (objectives.length != this.objectives.length) {
 			throw new IllegalArgumentException("invalid number of objectives");
 		}
+		
+		if (sharedObjectives) {
+			this.objectives = new double[objectives.length];
+			sharedObjectives = false;
+		}
 
 		for (int i = 0; i < objectives.length; i++) {
 			this.objectives[i] = objectives[i];
@@ -249,6 +350,19 @@ public class Solution implements Serializable {
 		return objectives.clone();
 	}
 
+	/**
+	 * Returns the array storing the objectives of this solution without
+	 * copying it.  The returned array must not be modified, and may be shared
+	 * with copies of this solution.  This method is intended for
+	 * performance-critical code, such as dominance checks, that only reads the
+	 * objectives.
+	 * 
+	 * @return the array storing the objectives of this solution
+	 */
+	public double[] peekObjectives() {
+		return objectives;
+	}
+
 	/**
 	 * Sets the variable at the specified index.
 	 * 
@@ -301,10 +415,39 @@ public class Solution implements Serializable {
 		if (constraints.length != this.constraints.length) {
 			throw new IllegalArgumentException("invalid number of constraints");
 		}
+		
+		if (sharedConstraints) {
+			this.constraints = new double[constraints.length];
+			sharedConstraints = false;
+		}
 
 		for (int i = 0; i < constraints.length; i++) {
 			this.constraints[i] = constraints[i];
 		}
+		
+		constraintViolationCached = false;
+	}
+
+	/**
+	 * Returns the sum of the absolute values of the constraints of this
+	 * solution, which is {@code 0.0} if this solution is feasible.  The sum
+	 * is computed once and cached until the constraints are modified.
+	 * 
+	 * @return the sum of the absolute values of the constraints
+	 */
+	public double getConstraintViolation() {
+		if (!constraintViolationCached) {
+			double sum = 0.0;
+			
+			for (int i = 0; i < constraints.length; i++) {
+				sum += Math.abs(constraints[i]);
+			}
+			
+			constraintViolation = sum;
+			constraintViolationCached = true;
+		}
+		
+		return constraintViolation;
 	}
 
 	/**
@@ -326,7 +469,13 @@ public class Solution implements Serializable {
 	 *         {@code (index < 0) || (index >= getNumberOfConstraints())}
 	 */
 	public void setConstraint(int index, double constraint) {
+		if (sharedConstraints) {
+			constraints = constraints.clone();
+			sharedConstraints = false;
+		}
+		
 		constraints[index] = constraint;
+		constraintViolationCached = false;
 	}
 
 	/**
@@ -338,6 +487,10 @@ public class Solution implements Serializable {
 	 *         no value has been associated with the key
 	 */
 	public Object getAttribute(String key) {
+		if (attributes == null) {
+			return null;
+		}
+		
 		return attributes.get(key);
 	}
 
@@ -352,7 +505,7 @@ public class Solution implements Serializable {
 	 *         prior value has been associated with the key
 	 */
 	public Object setAttribute(String key, Serializable value) {
-		return attributes.put(key, value);
+		return getAttributes().put(key, value);
 	}
 
 	/**
@@ -365,6 +518,10 @@ public class Solution implements Serializable {
 	 *         prior value has been associated with the key
 	 */
 	public Object removeAttribute(String key) {
+		if (attributes == null) {
+			return null;
+		}
+		
 		return attributes.remove(key);
 	}
 
@@ -377,6 +534,10 @@ public class Solution implements Serializable {
 	 *         attributes; {@code false} otherwise
 	 */
 	public boolean hasAttribute(String key) {
+		if (attributes == null) {
+			return false;
+		}
+		
 		return attributes.containsKey(key);
 	}
 
@@ -386,6 +547,10 @@ public class Solution implements Serializable {
 	 * @return the {@code Map} containing this solution's attributes
 	 */
 	public Map<String, Serializable> getAttributes() {
+		if (attributes == null) {
+			attributes = new HashMap<String, Serializable>();
+		}
+		
 		return attributes;
 	}
 
@@ -403,7 +568,9 @@ public class Solution implements Serializable {
 	 * Removes all keys and values from this solution's attributes.
 	 */
 	public void clearAttributes() {
-		attributes.clear();
+		if (attributes != null) {
+			attributes.clear();
+		}
 	}
 
 }
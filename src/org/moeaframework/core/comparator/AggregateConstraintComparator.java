@@ -43,27 +43,35 @@ Comparator<Solution>, Serializable {
 	 * Returns the sum of the absolute value of the constraints for the
 	 * specified solution. This allows supporting constraints expressed as both
 	 * positive and negative magnitudes. Larger magnitudes correspond to larger
-	 * constraint violations.
+	 * constraint violations.  The sum is cached by the solution; see
+	 * {@link Solution#getConstraintViolation()}.
 	 * 
 	 * @param solution the solution
 	 * @return the sum of the absolute value of the constraints for the
 	 *         specified solution
 	 */
 	protected double getConstraints(Solution solution) {
-		double constraints = 0.0;
-
-		for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
-			constraints += Math.abs(solution.getConstraint(i));
-		}
-
-		return constraints;
+		return solution.getConstraintViolation();
 	}
 
 	@Override
 	public int compare(Solution solution1, Solution solution2) {
-		double constraints1 = getConstraints(solution1);
-		double constraints2 = getConstraints(solution2);
-
+		return compare(getConstraints(solution1), getConstraints(solution2));
+	}
+	
+	/**
+	 * Compares two aggregate constraint violations, preferring feasible
+	 * solutions and then smaller violations.
+	 * 
+	 * @param constraints1 the aggregate constraint violation of the first
+	 *        solution
+	 * @param constraints2 the aggregate constraint violation of the second
+	 *        solution
+	 * @return {@code -1}, {@code 0}, or {@code 1} if the first solution is
+	 *         preferred, neither is preferred, or the second solution is
+	 *         preferred, respectively
+	 */
+	static int compare(double constraints1, double constraints2) {
 		if ((constraints1 != 0.0) || (constraints2 != 0.0)) {
 			if (constraints1 == 0.0) {
 				return -1;
@@ -19,6 +19,8 @@ package org.moeaframework.core.comparator;
 
 import java.io.Serializable;
 
+import org.moeaframework.core.Solution;
+
 /**
  * Compares two solutions using aggregate constraint violation and the Pareto
  * dominance relation as originally proposed by Kalyanmoy Deb.
@@ -29,6 +31,14 @@ import java.io.Serializable;
  * Algorithms." Computer Methods in Applied Mechanics and Engineering, pp.
  * 311--338, 1998.
  * </ol>
+ * <p>
+ * This comparator is equivalent to chaining the
+ * {@link AggregateConstraintComparator} and {@link ParetoObjectiveComparator},
+ * but fuses both checks into a single method.  The aggregate constraint
+ * violation is cached by each solution, and the objectives are compared
+ * directly on the objective arrays.  Since archives, non-dominated sorting
+ * and tournament selection use this comparator by default, they all benefit
+ * from this fast path.
  * 
  * @see AggregateConstraintComparator
  * @see ParetoObjectiveComparator
@@ -46,4 +56,18 @@ Serializable {
 				new ParetoObjectiveComparator());
 	}
 
+	@Override
+	public int compare(Solution solution1, Solution solution2) {
+		int flag = AggregateConstraintComparator.compare(
+				solution1.getConstraintViolation(),
+				solution2.getConstraintViolation());
+		
+		if (flag != 0) {
+			return flag;
+		}
+		
+		return ParetoObjectiveComparator.compare(solution1.peekObjectives(),
+				solution2.peekObjectives());
+	}
+
 }
@@ -41,17 +41,35 @@ Serializable {
 
 	@Override
 	public int compare(Solution solution1, Solution solution2) {
+		return compare(solution1.peekObjectives(),
+				solution2.peekObjectives());
+	}
+	
+	/**
+	 * Compares two objective vectors using the Pareto dominance relation,
+	 * returning as soon as the vectors are found to be non-dominated.
+	 * 
+	 * @param objectives1 the objectives of the first solution
+	 * @param objectives2 the objectives of the second solution
+	 * @return {@code -1} if the first solution dominates the second,
+	 *         {@code 1} if the second solution dominates the first, or
+	 *         {@code 0} if the solutions are non-dominated
+	 */
+	static int compare(double[] objectives1, double[] objectives2) {
 		boolean dominate1 = false;
 		boolean dominate2 = false;
 
-		for (int i = 0; i < solution1.getNumberOfObjectives(); i++) {
-			if (solution1.getObjective(i) < solution2.getObjective(i)) {
+		for (int i = 0; i < objectives1.length; i++) {
+			double objective1 = objectives1[i];
+			double objective2 = objectives2[i];
+			
+			if (objective1 < objective2) {
 				dominate1 = true;
 
 				if (dominate2) {
 					return 0;
 				}
-			} else if (solution1.getObjective(i) > solution2.getObjective(i)) {
+			} else if (objective1 > objective2) {
 				dominate2 = true;
 
 				if (dominate1) {
@@ -300,7 +300,7 @@ public class Hypervolume extends NormalizedIndicator {
 				}
 			}
 			
-			Solution clone = solution.copy();
+			Solution clone = solution.view();
 					
 			if (isInverted) {
 				invert(problem, clone);
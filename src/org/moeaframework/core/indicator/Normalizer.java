@@ -30,6 +30,9 @@ import org.moeaframework.core.Solution;
  * [0, 1]}.  This normalization ignores infeasible solutions, so the resulting
  * normalized population contains no infeasible solutions.  A reference set
  * should be used to ensure the normalization is uniformly applied.
+ * <p>
+ * The normalized solutions are views created by {@link Solution#view()}, so
+ * they share their decision variables with the original solutions.
  */
 public class Normalizer {
 	
@@ -261,8 +264,9 @@ public class Normalizer {
 	}
 	
 	/**
-	 * Performs the actual normalization.  Each solution in {@code originalSet}
-	 * is copied, normalized and added to {@code normalizedSet}.
+	 * Performs the actual normalization.  A view of each solution in
+	 * {@code originalSet} is normalized and added to {@code normalizedSet}.
+	 * The views share decision variables with the original solutions.
 	 * 
 	 * @param originalSet the unnormalized population
 	 * @param normalizedSet the normalized population
@@ -273,7 +277,7 @@ public class Normalizer {
 				continue;
 			}
 			
-			Solution clone = solution.copy();
+			Solution clone = solution.view();
 	
 			for (int j = 0; j < problem.getNumberOfObjectives(); j++) {
 				clone.setObjective(j,
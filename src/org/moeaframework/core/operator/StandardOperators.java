@@ -47,10 +47,12 @@ import org.moeaframework.core.operator.subset.SSX;
 import org.moeaframework.core.spi.OperatorProvider;
 import org.moeaframework.core.spi.ProviderLookupException;
 import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.EncodingUtils;
 import org.moeaframework.core.variable.Grammar;
 import org.moeaframework.core.variable.Permutation;
 import org.moeaframework.core.variable.Program;
 import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.core.variable.RealVector;
 import org.moeaframework.core.variable.Subset;
 import org.moeaframework.util.TypedProperties;
 
@@ -222,7 +224,8 @@ public class StandardOperators extends OperatorProvider {
 		
 		Class<?> type = types.iterator().next();
 		
-		if (RealVariable.class.isAssignableFrom(type)) {
+		if (RealVariable.class.isAssignableFrom(type) ||
+				RealVector.class.isAssignableFrom(type)) {
 			return "pm";
 		} else if (BinaryVariable.class.isAssignableFrom(type)) {
 			return "bf";
@@ -260,7 +263,8 @@ public class StandardOperators extends OperatorProvider {
 		
 		Class<?> type = types.iterator().next();
 		
-		if (RealVariable.class.isAssignableFrom(type)) {
+		if (RealVariable.class.isAssignableFrom(type) ||
+				RealVector.class.isAssignableFrom(type)) {
 			return "sbx+pm";
 		} else if (BinaryVariable.class.isAssignableFrom(type)) {
 			return "hux+bf";
@@ -291,7 +295,7 @@ public class StandardOperators extends OperatorProvider {
 		} else if (name.equalsIgnoreCase("pm")) {
 			return new PM(
 					typedProperties.getDouble("pm.rate", 
-							1.0 / problem.getNumberOfVariables()), 
+							1.0 / getNumberOfReals(problem)), 
 							typedProperties.getDouble("pm.distributionIndex", 20.0));
 		} else if (name.equalsIgnoreCase("de")) {	
 			return new DifferentialEvolution(
@@ -317,7 +321,7 @@ public class StandardOperators extends OperatorProvider {
 		} else if (name.equalsIgnoreCase("um")) {
 			return new UM(
 					typedProperties.getDouble("um.rate", 
-							1.0 / problem.getNumberOfVariables()));
+							1.0 / getNumberOfReals(problem)));
 		} else if (name.equalsIgnoreCase("am")) {
 			return new AdaptiveMetropolis(
 					(int)typedProperties.getDouble("am.parents", 10),
@@ -369,5 +373,27 @@ public class StandardOperators extends OperatorProvider {
 			return null;
 		}
 	}
+	
+	/**
+	 * Returns the number of real-valued decision variables used to derive the
+	 * default mutation rates.  For problems encoded with a single
+	 * {@link RealVector}, this is the length of the vector; otherwise, it is
+	 * the number of decision variables.
+	 * 
+	 * @param problem the problem
+	 * @return the number of real-valued decision variables
+	 */
+	private int getNumberOfReals(Problem problem) {
+		if (problem.getNumberOfVariables() == 1) {
+			RealVector vector = EncodingUtils.getRealVector(
+					problem.newSolution());
+			
+			if (vector != null) {
+				return vector.size();
+			}
+		}
+		
+		return problem.getNumberOfVariables();
+	}
 
 }
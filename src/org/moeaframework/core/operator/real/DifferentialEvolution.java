@@ -20,7 +20,9 @@ package org.moeaframework.core.operator.real;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variation;
+import org.moeaframework.core.variable.EncodingUtils;
 import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.core.variable.RealVector;
 
 /**
  * 
@@ -96,6 +98,12 @@ public class DifferentialEvolution implements Variation {
 	@Override
 	public Solution[] evolve(Solution[] parents) {
 		Solution result = parents[0].copy();
+		RealVector vector = EncodingUtils.getRealVector(result);
+		
+		if (vector != null) {
+			evolve(vector, parents);
+			return new Solution[] { result };
+		}
 
 		int jrand = PRNG.nextInt(result.getNumberOfVariables());
 
@@ -122,5 +130,40 @@ public class DifferentialEvolution implements Variation {
 
 		return new Solution[] { result };
 	}
+	
+	/**
+	 * Applies differential evolution to the elements of a dense real-valued
+	 * vector.  The parent values are copied into primitive arrays once.
+	 * 
+	 * @param vector the vector of the offspring, initially a copy of
+	 *        {@code parents[0]}
+	 * @param parents the parent solutions
+	 */
+	private void evolve(RealVector vector, Solution[] parents) {
+		double[] y = vector.getValues();
+		double[] x1 = EncodingUtils.getReal(parents[1]);
+		double[] x2 = EncodingUtils.getReal(parents[2]);
+		double[] x3 = EncodingUtils.getReal(parents[3]);
+		
+		int jrand = PRNG.nextInt(y.length);
+		
+		for (int j = 0; j < y.length; j++) {
+			if ((PRNG.nextDouble() <= CR) || (j == jrand)) {
+				double value = x3[j] + F * (x1[j] - x2[j]);
+				
+				if (value < vector.getLowerBound(j)) {
+					value = vector.getLowerBound(j);
+				}
+				
+				if (value > vector.getUpperBound(j)) {
+					value = vector.getUpperBound(j);
+				}
+				
+				y[j] = value;
+			}
+		}
+		
+		vector.setValues(y);
+	}
 
 }
@@ -23,7 +23,6 @@ import java.util.List;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variation;
-import org.moeaframework.core.variable.RealVariable;
 import org.moeaframework.util.Vector;
 
 /**
@@ -179,13 +178,10 @@ public class PCX implements Variation {
 		}
 
 		int k = parents.length;
-		int n = parents[0].getNumberOfVariables();
-		double[][] x = new double[k][n];
+		double[][] x = new double[k][];
 
 		for (int i = 0; i < k; i++) {
-			for (int j = 0; j < n; j++) {
-				x[i][j] = ((RealVariable)parents[i].getVariable(j)).getValue();
-			}
+			x[i] = RealOperatorUtils.getValues(parents[i]);
 		}
 
 		double[] g = Vector.mean(x);
@@ -224,19 +220,7 @@ public class PCX implements Variation {
 		}
 
 		Solution result = parents[k - 1].copy();
-
-		for (int j = 0; j < n; j++) {
-			RealVariable variable = (RealVariable)result.getVariable(j);
-			double value = variables[j];
-
-			if (value < variable.getLowerBound()) {
-				value = variable.getLowerBound();
-			} else if (value > variable.getUpperBound()) {
-				value = variable.getUpperBound();
-			}
-
-			variable.setValue(value);
-		}
+		RealOperatorUtils.setValues(result, variables);
 
 		return result;
 	}
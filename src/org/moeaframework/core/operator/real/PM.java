@@ -22,6 +22,7 @@ import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variable;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.core.variable.RealVector;
 
 /**
  * Polynomial mutation (PM) operator.  PM attempts to simulate the offspring 
@@ -101,7 +102,9 @@ public class PM implements Variation {
 		for (int i = 0; i < result.getNumberOfVariables(); i++) {
 			Variable variable = result.getVariable(i);
 
-			if ((PRNG.nextDouble() <= probability)
+			if (variable instanceof RealVector) {
+				evolve((RealVector)variable, probability, distributionIndex);
+			} else if ((PRNG.nextDouble() <= probability)
 					&& (variable instanceof RealVariable)) {
 				evolve((RealVariable)variable, distributionIndex);
 			}
@@ -153,10 +156,48 @@ public class PM implements Variation {
 	 *        the polynomial mutation
 	 */
 	public static void evolve(RealVariable v, double distributionIndex) {
+		v.setValue(evolve(v.getValue(), v.getLowerBound(), v.getUpperBound(),
+				distributionIndex));
+	}
+	
+	/**
+	 * Mutates the elements of the specified real-valued vector using
+	 * polynomial mutation.  Each element is mutated with the given
+	 * probability.  The values are copied into a primitive array once,
+	 * mutated, and written back once.
+	 * 
+	 * @param v the vector to be mutated
+	 * @param probability the probability of mutating each element
+	 * @param distributionIndex the distribution index controlling the shape of
+	 *        the polynomial mutation
+	 */
+	public static void evolve(RealVector v, double probability,
+			double distributionIndex) {
+		double[] x = v.getValues();
+		
+		for (int i = 0; i < x.length; i++) {
+			if (PRNG.nextDouble() <= probability) {
+				x[i] = evolve(x[i], v.getLowerBound(i), v.getUpperBound(i),
+						distributionIndex);
+			}
+		}
+		
+		v.setValues(x);
+	}
+	
+	/**
+	 * Returns the result of applying polynomial mutation to a single value.
+	 * 
+	 * @param x the value to be mutated
+	 * @param lb the lower bound of the value
+	 * @param ub the upper bound of the value
+	 * @param distributionIndex the distribution index controlling the shape of
+	 *        the polynomial mutation
+	 * @return the mutated value
+	 */
+	private static double evolve(double x, double lb, double ub,
+			double distributionIndex) {
 		double u = PRNG.nextDouble();
-		double x = v.getValue();
-		double lb = v.getLowerBound();
-		double ub = v.getUpperBound();
 		double dx = ub - lb;
 		double delta;
 
@@ -180,7 +221,7 @@ public class PM implements Variation {
 			x = ub;
 		}
 
-		v.setValue(x);
+		return x;
 	}
 
 	@Override
@@ -0,0 +1,130 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.operator.real;
+
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.core.variable.RealVector;
+
+/**
+ * Helper methods used by the multi-parent real-valued operators to read and
+ * write decision variables as primitive arrays.  Solutions storing a single
+ * {@link RealVector} are copied in bulk; otherwise, each
+ * {@link RealVariable} is accessed individually.
+ */
+class RealOperatorUtils {
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private RealOperatorUtils() {
+		super();
+	}
+	
+	/**
+	 * Returns the real-valued decision variables stored in a solution.
+	 * 
+	 * @param solution the solution
+	 * @return the real-valued decision variables stored in a solution
+	 * @throws ClassCastException if any decision variable is not a
+	 *         {@link RealVariable}
+	 */
+	static double[] getValues(Solution solution) {
+		RealVector vector = EncodingUtils.getRealVector(solution);
+		
+		if (vector == null) {
+			double[] values = new double[solution.getNumberOfVariables()];
+			
+			for (int j = 0; j < values.length; j++) {
+				values[j] = ((RealVariable)solution.getVariable(j)).getValue();
+			}
+			
+			return values;
+		} else {
+			return vector.getValues();
+		}
+	}
+	
+	/**
+	 * Assigns the real-valued decision variables stored in a solution,
+	 * clamping each value to the bounds of its decision variable.  The
+	 * contents of the {@code values} array may be modified.
+	 * 
+	 * @param solution the solution
+	 * @param values the new values
+	 * @throws ClassCastException if any decision variable is not a
+	 *         {@link RealVariable}
+	 */
+	static void setValues(Solution solution, double[] values) {
+		RealVector vector = EncodingUtils.getRealVector(solution);
+		
+		if (vector == null) {
+			for (int j = 0; j < values.length; j++) {
+				RealVariable variable = (RealVariable)solution.getVariable(j);
+				variable.setValue(clamp(values[j], variable.getLowerBound(),
+						variable.getUpperBound()));
+			}
+		} else {
+			for (int j = 0; j < values.length; j++) {
+				values[j] = clamp(values[j], vector.getLowerBound(j),
+						vector.getUpperBound(j));
+			}
+			
+			vector.setValues(values);
+		}
+	}
+	
+	/**
+	 * Returns the number of real-valued decision variables stored in a
+	 * solution.
+	 * 
+	 * @param solution the solution
+	 * @return the number of real-valued decision variables stored in a
+	 *         solution
+	 */
+	static int getNumberOfValues(Solution solution) {
+		RealVector vector = EncodingUtils.getRealVector(solution);
+		
+		if (vector == null) {
+			return solution.getNumberOfVariables();
+		} else {
+			return vector.size();
+		}
+	}
+	
+	/**
+	 * Returns the value clamped to the given bounds.
+	 * 
+	 * @param value the value
+	 * @param lowerBound the lower bound
+	 * @param upperBound the upper bound
+	 * @return the value clamped to the given bounds
+	 */
+	private static double clamp(double value, double lowerBound,
+			double upperBound) {
+		if (value < lowerBound) {
+			return lowerBound;
+		} else if (value > upperBound) {
+			return upperBound;
+		} else {
+			return value;
+		}
+	}
+
+}
@@ -23,6 +23,7 @@ import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variable;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.core.variable.RealVector;
 
 /**
  * Simulated binary crossover (SBX) operator.  SBX attempts to simulate the 
@@ -158,7 +159,12 @@ public class SBX implements Variation {
 				Variable variable1 = result1.getVariable(i);
 				Variable variable2 = result2.getVariable(i);
 
-				if (PRNG.nextBoolean() && (variable1 instanceof RealVariable)
+				if ((variable1 instanceof RealVector)
+						&& (variable2 instanceof RealVector)) {
+					evolve((RealVector)variable1, (RealVector)variable2,
+							distributionIndex, swap, symmetric);
+				} else if (PRNG.nextBoolean()
+						&& (variable1 instanceof RealVariable)
 						&& (variable2 instanceof RealVariable)) {
 					if (symmetric) {
 						evolve_symmetric((RealVariable)variable1,
@@ -188,6 +194,51 @@ public class SBX implements Variation {
 		evolve_asymmetric(v1, v2, distributionIndex, true);
 	}
 
+	/**
+	 * Evolves the specified real-valued vectors using the SBX operator.  Each
+	 * element is crossed over with 50% probability, matching the behavior of
+	 * this operator on solutions with individual {@link RealVariable}s.  The
+	 * values are copied into primitive arrays once, crossed over, and written
+	 * back once.
+	 * 
+	 * @param v1 the first vector
+	 * @param v2 the second vector
+	 * @param distributionIndex the distribution index of this SBX operator
+	 * @param swap randomly swap the values between the two parents
+	 * @param symmetric {@code true} if symmetric distributions are used;
+	 *        {@code false} if asymmetric distributions are used
+	 */
+	public static void evolve(RealVector v1, RealVector v2,
+			double distributionIndex, boolean swap, boolean symmetric) {
+		double[] x1 = v1.getValues();
+		double[] x2 = v2.getValues();
+		double[] children = new double[2];
+		
+		for (int i = 0; i < x1.length; i++) {
+			if (PRNG.nextBoolean()) {
+				boolean changed;
+				
+				if (symmetric) {
+					changed = evolve_symmetric(x1[i], x2[i],
+							v1.getLowerBound(i), v1.getUpperBound(i),
+							distributionIndex, swap, children);
+				} else {
+					changed = evolve_asymmetric(x1[i], x2[i],
+							v1.getLowerBound(i), v1.getUpperBound(i),
+							distributionIndex, swap, children);
+				}
+				
+				if (changed) {
+					x1[i] = children[0];
+					x2[i] = children[1];
+				}
+			}
+		}
+		
+		v1.setValues(x1);
+		v2.setValues(x2);
+	}
+
 	/*
 	 * The following code was provided by Haitham Seada on Dec 14, 2015.  This
 	 * replaces the old implementation based on PISA, which appears to have
@@ -205,11 +256,34 @@ public class SBX implements Variation {
 	 */
 	public static void evolve_symmetric(RealVariable v1, RealVariable v2,
 			double distributionIndex, boolean swap) {
+		double[] children = new double[2];
+		
+		if (evolve_symmetric(v1.getValue(), v2.getValue(), v1.getLowerBound(),
+				v1.getUpperBound(), distributionIndex, swap, children)) {
+			v1.setValue(children[0]);
+			v2.setValue(children[1]);
+		}
+	}
+	
+	/**
+	 * Computes the offspring of two values using the SBX operator with symmetric
+	 * distributions.
+	 * 
+	 * @param x1 the value from the first parent
+	 * @param x2 the value from the second parent
+	 * @param lb the lower bound of the values
+	 * @param ub the upper bound of the values
+	 * @param distributionIndex the distribution index of this SBX operator
+	 * @param swap randomly swap the values between the two parents
+	 * @param children array of length two that receives the offspring values
+	 * @return {@code true} if the offspring values were computed;
+	 *         {@code false} if the parent values are too close and should be
+	 *         left unchanged
+	 */
+	private static boolean evolve_symmetric(double x1, double x2, double lb,
+			double ub, double distributionIndex, boolean swap,
+			double[] children) {
 		double y1, y2, betaq, beta, alpha, rand;
-		double x1 = v1.getValue();
-		double x2 = v2.getValue();
-		double lb = v1.getLowerBound();
-		double ub = v1.getUpperBound();
 
 		// avoid division by zero
 		if (Math.abs(x1 - x2) > Settings.EPS) {
@@ -267,8 +341,11 @@ public class SBX implements Variation {
 				x2 = temp;
 			}
 			
-			v1.setValue(x1);
-			v2.setValue(x2);
+			children[0] = x1;
+			children[1] = x2;
+			return true;
+		} else {
+			return false;
 		}
 	}
 	
@@ -283,11 +360,34 @@ public class SBX implements Variation {
 	 */
 	public static void evolve_asymmetric(RealVariable v1, RealVariable v2,
 			double distributionIndex, boolean swap) {
+		double[] children = new double[2];
+		
+		if (evolve_asymmetric(v1.getValue(), v2.getValue(), v1.getLowerBound(),
+				v1.getUpperBound(), distributionIndex, swap, children)) {
+			v1.setValue(children[0]);
+			v2.setValue(children[1]);
+		}
+	}
+	
+	/**
+	 * Computes the offspring of two values using the SBX operator with asymmetric
+	 * distributions.
+	 * 
+	 * @param x1 the value from the first parent
+	 * @param x2 the value from the second parent
+	 * @param lb the lower bound of the values
+	 * @param ub the upper bound of the values
+	 * @param distributionIndex the distribution index of this SBX operator
+	 * @param swap randomly swap the values between the two parents
+	 * @param children array of length two that receives the offspring values
+	 * @return {@code true} if the offspring values were computed;
+	 *         {@code false} if the parent values are too close and should be
+	 *         left unchanged
+	 */
+	private static boolean evolve_asymmetric(double x1, double x2, double lb,
+			double ub, double distributionIndex, boolean swap,
+			double[] children) {
 		double y1, y2, betaq, beta, alpha, rand;
-		double x1 = v1.getValue();
-		double x2 = v2.getValue();
-		double lb = v1.getLowerBound();
-		double ub = v1.getUpperBound();
 
 		// avoid division by zero
 		if (Math.abs(x1 - x2) > Settings.EPS) {
@@ -350,8 +450,11 @@ public class SBX implements Variation {
 				x2 = temp;
 			}
 			
-			v1.setValue(x1);
-			v2.setValue(x2);
+			children[0] = x1;
+			children[1] = x2;
+			return true;
+		} else {
+			return false;
 		}
 	}
 
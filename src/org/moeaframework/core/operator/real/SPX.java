@@ -20,7 +20,6 @@ package org.moeaframework.core.operator.real;
 import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variation;
-import org.moeaframework.core.variable.RealVariable;
 
 /**
  * Simplex crossover (SPX) operator.  SPX is a multiparent operator, allowing a
@@ -90,7 +89,8 @@ public class SPX implements Variation {
 	@Override
 	public Solution[] evolve(Solution[] parents) {
 		int n = parents.length;
-		int m = parents[0].getNumberOfVariables();
+		int m = RealOperatorUtils.getNumberOfValues(parents[0]);
+		double[][] p = new double[n][]; // parent values
 
 		double[] G = new double[m]; // center of mass
 		double[][] x = new double[n][m]; // expanded simplex vertices
@@ -100,8 +100,10 @@ public class SPX implements Variation {
 
 		// compute center of mass
 		for (int i = 0; i < n; i++) {
+			p[i] = RealOperatorUtils.getValues(parents[i]);
+			
 			for (int j = 0; j < m; j++) {
-				G[j] += ((RealVariable)parents[i].getVariable(j)).getValue();
+				G[j] += p[i][j];
 			}
 		}
 
@@ -112,9 +114,7 @@ public class SPX implements Variation {
 		// compute simplex vertices expanded by epsilon
 		for (int i = 0; i < n; i++) {
 			for (int j = 0; j < m; j++) {
-				x[i][j] = G[j]
-						+ epsilon
-						* (((RealVariable)parents[i].getVariable(j)).getValue() - G[j]);
+				x[i][j] = G[j] + epsilon * (p[i][j] - G[j]);
 			}
 		}
 
@@ -137,19 +137,14 @@ public class SPX implements Variation {
 				}
 			}
 
-			for (int j = 0; j < m; j++) {
-				RealVariable variable = (RealVariable)child.getVariable(j);
-				double value = x[n - 1][j] + C[n - 1][j];
-
-				if (value < variable.getLowerBound()) {
-					value = variable.getLowerBound();
-				} else if (value > variable.getUpperBound()) {
-					value = variable.getUpperBound();
-				}
+			double[] values = new double[m];
 
-				variable.setValue(value);
+			for (int j = 0; j < m; j++) {
+				values[j] = x[n - 1][j] + C[n - 1][j];
 			}
 
+			RealOperatorUtils.setValues(child, values);
+
 			offspring[k] = child;
 		}
 
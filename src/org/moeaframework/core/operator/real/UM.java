@@ -22,6 +22,7 @@ import org.moeaframework.core.Solution;
 import org.moeaframework.core.Variable;
 import org.moeaframework.core.Variation;
 import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.core.variable.RealVector;
 
 /**
  * Uniform mutation (UM) operator.  Each decision variable is mutated by
@@ -70,7 +71,9 @@ public class UM implements Variation {
 		for (int i = 0; i < result.getNumberOfVariables(); i++) {
 			Variable variable = result.getVariable(i);
 
-			if ((PRNG.nextDouble() <= probability)
+			if (variable instanceof RealVector) {
+				evolve((RealVector)variable, probability);
+			} else if ((PRNG.nextDouble() <= probability)
 					&& (variable instanceof RealVariable)) {
 				evolve((RealVariable)variable);
 			}
@@ -88,6 +91,26 @@ public class UM implements Variation {
 		variable.setValue(PRNG.nextDouble(variable.getLowerBound(), variable
 				.getUpperBound()));
 	}
+	
+	/**
+	 * Mutates the elements of the specified real-valued vector using uniform
+	 * mutation.  Each element is mutated with the given probability.
+	 * 
+	 * @param vector the vector to be mutated
+	 * @param probability the probability of mutating each element
+	 */
+	public static void evolve(RealVector vector, double probability) {
+		double[] values = vector.getValues();
+		
+		for (int i = 0; i < values.length; i++) {
+			if (PRNG.nextDouble() <= probability) {
+				values[i] = PRNG.nextDouble(vector.getLowerBound(i),
+						vector.getUpperBound(i));
+			}
+		}
+		
+		vector.setValues(values);
+	}
 
 	@Override
 	public int getArity() {
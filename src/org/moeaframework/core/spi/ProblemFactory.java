@@ -22,9 +22,13 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.ServiceConfigurationError;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
 import org.moeaframework.problem.ClassLoaderProblems;
 import org.moeaframework.problem.PropertiesProblems;
 import org.moeaframework.problem.RotatedProblems;
@@ -35,6 +39,13 @@ import org.moeaframework.problem.StandardProblems;
  * reference sets, if known. See {@link ProblemProvider} for details on adding
  * new providers.
  * <p>
+ * The provider that supplies each problem name is remembered, so subsequent
+ * requests for the same name go directly to that provider.  If pooling is
+ * enabled, problems are additionally reused: closing a problem obtained from
+ * this factory returns it to a pool, and the next request for the same name
+ * receives the pooled instance rather than constructing a new one.  See
+ * {@link #setPoolingEnabled(boolean)}.
+ * <p>
  * This class is thread safe.
  */
 public class ProblemFactory {
@@ -54,6 +65,23 @@ public class ProblemFactory {
 	 */
 	private List<ProblemProvider> customProviders;
 	
+	/**
+	 * The providers that are always searched after the custom and SPI
+	 * providers, ensuring the standard problems can always be found.
+	 */
+	private final ProblemProvider[] defaultProviders;
+	
+	/**
+	 * The provider that supplied each problem name.
+	 */
+	private final ConcurrentMap<String, ProblemProvider> resolvedProviders;
+	
+	/**
+	 * The pool of idle problem instances; or {@code null} if pooling is
+	 * disabled.
+	 */
+	private volatile ProblemPool pool;
+	
 	/**
 	 * Instantiates the static {@code PROVIDERS} and {@code instance} objects.
 	 */
@@ -81,12 +109,23 @@ public class ProblemFactory {
 	}
 	
 	/**
-	 * Constructs a new problem factory.
+	 * Constructs a new problem factory.  Pooling is enabled if
+	 * {@link Settings#isProblemPooling()} is {@code true}.
 	 */
 	public ProblemFactory() {
 		super();
 		
-		customProviders = new ArrayList<ProblemProvider>();
+		customProviders = new CopyOnWriteArrayList<ProblemProvider>();
+		resolvedProviders = new ConcurrentHashMap<String, ProblemProvider>();
+		defaultProviders = new ProblemProvider[] {
+				new StandardProblems(),
+				new PropertiesProblems(),
+				new ClassLoaderProblems(),
+				new RotatedProblems() };
+		
+		if (Settings.isProblemPooling()) {
+			pool = new ProblemPool();
+		}
 	}
 	
 	/**
@@ -98,6 +137,60 @@ public class ProblemFactory {
 	 */
 	public void addProvider(ProblemProvider provider) {
 		customProviders.add(provider);
+		
+		// the new provider takes precedence over previously resolved names
+		resolvedProviders.clear();
+	}
+	
+	/**
+	 * Enables or disables pooling of problem instances.  While enabled,
+	 * closing a problem returned by {@link #getProblem(String)} returns the
+	 * instance to a pool rather than closing it, and subsequent calls to
+	 * {@code getProblem} with the same name reuse the pooled instance.  Each
+	 * pooled instance is used by one caller at a time.  Disabling pooling
+	 * closes all idle instances.
+	 * <p>
+	 * Pooling avoids repeating expensive setup, such as starting external
+	 * processes or building rotation matrices, across seeds and samples.  It
+	 * should only be enabled if problems can be reused after being closed
+	 * and if reusing them is acceptable; for example, a randomly rotated
+	 * problem keeps the same rotation when reused.
+	 * 
+	 * @param enabled {@code true} to enable pooling; {@code false} to
+	 *        disable pooling
+	 */
+	public synchronized void setPoolingEnabled(boolean enabled) {
+		if (enabled) {
+			if (pool == null) {
+				pool = new ProblemPool();
+			}
+		} else if (pool != null) {
+			pool.close();
+			pool = null;
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if this factory pools problem instances;
+	 * {@code false} otherwise.
+	 * 
+	 * @return {@code true} if this factory pools problem instances;
+	 *         {@code false} otherwise
+	 */
+	public boolean isPoolingEnabled() {
+		return pool != null;
+	}
+	
+	/**
+	 * Returns the number of idle pooled instances of the problem with the
+	 * given name.
+	 * 
+	 * @param name the name identifying the problem
+	 * @return the number of idle pooled instances of the problem
+	 */
+	public int getNumberOfPooledProblems(String name) {
+		ProblemPool pool = this.pool;
+		return pool == null ? 0 : pool.getIdleCount(name);
 	}
 
 	/**
@@ -111,50 +204,103 @@ public class ProblemFactory {
 	 * @throws ProviderNotFoundException if no provider for the problem is 
 	 *         available
 	 */
-	public synchronized Problem getProblem(String name) {
-		// loop over all providers that have been manually added
-		for (ProblemProvider provider : customProviders) {
+	public Problem getProblem(String name) {
+		ProblemPool pool = this.pool;
+		
+		if (pool == null) {
+			return createProblem(name);
+		}
+		
+		Problem problem = pool.borrow(name);
+		
+		if (problem == null) {
+			problem = pool.wrap(name, createProblem(name));
+		}
+		
+		return problem;
+	}
+	
+	/**
+	 * Creates a new instance of the problem with the registered name, first
+	 * trying the provider that previously supplied the name.
+	 * 
+	 * @param name the name identifying the problem
+	 * @return an instance of the problem with the registered name
+	 * @throws ProviderNotFoundException if no provider for the problem is
+	 *         available
+	 */
+	private Problem createProblem(String name) {
+		ProblemProvider provider = resolvedProviders.get(name);
+		
+		if (provider != null) {
 			Problem problem = instantiateProblem(provider, name);
 			
 			if (problem != null) {
 				return problem;
 			}
+			
+			resolvedProviders.remove(name, provider);
 		}
 		
-		// loop over all providers available via the SPI
-		Iterator<ProblemProvider> iterator = PROVIDERS.iterator();
-		
-		while (iterator.hasNext()) {
-			Problem problem = instantiateProblem(iterator.next(), name);
+		// loop over all providers that have been manually added
+		for (ProblemProvider customProvider : customProviders) {
+			Problem problem = instantiateProblem(customProvider, name);
 			
 			if (problem != null) {
+				resolvedProviders.put(name, customProvider);
 				return problem;
 			}
 		}
 		
-		// ensure standard problems can always be found
-		Problem problem = instantiateProblem(new StandardProblems(), name);
-			
-		if (problem == null) {
-			problem = instantiateProblem(new PropertiesProblems(), name);
-		}
-			
-		if (problem == null) {
-			problem = instantiateProblem(new ClassLoaderProblems(), name);
-		}
+		// loop over all providers available via the SPI
+		for (ProblemProvider serviceProvider : getServiceProviders()) {
+			Problem problem = instantiateProblem(serviceProvider, name);
 			
-		if (problem == null) {
-			problem = instantiateProblem(new RotatedProblems(), name);
+			if (problem != null) {
+				resolvedProviders.put(name, serviceProvider);
+				return problem;
+			}
 		}
+		
+		// ensure standard problems can always be found
+		for (ProblemProvider defaultProvider : defaultProviders) {
+			Problem problem = instantiateProblem(defaultProvider, name);
 			
-		if (problem != null) {
-			return problem;
+			if (problem != null) {
+				resolvedProviders.put(name, defaultProvider);
+				return problem;
+			}
 		}
 
 		// throw an exception if no match found
 		throw new ProviderNotFoundException(name);
 	}
 	
+	/**
+	 * Returns the providers available via the SPI.  The service loader
+	 * instantiates each provider once and caches it, but its iterator is not
+	 * thread safe, so the providers are copied while holding a lock.
+	 * 
+	 * @return the providers available via the SPI
+	 */
+	private static List<ProblemProvider> getServiceProviders() {
+		List<ProblemProvider> providers = new ArrayList<ProblemProvider>();
+		
+		synchronized (PROVIDERS) {
+			Iterator<ProblemProvider> iterator = PROVIDERS.iterator();
+			
+			while (iterator.hasNext()) {
+				try {
+					providers.add(iterator.next());
+				} catch (ServiceConfigurationError e) {
+					System.err.println(e.getMessage());
+				}
+			}
+		}
+		
+		return providers;
+	}
+	
 	/**
 	 * Attempts to instantiate the given problem using the given provider.
 	 * 
@@ -183,7 +329,7 @@ public class ProblemFactory {
 	 * @return the reference set of the problem with the registered name; or
 	 *         {@code null} if no reference set is available
 	 */
-	public synchronized NondominatedPopulation getReferenceSet(String name) {
+	public NondominatedPopulation getReferenceSet(String name) {
 		// loop over all providers that have been manually added
 		for (ProblemProvider provider : customProviders) {
 			NondominatedPopulation referenceSet =
@@ -195,10 +341,7 @@ public class ProblemFactory {
 		}
 		
 		// loop over all providers available via the SPI
-		Iterator<ProblemProvider> iterator = PROVIDERS.iterator();
-		
-		while (iterator.hasNext()) {
-			ProblemProvider provider = iterator.next();
+		for (ProblemProvider provider : getServiceProviders()) {
 			NondominatedPopulation referenceSet =
 					provider.getReferenceSet(name);
 
@@ -208,23 +351,13 @@ public class ProblemFactory {
 		}
 		
 		// ensure standard problems can always be found
-		NondominatedPopulation referenceSet =
-				new StandardProblems().getReferenceSet(name);
-
-		if (referenceSet == null) {
-			referenceSet = new PropertiesProblems().getReferenceSet(name);
-		}
-			
-		if (referenceSet == null) {
-			referenceSet = new ClassLoaderProblems().getReferenceSet(name);
-		}
-			
-		if (referenceSet == null) {
-			referenceSet = new RotatedProblems().getReferenceSet(name);
-		}
+		for (ProblemProvider provider : defaultProviders) {
+			NondominatedPopulation referenceSet =
+					provider.getReferenceSet(name);
 			
-		if (referenceSet != null) {
-			return referenceSet;
+			if (referenceSet != null) {
+				return referenceSet;
+			}
 		}
 
 		// return null if no match is found
@@ -0,0 +1,276 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.spi;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.problem.AnalyticalProblem;
+
+/**
+ * Pool of idle problem instances, keyed by problem name.  Each instance
+ * handed out by the pool is used by one caller at a time, so the problems
+ * themselves need not be thread safe.  Closing a borrowed problem returns it
+ * to the pool instead of closing the underlying instance.
+ * <p>
+ * This class is thread safe.
+ */
+class ProblemPool {
+
+	/**
+	 * The idle problem instances, keyed by problem name.
+	 */
+	private final ConcurrentMap<String, Queue<Problem>> idle;
+	
+	/**
+	 * {@code true} if this pool is closed; {@code false} otherwise.  Problems
+	 * released after the pool is closed are closed immediately.
+	 */
+	private volatile boolean closed;
+	
+	/**
+	 * Constructs a new, empty problem pool.
+	 */
+	public ProblemPool() {
+		super();
+		
+		idle = new ConcurrentHashMap<String, Queue<Problem>>();
+	}
+	
+	/**
+	 * Returns an idle instance of the problem with the given name, or
+	 * {@code null} if no idle instance is available.
+	 * 
+	 * @param name the name identifying the problem
+	 * @return an idle instance of the problem, or {@code null} if no idle
+	 *         instance is available
+	 */
+	public Problem borrow(String name) {
+		Queue<Problem> queue = idle.get(name);
+		
+		if (queue == null) {
+			return null;
+		}
+		
+		Problem problem = queue.poll();
+		
+		if (problem == null) {
+			return null;
+		}
+		
+		return wrap(name, problem);
+	}
+	
+	/**
+	 * Wraps the given problem so that closing it returns the problem to this
+	 * pool.
+	 * 
+	 * @param name the name identifying the problem
+	 * @param problem the problem instance
+	 * @return the wrapped problem
+	 */
+	public Problem wrap(String name, Problem problem) {
+		if (problem instanceof AnalyticalProblem) {
+			return new PooledAnalyticalProblem(name, problem);
+		} else {
+			return new PooledProblem(name, problem);
+		}
+	}
+	
+	/**
+	 * Returns the given problem to this pool.  If this pool is closed, the
+	 * problem is closed instead.
+	 * 
+	 * @param name the name identifying the problem
+	 * @param problem the problem instance
+	 */
+	void release(String name, Problem problem) {
+		if (closed) {
+			problem.close();
+			return;
+		}
+		
+		Queue<Problem> queue = idle.get(name);
+		
+		if (queue == null) {
+			Queue<Problem> newQueue = new ConcurrentLinkedQueue<Problem>();
+			queue = idle.putIfAbsent(name, newQueue);
+			
+			if (queue == null) {
+				queue = newQueue;
+			}
+		}
+		
+		queue.offer(problem);
+		
+		// the pool may have been closed concurrently
+		if (closed && queue.remove(problem)) {
+			problem.close();
+		}
+	}
+	
+	/**
+	 * Returns the number of idle instances of the problem with the given name.
+	 * 
+	 * @param name the name identifying the problem
+	 * @return the number of idle instances of the problem
+	 */
+	public int getIdleCount(String name) {
+		Queue<Problem> queue = idle.get(name);
+		return queue == null ? 0 : queue.size();
+	}
+	
+	/**
+	 * Closes all idle problem instances.  Problems currently borrowed from
+	 * this pool are closed when they are released.
+	 */
+	public void close() {
+		closed = true;
+		
+		for (Queue<Problem> queue : idle.values()) {
+			Problem problem = null;
+			
+			while ((problem = queue.poll()) != null) {
+				problem.close();
+			}
+		}
+	}
+	
+	/**
+	 * A problem borrowed from the pool.  All methods delegate to the pooled
+	 * instance except {@link #close()}, which returns the instance to the
+	 * pool.  Closing the problem more than once has no effect, but any other
+	 * method called after closing throws an {@link IllegalStateException},
+	 * since the pooled instance may already be in use by another caller.
+	 */
+	private class PooledProblem implements Problem {
+	
+		/**
+		 * The name identifying the problem.
+		 */
+		private final String name;
+		
+		/**
+		 * The pooled problem instance.
+		 */
+		private final Problem problem;
+		
+		/**
+		 * {@code true} if this problem has been returned to the pool;
+		 * {@code false} otherwise.
+		 */
+		private final AtomicBoolean released;
+		
+		/**
+		 * Constructs a new problem borrowed from the pool.
+		 * 
+		 * @param name the name identifying the problem
+		 * @param problem the pooled problem instance
+		 */
+		public PooledProblem(String name, Problem problem) {
+			super();
+			this.name = name;
+			this.problem = problem;
+			
+			released = new AtomicBoolean(false);
+		}
+		
+		/**
+		 * Returns the pooled problem instance.
+		 * 
+		 * @return the pooled problem instance
+		 * @throws IllegalStateException if this problem has been returned to
+		 *         the pool
+		 */
+		protected Problem getProblem() {
+			if (released.get()) {
+				throw new IllegalStateException(
+						"problem has been returned to the pool");
+			}
+			
+			return problem;
+		}
+		
+		@Override
+		public String getName() {
+			return getProblem().getName();
+		}
+		
+		@Override
+		public int getNumberOfVariables() {
+			return getProblem().getNumberOfVariables();
+		}
+		
+		@Override
+		public int getNumberOfObjectives() {
+			return getProblem().getNumberOfObjectives();
+		}
+		
+		@Override
+		public int getNumberOfConstraints() {
+			return getProblem().getNumberOfConstraints();
+		}
+		
+		@Override
+		public void evaluate(Solution solution) {
+			getProblem().evaluate(solution);
+		}
+		
+		@Override
+		public Solution newSolution() {
+			return getProblem().newSolution();
+		}
+		
+		@Override
+		public void close() {
+			if (released.compareAndSet(false, true)) {
+				release(name, problem);
+			}
+		}
+	
+	}
+	
+	/**
+	 * An analytical problem borrowed from the pool.
+	 */
+	private class PooledAnalyticalProblem extends PooledProblem
+	implements AnalyticalProblem {
+	
+		/**
+		 * Constructs a new analytical problem borrowed from the pool.
+		 * 
+		 * @param name the name identifying the problem
+		 * @param problem the pooled problem instance
+		 */
+		public PooledAnalyticalProblem(String name, Problem problem) {
+			super(name, problem);
+		}
+		
+		@Override
+		public Solution generate() {
+			return ((AnalyticalProblem)getProblem()).generate();
+		}
+	
+	}
+
+}
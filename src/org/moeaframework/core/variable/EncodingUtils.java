@@ -42,6 +42,11 @@ import org.moeaframework.core.Variable;
  * <p>
  * This class also provides methods for converting between {@link RealVariable}
  * and {@link BinaryVariable} in both binary and gray code formats.
+ * <p>
+ * Solutions whose only decision variable is a {@link RealVector} are also
+ * supported by {@link #getReal(Solution)} and {@link #setReal(Solution,
+ * double[])}.  In this case, the indices refer to the elements of the vector
+ * rather than to the decision variables.
  */
 public class EncodingUtils {
 	
@@ -228,6 +233,20 @@ public class EncodingUtils {
 		return new RealVariable(lowerBound, upperBound);
 	}
 	
+	/**
+	 * Returns a new dense floating-point vector bounded within the specified
+	 * ranges.  The bound arrays are shared by all copies of the vector.
+	 * 
+	 * @param lowerBounds the lower bounds of each element
+	 * @param upperBounds the upper bounds of each element
+	 * @return a new dense floating-point vector bounded within the specified
+	 *         ranges
+	 */
+	public static RealVector newRealVector(double[] lowerBounds,
+			double[] upperBounds) {
+		return new RealVector(lowerBounds, upperBounds);
+	}
+	
 	/**
 	 * Returns a new integer-valued decision variable bounded within the
 	 * specified range.  The integer value is encoded using a
@@ -437,7 +456,13 @@ public class EncodingUtils {
 	 *         the solution is not of type {@link RealVariable}
 	 */
 	public static double[] getReal(Solution solution) {
-		return getReal(solution, 0, solution.getNumberOfVariables());
+		RealVector vector = getRealVector(solution);
+		
+		if (vector == null) {
+			return getReal(solution, 0, solution.getNumberOfVariables());
+		} else {
+			return vector.getValues();
+		}
 	}
 	
 	/**
@@ -458,9 +483,14 @@ public class EncodingUtils {
 	public static double[] getReal(Solution solution, int startIndex,
 			int endIndex) {
 		double[] result = new double[endIndex - startIndex];
+		RealVector vector = getRealVector(solution);
 		
-		for (int i=startIndex; i<endIndex; i++) {
-			result[i-startIndex] = getReal(solution.getVariable(i));
+		if (vector == null) {
+			for (int i=startIndex; i<endIndex; i++) {
+				result[i-startIndex] = getReal(solution.getVariable(i));
+			}
+		} else {
+			vector.getValues(startIndex, endIndex, result, 0);
 		}
 		
 		return result;
@@ -537,7 +567,13 @@ public class EncodingUtils {
 	 *         ({@code value < getLowerBound()) || (value > getUpperBound()})
 	 */
 	public static void setReal(Solution solution, double[] values) {
-		setReal(solution, 0, solution.getNumberOfVariables(), values);
+		RealVector vector = getRealVector(solution);
+		
+		if (vector == null) {
+			setReal(solution, 0, solution.getNumberOfVariables(), values);
+		} else {
+			vector.setValues(values);
+		}
 	}
 	
 	/**
@@ -565,8 +601,33 @@ public class EncodingUtils {
 			throw new IllegalArgumentException(INVALID_LENGTH);
 		}
 		
-		for (int i=startIndex; i<endIndex; i++) {
-			setReal(solution.getVariable(i), values[i-startIndex]);
+		RealVector vector = getRealVector(solution);
+		
+		if (vector == null) {
+			for (int i=startIndex; i<endIndex; i++) {
+				setReal(solution.getVariable(i), values[i-startIndex]);
+			}
+		} else {
+			vector.setValues(startIndex, endIndex, values, 0);
+		}
+	}
+	
+	/**
+	 * Returns the dense floating-point vector stored in a solution, or
+	 * {@code null} if the solution does not consist of a single
+	 * {@link RealVector}.
+	 * 
+	 * @param solution the solution
+	 * @return the dense floating-point vector stored in a solution, or
+	 *         {@code null} if the solution does not consist of a single
+	 *         {@link RealVector}
+	 */
+	public static RealVector getRealVector(Solution solution) {
+		if ((solution.getNumberOfVariables() == 1) &&
+				(solution.getVariable(0) instanceof RealVector)) {
+			return (RealVector)solution.getVariable(0);
+		} else {
+			return null;
 		}
 	}
 	
@@ -0,0 +1,310 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.variable;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+
+import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.commons.lang3.builder.HashCodeBuilder;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Variable;
+
+/**
+ * Decision variable storing a dense vector of real values.  Unlike an array
+ * of {@link RealVariable}s, the values are stored in a single {@code double[]}
+ * and the bounds are stored in arrays shared by all copies, so copying a
+ * solution with many real-valued decision variables only copies one array.
+ * <p>
+ * Problems using this representation typically define solutions with a single
+ * {@code RealVector} decision variable, created using
+ * {@link EncodingUtils#newRealVector(double[], double[])}.  The methods
+ * {@link EncodingUtils#getReal(org.moeaframework.core.Solution)} and
+ * {@link EncodingUtils#setReal(org.moeaframework.core.Solution, double[])}
+ * read and write the individual values of such solutions, and the
+ * {@link org.moeaframework.core.operator.real.SBX},
+ * {@link org.moeaframework.core.operator.real.PM},
+ * {@link org.moeaframework.core.operator.real.UM},
+ * {@link org.moeaframework.core.operator.real.DifferentialEvolution},
+ * {@link org.moeaframework.core.operator.real.PCX},
+ * {@link org.moeaframework.core.operator.real.UNDX} and
+ * {@link org.moeaframework.core.operator.real.SPX} operators treat each value
+ * as if it were a separate real-valued decision variable.  Algorithms that
+ * manipulate {@link RealVariable}s directly, such as CMA-ES and the particle
+ * swarm optimizers, do not support this representation.
+ */
+public class RealVector implements Variable {
+
+	private static final long serialVersionUID = -1863302553620127870L;
+	
+	private static final String VALUE_OUT_OF_BOUNDS = 
+		"value out of bounds (index: {0}, value: {1}, min: {2}, max: {3})";
+	
+	private static final String INVALID_LENGTH = "invalid number of values";
+
+	/**
+	 * The current values of this decision variable.
+	 */
+	private final double[] values;
+
+	/**
+	 * The lower bounds of this decision variable, shared by all copies.
+	 */
+	private final double[] lowerBounds;
+
+	/**
+	 * The upper bounds of this decision variable, shared by all copies.
+	 */
+	private final double[] upperBounds;
+
+	/**
+	 * Constructs a real vector with the specified bounds and uninitialized
+	 * values.  The bound arrays are shared with all copies of this variable
+	 * and must not be modified by the caller.
+	 * 
+	 * @param lowerBounds the lower bounds of each value, inclusive
+	 * @param upperBounds the upper bounds of each value, inclusive
+	 * @throws IllegalArgumentException if the bound arrays have different
+	 *         lengths
+	 */
+	public RealVector(double[] lowerBounds, double[] upperBounds) {
+		this(newUninitialized(lowerBounds.length), lowerBounds, upperBounds);
+	}
+
+	/**
+	 * Constructs a real vector with the specified bounds and initial values.
+	 * The bound arrays are shared with all copies of this variable and must
+	 * not be modified by the caller.  The values are copied.
+	 * 
+	 * @param values the initial values
+	 * @param lowerBounds the lower bounds of each value, inclusive
+	 * @param upperBounds the upper bounds of each value, inclusive
+	 * @throws IllegalArgumentException if the arrays have different lengths
+	 *         or any value is out of bounds
+	 */
+	public RealVector(double[] values, double[] lowerBounds,
+			double[] upperBounds) {
+		super();
+		
+		if ((values.length != lowerBounds.length) || 
+				(values.length != upperBounds.length)) {
+			throw new IllegalArgumentException(INVALID_LENGTH);
+		}
+		
+		this.values = values.clone();
+		this.lowerBounds = lowerBounds;
+		this.upperBounds = upperBounds;
+
+		for (int i = 0; i < values.length; i++) {
+			checkBounds(i, values[i]);
+		}
+	}
+	
+	/**
+	 * Constructs a copy of the specified real vector, sharing its bounds.
+	 * 
+	 * @param vector the real vector being copied
+	 */
+	protected RealVector(RealVector vector) {
+		super();
+		this.values = vector.values.clone();
+		this.lowerBounds = vector.lowerBounds;
+		this.upperBounds = vector.upperBounds;
+	}
+	
+	/**
+	 * Returns an array of the given length filled with {@code NaN}.
+	 * 
+	 * @param length the length of the array
+	 * @return an array of the given length filled with {@code NaN}
+	 */
+	private static double[] newUninitialized(int length) {
+		double[] values = new double[length];
+		Arrays.fill(values, Double.NaN);
+		return values;
+	}
+	
+	/**
+	 * Throws an exception if the value is out of bounds.
+	 * 
+	 * @param index the index of the value
+	 * @param value the value
+	 * @throws IllegalArgumentException if the value is out of bounds
+	 */
+	private void checkBounds(int index, double value) {
+		if ((value < lowerBounds[index]) || (value > upperBounds[index])) {
+			throw new IllegalArgumentException(MessageFormat.format(
+					VALUE_OUT_OF_BOUNDS, index, value, lowerBounds[index],
+					upperBounds[index]));
+		}
+	}
+	
+	/**
+	 * Returns the number of values stored in this decision variable.
+	 * 
+	 * @return the number of values stored in this decision variable
+	 */
+	public int size() {
+		return values.length;
+	}
+
+	/**
+	 * Returns the value at the specified index.
+	 * 
+	 * @param index the index
+	 * @return the value at the specified index
+	 */
+	public double getValue(int index) {
+		return values[index];
+	}
+
+	/**
+	 * Sets the value at the specified index.
+	 * 
+	 * @param index the index
+	 * @param value the new value
+	 * @throws IllegalArgumentException if the value is out of bounds
+	 */
+	public void setValue(int index, double value) {
+		checkBounds(index, value);
+		values[index] = value;
+	}
+	
+	/**
+	 * Returns a copy of all values stored in this decision variable.
+	 * 
+	 * @return a copy of all values stored in this decision variable
+	 */
+	public double[] getValues() {
+		return values.clone();
+	}
+	
+	/**
+	 * Copies the values in the range {@code [startIndex, endIndex)} into the
+	 * given array, starting at {@code offset}.
+	 * 
+	 * @param startIndex the index of the first value, inclusive
+	 * @param endIndex the index of the last value, exclusive
+	 * @param destination the array receiving the values
+	 * @param offset the starting position in the destination array
+	 */
+	public void getValues(int startIndex, int endIndex, double[] destination,
+			int offset) {
+		System.arraycopy(values, startIndex, destination, offset,
+				endIndex - startIndex);
+	}
+	
+	/**
+	 * Sets all values stored in this decision variable.
+	 * 
+	 * @param values the new values
+	 * @throws IllegalArgumentException if the number of values is incorrect
+	 *         or any value is out of bounds
+	 */
+	public void setValues(double[] values) {
+		if (values.length != this.values.length) {
+			throw new IllegalArgumentException(INVALID_LENGTH);
+		}
+		
+		setValues(0, values.length, values, 0);
+	}
+	
+	/**
+	 * Sets the values in the range {@code [startIndex, endIndex)} from the
+	 * given array, starting at {@code offset}.
+	 * 
+	 * @param startIndex the index of the first value, inclusive
+	 * @param endIndex the index of the last value, exclusive
+	 * @param source the array containing the new values
+	 * @param offset the starting position in the source array
+	 * @throws IllegalArgumentException if any value is out of bounds
+	 */
+	public void setValues(int startIndex, int endIndex, double[] source,
+			int offset) {
+		for (int i = startIndex; i < endIndex; i++) {
+			checkBounds(i, source[offset + i - startIndex]);
+		}
+		
+		System.arraycopy(source, offset, values, startIndex,
+				endIndex - startIndex);
+	}
+
+	/**
+	 * Returns the lower bound of the value at the specified index.
+	 * 
+	 * @param index the index
+	 * @return the lower bound of the value at the specified index
+	 */
+	public double getLowerBound(int index) {
+		return lowerBounds[index];
+	}
+
+	/**
+	 * Returns the upper bound of the value at the specified index.
+	 * 
+	 * @param index the index
+	 * @return the upper bound of the value at the specified index
+	 */
+	public double getUpperBound(int index) {
+		return upperBounds[index];
+	}
+
+	@Override
+	public RealVector copy() {
+		return new RealVector(this);
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(values);
+	}
+	
+	@Override
+	public int hashCode() {
+		return new HashCodeBuilder()
+				.append(lowerBounds)
+				.append(upperBounds)
+				.append(values)
+				.toHashCode();
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		} else if ((obj == null) || (obj.getClass() != getClass())) {
+			return false;
+		} else {
+			RealVector rhs = (RealVector)obj;
+			
+			return new EqualsBuilder()
+					.append(lowerBounds, rhs.lowerBounds)
+					.append(upperBounds, rhs.upperBounds)
+					.append(values, rhs.values)
+					.isEquals();
+		}
+	}
+
+	@Override
+	public void randomize() {
+		for (int i = 0; i < values.length; i++) {
+			values[i] = PRNG.nextDouble(lowerBounds[i], upperBounds[i]);
+		}
+	}
+
+}
@@ -20,8 +20,8 @@ package org.moeaframework.problem;
 import java.io.File;
 
 import org.moeaframework.core.NondominatedPopulation;
-import org.moeaframework.core.PopulationIO;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.ReferenceSetCache;
 import org.moeaframework.core.Settings;
 import org.moeaframework.core.spi.ProblemProvider;
 import org.moeaframework.core.spi.ProviderNotFoundException;
@@ -91,8 +91,7 @@ public class PropertiesProblems extends ProblemProvider {
 			
 			if (fileName != null) {
 				try {
-					return new NondominatedPopulation(
-							PopulationIO.readObjectives(new File(fileName)));
+					return ReferenceSetCache.load(new File(fileName));
 				} catch (Exception e) {
 					return null;
 				}
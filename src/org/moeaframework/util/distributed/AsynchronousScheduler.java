@@ -0,0 +1,346 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.distributed;
+
+import java.io.NotSerializableException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.moeaframework.algorithm.AlgorithmTerminationException;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.AsynchronousAlgorithm;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+
+/**
+ * Evaluates the solutions of an {@link AsynchronousAlgorithm} in a
+ * steady-state, master-worker fashion.  Up to a fixed number of evaluations
+ * are kept in flight on an {@code ExecutorService}.  Each call to
+ * {@link #step()} waits for the next evaluation to complete, in whatever
+ * order they complete, passes the evaluated solution to the algorithm, and
+ * submits new solutions to refill the workers.  Unlike
+ * {@link DistributedProblem}, which waits for an entire generation to be
+ * evaluated, workers never idle waiting on the slowest evaluation in a
+ * generation.  This is beneficial when evaluation times vary widely.
+ * <p>
+ * Solutions still being evaluated when the algorithm state is saved, such as
+ * by {@link org.moeaframework.algorithm.Checkpoints}, are not part of the saved
+ * state.  The problem must be {@link Serializable} if executing on remote
+ * nodes.
+ */
+public class AsynchronousScheduler implements Algorithm {
+
+	/**
+	 * The algorithm generating and receiving the solutions.
+	 */
+	private final AsynchronousAlgorithm algorithm;
+	
+	/**
+	 * The {@code ExecutorService} for distributing jobs across multiple
+	 * threads, cores or compute nodes.
+	 */
+	private final ExecutorService executor;
+	
+	/**
+	 * {@code true} if the executor was created by, and should be shutdown by,
+	 * this scheduler; {@code false} otherwise.
+	 */
+	private final boolean shutdownExecutor;
+	
+	/**
+	 * The maximum number of evaluations in flight.
+	 */
+	private final int maxInFlight;
+	
+	/**
+	 * The service collecting evaluations in the order they complete.
+	 */
+	private final CompletionService<Solution> completionService;
+	
+	/**
+	 * The evaluations in flight, mapping each future to the solution being
+	 * evaluated.
+	 */
+	private final Map<Future<Solution>, Solution> inFlight;
+	
+	/**
+	 * Constructs a scheduler evaluating solutions of the given algorithm on
+	 * a new pool of the specified number of threads.  The thread pool is
+	 * shutdown when this scheduler is terminated.
+	 * 
+	 * @param algorithm the algorithm generating and receiving the solutions
+	 * @param numberOfThreads the number of threads, which is also the number
+	 *        of evaluations kept in flight
+	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
+	 */
+	public AsynchronousScheduler(AsynchronousAlgorithm algorithm,
+			int numberOfThreads) {
+		this(algorithm, newThreadPool(numberOfThreads), numberOfThreads, true);
+	}
+	
+	/**
+	 * Constructs a scheduler evaluating solutions of the given algorithm
+	 * using the specified {@code ExecutorService}.  The caller is responsible
+	 * for ensuring the executor service is shutdown after use.
+	 * 
+	 * @param algorithm the algorithm generating and receiving the solutions
+	 * @param executor the {@code ExecutorService} for distributing jobs across
+	 *        multiple threads, cores or compute nodes
+	 * @param maxInFlight the maximum number of evaluations kept in flight,
+	 *        typically the number of workers available to the executor
+	 * @throws IllegalArgumentException if {@code maxInFlight <= 0}
+	 */
+	public AsynchronousScheduler(AsynchronousAlgorithm algorithm,
+			ExecutorService executor, int maxInFlight) {
+		this(algorithm, executor, maxInFlight, false);
+	}
+	
+	/**
+	 * Constructs a scheduler evaluating solutions of the given algorithm
+	 * using the specified {@code ExecutorService}.
+	 * 
+	 * @param algorithm the algorithm generating and receiving the solutions
+	 * @param executor the {@code ExecutorService} for distributing jobs across
+	 *        multiple threads, cores or compute nodes
+	 * @param maxInFlight the maximum number of evaluations kept in flight
+	 * @param shutdownExecutor {@code true} if the executor should be shutdown
+	 *        when this scheduler is terminated; {@code false} otherwise
+	 * @throws IllegalArgumentException if {@code maxInFlight <= 0}
+	 */
+	private AsynchronousScheduler(AsynchronousAlgorithm algorithm,
+			ExecutorService executor, int maxInFlight,
+			boolean shutdownExecutor) {
+		super();
+		
+		if (maxInFlight <= 0) {
+			throw new IllegalArgumentException(
+					"maxInFlight must be greater than 0");
+		}
+		
+		this.algorithm = algorithm;
+		this.executor = executor;
+		this.maxInFlight = maxInFlight;
+		this.shutdownExecutor = shutdownExecutor;
+		
+		completionService = new ExecutorCompletionService<Solution>(executor);
+		inFlight = new HashMap<Future<Solution>, Solution>();
+	}
+	
+	/**
+	 * Creates a new fixed-size thread pool.
+	 * 
+	 * @param numberOfThreads the number of threads
+	 * @return the thread pool
+	 * @throws IllegalArgumentException if {@code numberOfThreads <= 0}
+	 */
+	private static ExecutorService newThreadPool(int numberOfThreads) {
+		if (numberOfThreads <= 0) {
+			throw new IllegalArgumentException("invalid number of threads");
+		}
+		
+		return Executors.newFixedThreadPool(numberOfThreads);
+	}
+	
+	/**
+	 * The {@link Callable} sent to the {@code ExecutorService} for distributed
+	 * processing.  Note that serialization may result in the solution being
+	 * evaluated and returned being a different instance than provided to the
+	 * constructor.
+	 */
+	private static class SolutionEvaluator implements Callable<Solution>,
+			Serializable {
+		
+		private static final long serialVersionUID = 3917372471352736185L;
+		
+		/**
+		 * The problem.
+		 */
+		private final Problem problem;
+		
+		/**
+		 * The solution being evaluated.
+		 */
+		private final Solution solution;
+		
+		/**
+		 * Constructs a distributed job to evaluate the specified solution.
+		 * 
+		 * @param problem the problem
+		 * @param solution the solution to be evaluated
+		 */
+		public SolutionEvaluator(Problem problem, Solution solution) {
+			super();
+			this.problem = problem;
+			this.solution = solution;
+		}
+		
+		@Override
+		public Solution call() throws Exception {
+			problem.evaluate(solution);
+			return solution;
+		}
+	
+	}
+	
+	/**
+	 * Submits solutions from the algorithm until the maximum number of
+	 * evaluations are in flight or the algorithm can not generate any more
+	 * solutions.
+	 */
+	private void submitAll() {
+		while (inFlight.size() < maxInFlight) {
+			Solution solution = algorithm.nextSolution();
+			
+			if (solution == null) {
+				break;
+			}
+			
+			Future<Solution> future = completionService.submit(
+					new SolutionEvaluator(algorithm.getProblem(), solution));
+			inFlight.put(future, solution);
+		}
+	}
+	
+	/**
+	 * Waits for the next evaluation to complete, passes the evaluated solution
+	 * to the algorithm, and refills the workers.
+	 * 
+	 * @throws AlgorithmTerminationException if the algorithm has already
+	 *         terminated
+	 * @throws FrameworkException if the algorithm can not generate a solution
+	 *         while no evaluations are in flight, or if an evaluation failed
+	 */
+	@Override
+	public void step() {
+		if (isTerminated()) {
+			throw new AlgorithmTerminationException(this,
+					"algorithm already terminated");
+		}
+		
+		submitAll();
+		
+		if (inFlight.isEmpty()) {
+			throw new FrameworkException(
+					"algorithm generated no solutions to evaluate");
+		}
+		
+		try {
+			Future<Solution> future = completionService.take();
+			Solution solution = inFlight.remove(future);
+			Solution result = future.get();
+			
+			if (result != solution) {
+				solution.setObjectives(result.getObjectives());
+				solution.setConstraints(result.getConstraints());
+			}
+			
+			algorithm.onEvaluated(solution);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FrameworkException(e);
+		} catch (ExecutionException e) {
+			throw new FrameworkException(e.getCause());
+		}
+		
+		submitAll();
+	}
+	
+	/**
+	 * Returns the number of evaluations currently in flight.
+	 * 
+	 * @return the number of evaluations currently in flight
+	 */
+	public int getNumberOfEvaluationsInFlight() {
+		return inFlight.size();
+	}
+	
+	/**
+	 * Returns the algorithm generating and receiving the solutions.
+	 * 
+	 * @return the algorithm generating and receiving the solutions
+	 */
+	public AsynchronousAlgorithm getAlgorithm() {
+		return algorithm;
+	}
+	
+	@Override
+	public Problem getProblem() {
+		return algorithm.getProblem();
+	}
+	
+	@Override
+	public NondominatedPopulation getResult() {
+		return algorithm.getResult();
+	}
+	
+	@Override
+	public void evaluate(Solution solution) {
+		algorithm.evaluate(solution);
+	}
+	
+	@Override
+	public int getNumberOfEvaluations() {
+		return algorithm.getNumberOfEvaluations();
+	}
+	
+	@Override
+	public boolean isTerminated() {
+		return algorithm.isTerminated();
+	}
+	
+	/**
+	 * Cancels all evaluations in flight and terminates the algorithm.
+	 */
+	@Override
+	public void terminate() {
+		for (Future<Solution> future : inFlight.keySet()) {
+			future.cancel(true);
+		}
+		
+		inFlight.clear();
+		
+		try {
+			algorithm.terminate();
+		} finally {
+			if (shutdownExecutor) {
+				executor.shutdownNow();
+			}
+		}
+	}
+	
+	@Override
+	public Serializable getState() throws NotSerializableException {
+		return algorithm.getState();
+	}
+	
+	@Override
+	public void setState(Object state) throws NotSerializableException {
+		algorithm.setState(state);
+	}
+
+}
@@ -29,6 +29,8 @@ import org.moeaframework.core.Solution;
  * <li>{@link #getObjectives()}
  * <li>{@link #getConstraint(int)}
  * <li>{@link #getConstraints()}
+ * <li>{@link #peekObjectives()}
+ * <li>{@link #getConstraintViolation()}
  * </ul>
  * will block until the asynchronous evaluation completes. This behavior is
  * achieved by assigning a {@link Future} through the {@link #setFuture(Future)}
@@ -111,4 +113,16 @@ public class FutureSolution extends Solution {
 		return super.getObjective(index);
 	}
 
+	@Override
+	public double[] peekObjectives() {
+		update();
+		return super.peekObjectives();
+	}
+
+	@Override
+	public double getConstraintViolation() {
+		update();
+		return super.getConstraintViolation();
+	}
+
 }
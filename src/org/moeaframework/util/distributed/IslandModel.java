@@ -0,0 +1,477 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.distributed;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.math3.random.MersenneTwister;
+import org.apache.commons.math3.random.RandomAdaptor;
+import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.EvolutionaryAlgorithm;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+/**
+ * Runs several evolutionary algorithms, called islands, cooperatively on
+ * separate threads.  Every {@code migrationFrequency} evaluations, each island
+ * sends copies of randomly-selected non-dominated solutions to its neighbors,
+ * as defined by the {@link MigrationTopology}, and inserts the solutions
+ * received from other islands into its population.  Solutions are exchanged
+ * through lock-free queues, so islands never wait on each other.  The
+ * non-dominated solutions of every island are merged into a shared
+ * {@link EpsilonBoxDominanceArchive}.
+ * <p>
+ * Since each island evolves on its own thread, the island model scales to
+ * all cores even when evaluations are too cheap for
+ * {@link DistributedProblem} to help.  The islands may run different
+ * algorithms, but each island must have its own problem instance unless the
+ * problem is thread-safe.  While running, {@link PRNG} is replaced by a
+ * generator that is safe to use from multiple threads and restored
+ * afterwards.  Runs are not reproducible since the timing of migrations
+ * depends on thread scheduling.
+ */
+public class IslandModel {
+
+	/**
+	 * The islands.
+	 */
+	private final List<EvolutionaryAlgorithm> islands;
+	
+	/**
+	 * The migration topology.
+	 */
+	private final MigrationTopology topology;
+	
+	/**
+	 * The number of evaluations performed by each island between migrations.
+	 */
+	private final int migrationFrequency;
+	
+	/**
+	 * The number of solutions sent to each neighbor per migration.
+	 */
+	private final int migrationSize;
+	
+	/**
+	 * The archive storing the non-dominated solutions of all islands.
+	 */
+	private final EpsilonBoxDominanceArchive archive;
+	
+	/**
+	 * The solutions received by each island but not yet inserted into its
+	 * population.
+	 */
+	private final List<Queue<Solution>> inboxes;
+	
+	/**
+	 * The dominance comparator used when inserting immigrants.
+	 */
+	private final DominanceComparator comparator;
+	
+	/**
+	 * Constructs a new island model.
+	 * 
+	 * @param islands the algorithms run on each island
+	 * @param topology the migration topology
+	 * @param migrationFrequency the number of evaluations performed by each
+	 *        island between migrations
+	 * @param migrationSize the number of solutions sent to each neighbor per
+	 *        migration
+	 * @param archive the archive storing the non-dominated solutions of all
+	 *        islands
+	 * @throws IllegalArgumentException if no islands are given, or if
+	 *         {@code migrationFrequency} or {@code migrationSize} are not
+	 *         positive
+	 */
+	public IslandModel(List<? extends EvolutionaryAlgorithm> islands,
+			MigrationTopology topology, int migrationFrequency,
+			int migrationSize, EpsilonBoxDominanceArchive archive) {
+		super();
+		
+		if (islands.isEmpty()) {
+			throw new IllegalArgumentException("requires at least one island");
+		}
+		
+		if (migrationFrequency <= 0) {
+			throw new IllegalArgumentException(
+					"migrationFrequency must be greater than 0");
+		}
+		
+		if (migrationSize <= 0) {
+			throw new IllegalArgumentException(
+					"migrationSize must be greater than 0");
+		}
+		
+		this.islands = new ArrayList<EvolutionaryAlgorithm>(islands);
+		this.topology = topology;
+		this.migrationFrequency = migrationFrequency;
+		this.migrationSize = migrationSize;
+		this.archive = archive;
+		
+		inboxes = new ArrayList<Queue<Solution>>();
+		comparator = new ParetoDominanceComparator();
+		
+		for (int i = 0; i < islands.size(); i++) {
+			inboxes.add(new ConcurrentLinkedQueue<Solution>());
+		}
+	}
+	
+	/**
+	 * Runs the islands until the total number of evaluations across all
+	 * islands reaches {@code maxEvaluations}.  This method may be called
+	 * again to continue the run.
+	 * 
+	 * @param maxEvaluations the total number of evaluations across all
+	 *        islands
+	 * @return the archive storing the non-dominated solutions of all islands
+	 * @throws FrameworkException if any island failed
+	 */
+	public EpsilonBoxDominanceArchive run(int maxEvaluations) {
+		ExecutorService executor = Executors.newFixedThreadPool(
+				islands.size());
+		AtomicInteger evaluations = new AtomicInteger();
+		AtomicBoolean stop = new AtomicBoolean();
+		List<Future<?>> futures = new ArrayList<Future<?>>();
+		Random random = PRNG.getRandom();
+		
+		for (EvolutionaryAlgorithm island : islands) {
+			evaluations.addAndGet(island.getNumberOfEvaluations());
+		}
+		
+		PRNG.setRandom(new ThreadLocalRandom(random));
+		
+		try {
+			for (int i = 0; i < islands.size(); i++) {
+				futures.add(executor.submit(new Island(i, maxEvaluations,
+						evaluations, stop)));
+			}
+			
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new FrameworkException(e);
+		} catch (ExecutionException e) {
+			throw new FrameworkException(e.getCause());
+		} finally {
+			stop.set(true);
+			executor.shutdownNow();
+			PRNG.setRandom(random);
+		}
+		
+		return archive;
+	}
+	
+	/**
+	 * Returns the archive storing the non-dominated solutions of all islands.
+	 * 
+	 * @return the archive storing the non-dominated solutions of all islands
+	 */
+	public EpsilonBoxDominanceArchive getArchive() {
+		return archive;
+	}
+	
+	/**
+	 * Returns the algorithms run on each island.
+	 * 
+	 * @return the algorithms run on each island
+	 */
+	public List<EvolutionaryAlgorithm> getIslands() {
+		return islands;
+	}
+	
+	/**
+	 * Sends copies of randomly-selected non-dominated solutions of the given
+	 * island to its neighbors.
+	 * 
+	 * @param index the index of the island
+	 * @param result the non-dominated solutions of the island
+	 */
+	private void emigrate(int index, NondominatedPopulation result) {
+		if (result.isEmpty()) {
+			return;
+		}
+		
+		for (int neighbor : topology.getNeighbors(index, islands.size())) {
+			Queue<Solution> inbox = inboxes.get(neighbor);
+			
+			for (int i = 0; i < migrationSize; i++) {
+				inbox.offer(result.get(PRNG.nextInt(result.size())).copy());
+			}
+		}
+	}
+	
+	/**
+	 * Inserts the solutions received by the given island into its population
+	 * and archive.  Each immigrant replaces a randomly-selected solution it
+	 * dominates or, if it is non-dominated with the population, a
+	 * randomly-selected solution.  Immigrants dominated by the population are
+	 * discarded.  Since island algorithms store ranks, fitness values and
+	 * other selection criteria as solution attributes, the immigrant takes
+	 * the attributes of the solution it replaces.
+	 * 
+	 * @param index the index of the island
+	 */
+	private void immigrate(int index) {
+		EvolutionaryAlgorithm island = islands.get(index);
+		Population population = island.getPopulation();
+		NondominatedPopulation islandArchive = island.getArchive();
+		Queue<Solution> inbox = inboxes.get(index);
+		Solution immigrant = null;
+		
+		while ((immigrant = inbox.poll()) != null) {
+			if (population.isEmpty()) {
+				continue;
+			}
+			
+			List<Integer> dominates = new ArrayList<Integer>();
+			boolean dominated = false;
+			
+			for (int i = 0; i < population.size(); i++) {
+				int flag = comparator.compare(immigrant, population.get(i));
+				
+				if (flag < 0) {
+					dominates.add(i);
+				} else if (flag > 0) {
+					dominated = true;
+				}
+			}
+			
+			int replaced = -1;
+			
+			if (!dominates.isEmpty()) {
+				replaced = PRNG.nextItem(dominates);
+			} else if (!dominated) {
+				replaced = PRNG.nextInt(population.size());
+			} else {
+				continue;
+			}
+			
+			// the immigrant takes the place of the replaced solution in
+			// selection until the island next updates its attributes
+			immigrant.clearAttributes();
+			
+			for (Map.Entry<String, Serializable> attribute :
+					population.get(replaced).getAttributes().entrySet()) {
+				immigrant.setAttribute(attribute.getKey(),
+						attribute.getValue());
+			}
+			
+			population.replace(replaced, immigrant);
+			
+			if (islandArchive != null) {
+				islandArchive.add(immigrant);
+			}
+		}
+	}
+	
+	/**
+	 * Adds the non-dominated solutions of an island to the shared archive.
+	 * 
+	 * @param result the non-dominated solutions of the island
+	 */
+	private void merge(NondominatedPopulation result) {
+		synchronized (archive) {
+			archive.addAll(result);
+		}
+	}
+	
+	/**
+	 * Runs a single island, migrating solutions every
+	 * {@code migrationFrequency} evaluations.
+	 */
+	private class Island implements Runnable {
+	
+		/**
+		 * The index of the island.
+		 */
+		private final int index;
+		
+		/**
+		 * The total number of evaluations across all islands.
+		 */
+		private final int maxEvaluations;
+		
+		/**
+		 * The number of evaluations performed by all islands.
+		 */
+		private final AtomicInteger evaluations;
+		
+		/**
+		 * Set when all islands should stop.
+		 */
+		private final AtomicBoolean stop;
+		
+		/**
+		 * Constructs a new island.
+		 * 
+		 * @param index the index of the island
+		 * @param maxEvaluations the total number of evaluations across all
+		 *        islands
+		 * @param evaluations the number of evaluations performed by all
+		 *        islands
+		 * @param stop set when all islands should stop
+		 */
+		public Island(int index, int maxEvaluations,
+				AtomicInteger evaluations, AtomicBoolean stop) {
+			super();
+			this.index = index;
+			this.maxEvaluations = maxEvaluations;
+			this.evaluations = evaluations;
+			this.stop = stop;
+		}
+		
+		@Override
+		public void run() {
+			EvolutionaryAlgorithm island = islands.get(index);
+			int lastEvaluations = island.getNumberOfEvaluations();
+			int lastMigration = lastEvaluations;
+			
+			try {
+				while (!stop.get() && !island.isTerminated() &&
+						(evaluations.get() < maxEvaluations)) {
+					island.step();
+					
+					int currentEvaluations = island.getNumberOfEvaluations();
+					evaluations.addAndGet(currentEvaluations - lastEvaluations);
+					lastEvaluations = currentEvaluations;
+					
+					if (currentEvaluations - lastMigration >= migrationFrequency) {
+						NondominatedPopulation result = island.getResult();
+						
+						emigrate(index, result);
+						immigrate(index);
+						merge(result);
+						lastMigration = currentEvaluations;
+					}
+				}
+				
+				merge(island.getResult());
+			} catch (RuntimeException e) {
+				stop.set(true);
+				throw e;
+			}
+		}
+	
+	}
+	
+	/**
+	 * Random number generator giving each thread its own generator, allowing
+	 * {@link PRNG} to be used by multiple islands concurrently.  Each thread's
+	 * generator is seeded from the original generator.
+	 */
+	private static class ThreadLocalRandom extends Random {
+	
+		private static final long serialVersionUID = -2640617640476541329L;
+		
+		/**
+		 * The generator of each thread.
+		 */
+		private final ThreadLocal<Random> local;
+		
+		/**
+		 * Constructs a random number generator giving each thread its own
+		 * generator seeded from the specified generator.
+		 * 
+		 * @param seeds the generator of the seeds of each thread's generator
+		 */
+		public ThreadLocalRandom(final Random seeds) {
+			super();
+			
+			local = new ThreadLocal<Random>() {
+			
+				@Override
+				protected Random initialValue() {
+					synchronized (seeds) {
+						return new RandomAdaptor(new MersenneTwister(
+								seeds.nextLong()));
+					}
+				}
+			
+			};
+		}
+		
+		@Override
+		public synchronized void setSeed(long seed) {
+			// the superclass constructor sets the seed before local is set
+			if (local != null) {
+				local.get().setSeed(seed);
+			}
+		}
+		
+		@Override
+		protected int next(int bits) {
+			return local.get().nextInt() >>> (32 - bits);
+		}
+		
+		@Override
+		public int nextInt() {
+			return local.get().nextInt();
+		}
+		
+		@Override
+		public int nextInt(int n) {
+			return local.get().nextInt(n);
+		}
+		
+		@Override
+		public long nextLong() {
+			return local.get().nextLong();
+		}
+		
+		@Override
+		public boolean nextBoolean() {
+			return local.get().nextBoolean();
+		}
+		
+		@Override
+		public float nextFloat() {
+			return local.get().nextFloat();
+		}
+		
+		@Override
+		public double nextDouble() {
+			return local.get().nextDouble();
+		}
+		
+		@Override
+		public double nextGaussian() {
+			return local.get().nextGaussian();
+		}
+	
+	}
+
+}
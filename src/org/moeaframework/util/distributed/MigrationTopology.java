@@ -0,0 +1,95 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.distributed;
+
+/**
+ * Enumeration of the migration topologies supported by {@link IslandModel}.
+ * The topology determines which islands receive the emigrants of each
+ * island.
+ */
+public enum MigrationTopology {
+
+	/**
+	 * Each island sends emigrants to the next island, with the last island
+	 * sending emigrants to the first.
+	 */
+	RING,
+	
+	/**
+	 * The first island is the hub.  The hub sends emigrants to every other
+	 * island, and every other island sends emigrants only to the hub.
+	 */
+	STAR,
+	
+	/**
+	 * Each island sends emigrants to every other island.
+	 */
+	FULLY_CONNECTED;
+	
+	/**
+	 * Returns the islands receiving the emigrants of the given island.
+	 * 
+	 * @param island the index of the island sending emigrants
+	 * @param numberOfIslands the number of islands
+	 * @return the indices of the islands receiving the emigrants
+	 * @throws IllegalArgumentException if {@code island} is not a valid index
+	 */
+	public int[] getNeighbors(int island, int numberOfIslands) {
+		if ((island < 0) || (island >= numberOfIslands)) {
+			throw new IllegalArgumentException("invalid island index");
+		}
+		
+		if (numberOfIslands == 1) {
+			return new int[0];
+		}
+		
+		switch (this) {
+		case RING:
+			return new int[] { (island + 1) % numberOfIslands };
+		case STAR:
+			if (island > 0) {
+				return new int[] { 0 };
+			}
+			
+			//the hub sends emigrants to all other islands
+			return allOthers(island, numberOfIslands);
+		default:
+			return allOthers(island, numberOfIslands);
+		}
+	}
+	
+	/**
+	 * Returns the indices of all islands except the given island.
+	 * 
+	 * @param island the index of the excluded island
+	 * @param numberOfIslands the number of islands
+	 * @return the indices of all islands except the given island
+	 */
+	private static int[] allOthers(int island, int numberOfIslands) {
+		int[] neighbors = new int[numberOfIslands - 1];
+		
+		for (int i = 0, j = 0; i < numberOfIslands; i++) {
+			if (i != island) {
+				neighbors[j++] = i;
+			}
+		}
+		
+		return neighbors;
+	}
+
+}
@@ -32,5 +32,15 @@
  * {@code ExecutorService} interfaces out-of-the-box.  Then, the desired
  * {@code Problem} is decorated with the {@code DistributedProblem} to enable
  * parallel execution.
+ * <p>
+ * Steady-state algorithms implementing
+ * {@link org.moeaframework.core.AsynchronousAlgorithm} can instead be
+ * decorated with the {@code AsynchronousScheduler}, which keeps a fixed
+ * number of evaluations in flight and returns each evaluated solution to the
+ * algorithm as soon as it completes.
+ * <p>
+ * When evaluations are too cheap to benefit from distribution, the
+ * {@code IslandModel} instead runs several algorithms on separate threads,
+ * periodically migrating solutions between them.
  */
 package org.moeaframework.util.distributed;
\ No newline at end of file
@@ -23,25 +23,29 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.FileReader;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.PrintStream;
+import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.io.Writer;
-import java.security.DigestInputStream;
-import java.security.DigestOutputStream;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.apache.commons.cli.CommandLine;
 import org.apache.commons.cli.OptionBuilder;
 import org.apache.commons.cli.Options;
 import org.apache.commons.codec.binary.Hex;
-import org.apache.commons.codec.digest.DigestUtils;
 import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.Settings;
 import org.moeaframework.util.CommandLineUtility;
@@ -56,6 +60,28 @@ import org.moeaframework.util.CommandLineUtility;
  *   <li>Safe mode - Files with associated digest files are validated, but only
  *       warnings are printed if no digest file exists
  * </ol>
+ *
+ * In addition to the digest of the entire file, the digest file lists the
+ * digests of the fixed-size blocks of the file on comment lines, which
+ * {@code md5sum} ignores.  The block digests allow
+ * <ul>
+ *   <li>appending to a protected file by digesting only the new blocks and
+ *       the last partial block, see {@link #openOutputStream(File, boolean)};
+ *   <li>validating files while streaming, failing as soon as a corrupted
+ *       block is read; and
+ *   <li>skipping the validation of files that were already validated or
+ *       written by this JVM and have not been modified since.
+ * </ul>
+ * A file is considered unmodified since it was validated or written if its
+ * length and last-modified time, and those of its digest file, are
+ * unchanged.  Since many file systems record the last-modified time with a
+ * resolution of one second or coarser, an in-place modification that keeps
+ * the length of the file and occurs within the same second is not
+ * detected, even in strict mode.
+ * Since the digest of the entire file can not be updated without reading the
+ * entire file, the digest file of an appended file only lists the block
+ * digests.  Running this utility on the file restores the {@code md5sum}
+ * compatible digest.  Digest files without block digests are still supported.
  */
 public class FileProtection extends CommandLineUtility {
 	
@@ -69,6 +95,23 @@ public class FileProtection extends CommandLineUtility {
 	 */
 	public static final String SAFE_MODE = "SAFE";
 	
+	/**
+	 * The prefix of the comment line storing the block size and file length.
+	 */
+	private static final String BLOCKS_PREFIX = "# blocks ";
+	
+	/**
+	 * The prefix of comment lines in the digest file.
+	 */
+	private static final String COMMENT_PREFIX = "# ";
+	
+	/**
+	 * The files validated or written by this JVM, mapped to their state at
+	 * that time.
+	 */
+	private static final ConcurrentMap<File, FileState> VALIDATED =
+			new ConcurrentHashMap<File, FileState>();
+	
 	/**
 	 * Private constructor to prevent instantiation.
 	 */
@@ -108,16 +151,31 @@ public class FileProtection extends CommandLineUtility {
 	 * @param digest the message digest
 	 * @throws IOException if an I/O error occurred
 	 */
-	private static void saveDigest(File file, byte[] digest) 
+	private static void saveDigest(File file, Digest digest)
 	throws IOException {
 		PrintStream ps = null;
 		
 		try {
 			ps = new PrintStream(getDigestFile(file));
 			
-			ps.print(Hex.encodeHex(digest));
+			if (digest.whole != null) {
+				ps.print(Hex.encodeHex(digest.whole));
+				ps.print("  ");
+				ps.println(file.getPath());
+			}
+			
+			ps.print(BLOCKS_PREFIX);
+			ps.print(digest.blockSize);
+			ps.print(' ');
+			ps.print(digest.length);
 			ps.print("  ");
 			ps.print(file.getPath());
+			
+			for (byte[] block : digest.blocks) {
+				ps.println();
+				ps.print(COMMENT_PREFIX);
+				ps.print(Hex.encodeHex(block));
+			}
 		} finally {
 			if (ps != null) {
 				ps.close();
@@ -126,33 +184,54 @@ public class FileProtection extends CommandLineUtility {
 	}
 	
 	/**
-	 * Returns the digest value stored in the message digest file.
+	 * Returns the digest values stored in the message digest file.
 	 * 
 	 * @param file the file to be validated
 	 * @return the message digest
 	 * @throws IOException if an I/O error occurred
 	 */
-	private static byte[] loadDigest(File file) throws IOException {
+	private static Digest loadDigest(File file) throws IOException {
 		BufferedReader reader = null;
 		
 		try {
 			reader = new BufferedReader(new FileReader(getDigestFile(file)));
 			
-			String line = reader.readLine();
+			Digest digest = new Digest();
+			String line = null;
+			
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(BLOCKS_PREFIX)) {
+					int split = line.indexOf("  ");
+					String[] tokens = line.substring(BLOCKS_PREFIX.length(),
+							split).split(" ");
+					
+					checkFileName(file, line.substring(split+2));
+					digest.blockSize = Integer.parseInt(tokens[0]);
+					digest.length = Long.parseLong(tokens[1]);
+					digest.blocks = new ArrayList<byte[]>();
+				} else if (line.startsWith(COMMENT_PREFIX)) {
+					digest.blocks.add(Hex.decodeHex(line.substring(
+							COMMENT_PREFIX.length()).toCharArray()));
+				} else {
+					int split = line.indexOf(' ');
+					String digestHex = line.substring(0, split);
+					String fileName = line.substring(split+2);
+					
+					checkFileName(file, fileName);
+					digest.whole = Hex.decodeHex(digestHex.toCharArray());
+				}
+			}
 			
-			if (line == null) {
+			if ((digest.whole == null) && (digest.blocks == null)) {
 				throw new ValidationException(file, "invalid digest file");
 			}
 			
-			int split = line.indexOf(' ');
-			String digestHex = line.substring(0, split);
-			String fileName = line.substring(split+2);
-
-			if (!file.getPath().equals(fileName)) {
+			if ((digest.blocks != null) && (digest.blocks.size() !=
+					digest.getNumberOfBlocks(digest.length))) {
 				throw new ValidationException(file, "invalid digest file");
 			}
-
-			return Hex.decodeHex(digestHex.toCharArray());
+			
+			return digest;
 		} catch (Exception e) {
 			throw new ValidationException(file, "invalid digest file");
 		} finally {
@@ -162,20 +241,43 @@ public class FileProtection extends CommandLineUtility {
 		}
 	}
 	
+	/**
+	 * Checks if the file name stored in the digest file matches the file.
+	 * 
+	 * @param file the file to be validated
+	 * @param fileName the file name stored in the digest file
+	 * @throws ValidationException if the file names do not match
+	 */
+	private static void checkFileName(File file, String fileName) {
+		if (!file.getPath().equals(fileName)) {
+			throw new ValidationException(file, "invalid digest file");
+		}
+	}
+	
 	/**
 	 * Computes and returns the message digest for the specified file.
 	 * 
 	 * @param file the file to be validated
+	 * @param blockSize the size of the individually digested blocks
 	 * @return the message digest for the specified file
 	 * @throws IOException if an I/O error occurred
 	 */
-	private static byte[] computeDigest(File file) throws IOException {
+	private static Digest computeDigest(File file, int blockSize)
+			throws IOException {
 		InputStream is = null;
 		
 		try {
 			is = new FileInputStream(file);
 			
-			return DigestUtils.md5(is);
+			Hasher hasher = new Hasher(blockSize, true);
+			byte[] buffer = new byte[Settings.BUFFER_SIZE];
+			int len = 0;
+			
+			while ((len = is.read(buffer)) != -1) {
+				hasher.update(buffer, 0, len);
+			}
+			
+			return hasher.finish();
 		} finally {
 			if (is != null) {
 				is.close();
@@ -183,6 +285,28 @@ public class FileProtection extends CommandLineUtility {
 		}
 	}
 	
+	/**
+	 * Returns {@code true} if the file was validated or written by this JVM
+	 * and neither the file nor its digest file were modified since.
+	 * 
+	 * @param file the file to be validated
+	 * @return {@code true} if the file is known to be valid; {@code false}
+	 *         otherwise
+	 */
+	private static boolean isValidated(File file) {
+		FileState state = VALIDATED.get(file.getAbsoluteFile());
+		return (state != null) && state.equals(new FileState(file));
+	}
+	
+	/**
+	 * Records that the file, in its current state, is valid.
+	 * 
+	 * @param file the valid file
+	 */
+	private static void setValidated(File file) {
+		VALIDATED.put(file.getAbsoluteFile(), new FileState(file));
+	}
+	
 	/**
 	 * Returns a {@link Reader} wrapping the result from calling
 	 * {@code openInputStream} with the specified file.
@@ -198,9 +322,12 @@ public class FileProtection extends CommandLineUtility {
 	}
 
 	/**
-	 * Returns an {@link InputStream} for reading from the specified file and
-	 * performs validation on the file when the {@code close} method is invoked
-	 * on the stream.
+	 * Returns an {@link InputStream} for reading from the specified file.  If
+	 * the digest file lists block digests, each block is validated as it is
+	 * read.  The remainder of the file is validated when the {@code close}
+	 * method is invoked on the stream.  Files that were already validated
+	 * or written by this JVM and have not been modified since are not
+	 * validated again.
 	 * 
 	 * @param file the file to the opened and validated
 	 * @return an {@code InputStream} for reading from the specified file
@@ -208,26 +335,7 @@ public class FileProtection extends CommandLineUtility {
 	 */
 	public static InputStream openInputStream(final File file)
 			throws FileNotFoundException {
-		return new DigestInputStream(new FileInputStream(file),
-				createMessageDigest()) {
-
-			@Override
-			public void close() throws IOException {
-				//finish reading the file contents
-				byte[] buffer = new byte[Settings.BUFFER_SIZE];
-				
-				while (read(buffer) != -1) {
-					//reading the data calculates the checksum, nothing else to
-					//do here
-				}
-				
-				super.close();
-				
-				//check digest
-				validate(file, getMessageDigest().digest());
-			}
-
-		};
+		return new ValidatingInputStream(file);
 	}
 
 	/**
@@ -245,41 +353,112 @@ public class FileProtection extends CommandLineUtility {
 	}
 	
 	/**
-	 * Validates the file.
+	 * Returns a {@link Writer} wrapping the result from calling
+	 * {@code openOutputStream} with the specified file and append mode.
 	 * 
-	 * @param file the file being validated
-	 * @param actual the actual message digest of the file
+	 * @param file the file to be opened
+	 * @param append {@code true} to append to the end of the file;
+	 *        {@code false} to overwrite the file
+	 * @return a {@code Writer} wrapping the result from calling
+	 *         {@code openOutputStream} with the specified file
 	 * @throws IOException if an I/O error occurred
 	 */
-	private static void validate(File file, byte[] actual) throws IOException {
+	public static Writer openWriter(final File file, boolean append)
+			throws IOException {
+		return new OutputStreamWriter(openOutputStream(file, append));
+	}
+	
+	/**
+	 * Handles a file without a digest file.  In strict mode, an exception is
+	 * thrown.  Otherwise, a warning is printed.
+	 * 
+	 * @param file the file without a digest file
+	 * @throws ValidationException if operating in strict mode
+	 */
+	private static void missingDigest(File file) {
 		String mode = Settings.getFileProtectionMode();
-		File digestFile = getDigestFile(file);
 		
-		if (digestFile.exists()) {
-			byte[] expected = loadDigest(file);
+		if (mode.equalsIgnoreCase(STRICT_MODE)) {
+			throw new ValidationException(file, "no digest file");
+		} else {
+			System.err.println("no digest file exists to validate "
+					+ file);
+		}
+	}
+	
+	/**
+	 * Returns {@code true} if the actual digest matches the expected digest.
+	 * The digest of the entire file and the block digests are compared if
+	 * stored in the digest file.
+	 * 
+	 * @param expected the digest stored in the digest file
+	 * @param actual the actual message digest of the file
+	 * @return {@code true} if the actual digest matches the expected digest;
+	 *         {@code false} otherwise
+	 */
+	private static boolean matches(Digest expected, Digest actual) {
+		if ((expected.whole != null) &&
+				!MessageDigest.isEqual(expected.whole, actual.whole)) {
+			return false;
+		}
+		
+		if (expected.blocks != null) {
+			if ((expected.blockSize != actual.blockSize) ||
+					(expected.length != actual.length) ||
+					(expected.blocks.size() != actual.blocks.size())) {
+				return false;
+			}
 			
-			if (!MessageDigest.isEqual(actual, expected)) {
-				throw new ValidationException(file, 
-						"digest does not match");
+			for (int i = 0; i < expected.blocks.size(); i++) {
+				if (!MessageDigest.isEqual(expected.blocks.get(i),
+						actual.blocks.get(i))) {
+					return false;
+				}
 			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the block size of the digest file, or the default block size
+	 * if the digest file does not list block digests.
+	 * 
+	 * @param digest the digest stored in the digest file
+	 * @return the block size of the digest file
+	 */
+	private static int getBlockSize(Digest digest) {
+		if (digest.blocks == null) {
+			return Settings.getFileProtectionBlockSize();
 		} else {
-			if (mode.equalsIgnoreCase(STRICT_MODE)) {
-				throw new ValidationException(file, "no digest file");
-			} else {
-				System.err.println("no digest file exists to validate "
-						+ file);
-			}
+			return digest.blockSize;
 		}
 	}
 	
 	/**
-	 * Validates the file.
+	 * Validates the file.  Files that were already validated or written by
+	 * this JVM and have not been modified since are not validated again.
 	 * 
 	 * @param file the file to be validated
 	 * @throws IOException if an I/O error occurred
 	 */
 	public static void validate(File file) throws IOException {
-		validate(file, computeDigest(file));
+		if (isValidated(file)) {
+			return;
+		}
+		
+		if (getDigestFile(file).exists()) {
+			Digest expected = loadDigest(file);
+			Digest actual = computeDigest(file, getBlockSize(expected));
+			
+			if (!matches(expected, actual)) {
+				throw new ValidationException(file, "digest does not match");
+			}
+			
+			setValidated(file);
+		} else {
+			missingDigest(file);
+		}
 	}
 
 	/**
@@ -293,17 +472,122 @@ public class FileProtection extends CommandLineUtility {
 	 */
 	public static OutputStream openOutputStream(final File file)
 			throws FileNotFoundException {
-		return new DigestOutputStream(new FileOutputStream(file),
-				createMessageDigest()) {
-
-			@Override
-			public void close() throws IOException {
-				super.close();
+		return new DigestingOutputStream(file, new FileOutputStream(file),
+				new Hasher(Settings.getFileProtectionBlockSize(), true));
+	}
+	
+	/**
+	 * Returns an {@link OutputStream} for writing or appending to the
+	 * specified file and saves a digest file for validating its contents when
+	 * the {@code close} method is invoked.
+	 * <p>
+	 * When appending to a file whose digest file lists block digests, only
+	 * the last partial block of the existing contents is read and validated.
+	 * The remaining blocks are assumed to be unchanged.  Otherwise, the
+	 * existing contents are read and validated in their entirety.
+	 * 
+	 * @param file the file to be opened
+	 * @param append {@code true} to append to the end of the file;
+	 *        {@code false} to overwrite the file
+	 * @return an {@code OutputStream} for writing to the specified file
+	 * @throws IOException if an I/O error occurred or the existing contents
+	 *         could not be validated
+	 */
+	public static OutputStream openOutputStream(final File file,
+			boolean append) throws IOException {
+		if (!append || !file.exists()) {
+			return openOutputStream(file);
+		}
+		
+		Hasher hasher = null;
+		
+		if (getDigestFile(file).exists()) {
+			Digest expected = loadDigest(file);
+			
+			if ((expected.blocks != null) &&
+					(expected.length == file.length())) {
+				hasher = resumeDigest(file, expected);
+			} else {
+				Digest actual = computeDigest(file, getBlockSize(expected));
 				
-				saveDigest(file, getMessageDigest().digest());
+				if (!matches(expected, actual)) {
+					throw new ValidationException(file,
+							"digest does not match");
+				}
 			}
-
-		};
+		} else {
+			missingDigest(file);
+		}
+		
+		if (hasher == null) {
+			//validate and digest the entire file, which also retains the
+			//digest of the entire file
+			hasher = new Hasher(Settings.getFileProtectionBlockSize(), true);
+			InputStream is = null;
+			
+			try {
+				is = new FileInputStream(file);
+				
+				byte[] buffer = new byte[Settings.BUFFER_SIZE];
+				int len = 0;
+				
+				while ((len = is.read(buffer)) != -1) {
+					hasher.update(buffer, 0, len);
+				}
+			} finally {
+				if (is != null) {
+					is.close();
+				}
+			}
+		}
+		
+		return new DigestingOutputStream(file,
+				new FileOutputStream(file, true), hasher);
+	}
+	
+	/**
+	 * Resumes digesting a file from its stored block digests.  Only the last
+	 * partial block is read, which is validated against its stored digest.
+	 * 
+	 * @param file the file being appended
+	 * @param expected the digest stored in the digest file
+	 * @return the hasher for digesting the appended contents
+	 * @throws IOException if an I/O error occurred
+	 */
+	private static Hasher resumeDigest(File file, Digest expected)
+			throws IOException {
+		Hasher hasher = new Hasher(expected.blockSize, false);
+		int fullBlocks = (int)(expected.length / expected.blockSize);
+		int remaining = (int)(expected.length % expected.blockSize);
+		
+		hasher.blocks.addAll(expected.blocks.subList(0, fullBlocks));
+		hasher.length = (long)fullBlocks * expected.blockSize;
+		
+		if (remaining > 0) {
+			RandomAccessFile raf = null;
+			byte[] buffer = new byte[remaining];
+			
+			try {
+				raf = new RandomAccessFile(file, "r");
+				raf.seek(hasher.length);
+				raf.readFully(buffer);
+			} finally {
+				if (raf != null) {
+					raf.close();
+				}
+			}
+			
+			MessageDigest md = createMessageDigest();
+			
+			if (!MessageDigest.isEqual(md.digest(buffer),
+					expected.blocks.get(fullBlocks))) {
+				throw new ValidationException(file, "digest does not match");
+			}
+			
+			hasher.update(buffer, 0, remaining);
+		}
+		
+		return hasher;
 	}
 
 	@SuppressWarnings("static-access")
@@ -333,9 +617,10 @@ public class FileProtection extends CommandLineUtility {
 				System.out.print(": ");
 				
 				if (getDigestFile(file).exists()) {
-					byte[] actual = computeDigest(file);
-					byte[] expected = loadDigest(file);
-					boolean valid = MessageDigest.isEqual(actual, expected);
+					Digest expected = loadDigest(file);
+					Digest actual = computeDigest(file,
+							getBlockSize(expected));
+					boolean valid = matches(expected, actual);
 
 					if (valid) {
 						validCount++;
@@ -366,7 +651,8 @@ public class FileProtection extends CommandLineUtility {
 		} else {
 			for (String filename : commandLine.getArgs()) {
 				File file = new File(filename);
-				byte[] digest = computeDigest(file);
+				Digest digest = computeDigest(file,
+						Settings.getFileProtectionBlockSize());
 				saveDigest(file, digest);
 			}
 		}
@@ -383,4 +669,448 @@ public class FileProtection extends CommandLineUtility {
 		new FileProtection().start(args);
 	}
 
+	/**
+	 * The message digests of a file.
+	 */
+	private static class Digest {
+	
+		/**
+		 * The digest of the entire file, or {@code null} if unknown.
+		 */
+		private byte[] whole;
+		
+		/**
+		 * The size of the individually digested blocks.
+		 */
+		private int blockSize;
+		
+		/**
+		 * The length of the file.
+		 */
+		private long length;
+		
+		/**
+		 * The digests of each block, or {@code null} if unknown.
+		 */
+		private List<byte[]> blocks;
+		
+		/**
+		 * Returns the number of blocks in a file of the given length.
+		 * 
+		 * @param length the length of the file
+		 * @return the number of blocks in a file of the given length
+		 */
+		public int getNumberOfBlocks(long length) {
+			return (int)((length + blockSize - 1) / blockSize);
+		}
+		
+	}
+	
+	/**
+	 * Computes the digest of the entire file and the block digests in a
+	 * single pass.
+	 */
+	private static class Hasher {
+	
+		/**
+		 * The size of the individually digested blocks.
+		 */
+		private final int blockSize;
+		
+		/**
+		 * The digest of the entire file, or {@code null} if not computed.
+		 */
+		private final MessageDigest whole;
+		
+		/**
+		 * The digest of the current block.
+		 */
+		private final MessageDigest block;
+		
+		/**
+		 * The digests of each completed block.
+		 */
+		private final List<byte[]> blocks;
+		
+		/**
+		 * The number of bytes digested.
+		 */
+		private long length;
+		
+		/**
+		 * Constructs a new hasher.
+		 * 
+		 * @param blockSize the size of the individually digested blocks
+		 * @param computeWhole {@code true} if the digest of the entire file is
+		 *        computed; {@code false} otherwise
+		 */
+		public Hasher(int blockSize, boolean computeWhole) {
+			super();
+			
+			if (blockSize <= 0) {
+				throw new IllegalArgumentException(
+						"block size must be positive");
+			}
+			
+			this.blockSize = blockSize;
+			whole = computeWhole ? createMessageDigest() : null;
+			block = createMessageDigest();
+			blocks = new ArrayList<byte[]>();
+		}
+		
+		/**
+		 * Updates the digests with the given bytes.
+		 * 
+		 * @param b the bytes
+		 * @param off the offset of the first byte
+		 * @param len the number of bytes
+		 */
+		public void update(byte[] b, int off, int len) {
+			if (whole != null) {
+				whole.update(b, off, len);
+			}
+			
+			while (len > 0) {
+				int fill = (int)(length % blockSize);
+				int n = Math.min(len, blockSize - fill);
+				
+				block.update(b, off, n);
+				off += n;
+				len -= n;
+				length += n;
+				
+				if (fill + n == blockSize) {
+					blocks.add(block.digest());
+				}
+			}
+		}
+		
+		/**
+		 * Completes the last partial block and returns the digests.  This
+		 * hasher should not be used afterwards.
+		 * 
+		 * @return the digests
+		 */
+		public Digest finish() {
+			if (length % blockSize != 0) {
+				blocks.add(block.digest());
+			}
+			
+			Digest digest = new Digest();
+			digest.whole = (whole == null) ? null : whole.digest();
+			digest.blockSize = blockSize;
+			digest.length = length;
+			digest.blocks = blocks;
+			return digest;
+		}
+	
+	}
+	
+	/**
+	 * The state of a file and its digest file, used to detect modifications
+	 * to validated files.
+	 */
+	private static class FileState {
+	
+		/**
+		 * The length of the file.
+		 */
+		private final long length;
+		
+		/**
+		 * The last modified time of the file.
+		 */
+		private final long lastModified;
+		
+		/**
+		 * The length of the digest file.
+		 */
+		private final long digestLength;
+		
+		/**
+		 * The last modified time of the digest file.
+		 */
+		private final long digestLastModified;
+		
+		/**
+		 * Records the current state of the file and its digest file.
+		 * 
+		 * @param file the file
+		 */
+		public FileState(File file) {
+			super();
+			
+			File digestFile = getDigestFile(file);
+			
+			length = file.length();
+			lastModified = file.lastModified();
+			digestLength = digestFile.length();
+			digestLastModified = digestFile.lastModified();
+		}
+		
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			} else if ((obj == null) || (obj.getClass() != getClass())) {
+				return false;
+			} else {
+				FileState rhs = (FileState)obj;
+				
+				return (length == rhs.length) &&
+						(lastModified == rhs.lastModified) &&
+						(digestLength == rhs.digestLength) &&
+						(digestLastModified == rhs.digestLastModified);
+			}
+		}
+		
+		@Override
+		public int hashCode() {
+			return (int)(length ^ lastModified ^ digestLastModified);
+		}
+	
+	}
+	
+	/**
+	 * Input stream that validates each block of the file as it is read.
+	 */
+	private static class ValidatingInputStream extends FilterInputStream {
+	
+		/**
+		 * The file being read.
+		 */
+		private final File file;
+		
+		/**
+		 * The digest stored in the digest file, or {@code null} if the file
+		 * is not validated.
+		 */
+		private Digest expected;
+		
+		/**
+		 * The hasher digesting the contents read so far.
+		 */
+		private Hasher hasher;
+		
+		/**
+		 * {@code true} if the digest file was loaded; {@code false}
+		 * otherwise.
+		 */
+		private boolean initialized;
+		
+		/**
+		 * {@code true} if the end of the file was reached; {@code false}
+		 * otherwise.
+		 */
+		private boolean eof;
+		
+		/**
+		 * Constructs a new input stream validating the specified file.
+		 * 
+		 * @param file the file to be opened and validated
+		 * @throws FileNotFoundException if the specified file does not exist
+		 */
+		public ValidatingInputStream(File file) throws FileNotFoundException {
+			super(new FileInputStream(file));
+			this.file = file;
+		}
+		
+		/**
+		 * Loads the digest file before reading the first byte.
+		 * 
+		 * @throws IOException if an I/O error occurred
+		 */
+		private void initialize() throws IOException {
+			if (initialized) {
+				return;
+			}
+			
+			initialized = true;
+			
+			if (isValidated(file)) {
+				return;
+			}
+			
+			if (getDigestFile(file).exists()) {
+				expected = loadDigest(file);
+				hasher = new Hasher(getBlockSize(expected),
+						expected.whole != null);
+			} else {
+				missingDigest(file);
+			}
+		}
+		
+		/**
+		 * Digests the bytes read and validates any completed blocks.
+		 * 
+		 * @param b the bytes read
+		 * @param off the offset of the first byte
+		 * @param len the number of bytes read, or {@code -1} if the end of
+		 *        the file was reached
+		 * @throws IOException if an I/O error occurred
+		 */
+		private void update(byte[] b, int off, int len) throws IOException {
+			if (expected == null) {
+				return;
+			}
+			
+			if (len < 0) {
+				if (!eof) {
+					eof = true;
+					
+					if (!matches(expected, hasher.finish())) {
+						throw new ValidationException(file,
+								"digest does not match");
+					}
+					
+					setValidated(file);
+				}
+				
+				return;
+			}
+			
+			int checked = hasher.blocks.size();
+			hasher.update(b, off, len);
+			
+			if (expected.blocks != null) {
+				for (int i = checked; i < hasher.blocks.size(); i++) {
+					if ((i >= expected.blocks.size()) ||
+							!MessageDigest.isEqual(hasher.blocks.get(i),
+									expected.blocks.get(i))) {
+						throw new ValidationException(file,
+								"digest does not match");
+					}
+				}
+			}
+		}
+		
+		@Override
+		public int read() throws IOException {
+			byte[] b = new byte[1];
+			int len = read(b, 0, 1);
+			return (len < 0) ? -1 : (b[0] & 0xFF);
+		}
+		
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			initialize();
+			
+			int n = super.read(b, off, len);
+			
+			if (n != 0) {
+				update(b, off, n);
+			}
+			
+			return n;
+		}
+		
+		@Override
+		public long skip(long n) throws IOException {
+			//skipped bytes must still be digested
+			byte[] buffer = new byte[(int)Math.min(n, Settings.BUFFER_SIZE)];
+			long skipped = 0;
+			
+			while (skipped < n) {
+				int len = read(buffer, 0,
+						(int)Math.min(n - skipped, buffer.length));
+				
+				if (len < 0) {
+					break;
+				}
+				
+				skipped += len;
+			}
+			
+			return skipped;
+		}
+		
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+		
+		@Override
+		public void close() throws IOException {
+			try {
+				initialize();
+				
+				if (expected != null) {
+					//finish reading the file contents
+					byte[] buffer = new byte[Settings.BUFFER_SIZE];
+					
+					while (read(buffer) != -1) {
+						//reading the data validates the blocks, nothing else
+						//to do here
+					}
+				}
+			} finally {
+				super.close();
+			}
+		}
+	
+	}
+	
+	/**
+	 * Output stream that digests the written contents and saves the digest
+	 * file when closed.
+	 */
+	private static class DigestingOutputStream extends FilterOutputStream {
+	
+		/**
+		 * The file being written.
+		 */
+		private final File file;
+		
+		/**
+		 * The hasher digesting the contents of the file.
+		 */
+		private final Hasher hasher;
+		
+		/**
+		 * {@code true} if this stream was closed; {@code false} otherwise.
+		 */
+		private boolean closed;
+		
+		/**
+		 * Constructs a new output stream digesting the contents of the
+		 * specified file.
+		 * 
+		 * @param file the file being written
+		 * @param out the underlying output stream
+		 * @param hasher the hasher, which has digested any existing contents
+		 *        of the file
+		 */
+		public DigestingOutputStream(File file, OutputStream out,
+				Hasher hasher) {
+			super(out);
+			this.file = file;
+			this.hasher = hasher;
+		}
+		
+		@Override
+		public void write(int b) throws IOException {
+			write(new byte[] { (byte)b }, 0, 1);
+		}
+		
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len);
+			hasher.update(b, off, len);
+		}
+		
+		@Override
+		public void close() throws IOException {
+			if (closed) {
+				return;
+			}
+			
+			closed = true;
+			super.close();
+			
+			saveDigest(file, hasher.finish());
+			setValidated(file);
+		}
+	
+	}
+
 }
@@ -0,0 +1,218 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.tree;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.moeaframework.core.FrameworkException;
+
+/**
+ * Evaluates compiled expression trees over every row of a dataset.  The
+ * dataset is stored by columns, with one column for each variable slot
+ * assigned by the {@link NodeCompiler}.  Rows are processed in chunks, so
+ * the intermediate arrays used by the batch kernels of each node remain
+ * small enough to stay in cache.  If an {@link ExecutorService} is provided,
+ * the chunks of all trees are evaluated in parallel.
+ */
+public class BatchEvaluator {
+	
+	/**
+	 * The default number of rows evaluated at a time.
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 1024;
+	
+	/**
+	 * The values of the variables, where {@code columns[slot][row]} is the
+	 * value of the variable assigned to {@code slot} in the given row.
+	 */
+	private final double[][] columns;
+	
+	/**
+	 * The number of rows in the dataset.
+	 */
+	private final int numberOfRows;
+	
+	/**
+	 * The executor service used to evaluate chunks in parallel, or
+	 * {@code null} if chunks are evaluated in the calling thread.
+	 */
+	private final ExecutorService executor;
+	
+	/**
+	 * The number of rows evaluated at a time.
+	 */
+	private final int chunkSize;
+	
+	/**
+	 * Constructs a new evaluator for the given dataset that evaluates all
+	 * rows in the calling thread.
+	 * 
+	 * @param columns the values of the variables, where
+	 *        {@code columns[slot][row]} is the value of the variable assigned
+	 *        to {@code slot} in the given row
+	 */
+	public BatchEvaluator(double[][] columns) {
+		this(columns, null);
+	}
+	
+	/**
+	 * Constructs a new evaluator for the given dataset that distributes
+	 * chunks of rows using the given executor service.
+	 * 
+	 * @param columns the values of the variables, where
+	 *        {@code columns[slot][row]} is the value of the variable assigned
+	 *        to {@code slot} in the given row
+	 * @param executor the executor service used to evaluate chunks in
+	 *        parallel, or {@code null} to evaluate chunks in the calling
+	 *        thread
+	 */
+	public BatchEvaluator(double[][] columns, ExecutorService executor) {
+		this(columns, executor, DEFAULT_CHUNK_SIZE);
+	}
+	
+	/**
+	 * Constructs a new evaluator for the given dataset that distributes
+	 * chunks of rows using the given executor service.
+	 * 
+	 * @param columns the values of the variables, where
+	 *        {@code columns[slot][row]} is the value of the variable assigned
+	 *        to {@code slot} in the given row
+	 * @param executor the executor service used to evaluate chunks in
+	 *        parallel, or {@code null} to evaluate chunks in the calling
+	 *        thread
+	 * @param chunkSize the number of rows evaluated at a time
+	 * @throws IllegalArgumentException if the columns have different lengths
+	 *         or the chunk size is not positive
+	 */
+	public BatchEvaluator(double[][] columns, ExecutorService executor,
+			int chunkSize) {
+		super();
+		this.columns = columns;
+		this.executor = executor;
+		this.chunkSize = chunkSize;
+		
+		if (chunkSize <= 0) {
+			throw new IllegalArgumentException("chunk size must be positive");
+		}
+		
+		numberOfRows = columns.length == 0 ? 0 : columns[0].length;
+		
+		for (double[] column : columns) {
+			if (column.length != numberOfRows) {
+				throw new IllegalArgumentException(
+						"columns must have the same length");
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of rows in the dataset.
+	 * 
+	 * @return the number of rows in the dataset
+	 */
+	public int getNumberOfRows() {
+		return numberOfRows;
+	}
+	
+	/**
+	 * Evaluates the compiled tree over every row of the dataset.
+	 * 
+	 * @param node the compiled tree
+	 * @return the value of the tree for each row
+	 */
+	public double[] evaluate(CompiledNode node) {
+		return evaluate(new CompiledNode[] { node })[0];
+	}
+	
+	/**
+	 * Evaluates each compiled tree over every row of the dataset.  This is
+	 * typically used to evaluate all programs in a population.
+	 * 
+	 * @param nodes the compiled trees
+	 * @return the values of each tree for each row, where
+	 *         {@code result[i][row]} is the value of {@code nodes[i]}
+	 */
+	public double[][] evaluate(CompiledNode[] nodes) {
+		double[][] result = new double[nodes.length][numberOfRows];
+		
+		if (executor == null) {
+			for (int i = 0; i < nodes.length; i++) {
+				for (int start = 0; start < numberOfRows; start += chunkSize) {
+					evaluate(nodes[i], start, result[i]);
+				}
+			}
+		} else {
+			List<Future<Void>> futures = new ArrayList<Future<Void>>();
+			
+			for (int i = 0; i < nodes.length; i++) {
+				for (int start = 0; start < numberOfRows; start += chunkSize) {
+					final CompiledNode node = nodes[i];
+					final int chunkStart = start;
+					final double[] values = result[i];
+					
+					futures.add(executor.submit(new Callable<Void>() {
+
+						@Override
+						public Void call() {
+							evaluate(node, chunkStart, values);
+							return null;
+						}
+						
+					}));
+				}
+			}
+			
+			try {
+				for (Future<Void> future : futures) {
+					future.get();
+				}
+			} catch (InterruptedException e) {
+				throw new FrameworkException(e);
+			} catch (ExecutionException e) {
+				throw new FrameworkException(e.getCause());
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Evaluates the compiled tree over one chunk of rows.
+	 * 
+	 * @param node the compiled tree
+	 * @param start the index of the first row in the chunk
+	 * @param values the array storing the value of the tree for each row
+	 */
+	private void evaluate(CompiledNode node, int start, double[] values) {
+		int end = Math.min(start + chunkSize, numberOfRows);
+		
+		if ((start == 0) && (end == numberOfRows)) {
+			node.evaluate(columns, start, end, values);
+		} else {
+			double[] chunk = new double[end - start];
+			node.evaluate(columns, start, end, chunk);
+			System.arraycopy(chunk, 0, values, start, end - start);
+		}
+	}
+
+}
@@ -17,6 +17,9 @@
  */
 package org.moeaframework.util.tree;
 
+import java.util.Arrays;
+
+
 /**
  * The node for calling a named function.
  * 
@@ -139,6 +142,20 @@ public class Call extends Node {
 				variableTypes);
 	}
 
+	@Override
+	protected long getParameterHash() {
+		return 31 * functionName.hashCode() +
+				Arrays.hashCode(variableNames);
+	}
+
+	@Override
+	protected boolean hasEqualParameters(Node node) {
+		Call other = (Call)node;
+		return functionName.equals(other.functionName) &&
+				Arrays.equals(variableNames, other.variableNames) &&
+				Arrays.equals(variableTypes, other.variableTypes);
+	}
+
 	@Override
 	public Object evaluate(Environment environment) {
 		Environment closure = new Environment(environment);
@@ -0,0 +1,154 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.tree;
+
+/**
+ * An expression tree compiled by {@link NodeCompiler}.  Unlike {@link Node},
+ * which evaluates against an {@link Environment} and boxes every intermediate
+ * value, a compiled node operates directly on {@code double} values.
+ * Variables are read from an array of slots, where the index of each variable
+ * is assigned by the compiler.  Boolean-valued expressions are evaluated with
+ * {@link #test(double[])}.
+ * <p>
+ * Compiled nodes can also be evaluated over many rows of a dataset at once.
+ * The dataset is stored by columns, where {@code columns[slot][row]} is the
+ * value of the variable assigned to {@code slot} in the given row.  The
+ * nodes produced by {@link NodeCompiler} override the batch methods with
+ * kernels that evaluate each node over the entire range of rows in a single
+ * loop, which avoids traversing the tree for each row.  The batch methods
+ * evaluate both branches of conditional expressions and then select the
+ * result for each row.  Since compiled nodes have no side effects, this
+ * produces the same results as evaluating each row individually.
+ * <p>
+ * Compiled nodes are immutable and may be shared between threads.
+ */
+public abstract class CompiledNode {
+	
+	/**
+	 * {@code true} if this node produces integer values when evaluated by the
+	 * interpreter; {@code false} otherwise.
+	 */
+	private final boolean integral;
+	
+	/**
+	 * Constructs a new compiled node.
+	 * 
+	 * @param integral {@code true} if this node produces integer values when
+	 *        evaluated by the interpreter; {@code false} otherwise
+	 */
+	CompiledNode(boolean integral) {
+		super();
+		this.integral = integral;
+	}
+	
+	/**
+	 * Returns {@code true} if this node produces integer values when evaluated
+	 * by the interpreter; {@code false} otherwise.  Integer arithmetic is
+	 * emulated using {@code double} values.
+	 * 
+	 * @return {@code true} if this node produces integer values when evaluated
+	 *         by the interpreter; {@code false} otherwise
+	 */
+	boolean isIntegral() {
+		return integral;
+	}
+	
+	/**
+	 * Returns {@code true} if this node produces boolean values; {@code false}
+	 * if this node produces numeric values.
+	 * 
+	 * @return {@code true} if this node produces boolean values; {@code false}
+	 *         if this node produces numeric values
+	 */
+	public abstract boolean isBoolean();
+	
+	/**
+	 * Evaluates this numeric expression.  If this node produces boolean
+	 * values, this method returns {@code 1.0} for {@code true} and {@code 0.0}
+	 * for {@code false}.
+	 * 
+	 * @param variables the values of the variables, indexed by the slots
+	 *        assigned by the compiler
+	 * @return the value of this expression
+	 */
+	public abstract double evaluate(double[] variables);
+	
+	/**
+	 * Evaluates this boolean expression.
+	 * 
+	 * @param variables the values of the variables, indexed by the slots
+	 *        assigned by the compiler
+	 * @return the value of this expression
+	 * @throws UnsupportedOperationException if this node produces numeric
+	 *         values
+	 */
+	public abstract boolean test(double[] variables);
+	
+	/**
+	 * Evaluates this numeric expression over a range of rows.  The default
+	 * implementation evaluates each row individually.
+	 * 
+	 * @param columns the values of the variables, where
+	 *        {@code columns[slot][row]} is the value of the variable assigned
+	 *        to {@code slot} in the given row
+	 * @param start the index of the first row, inclusive
+	 * @param end the index of the last row, exclusive
+	 * @param result the array in which the value for row {@code start + i}
+	 *        is stored at index {@code i}
+	 */
+	public void evaluate(double[][] columns, int start, int end,
+			double[] result) {
+		double[] variables = new double[columns.length];
+		
+		for (int i = start; i < end; i++) {
+			for (int j = 0; j < columns.length; j++) {
+				variables[j] = columns[j][i];
+			}
+			
+			result[i - start] = evaluate(variables);
+		}
+	}
+	
+	/**
+	 * Evaluates this boolean expression over a range of rows.  The default
+	 * implementation evaluates each row individually.
+	 * 
+	 * @param columns the values of the variables, where
+	 *        {@code columns[slot][row]} is the value of the variable assigned
+	 *        to {@code slot} in the given row
+	 * @param start the index of the first row, inclusive
+	 * @param end the index of the last row, exclusive
+	 * @param result the array in which the value for row {@code start + i}
+	 *        is stored at index {@code i}
+	 * @throws UnsupportedOperationException if this node produces numeric
+	 *         values
+	 */
+	public void test(double[][] columns, int start, int end,
+			boolean[] result) {
+		double[] variables = new double[columns.length];
+		
+		for (int i = start; i < end; i++) {
+			for (int j = 0; j < columns.length; j++) {
+				variables[j] = columns[j][i];
+			}
+			
+			result[i - start] = test(variables);
+		}
+	}
+
+}
@@ -85,6 +85,26 @@ public class Constant extends Node {
 	public Constant copyNode() {
 		return new Constant(getReturnType(), value);
 	}
+
+	@Override
+	protected long getParameterHash() {
+		return value == null ? 0 : value.hashCode();
+	}
+
+	@Override
+	protected boolean hasEqualParameters(Node node) {
+		Constant other = (Constant)node;
+		return (value == null) ? (other.value == null) : value.equals(other.value);
+	}
+	
+	/**
+	 * Returns the constant value.
+	 * 
+	 * @return the constant value
+	 */
+	public Object getValue() {
+		return value;
+	}
 	
 	@Override
 	public Object evaluate(Environment environment) {
@@ -17,6 +17,9 @@
  */
 package org.moeaframework.util.tree;
 
+import java.util.Arrays;
+
+
 /**
  * The node for defining a callable, named function.  Once a named function is
  * defined, it can be invoked using {@link Call}.  The behavior (body) of this
@@ -131,6 +134,20 @@ public class Define extends Node {
 				variableTypes);
 	}
 
+	@Override
+	protected long getParameterHash() {
+		return 31 * functionName.hashCode() +
+				Arrays.hashCode(variableNames);
+	}
+
+	@Override
+	protected boolean hasEqualParameters(Node node) {
+		Define other = (Define)node;
+		return functionName.equals(other.functionName) &&
+				Arrays.equals(variableNames, other.variableNames) &&
+				Arrays.equals(variableTypes, other.variableTypes);
+	}
+
 	@Override
 	public Void evaluate(Environment environment) {
 		environment.set(functionName, getArgument(0));
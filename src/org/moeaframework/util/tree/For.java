@@ -81,6 +81,17 @@ public class For extends Node {
 		return new For(variableName);
 	}
 
+	@Override
+	protected long getParameterHash() {
+		return variableName.hashCode();
+	}
+
+	@Override
+	protected boolean hasEqualParameters(Node node) {
+		For other = (For)node;
+		return variableName.equals(other.variableName);
+	}
+
 	@Override
 	public Object evaluate(Environment environment) {
 		Number start = (Number)getArgument(0).evaluate(environment);
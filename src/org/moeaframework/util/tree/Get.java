@@ -66,6 +66,26 @@ public class Get extends Node {
 		return new Get(getReturnType(), name);
 	}
 
+	@Override
+	protected long getParameterHash() {
+		return name.hashCode();
+	}
+
+	@Override
+	protected boolean hasEqualParameters(Node node) {
+		Get other = (Get)node;
+		return name.equals(other.name);
+	}
+	
+	/**
+	 * Returns the name of the variable.
+	 * 
+	 * @return the name of the variable
+	 */
+	public String getName() {
+		return name;
+	}
+
 	@Override
 	public Object evaluate(Environment environment) {
 		Object value = environment.get(getReturnType(), name);
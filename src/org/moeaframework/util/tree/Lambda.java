@@ -17,6 +17,9 @@
  */
 package org.moeaframework.util.tree;
 
+import java.util.Arrays;
+
+
 /**
  * The node for defining an immutable, anonymous function.  Unlike
  * {@link Define}, the behavior (body) of a {@code Lambda} can not be modified.
@@ -111,6 +114,19 @@ public class Lambda extends Node {
 		return new Lambda(node.copyTree(), variableNames, getArgumentTypes());
 	}
 
+	@Override
+	protected long getParameterHash() {
+		return 31 * node.getStructuralHash() +
+				Arrays.hashCode(variableNames);
+	}
+
+	@Override
+	protected boolean hasEqualParameters(Node node) {
+		Lambda other = (Lambda)node;
+		return node.isStructurallyEqual(other.node) &&
+				Arrays.equals(variableNames, other.variableNames);
+	}
+
 	@Override
 	public Object evaluate(Environment environment) {
 		Environment closure = new Environment(environment);
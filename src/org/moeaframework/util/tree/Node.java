@@ -50,6 +50,17 @@ public abstract class Node {
 	 */
 	private final Class<?>[] argumentTypes;
 	
+	/**
+	 * The cached structural hash of the subtree rooted at this node.
+	 */
+	private long structuralHash;
+	
+	/**
+	 * {@code true} if {@link #structuralHash} is valid; {@code false} if it
+	 * must be recomputed.
+	 */
+	private boolean isStructuralHashValid;
+	
 	/**
 	 * Constructs a new node.
 	 */
@@ -180,9 +191,131 @@ public abstract class Node {
 	public Node setArgument(int index, Node expression) {
 		expression.setParent(this);
 		arguments[index] = expression;
+		invalidateStructuralHash();
 		return this;
 	}
 	
+	/**
+	 * Invalidates the cached structural hash of this node and its ancestors.
+	 * Since computing the hash of a node also computes the hashes of its
+	 * arguments, the ancestors of a node with an invalid hash also have
+	 * invalid hashes, so only the path to the first invalid node is visited.
+	 */
+	private void invalidateStructuralHash() {
+		Node node = this;
+		
+		while ((node != null) && node.isStructuralHashValid) {
+			node.isStructuralHashValid = false;
+			node = node.parent;
+		}
+	}
+	
+	/**
+	 * Returns the structural hash of the subtree rooted at this node.  Two
+	 * subtrees that are structurally equal, as determined by
+	 * {@link #isStructurallyEqual(Node)}, have the same structural hash.
+	 * <p>
+	 * The hash is cached and only recomputed after an argument is replaced
+	 * within the subtree.  Replacing an argument invalidates only the hashes
+	 * along the path to the root, so after crossover or mutation the hashes
+	 * of all unmodified subtrees remain valid.  Copies produced by
+	 * {@link #copyTree()} retain the cached hashes.
+	 * 
+	 * @return the structural hash of the subtree rooted at this node
+	 */
+	public long getStructuralHash() {
+		if (!isStructuralHashValid) {
+			long hash = getClass().getName().hashCode();
+			hash = 31 * hash + returnType.getName().hashCode();
+			hash = 31 * hash + getParameterHash();
+			
+			for (int i = 0; i < arguments.length; i++) {
+				hash = 31 * hash + argumentTypes[i].getName().hashCode();
+				
+				if (arguments[i] != null) {
+					hash = hash * 0x9E3779B97F4A7C15L +
+							arguments[i].getStructuralHash();
+				}
+			}
+			
+			structuralHash = hash ^ (hash >>> 29);
+			isStructuralHashValid = true;
+		}
+		
+		return structuralHash;
+	}
+	
+	/**
+	 * Returns {@code true} if the subtree rooted at this node is structurally
+	 * equal to the subtree rooted at the given node; {@code false} otherwise.
+	 * Two subtrees are structurally equal if their nodes have the same types,
+	 * return types, argument types and parameters, such as the value of a
+	 * {@link Constant}, and their arguments are structurally equal.
+	 * Structurally equal subtrees always produce the same result when
+	 * evaluated in the same environment.
+	 * 
+	 * @param node the root of the other subtree
+	 * @return {@code true} if the subtree rooted at this node is structurally
+	 *         equal to the subtree rooted at the given node; {@code false}
+	 *         otherwise
+	 */
+	public boolean isStructurallyEqual(Node node) {
+		if (node == this) {
+			return true;
+		}
+		
+		if ((node == null) || (node.getClass() != getClass()) ||
+				!node.returnType.equals(returnType) ||
+				(node.arguments.length != arguments.length) ||
+				(node.getStructuralHash() != getStructuralHash()) ||
+				!hasEqualParameters(node)) {
+			return false;
+		}
+		
+		for (int i = 0; i < arguments.length; i++) {
+			if (!argumentTypes[i].equals(node.argumentTypes[i])) {
+				return false;
+			}
+			
+			if (arguments[i] == null) {
+				if (node.arguments[i] != null) {
+					return false;
+				}
+			} else if (!arguments[i].isStructurallyEqual(node.arguments[i])) {
+				return false;
+			}
+		}
+		
+		return true;
+	}
+	
+	/**
+	 * Returns the hash of the parameters of this node, excluding its
+	 * arguments.  Nodes storing parameters that affect their result, such as
+	 * the value of a {@link Constant} or the name of a variable, must
+	 * override this method and {@link #hasEqualParameters(Node)}.  The
+	 * default implementation returns {@code 0}.
+	 * 
+	 * @return the hash of the parameters of this node
+	 */
+	protected long getParameterHash() {
+		return 0;
+	}
+	
+	/**
+	 * Returns {@code true} if this node has the same parameters as the given
+	 * node, excluding their arguments; {@code false} otherwise.  The given
+	 * node is always of the same type as this node.  The default
+	 * implementation returns {@code true}.
+	 * 
+	 * @param node the other node
+	 * @return {@code true} if this node has the same parameters as the given
+	 *         node; {@code false} otherwise
+	 */
+	protected boolean hasEqualParameters(Node node) {
+		return true;
+	}
+	
 	/**
 	 * Returns the number of nodes contained in the tree rooted at this node.
 	 * 
@@ -278,6 +411,9 @@ public abstract class Node {
 			}
 		}
 		
+		node.structuralHash = structuralHash;
+		node.isStructuralHashValid = isStructuralHashValid;
+		
 		return node;
 	}
 
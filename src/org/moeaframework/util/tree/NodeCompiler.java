@@ -0,0 +1,1933 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.tree;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.apache.commons.math3.util.FastMath;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.variable.Program;
+
+/**
+ * Compiles expression trees into {@link CompiledNode}s that evaluate using
+ * primitive {@code double} arithmetic.  Variables referenced by {@link Get}
+ * nodes are resolved to slots when the tree is compiled, so the compiled tree
+ * reads its inputs from an array rather than looking up names in an
+ * {@link Environment}.  Variables not known to the compiler evaluate to their
+ * default value, matching the behavior of {@link Get}.
+ * <p>
+ * The compiler supports the numeric, trigonometric, comparison and logical
+ * nodes in this package along with {@link Constant}, {@link Get},
+ * {@link IfElse}, {@link Truncate} and {@link Program}.  Nodes with side
+ * effects or user-defined nodes, such as {@link Set}, {@link For} or
+ * {@link Call}, are not supported and cause {@link #compile(Node)} to throw
+ * an {@link IllegalArgumentException}.  Such trees should continue to use the
+ * interpreter.
+ * <p>
+ * Compiled trees produce the same results as the interpreter when the
+ * variables hold floating-point values.  Integer-valued subtrees, such as
+ * those built from integer constants, are tracked by the compiler so that
+ * division and remainder retain their integer semantics, but the values are
+ * carried in {@code double} precision and are exact only up to
+ * 2<sup>53</sup>.  Whether function protection is enabled is read when the
+ * compiler is constructed.
+ * <p>
+ * Compiled subtrees are cached by their structure, as determined by
+ * {@link Node#getStructuralHash()} and {@link Node#isStructurallyEqual(Node)},
+ * so subtrees shared between programs, such as those left unchanged by
+ * crossover and mutation, are only compiled once and map to the same
+ * compiled node.
+ * <p>
+ * Optionally, the results of batch evaluations can also be memoized.  When
+ * enabled, the result of each compiled function node evaluated over a range of
+ * rows is stored in a least-recently-used cache, keyed by the compiled
+ * subtree and the identity of the dataset.  Since structurally equal subtrees
+ * share a compiled node, evaluating a new program over the same dataset
+ * reuses the results of any subtrees it shares with previously evaluated
+ * programs, and only the modified paths are recomputed.  The dataset must
+ * therefore not be modified while its results are cached, and the rows must
+ * be evaluated in consistent ranges, as done by {@link BatchEvaluator}.
+ * Results are not memoized when evaluating a single row.
+ * <p>
+ * This class is thread-safe.
+ */
+public class NodeCompiler {
+	
+	/**
+	 * The default number of compiled subtrees stored in the cache.
+	 */
+	public static final int DEFAULT_CACHE_SIZE = 10000;
+	
+	/**
+	 * The names of the variables, indexed by their slot.
+	 */
+	private final String[] variables;
+	
+	/**
+	 * The mapping of variable names to slots.
+	 */
+	private final Map<String, Integer> slots;
+	
+	/**
+	 * {@code true} if function protection is enabled; {@code false}
+	 * otherwise.
+	 */
+	private final boolean protectedFunctions;
+	
+	/**
+	 * The least-recently-used cache of compiled subtrees, keyed by the
+	 * structure of the subtree.
+	 */
+	private final Map<StructureKey, CompiledNode> cache;
+	
+	/**
+	 * The least-recently-used cache of memoized batch results, or
+	 * {@code null} if batch results are not memoized.
+	 */
+	private final Map<ResultKey, double[]> results;
+	
+	/**
+	 * Constructs a new compiler assigning slots to the given variables in the
+	 * order they are listed, using the default cache size.
+	 * 
+	 * @param variables the names of the variables
+	 */
+	public NodeCompiler(String... variables) {
+		this(DEFAULT_CACHE_SIZE, variables);
+	}
+	
+	/**
+	 * Constructs a new compiler assigning slots to the given variables in the
+	 * order they are listed.
+	 * 
+	 * @param cacheSize the maximum number of compiled subtrees stored in the
+	 *        cache, or {@code 0} to disable caching
+	 * @param variables the names of the variables
+	 */
+	public NodeCompiler(int cacheSize, String... variables) {
+		this(cacheSize, 0, variables);
+	}
+	
+	/**
+	 * Constructs a new compiler assigning slots to the given variables in the
+	 * order they are listed and memoizing the results of batch evaluations.
+	 * Each memoized result stores one {@code double} value for each row in the
+	 * evaluated range.
+	 * 
+	 * @param cacheSize the maximum number of compiled subtrees stored in the
+	 *        cache, or {@code 0} to disable caching
+	 * @param resultCacheSize the maximum number of batch results stored in
+	 *        the cache, or {@code 0} to disable memoization
+	 * @param variables the names of the variables
+	 */
+	public NodeCompiler(final int cacheSize, final int resultCacheSize,
+			String... variables) {
+		super();
+		this.variables = variables.clone();
+		
+		slots = new HashMap<String, Integer>();
+		
+		for (int i = 0; i < variables.length; i++) {
+			if (slots.put(variables[i], i) != null) {
+				throw new IllegalArgumentException("duplicate variable " +
+						variables[i]);
+			}
+		}
+		
+		protectedFunctions = Settings.isProtectedFunctions();
+		
+		cache = new LinkedHashMap<StructureKey, CompiledNode>(16, 0.75f,
+				true) {
+
+			private static final long serialVersionUID = 2767395563946596522L;
+
+			@Override
+			protected boolean removeEldestEntry(
+					Map.Entry<StructureKey, CompiledNode> eldest) {
+				return size() > cacheSize;
+			}
+			
+		};
+		
+		if (resultCacheSize > 0) {
+			results = new LinkedHashMap<ResultKey, double[]>(16, 0.75f, true) {
+
+				private static final long serialVersionUID =
+						-4323506209741381547L;
+
+				@Override
+				protected boolean removeEldestEntry(
+						Map.Entry<ResultKey, double[]> eldest) {
+					return size() > resultCacheSize;
+				}
+				
+			};
+		} else {
+			results = null;
+		}
+	}
+	
+	/**
+	 * Returns the names of the variables, indexed by their slot.
+	 * 
+	 * @return the names of the variables, indexed by their slot
+	 */
+	public String[] getVariables() {
+		return variables.clone();
+	}
+	
+	/**
+	 * Returns the slot assigned to the named variable, or {@code -1} if the
+	 * variable is not known to this compiler.
+	 * 
+	 * @param name the name of the variable
+	 * @return the slot assigned to the named variable, or {@code -1} if the
+	 *         variable is not known to this compiler
+	 */
+	public int getSlot(String name) {
+		Integer slot = slots.get(name);
+		return slot == null ? -1 : slot;
+	}
+	
+	/**
+	 * Returns the values of the variables stored in the given environment,
+	 * indexed by their slot.  Variables not defined in the environment are
+	 * assigned {@code 0}.
+	 * 
+	 * @param environment the environment
+	 * @return the values of the variables stored in the given environment
+	 */
+	public double[] getValues(Environment environment) {
+		double[] values = new double[variables.length];
+		
+		for (int i = 0; i < variables.length; i++) {
+			Number value = environment.get(Number.class, variables[i]);
+			
+			if (value != null) {
+				values[i] = value.doubleValue();
+			}
+		}
+		
+		return values;
+	}
+	
+	/**
+	 * Removes all compiled subtrees and memoized results from the caches.
+	 */
+	public synchronized void clearCache() {
+		cache.clear();
+		
+		if (results != null) {
+			synchronized (results) {
+				results.clear();
+			}
+		}
+	}
+	
+	/**
+	 * Returns the number of memoized batch results currently stored in the
+	 * cache.
+	 * 
+	 * @return the number of memoized batch results currently stored in the
+	 *         cache
+	 */
+	public int getNumberOfCachedResults() {
+		if (results == null) {
+			return 0;
+		} else {
+			synchronized (results) {
+				return results.size();
+			}
+		}
+	}
+	
+	/**
+	 * Compiles the given expression tree.
+	 * 
+	 * @param node the root of the expression tree
+	 * @return the compiled expression tree
+	 * @throws IllegalArgumentException if the tree contains nodes not
+	 *         supported by this compiler
+	 */
+	public synchronized CompiledNode compile(Node node) {
+		if (node instanceof Program) {
+			return compile(node.getArgument(0));
+		}
+		
+		CompiledNode result = cache.get(new StructureKey(node));
+		
+		if (result == null) {
+			//the cache keeps a private copy, since the tree may be modified
+			result = compileSubtree(node.copyTree());
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Compiles the given subtree through the cache.  The subtree must not be
+	 * modified afterwards, as it is stored in the cache.
+	 * 
+	 * @param node the root of the subtree
+	 * @return the compiled subtree
+	 * @throws IllegalArgumentException if the subtree contains nodes not
+	 *         supported by this compiler
+	 */
+	private CompiledNode compileSubtree(Node node) {
+		StructureKey key = new StructureKey(node);
+		CompiledNode result = cache.get(key);
+		
+		if (result == null) {
+			result = compileNode(node);
+			
+			if ((results != null) && !node.isTerminal() &&
+					!result.isBoolean() && !(result instanceof MemoizedNode)) {
+				result = new MemoizedNode(result);
+			}
+			
+			cache.put(key, result);
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Compiles the given subtree, compiling its arguments through the cache.
+	 * 
+	 * @param node the root of the subtree
+	 * @return the compiled subtree
+	 * @throws IllegalArgumentException if the subtree contains nodes not
+	 *         supported by this compiler
+	 */
+	private CompiledNode compileNode(Node node) {
+		Class<?> type = node.getClass();
+		
+		if (type == Constant.class) {
+			return compileConstant((Constant)node);
+		} else if (type == Get.class) {
+			return compileGet((Get)node);
+		} else if (type == IfElse.class) {
+			return compileIfElse(node);
+		} else if (type == Truncate.class) {
+			return compileTruncate((Truncate)node);
+		} else if ((type == And.class) || (type == Or.class) ||
+				(type == Not.class)) {
+			return compileLogical(node);
+		} else if ((type == Equals.class) || (type == LessThan.class) ||
+				(type == LessThanOrEqual.class) ||
+				(type == GreaterThan.class) ||
+				(type == GreaterThanOrEqual.class)) {
+			return compileComparison(node);
+		} else if (node.getNumberOfArguments() == 1) {
+			return compileUnary(node);
+		} else if (node.getNumberOfArguments() == 2) {
+			return compileBinary(node);
+		} else {
+			throw unsupported(node);
+		}
+	}
+	
+	/**
+	 * Returns the exception thrown when the given node is not supported by
+	 * this compiler.
+	 * 
+	 * @param node the unsupported node
+	 * @return the exception thrown when the given node is not supported by
+	 *         this compiler
+	 */
+	private IllegalArgumentException unsupported(Node node) {
+		return new IllegalArgumentException("unable to compile " +
+				node.getClass().getSimpleName());
+	}
+	
+	/**
+	 * Compiles the argument of a node, which must produce numeric values.
+	 * 
+	 * @param node the node
+	 * @param index the index of the argument
+	 * @return the compiled argument
+	 */
+	private CompiledNode compileNumber(Node node, int index) {
+		CompiledNode result = compileSubtree(node.getArgument(index));
+		
+		if (result.isBoolean()) {
+			throw new IllegalArgumentException("argument " + index + " of " +
+					node.getClass().getSimpleName() + " is not a number");
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Compiles the argument of a node, which must produce boolean values.
+	 * 
+	 * @param node the node
+	 * @param index the index of the argument
+	 * @return the compiled argument
+	 */
+	private CompiledNode compileBoolean(Node node, int index) {
+		CompiledNode result = compileSubtree(node.getArgument(index));
+		
+		if (!result.isBoolean()) {
+			throw new IllegalArgumentException("argument " + index + " of " +
+					node.getClass().getSimpleName() + " is not a boolean");
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Compiles a {@link Constant} node.
+	 * 
+	 * @param node the node
+	 * @return the compiled node
+	 */
+	private CompiledNode compileConstant(Constant node) {
+		Object value = node.getValue();
+		
+		if (value instanceof Boolean) {
+			final boolean constant = (Boolean)value;
+			
+			return new BooleanNode() {
+
+				@Override
+				public boolean test(double[] variables) {
+					return constant;
+				}
+
+				@Override
+				public void test(double[][] columns, int start, int end,
+						boolean[] result) {
+					Arrays.fill(result, 0, end - start, constant);
+				}
+				
+			};
+		} else if (value instanceof Number) {
+			return new ConstantNode(!NumberArithmetic.isFloatingPoint(
+					(Number)value), ((Number)value).doubleValue());
+		} else {
+			throw unsupported(node);
+		}
+	}
+	
+	/**
+	 * Compiles a {@link Get} node.  Numeric variables known to this compiler
+	 * are read from their slot; unknown variables are replaced by their
+	 * default value.
+	 * 
+	 * @param node the node
+	 * @return the compiled node
+	 */
+	private CompiledNode compileGet(Get node) {
+		Class<?> type = node.getReturnType();
+		boolean integral;
+		
+		if (type.equals(Byte.class) || type.equals(Short.class) ||
+				type.equals(Integer.class) || type.equals(Long.class)) {
+			integral = true;
+		} else if (type.equals(Float.class) || type.equals(Double.class) ||
+				type.equals(Number.class)) {
+			integral = false;
+		} else {
+			throw new IllegalArgumentException("unable to compile variable " +
+					node.getName() + " of type " + type.getSimpleName());
+		}
+		
+		final int slot = getSlot(node.getName());
+		
+		if (slot < 0) {
+			return new ConstantNode(integral,
+					((Number)node.getDefaultValue()).doubleValue());
+		} else {
+			return new NumberNode(integral) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return variables[slot];
+				}
+
+				@Override
+				public void evaluate(double[][] columns, int start, int end,
+						double[] result) {
+					System.arraycopy(columns[slot], start, result, 0,
+							end - start);
+				}
+				
+			};
+		}
+	}
+	
+	/**
+	 * Compiles an {@link IfElse} node.
+	 * 
+	 * @param node the node
+	 * @return the compiled node
+	 */
+	private CompiledNode compileIfElse(Node node) {
+		final CompiledNode condition = compileBoolean(node, 0);
+		final CompiledNode a = compileSubtree(node.getArgument(1));
+		final CompiledNode b = compileSubtree(node.getArgument(2));
+		
+		if (a.isBoolean() && b.isBoolean()) {
+			return new BooleanNode() {
+
+				@Override
+				public boolean test(double[] variables) {
+					return condition.test(variables) ? a.test(variables) :
+						b.test(variables);
+				}
+
+				@Override
+				public void test(double[][] columns, int start, int end,
+						boolean[] result) {
+					int length = end - start;
+					boolean[] mask = new boolean[length];
+					boolean[] other = new boolean[length];
+					
+					condition.test(columns, start, end, mask);
+					a.test(columns, start, end, result);
+					b.test(columns, start, end, other);
+					
+					for (int i = 0; i < length; i++) {
+						result[i] = mask[i] ? result[i] : other[i];
+					}
+				}
+				
+			};
+		} else if (!a.isBoolean() && !b.isBoolean() &&
+				(a.isIntegral() == b.isIntegral())) {
+			return new NumberNode(a.isIntegral()) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return condition.test(variables) ? a.evaluate(variables) :
+						b.evaluate(variables);
+				}
+
+				@Override
+				public void evaluate(double[][] columns, int start, int end,
+						double[] result) {
+					int length = end - start;
+					boolean[] mask = new boolean[length];
+					double[] other = new double[length];
+					
+					condition.test(columns, start, end, mask);
+					a.evaluate(columns, start, end, result);
+					b.evaluate(columns, start, end, other);
+					
+					for (int i = 0; i < length; i++) {
+						result[i] = mask[i] ? result[i] : other[i];
+					}
+				}
+				
+			};
+		} else {
+			throw new IllegalArgumentException(
+					"unable to compile IfElse with mixed types");
+		}
+	}
+	
+	/**
+	 * Compiles a {@link Truncate} node.
+	 * 
+	 * @param node the node
+	 * @return the compiled node
+	 */
+	private CompiledNode compileTruncate(Truncate node) {
+		final CompiledNode a = compileNumber(node, 0);
+		final double min = node.getMin();
+		final double max = node.getMax();
+		
+		if (a.isIntegral()) {
+			throw new IllegalArgumentException(
+					"unable to compile Truncate with an integer argument");
+		}
+		
+		return new UnaryNode(false, a) {
+
+			@Override
+			public double evaluate(double[] variables) {
+				return truncate(a.evaluate(variables));
+			}
+
+			@Override
+			protected void apply(double[] values, int length) {
+				for (int i = 0; i < length; i++) {
+					values[i] = truncate(values[i]);
+				}
+			}
+			
+			/**
+			 * Returns the value truncated to reside within the range.
+			 * 
+			 * @param value the value
+			 * @return the value truncated to reside within the range
+			 */
+			private double truncate(double value) {
+				if (value < min) {
+					return min;
+				} else if (value > max) {
+					return max;
+				} else {
+					return value;
+				}
+			}
+			
+		};
+	}
+	
+	/**
+	 * Compiles an {@link And}, {@link Or} or {@link Not} node.
+	 * 
+	 * @param node the node
+	 * @return the compiled node
+	 */
+	private CompiledNode compileLogical(Node node) {
+		Class<?> type = node.getClass();
+		final CompiledNode a = compileBoolean(node, 0);
+		
+		if (type == Not.class) {
+			return new BooleanNode() {
+
+				@Override
+				public boolean test(double[] variables) {
+					return !a.test(variables);
+				}
+
+				@Override
+				public void test(double[][] columns, int start, int end,
+						boolean[] result) {
+					a.test(columns, start, end, result);
+					
+					for (int i = 0; i < end - start; i++) {
+						result[i] = !result[i];
+					}
+				}
+				
+			};
+		}
+		
+		final CompiledNode b = compileBoolean(node, 1);
+		
+		if (type == And.class) {
+			return new BooleanNode() {
+
+				@Override
+				public boolean test(double[] variables) {
+					return a.test(variables) && b.test(variables);
+				}
+
+				@Override
+				public void test(double[][] columns, int start, int end,
+						boolean[] result) {
+					boolean[] other = new boolean[end - start];
+					
+					a.test(columns, start, end, result);
+					b.test(columns, start, end, other);
+					
+					for (int i = 0; i < end - start; i++) {
+						result[i] = result[i] & other[i];
+					}
+				}
+				
+			};
+		} else {
+			return new BooleanNode() {
+
+				@Override
+				public boolean test(double[] variables) {
+					return a.test(variables) || b.test(variables);
+				}
+
+				@Override
+				public void test(double[][] columns, int start, int end,
+						boolean[] result) {
+					boolean[] other = new boolean[end - start];
+					
+					a.test(columns, start, end, result);
+					b.test(columns, start, end, other);
+					
+					for (int i = 0; i < end - start; i++) {
+						result[i] = result[i] | other[i];
+					}
+				}
+				
+			};
+		}
+	}
+	
+	/**
+	 * Compiles a node comparing two numbers.
+	 * 
+	 * @param node the node
+	 * @return the compiled node
+	 */
+	private CompiledNode compileComparison(Node node) {
+		Class<?> type = node.getClass();
+		final CompiledNode a = compileNumber(node, 0);
+		final CompiledNode b = compileNumber(node, 1);
+		
+		if (type == Equals.class) {
+			return new ComparisonNode(a, b) {
+
+				@Override
+				public boolean test(double[] variables) {
+					return a.evaluate(variables) == b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, boolean[] result,
+						int length) {
+					for (int i = 0; i < length; i++) {
+						result[i] = x[i] == y[i];
+					}
+				}
+				
+			};
+		} else if (type == LessThan.class) {
+			return new ComparisonNode(a, b) {
+
+				@Override
+				public boolean test(double[] variables) {
+					return a.evaluate(variables) < b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, boolean[] result,
+						int length) {
+					for (int i = 0; i < length; i++) {
+						result[i] = x[i] < y[i];
+					}
+				}
+				
+			};
+		} else if (type == LessThanOrEqual.class) {
+			return new ComparisonNode(a, b) {
+
+				@Override
+				public boolean test(double[] variables) {
+					return a.evaluate(variables) <= b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, boolean[] result,
+						int length) {
+					for (int i = 0; i < length; i++) {
+						result[i] = x[i] <= y[i];
+					}
+				}
+				
+			};
+		} else if (type == GreaterThan.class) {
+			return new ComparisonNode(a, b) {
+
+				@Override
+				public boolean test(double[] variables) {
+					return a.evaluate(variables) > b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, boolean[] result,
+						int length) {
+					for (int i = 0; i < length; i++) {
+						result[i] = x[i] > y[i];
+					}
+				}
+				
+			};
+		} else {
+			return new ComparisonNode(a, b) {
+
+				@Override
+				public boolean test(double[] variables) {
+					return a.evaluate(variables) >= b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, boolean[] result,
+						int length) {
+					for (int i = 0; i < length; i++) {
+						result[i] = x[i] >= y[i];
+					}
+				}
+				
+			};
+		}
+	}
+	
+	/**
+	 * Compiles a numeric function of one argument.
+	 * 
+	 * @param node the node
+	 * @return the compiled node
+	 */
+	private CompiledNode compileUnary(Node node) {
+		Class<?> type = node.getClass();
+		final CompiledNode a = compileNumber(node, 0);
+		
+		if (type == Abs.class) {
+			return new UnaryNode(a.isIntegral(), a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.abs(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.abs(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Sign.class) {
+			return new UnaryNode(a.isIntegral(), a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.signum(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.signum(values[i]);
+					}
+				}
+				
+			};
+		} else if ((type == Floor.class) || (type == Ceil.class) ||
+				(type == Round.class)) {
+			if (a.isIntegral()) {
+				return a;
+			} else if (type == Floor.class) {
+				return new UnaryNode(false, a) {
+
+					@Override
+					public double evaluate(double[] variables) {
+						return Math.floor(a.evaluate(variables));
+					}
+
+					@Override
+					protected void apply(double[] values, int length) {
+						for (int i = 0; i < length; i++) {
+							values[i] = Math.floor(values[i]);
+						}
+					}
+					
+				};
+			} else if (type == Ceil.class) {
+				return new UnaryNode(false, a) {
+
+					@Override
+					public double evaluate(double[] variables) {
+						return Math.ceil(a.evaluate(variables));
+					}
+
+					@Override
+					protected void apply(double[] values, int length) {
+						for (int i = 0; i < length; i++) {
+							values[i] = Math.ceil(values[i]);
+						}
+					}
+					
+				};
+			} else {
+				return new UnaryNode(true, a) {
+
+					@Override
+					public double evaluate(double[] variables) {
+						return Math.round(a.evaluate(variables));
+					}
+
+					@Override
+					protected void apply(double[] values, int length) {
+						for (int i = 0; i < length; i++) {
+							values[i] = Math.round(values[i]);
+						}
+					}
+					
+				};
+			}
+		} else if (type == SquareRoot.class) {
+			if (protectedFunctions) {
+				return new UnaryNode(false, a) {
+
+					@Override
+					public double evaluate(double[] variables) {
+						return Math.sqrt(Math.abs(a.evaluate(variables)));
+					}
+
+					@Override
+					protected void apply(double[] values, int length) {
+						for (int i = 0; i < length; i++) {
+							values[i] = Math.sqrt(Math.abs(values[i]));
+						}
+					}
+					
+				};
+			} else {
+				return new UnaryNode(false, a) {
+
+					@Override
+					public double evaluate(double[] variables) {
+						return Math.sqrt(a.evaluate(variables));
+					}
+
+					@Override
+					protected void apply(double[] values, int length) {
+						for (int i = 0; i < length; i++) {
+							values[i] = Math.sqrt(values[i]);
+						}
+					}
+					
+				};
+			}
+		} else if (type == Square.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.pow(a.evaluate(variables), 2.0);
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.pow(values[i], 2.0);
+					}
+				}
+				
+			};
+		} else if ((type == Log.class) || (type == Log10.class)) {
+			return compileLog(type == Log10.class, a);
+		} else if (type == Exp.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.exp(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.exp(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Sin.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.sin(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.sin(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Cos.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.cos(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.cos(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Tan.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.tan(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.tan(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Asin.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.asin(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.asin(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Acos.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.acos(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.acos(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Atan.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.atan(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.atan(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Sinh.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.sinh(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.sinh(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Cosh.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.cosh(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.cosh(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Tanh.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.tanh(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.tanh(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Asinh.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return FastMath.asinh(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = FastMath.asinh(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Acosh.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return FastMath.acosh(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = FastMath.acosh(values[i]);
+					}
+				}
+				
+			};
+		} else if (type == Atanh.class) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return FastMath.atanh(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = FastMath.atanh(values[i]);
+					}
+				}
+				
+			};
+		} else {
+			throw unsupported(node);
+		}
+	}
+	
+	/**
+	 * Compiles a {@link Log} or {@link Log10} node.
+	 * 
+	 * @param isBase10 {@code true} if the node computes the base-10
+	 *        logarithm; {@code false} if it computes the natural logarithm
+	 * @param a the compiled argument
+	 * @return the compiled node
+	 */
+	private CompiledNode compileLog(final boolean isBase10,
+			final CompiledNode a) {
+		if (protectedFunctions) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return log(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = log(values[i]);
+					}
+				}
+				
+				/**
+				 * Returns the protected logarithm of the value.
+				 * 
+				 * @param value the value
+				 * @return the protected logarithm of the value
+				 */
+				private double log(double value) {
+					if (value < Settings.EPS) {
+						value = Math.abs(value);
+						
+						if (value < Settings.EPS) {
+							return 0.0;
+						}
+					}
+					
+					return isBase10 ? Math.log10(value) : Math.log(value);
+				}
+				
+			};
+		} else if (isBase10) {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.log10(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.log10(values[i]);
+					}
+				}
+				
+			};
+		} else {
+			return new UnaryNode(false, a) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.log(a.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] values, int length) {
+					for (int i = 0; i < length; i++) {
+						values[i] = Math.log(values[i]);
+					}
+				}
+				
+			};
+		}
+	}
+	
+	/**
+	 * Compiles a numeric function of two arguments.
+	 * 
+	 * @param node the node
+	 * @return the compiled node
+	 */
+	private CompiledNode compileBinary(Node node) {
+		Class<?> type = node.getClass();
+		final CompiledNode a = compileNumber(node, 0);
+		final CompiledNode b = compileNumber(node, 1);
+		boolean integral = a.isIntegral() && b.isIntegral();
+		
+		if (type == Add.class) {
+			return new BinaryNode(integral, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return a.evaluate(variables) + b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = x[i] + y[i];
+					}
+				}
+				
+			};
+		} else if (type == Subtract.class) {
+			return new BinaryNode(integral, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return a.evaluate(variables) - b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = x[i] - y[i];
+					}
+				}
+				
+			};
+		} else if (type == Multiply.class) {
+			return new BinaryNode(integral, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return a.evaluate(variables) * b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = x[i] * y[i];
+					}
+				}
+				
+			};
+		} else if (type == Divide.class) {
+			return compileDivide(integral, a, b);
+		} else if (type == Modulus.class) {
+			return compileModulus(integral, a, b);
+		} else if (type == Max.class) {
+			return new BinaryNode(integral, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.max(a.evaluate(variables),
+							b.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = Math.max(x[i], y[i]);
+					}
+				}
+				
+			};
+		} else if (type == Min.class) {
+			return new BinaryNode(integral, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.min(a.evaluate(variables),
+							b.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = Math.min(x[i], y[i]);
+					}
+				}
+				
+			};
+		} else if (type == Power.class) {
+			return new BinaryNode(false, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return Math.pow(a.evaluate(variables),
+							b.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = Math.pow(x[i], y[i]);
+					}
+				}
+				
+			};
+		} else {
+			throw unsupported(node);
+		}
+	}
+	
+	/**
+	 * Compiles a {@link Divide} node.
+	 * 
+	 * @param integral {@code true} if both arguments are integer-valued;
+	 *        {@code false} otherwise
+	 * @param a the compiled dividend
+	 * @param b the compiled divisor
+	 * @return the compiled node
+	 */
+	private CompiledNode compileDivide(boolean integral, final CompiledNode a,
+			final CompiledNode b) {
+		if (integral) {
+			final boolean isProtected = protectedFunctions;
+			
+			return new BinaryNode(true, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return divide(a.evaluate(variables), b.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = divide(x[i], y[i]);
+					}
+				}
+				
+				/**
+				 * Returns the result of integer division.
+				 * 
+				 * @param x the dividend
+				 * @param y the divisor
+				 * @return the result of integer division
+				 */
+				private double divide(double x, double y) {
+					if ((y == 0.0) && isProtected) {
+						return 1.0;
+					} else {
+						return (long)x / (long)y;
+					}
+				}
+				
+			};
+		} else if (protectedFunctions) {
+			return new BinaryNode(false, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return divide(a.evaluate(variables), b.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = divide(x[i], y[i]);
+					}
+				}
+				
+				/**
+				 * Returns the result of protected division.
+				 * 
+				 * @param x the dividend
+				 * @param y the divisor
+				 * @return the result of protected division
+				 */
+				private double divide(double x, double y) {
+					return Math.abs(y) < Settings.EPS ? 1.0 : x / y;
+				}
+				
+			};
+		} else {
+			return new BinaryNode(false, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return a.evaluate(variables) / b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = x[i] / y[i];
+					}
+				}
+				
+			};
+		}
+	}
+	
+	/**
+	 * Compiles a {@link Modulus} node.
+	 * 
+	 * @param integral {@code true} if both arguments are integer-valued;
+	 *        {@code false} otherwise
+	 * @param a the compiled dividend
+	 * @param b the compiled divisor
+	 * @return the compiled node
+	 */
+	private CompiledNode compileModulus(boolean integral, final CompiledNode a,
+			final CompiledNode b) {
+		if (integral) {
+			final boolean isProtected = protectedFunctions;
+			
+			return new BinaryNode(true, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return modulus(a.evaluate(variables),
+							b.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = modulus(x[i], y[i]);
+					}
+				}
+				
+				/**
+				 * Returns the remainder of integer division.
+				 * 
+				 * @param x the dividend
+				 * @param y the divisor
+				 * @return the remainder of integer division
+				 */
+				private double modulus(double x, double y) {
+					if ((y == 0.0) && isProtected) {
+						return 0.0;
+					} else {
+						return (long)x % (long)y;
+					}
+				}
+				
+			};
+		} else if (protectedFunctions) {
+			return new BinaryNode(false, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return modulus(a.evaluate(variables),
+							b.evaluate(variables));
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = modulus(x[i], y[i]);
+					}
+				}
+				
+				/**
+				 * Returns the remainder of protected division.
+				 * 
+				 * @param x the dividend
+				 * @param y the divisor
+				 * @return the remainder of protected division
+				 */
+				private double modulus(double x, double y) {
+					return Math.abs(y) < Settings.EPS ? 0.0 : x % y;
+				}
+				
+			};
+		} else {
+			return new BinaryNode(false, a, b) {
+
+				@Override
+				public double evaluate(double[] variables) {
+					return a.evaluate(variables) % b.evaluate(variables);
+				}
+
+				@Override
+				protected void apply(double[] x, double[] y, int length) {
+					for (int i = 0; i < length; i++) {
+						x[i] = x[i] % y[i];
+					}
+				}
+				
+			};
+		}
+	}
+	
+	/**
+	 * A compiled node producing numeric values.
+	 */
+	private static abstract class NumberNode extends CompiledNode {
+		
+		/**
+		 * Constructs a new compiled node producing numeric values.
+		 * 
+		 * @param integral {@code true} if this node produces integer values
+		 *        when evaluated by the interpreter; {@code false} otherwise
+		 */
+		public NumberNode(boolean integral) {
+			super(integral);
+		}
+
+		@Override
+		public boolean isBoolean() {
+			return false;
+		}
+
+		@Override
+		public boolean test(double[] variables) {
+			throw new UnsupportedOperationException(
+					"not a boolean expression");
+		}
+
+		@Override
+		public void test(double[][] columns, int start, int end,
+				boolean[] result) {
+			throw new UnsupportedOperationException(
+					"not a boolean expression");
+		}
+		
+	}
+	
+	/**
+	 * A compiled node producing a constant numeric value.
+	 */
+	private static class ConstantNode extends NumberNode {
+		
+		/**
+		 * The constant value.
+		 */
+		private final double value;
+		
+		/**
+		 * Constructs a new compiled node producing a constant numeric value.
+		 * 
+		 * @param integral {@code true} if the value is an integer;
+		 *        {@code false} otherwise
+		 * @param value the constant value
+		 */
+		public ConstantNode(boolean integral, double value) {
+			super(integral);
+			this.value = value;
+		}
+
+		@Override
+		public double evaluate(double[] variables) {
+			return value;
+		}
+
+		@Override
+		public void evaluate(double[][] columns, int start, int end,
+				double[] result) {
+			Arrays.fill(result, 0, end - start, value);
+		}
+		
+	}
+	
+	/**
+	 * A compiled numeric function of one argument.  Subclasses implement the
+	 * function for a single value and for an array of values.
+	 */
+	private static abstract class UnaryNode extends NumberNode {
+		
+		/**
+		 * The compiled argument.
+		 */
+		private final CompiledNode a;
+		
+		/**
+		 * Constructs a new compiled numeric function of one argument.
+		 * 
+		 * @param integral {@code true} if this node produces integer values
+		 *        when evaluated by the interpreter; {@code false} otherwise
+		 * @param a the compiled argument
+		 */
+		public UnaryNode(boolean integral, CompiledNode a) {
+			super(integral);
+			this.a = a;
+		}
+		
+		/**
+		 * Applies this function to each value, replacing the value with the
+		 * result.
+		 * 
+		 * @param values the values
+		 * @param length the number of values
+		 */
+		protected abstract void apply(double[] values, int length);
+
+		@Override
+		public void evaluate(double[][] columns, int start, int end,
+				double[] result) {
+			a.evaluate(columns, start, end, result);
+			apply(result, end - start);
+		}
+		
+	}
+	
+	/**
+	 * A compiled numeric function of two arguments.  Subclasses implement the
+	 * function for a single pair of values and for arrays of values.
+	 */
+	private static abstract class BinaryNode extends NumberNode {
+		
+		/**
+		 * The first compiled argument.
+		 */
+		private final CompiledNode a;
+		
+		/**
+		 * The second compiled argument.
+		 */
+		private final CompiledNode b;
+		
+		/**
+		 * Constructs a new compiled numeric function of two arguments.
+		 * 
+		 * @param integral {@code true} if this node produces integer values
+		 *        when evaluated by the interpreter; {@code false} otherwise
+		 * @param a the first compiled argument
+		 * @param b the second compiled argument
+		 */
+		public BinaryNode(boolean integral, CompiledNode a, CompiledNode b) {
+			super(integral);
+			this.a = a;
+			this.b = b;
+		}
+		
+		/**
+		 * Applies this function to each pair of values, storing the result in
+		 * the first array.
+		 * 
+		 * @param x the first values, which are replaced by the results
+		 * @param y the second values
+		 * @param length the number of values
+		 */
+		protected abstract void apply(double[] x, double[] y, int length);
+
+		@Override
+		public void evaluate(double[][] columns, int start, int end,
+				double[] result) {
+			double[] other = new double[end - start];
+			
+			a.evaluate(columns, start, end, result);
+			b.evaluate(columns, start, end, other);
+			apply(result, other, end - start);
+		}
+		
+	}
+	
+	/**
+	 * A compiled node producing boolean values.
+	 */
+	private static abstract class BooleanNode extends CompiledNode {
+		
+		/**
+		 * Constructs a new compiled node producing boolean values.
+		 */
+		public BooleanNode() {
+			super(false);
+		}
+
+		@Override
+		public boolean isBoolean() {
+			return true;
+		}
+
+		@Override
+		public double evaluate(double[] variables) {
+			return test(variables) ? 1.0 : 0.0;
+		}
+
+		@Override
+		public void evaluate(double[][] columns, int start, int end,
+				double[] result) {
+			boolean[] mask = new boolean[end - start];
+			
+			test(columns, start, end, mask);
+			
+			for (int i = 0; i < mask.length; i++) {
+				result[i] = mask[i] ? 1.0 : 0.0;
+			}
+		}
+		
+	}
+	
+	/**
+	 * A compiled node comparing two numbers.  Subclasses implement the
+	 * comparison for a single pair of values and for arrays of values.
+	 */
+	private static abstract class ComparisonNode extends BooleanNode {
+		
+		/**
+		 * The first compiled argument.
+		 */
+		private final CompiledNode a;
+		
+		/**
+		 * The second compiled argument.
+		 */
+		private final CompiledNode b;
+		
+		/**
+		 * Constructs a new compiled node comparing two numbers.
+		 * 
+		 * @param a the first compiled argument
+		 * @param b the second compiled argument
+		 */
+		public ComparisonNode(CompiledNode a, CompiledNode b) {
+			super();
+			this.a = a;
+			this.b = b;
+		}
+		
+		/**
+		 * Compares each pair of values.
+		 * 
+		 * @param x the first values
+		 * @param y the second values
+		 * @param result the array storing the result of each comparison
+		 * @param length the number of values
+		 */
+		protected abstract void apply(double[] x, double[] y,
+				boolean[] result, int length);
+
+		@Override
+		public void test(double[][] columns, int start, int end,
+				boolean[] result) {
+			double[] x = new double[end - start];
+			double[] y = new double[end - start];
+			
+			a.evaluate(columns, start, end, x);
+			b.evaluate(columns, start, end, y);
+			apply(x, y, result, end - start);
+		}
+		
+	}
+
+	/**
+	 * The key identifying a subtree by its structure.
+	 */
+	private static class StructureKey {
+		
+		/**
+		 * The root of the subtree.
+		 */
+		private final Node node;
+		
+		/**
+		 * The structural hash of the subtree.
+		 */
+		private final long hash;
+		
+		/**
+		 * Constructs a new key identifying the given subtree by its structure.
+		 * 
+		 * @param node the root of the subtree
+		 */
+		public StructureKey(Node node) {
+			super();
+			this.node = node;
+			
+			hash = node.getStructuralHash();
+		}
+
+		@Override
+		public int hashCode() {
+			return (int)(hash ^ (hash >>> 32));
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			} else if ((obj == null) || (obj.getClass() != getClass())) {
+				return false;
+			} else {
+				StructureKey other = (StructureKey)obj;
+				return (hash == other.hash) &&
+						node.isStructurallyEqual(other.node);
+			}
+		}
+		
+	}
+	
+	/**
+	 * The key identifying the result of evaluating a compiled subtree over a
+	 * range of rows in a dataset.  The subtree and dataset are compared by
+	 * identity.
+	 */
+	private static class ResultKey {
+		
+		/**
+		 * The compiled subtree.
+		 */
+		private final CompiledNode node;
+		
+		/**
+		 * The dataset.
+		 */
+		private final double[][] columns;
+		
+		/**
+		 * The index of the first row, inclusive.
+		 */
+		private final int start;
+		
+		/**
+		 * The index of the last row, exclusive.
+		 */
+		private final int end;
+		
+		/**
+		 * Constructs a new key identifying the result of evaluating a compiled
+		 * subtree over a range of rows in a dataset.
+		 * 
+		 * @param node the compiled subtree
+		 * @param columns the dataset
+		 * @param start the index of the first row, inclusive
+		 * @param end the index of the last row, exclusive
+		 */
+		public ResultKey(CompiledNode node, double[][] columns, int start,
+				int end) {
+			super();
+			this.node = node;
+			this.columns = columns;
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public int hashCode() {
+			int hash = System.identityHashCode(node);
+			hash = 31 * hash + System.identityHashCode(columns);
+			hash = 31 * hash + start;
+			hash = 31 * hash + end;
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			} else if ((obj == null) || (obj.getClass() != getClass())) {
+				return false;
+			} else {
+				ResultKey other = (ResultKey)obj;
+				return (node == other.node) && (columns == other.columns) &&
+						(start == other.start) && (end == other.end);
+			}
+		}
+		
+	}
+	
+	/**
+	 * A compiled numeric subtree whose batch results are memoized.
+	 */
+	private class MemoizedNode extends NumberNode {
+		
+		/**
+		 * The compiled subtree.
+		 */
+		private final CompiledNode node;
+		
+		/**
+		 * Constructs a new compiled subtree whose batch results are memoized.
+		 * 
+		 * @param node the compiled subtree
+		 */
+		public MemoizedNode(CompiledNode node) {
+			super(node.isIntegral());
+			this.node = node;
+		}
+
+		@Override
+		public double evaluate(double[] variables) {
+			return node.evaluate(variables);
+		}
+
+		@Override
+		public void evaluate(double[][] columns, int start, int end,
+				double[] result) {
+			ResultKey key = new ResultKey(this, columns, start, end);
+			double[] values = null;
+			
+			synchronized (results) {
+				values = results.get(key);
+			}
+			
+			if (values == null) {
+				node.evaluate(columns, start, end, result);
+				values = Arrays.copyOf(result, end - start);
+				
+				synchronized (results) {
+					results.put(key, values);
+				}
+			} else {
+				System.arraycopy(values, 0, result, 0, end - start);
+			}
+		}
+		
+	}
+
+}
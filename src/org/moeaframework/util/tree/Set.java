@@ -67,6 +67,17 @@ public class Set extends Node {
 		return new Set(getArgumentType(0), name);
 	}
 
+	@Override
+	protected long getParameterHash() {
+		return name.hashCode();
+	}
+
+	@Override
+	protected boolean hasEqualParameters(Node node) {
+		Set other = (Set)node;
+		return name.equals(other.name);
+	}
+
 	@Override
 	public Object evaluate(Environment environment) {
 		Object value = getArgument(0).evaluate(environment);
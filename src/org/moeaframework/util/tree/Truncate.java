@@ -69,6 +69,37 @@ public class Truncate extends Node {
 	public Truncate copyNode() {
 		return new Truncate(min, max);
 	}
+
+	@Override
+	protected long getParameterHash() {
+		return 31 * Double.valueOf(min).hashCode() +
+				Double.valueOf(max).hashCode();
+	}
+
+	@Override
+	protected boolean hasEqualParameters(Node node) {
+		Truncate other = (Truncate)node;
+		return (Double.compare(min, other.min) == 0) &&
+				(Double.compare(max, other.max) == 0);
+	}
+	
+	/**
+	 * Returns the minimum value in the range.
+	 * 
+	 * @return the minimum value in the range
+	 */
+	public double getMin() {
+		return min;
+	}
+	
+	/**
+	 * Returns the maximum value in the range.
+	 * 
+	 * @return the maximum value in the range
+	 */
+	public double getMax() {
+		return max;
+	}
 	
 	@Override
 	public Number evaluate(Environment environment) {
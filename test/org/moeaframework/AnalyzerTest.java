@@ -21,6 +21,7 @@ import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -175,5 +176,105 @@ public class AnalyzerTest {
 		
 		TestUtils.assertEquals(expected, actual);
 	}
+	
+	@Test
+	public void testReferenceSetIsCopy() throws IOException {
+		Analyzer analyzer = generate();
+		NondominatedPopulation referenceSet = analyzer.getReferenceSet();
+		NondominatedPopulation expected = analyzer.getReferenceSet();
+		
+		referenceSet.get(0).setObjective(0, -1.0);
+		referenceSet.clear();
+		
+		TestUtils.assertEquals(expected, analyzer.getReferenceSet());
+	}
+	
+	@Test
+	public void testParallelAndIncremental() throws IOException {
+		Executor executor = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000);
+		
+		List<NondominatedPopulation> first = executor.runSeeds(5);
+		List<NondominatedPopulation> second = executor.runSeeds(5);
+		
+		Analyzer serial = new Analyzer()
+				.withProblem("DTLZ2_2")
+				.includeAllMetrics()
+				.showAll()
+				.addAll("A", first)
+				.addAll("B", second);
+		
+		//evaluate a partial analysis first, then add the remaining samples
+		Analyzer incremental = new Analyzer()
+				.withProblem("DTLZ2_2")
+				.includeAllMetrics()
+				.showAll()
+				.distributeOn(4)
+				.addAll("A", first);
+		
+		incremental.getAnalysis();
+		incremental.addAll("B", second);
+		
+		String expected = toString(serial);
+		Assert.assertEquals(expected, toString(incremental));
+		Assert.assertEquals(expected, toString(incremental));
+	}
+	
+	@Test
+	public void testSpillDirectory() throws IOException {
+		File directory = TestUtils.createTempFile();
+		directory.delete();
+		
+		Executor executor = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000);
+		
+		List<NondominatedPopulation> first = executor.runSeeds(5);
+		List<NondominatedPopulation> second = executor.runSeeds(5);
+		
+		Analyzer memory = new Analyzer()
+				.withProblem("DTLZ2_2")
+				.includeAllMetrics()
+				.showAll()
+				.addAll("A", first)
+				.addAll("B", second);
+		
+		Analyzer spilled = new Analyzer()
+				.withProblem("DTLZ2_2")
+				.includeAllMetrics()
+				.showAll()
+				.withSpillDirectory(directory)
+				.distributeOn(2)
+				.addAll("A", first)
+				.addAll("B", second);
+		
+		try {
+			Assert.assertEquals(2, directory.listFiles().length);
+			Assert.assertEquals(toString(memory), toString(spilled));
+			
+			File memoryFile = TestUtils.createTempFile();
+			File spilledFile = TestUtils.createTempFile();
+			memory.saveAs("A", memoryFile);
+			spilled.saveAs("A", spilledFile);
+			
+			Assert.assertEquals(
+					TestUtils.loadFile(memoryFile).length,
+					TestUtils.loadFile(spilledFile).length);
+		} finally {
+			spilled.clear();
+		}
+		
+		Assert.assertEquals(0, directory.listFiles().length);
+		directory.delete();
+	}
+	
+	private String toString(Analyzer analyzer) {
+		ByteArrayOutputStream result = new ByteArrayOutputStream();
+		analyzer.printAnalysis(new PrintStream(result));
+		return result.toString();
+	}
 
 }
@@ -22,6 +22,7 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.moeaframework.core.FrameworkException;
 import org.moeaframework.core.spi.AlgorithmFactoryTestWrapper;
 import org.moeaframework.core.spi.ProblemFactoryTestWrapper;
 
@@ -83,6 +84,34 @@ public class ExecutorTest {
 		Assert.assertEquals(10, problemFactory.getCloseCount());
 	}
 
+	@Test
+	public void testRunAsynchronously() throws IOException {
+		Assert.assertFalse(new Executor()
+				.usingProblemFactory(problemFactory)
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("eMOEA")
+				.withProperty("populationSize", 100)
+				.withProperty("maxEvaluations", 1000)
+				.distributeOnAllCores()
+				.distributeAsynchronously()
+				.checkpointEveryIteration()
+				.withCheckpointFile(TestUtils.createTempFile())
+				.run().isEmpty());
+		
+		Assert.assertEquals(1, problemFactory.getCloseCount());
+	}
+	
+	@Test(expected = FrameworkException.class)
+	public void testRunAsynchronouslyNotSupported() {
+		new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withProperty("maxEvaluations", 1000)
+				.distributeOn(2)
+				.distributeAsynchronously()
+				.run();
+	}
+
 	@Test(expected = IllegalArgumentException.class)
 	public void testNoProblem() {
 		new Executor().withAlgorithm("NSGAII").run();
@@ -227,4 +227,71 @@ public class InstrumenterTest {
 		Assert.assertEquals(13, accumulator.keySet().size());
 	}
 	
+	@Test
+	public void testExcludedType() {
+		SimpleAlgorithm algorithm = new SimpleAlgorithm();
+		new Instrumenter()
+				.addExcludedType(TournamentSelection.class)
+				.attach(collector)
+				.instrument(algorithm);
+		
+		Set<Object> instrumentedObjects = collector.getInstrumentedObjects();
+
+		Assert.assertEquals(2, instrumentedObjects.size());
+		Assert.assertTrue(instrumentedObjects.contains(algorithm));
+		Assert.assertTrue(instrumentedObjects.contains(algorithm.variation));
+	}
+	
+	@Test
+	public void testExcludedPackage() {
+		SimpleAlgorithm algorithm = new SimpleAlgorithm();
+		new Instrumenter()
+				.addExcludedPackage("org.moeaframework.core.comparator")
+				.attach(collector)
+				.instrument(algorithm);
+		
+		Set<Object> instrumentedObjects = collector.getInstrumentedObjects();
+
+		Assert.assertEquals(3, instrumentedObjects.size());
+		Assert.assertTrue(instrumentedObjects.contains(algorithm));
+		Assert.assertTrue(instrumentedObjects.contains(algorithm.variation));
+		Assert.assertTrue(instrumentedObjects.contains(algorithm.selection));
+	}
+	
+	@Test
+	public void testComponentType() {
+		SimpleAlgorithm algorithm = new SimpleAlgorithm();
+		new Instrumenter()
+				.addComponentType(Variation.class)
+				.attach(collector)
+				.instrument(algorithm);
+		
+		Set<Object> instrumentedObjects = collector.getInstrumentedObjects();
+
+		Assert.assertEquals(2, instrumentedObjects.size());
+		Assert.assertTrue(instrumentedObjects.contains(algorithm));
+		Assert.assertTrue(instrumentedObjects.contains(algorithm.variation));
+	}
+	
+	@Test
+	public void testWithExecutorAndComponentTypes() {
+		Instrumenter instrumenter = new Instrumenter()
+				.withProblem("DTLZ2_2")
+				.addComponentType(Algorithm.class)
+				.addComponentType(Variation.class)
+				.attachAll();
+		
+		Executor executor = new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(1000)
+				.withInstrumenter(instrumenter);
+		
+		executor.run();
+		
+		Accumulator accumulator = instrumenter.getLastAccumulator();
+		
+		Assert.assertEquals(13, accumulator.keySet().size());
+	}
+	
 }
@@ -17,38 +17,46 @@
  */
 package org.moeaframework.algorithm;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
 import org.junit.Test;
 import org.moeaframework.TestUtils;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Problem;
 import org.moeaframework.core.Solution;
 import org.moeaframework.core.spi.ProblemFactory;
 import org.moeaframework.core.variable.EncodingUtils;
 import org.moeaframework.problem.AbstractProblem;
+import org.moeaframework.problem.DTLZ.DTLZ2;
 
 /**
  * Tests the {@link CMAES} class.
  */
 public class CMAESTest {
-	
+
 	// TODO: extend with better tests
 	
 	@Test
 	public void testSingleObjective() {
 		// the rosenbrock problem
 		AbstractProblem problem = new AbstractProblem(2, 1, 0) {
-
+		
 			@Override
 			public void evaluate(Solution solution) {
 				double result = 0.0;
 				double[] x = EncodingUtils.getReal(solution);
-
+				
 				for (int i = 0; i < x.length-1; i++) {
 					result += 100 * (x[i]*x[i] - x[i+1])*(x[i]*x[i] - x[i+1]) + (x[i] - 1)*(x[i] - 1);
 				}
-
+				
 				solution.setObjective(0, result);
 			}
-
+			
 			@Override
 			public Solution newSolution() {
 				Solution solution = new Solution(2, 1, 0);
@@ -56,26 +64,375 @@ public class CMAESTest {
 				solution.setVariable(1, EncodingUtils.newReal(-10, 10));
 				return solution;
 			}
-
+		
 		};
-
+		
 		CMAES cmaes = new CMAES(problem, 100);
-
+		
 		for (int i = 0; i < 100; i++) {
 			cmaes.step();
 		}
 		
 		TestUtils.assertEquals(0.0, cmaes.getResult().get(0).getObjective(0));
 	}
-
+	
 	@Test
 	public void testMultiObjective() {
 		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
 		CMAES cmaes = new CMAES(problem, 100);
-
+		
 		for (int i = 0; i < 100; i++) {
 			cmaes.step();
 		}
 	}
 	
+	@Test
+	public void testRowMajorEigendecomposition() {
+		for (int n = 1; n <= 20; n++) {
+			// random symmetric positive definite matrix, A = M*M^T + I
+			double[][] M = new double[n][n];
+			
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					M[i][j] = PRNG.nextDouble(-1.0, 1.0);
+				}
+			}
+			
+			double[][] expectedV = new double[n][n];
+			double[] actualV = new double[n*n];
+			
+			for (int i = 0; i < n; i++) {
+				for (int j = 0; j < n; j++) {
+					double value = i == j ? 1.0 : 0.0;
+					
+					for (int k = 0; k < n; k++) {
+						value += M[i][k] * M[j][k];
+					}
+					
+					expectedV[i][j] = value;
+					actualV[i*n + j] = value;
+				}
+			}
+			
+			double[] expectedD = new double[n];
+			double[] expectedE = new double[n];
+			double[] actualD = new double[n];
+			double[] actualE = new double[n];
+			
+			referenceTred2(n, expectedV, expectedD, expectedE);
+			CMAES.tred2(n, actualV, actualD, actualE);
+			assertEquals(expectedV, expectedD, expectedE, actualV, actualD,
+					actualE);
+			
+			referenceTql2(n, expectedD, expectedE, expectedV);
+			CMAES.tql2(n, actualD, actualE, actualV);
+			assertEquals(expectedV, expectedD, expectedE, actualV, actualD,
+					actualE);
+		}
+	}
+	
+	/**
+	 * Asserts that the row-major matrix and vectors are identical to the
+	 * expected {@code double[][]} matrix and vectors.
+	 */
+	private void assertEquals(double[][] expectedV, double[] expectedD,
+			double[] expectedE, double[] actualV, double[] actualD,
+			double[] actualE) {
+		int n = expectedD.length;
+		
+		Assert.assertArrayEquals(expectedD, actualD, 0.0);
+		Assert.assertArrayEquals(expectedE, actualE, 0.0);
+		
+		for (int i = 0; i < n; i++) {
+			for (int j = 0; j < n; j++) {
+				Assert.assertEquals(expectedV[i][j], actualV[i*n + j], 0.0);
+			}
+		}
+	}
+	
+	@Test
+	public void testExecutorService() {
+		List<double[]> expected = sample(null);
+		List<double[]> actual = null;
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+		
+		try {
+			actual = sample(executor);
+		} finally {
+			executor.shutdown();
+		}
+		
+		Assert.assertEquals(expected.size(), actual.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertArrayEquals(expected.get(i), actual.get(i), 0.0);
+		}
+	}
+	
+	/**
+	 * Runs CMA-ES with a fixed seed, returning the decision variables of
+	 * every evaluated offspring.
+	 * 
+	 * @param executor the executor service used to sample offspring, or
+	 *        {@code null} to sample offspring serially
+	 * @return the decision variables of every evaluated offspring
+	 */
+	private List<double[]> sample(ExecutorService executor) {
+		final List<double[]> offspring = new ArrayList<double[]>();
+		
+		Problem problem = new DTLZ2(11, 2) {
+		
+			@Override
+			public void evaluate(Solution solution) {
+				offspring.add(EncodingUtils.getReal(solution));
+				super.evaluate(solution);
+			}
+		
+		};
+		
+		PRNG.setSeed(1234);
+		
+		// lambda is large enough to split the offspring into several blocks
+		CMAES cmaes = new CMAES(problem, 50);
+		cmaes.setExecutorService(executor);
+		
+		for (int i = 0; i < 20; i++) {
+			cmaes.step();
+		}
+		
+		return offspring;
+	}
+	
+	/**
+	 * The original implementation of {@link CMAES#tred2(int, double[], double[],
+	 * double[])} operating on a {@code double[][]} matrix.
+	 */
+	private static void referenceTred2(int n, double[][] V, double[] d,
+			double[] e) {
+		for (int j = 0; j < n; j++) {
+			d[j] = V[n-1][j];
+		}
+		
+		// Householder reduction to tridiagonal form.
+		for (int i = n-1; i > 0; i--) {
+		
+			// Scale to avoid under/overflow.
+			double scale = 0.0;
+			double h = 0.0;
+			for (int k = 0; k < i; k++) {
+				scale = scale + Math.abs(d[k]);
+			}
+			if (scale == 0.0) {
+				e[i] = d[i-1];
+				for (int j = 0; j < i; j++) {
+					d[j] = V[i-1][j];
+					V[i][j] = 0.0;
+					V[j][i] = 0.0;
+				}
+			} else {
+				// Generate Householder vector.
+				for (int k = 0; k < i; k++) {
+					d[k] /= scale;
+					h += d[k] * d[k];
+				}
+				double f = d[i-1];
+				double g = Math.sqrt(h);
+				if (f > 0) {
+					g = -g;
+				}
+				e[i] = scale * g;
+				h = h - f * g;
+				d[i-1] = f - g;
+				for (int j = 0; j < i; j++) {
+					e[j] = 0.0;
+				}
+				
+				// Apply similarity transformation to remaining columns.
+				for (int j = 0; j < i; j++) {
+					f = d[j];
+					V[j][i] = f;
+					g = e[j] + V[j][j] * f;
+					for (int k = j+1; k <= i-1; k++) {
+						g += V[k][j] * d[k];
+						e[k] += V[k][j] * f;
+					}
+					e[j] = g;
+				}
+				f = 0.0;
+				for (int j = 0; j < i; j++) {
+					e[j] /= h;
+					f += e[j] * d[j];
+				}
+				double hh = f / (h + h);
+				for (int j = 0; j < i; j++) {
+					e[j] -= hh * d[j];
+				}
+				for (int j = 0; j < i; j++) {
+					f = d[j];
+					g = e[j];
+					for (int k = j; k <= i-1; k++) {
+						V[k][j] -= (f * e[k] + g * d[k]);
+					}
+					d[j] = V[i-1][j];
+					V[i][j] = 0.0;
+				}
+			}
+			d[i] = h;
+		}
+		
+		// Accumulate transformations.
+		for (int i = 0; i < n-1; i++) {
+			V[n-1][i] = V[i][i];
+			V[i][i] = 1.0;
+			double h = d[i+1];
+			if (h != 0.0) {
+				for (int k = 0; k <= i; k++) {
+					d[k] = V[k][i+1] / h;
+				}
+				for (int j = 0; j <= i; j++) {
+					double g = 0.0;
+					for (int k = 0; k <= i; k++) {
+						g += V[k][i+1] * V[k][j];
+					}
+					for (int k = 0; k <= i; k++) {
+						V[k][j] -= g * d[k];
+					}
+				}
+			}
+			for (int k = 0; k <= i; k++) {
+				V[k][i+1] = 0.0;
+			}
+		}
+		for (int j = 0; j < n; j++) {
+			d[j] = V[n-1][j];
+			V[n-1][j] = 0.0;
+		}
+		V[n-1][n-1] = 1.0;
+		e[0] = 0.0;
+	}
+	
+	/**
+	 * The original implementation of {@link CMAES#tql2(int, double[], double[],
+	 * double[])} operating on a {@code double[][]} matrix.
+	 */
+	private static void referenceTql2(int n, double[] d, double[] e,
+			double[][] V) {
+		for (int i = 1; i < n; i++) {
+			e[i-1] = e[i];
+		}
+		e[n-1] = 0.0;
+		
+		double f = 0.0;
+		double tst1 = 0.0;
+		double eps = Math.pow(2.0,-52.0);
+		for (int l = 0; l < n; l++) {
+			// Find small subdiagonal element
+			tst1 = Math.max(tst1,Math.abs(d[l]) + Math.abs(e[l]));
+			int m = l;
+			while (m < n) {
+				if (Math.abs(e[m]) <= eps*tst1) {
+					break;
+				}
+				m++;
+			}
+			
+			// If m == l, d[l] is an eigenvalue,
+			// otherwise, iterate.
+			if (m > l) {
+				int iter = 0;
+				do {
+					iter = iter + 1;  // (Could check iteration count here.)
+					
+					// Compute implicit shift
+					double g = d[l];
+					double p = (d[l+1] - g) / (2.0 * e[l]);
+					double r = hypot(p,1.0);
+					if (p < 0) {
+						r = -r;
+					}
+					d[l] = e[l] / (p + r);
+					d[l+1] = e[l] * (p + r);
+					double dl1 = d[l+1];
+					double h = g - d[l];
+					for (int i = l+2; i < n; i++) {
+						d[i] -= h;
+					}
+					f = f + h;
+					
+					// Implicit QL transformation.
+					p = d[m];
+					double c = 1.0;
+					double c2 = c;
+					double c3 = c;
+					double el1 = e[l+1];
+					double s = 0.0;
+					double s2 = 0.0;
+					for (int i = m-1; i >= l; i--) {
+						c3 = c2;
+						c2 = c;
+						s2 = s;
+						g = c * e[i];
+						h = c * p;
+						r = hypot(p,e[i]);
+						e[i+1] = s * r;
+						s = e[i] / r;
+						c = p / r;
+						p = c * d[i] - s * g;
+						d[i+1] = h + s * (c * g + s * d[i]);
+						
+						// Accumulate transformation.
+						for (int k = 0; k < n; k++) {
+							h = V[k][i+1];
+							V[k][i+1] = s * V[k][i] + c * h;
+							V[k][i] = c * V[k][i] - s * h;
+						}
+					}
+					p = -s * s2 * c3 * el1 * e[l] / dl1;
+					e[l] = s * p;
+					d[l] = c * p;
+					
+					// Check for convergence.
+				} while (Math.abs(e[l]) > eps*tst1);
+			}
+			d[l] = d[l] + f;
+			e[l] = 0.0;
+		}
+		
+		// Sort eigenvalues and corresponding vectors.
+		for (int i = 0; i < n-1; i++) {
+			int k = i;
+			double p = d[i];
+			for (int j = i+1; j < n; j++) {
+				if (d[j] < p) { // NH find smallest k>i
+					k = j;
+					p = d[j];
+				}
+			}
+			if (k != i) {
+				d[k] = d[i]; // swap k and i
+				d[i] = p;
+				for (int j = 0; j < n; j++) {
+					p = V[j][i];
+					V[j][i] = V[j][k];
+					V[j][k] = p;
+				}
+			}
+		}
+	}
+	
+	/**
+	 * Compute sqrt(a^2 + b^2) without under/overflow.
+	 */
+	private static double hypot(double a, double b) {
+		double r  = 0;
+		if (Math.abs(a) > Math.abs(b)) {
+			r = b/a;
+			r = Math.abs(a)*Math.sqrt(1+r*r);
+		} else if (b != 0) {
+			r = a/b;
+			r = Math.abs(b)*Math.sqrt(1+r*r);
+		}
+		return r;
+	}
+
 }
@@ -0,0 +1,128 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.fitness.HypervolumeFitnessEvaluator;
+import org.moeaframework.core.spi.ProblemFactory;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.problem.AbstractProblem;
+
+/**
+ * Tests the {@link LMCMAES} class.
+ */
+public class LMCMAESTest {
+
+	/**
+	 * Returns a rotated ellipsoid problem whose optimum is at the origin.
+	 * 
+	 * @param numberOfVariables the number of decision variables
+	 * @return a rotated ellipsoid problem
+	 */
+	private Problem createProblem(final int numberOfVariables) {
+		return new AbstractProblem(numberOfVariables, 1, 0) {
+		
+			@Override
+			public void evaluate(Solution solution) {
+				double[] x = EncodingUtils.getReal(solution);
+				double result = 0.0;
+				
+				for (int i = 0; i < x.length; i++) {
+					double sum = 0.0;
+					
+					for (int j = 0; j <= i; j++) {
+						sum += x[j];
+					}
+					
+					result += sum * sum;
+				}
+				
+				solution.setObjective(0, result);
+			}
+			
+			@Override
+			public Solution newSolution() {
+				Solution solution = new Solution(numberOfVariables, 1, 0);
+				
+				for (int i = 0; i < numberOfVariables; i++) {
+					solution.setVariable(i, EncodingUtils.newReal(-10, 10));
+				}
+				
+				return solution;
+			}
+		
+		};
+	}
+	
+	@Test
+	public void testSingleObjective() {
+		LMCMAES cmaes = new LMCMAES(createProblem(10), 20);
+		
+		for (int i = 0; i < 500; i++) {
+			cmaes.step();
+		}
+		
+		TestUtils.assertEquals(0.0, cmaes.getResult().get(0).getObjective(0));
+	}
+	
+	@Test
+	public void testLargeScale() {
+		LMCMAES cmaes = new LMCMAES(createProblem(1000), 20);
+		
+		cmaes.step();
+		double initial = cmaes.getResult().get(0).getObjective(0);
+		
+		for (int i = 0; i < 50; i++) {
+			cmaes.step();
+		}
+		
+		Assert.assertTrue(cmaes.getResult().get(0).getObjective(0) < initial);
+	}
+	
+	@Test
+	public void testMultiObjective() {
+		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+		LMCMAES cmaes = new LMCMAES(problem, 100);
+		
+		for (int i = 0; i < 100; i++) {
+			cmaes.step();
+		}
+		
+		Assert.assertFalse(cmaes.getResult().isEmpty());
+	}
+	
+	@Test
+	public void testHypervolumeFitnessEvaluator() {
+		Problem problem = ProblemFactory.getInstance().getProblem("DTLZ2_2");
+		LMCMAES cmaes = new LMCMAES(problem, 100,
+				new HypervolumeFitnessEvaluator(problem),
+				new NondominatedPopulation(), null, -1, -1, -1, -1, -1, -1, -1);
+		
+		for (int i = 0; i < 100; i++) {
+			cmaes.step();
+		}
+		
+		Assert.assertFalse(cmaes.getResult().isEmpty());
+	}
+
+}
@@ -92,6 +92,22 @@ public class ReproducibilityTest {
 		test("CMA-ES");
 	}
 	
+	/**
+	 * Tests sep-CMA-ES for reproducibility.
+	 */
+	@Test
+	public void testSepCMAES() {
+		test("sep-CMA-ES");
+	}
+	
+	/**
+	 * Tests LM-CMA-ES for reproducibility.
+	 */
+	@Test
+	public void testLMCMAES() {
+		test("LM-CMA-ES");
+	}
+	
 	/**
 	 * Tests SPEA2 for reproducibility.
 	 */
@@ -98,6 +98,16 @@ public class StandardAlgorithmsResumeTest {
 		test("CMA-ES");
 	}
 	
+	@Test
+	public void testSepCMAES() throws IOException {
+		test("sep-CMA-ES");
+	}
+	
+	@Test
+	public void testLMCMAES() throws IOException {
+		test("LM-CMA-ES");
+	}
+	
 	@Test
 	public void testSPEA2() throws IOException {
 		test("SPEA2");
@@ -126,6 +126,16 @@ public class StandardAlgorithmsTest {
 		test("CMA-ES", realProblem);
 	}
 	
+	@Test
+	public void testSepCMAES_Real() {
+		test("sep-CMA-ES", realProblem);
+	}
+	
+	@Test
+	public void testLMCMAES_Real() {
+		test("LM-CMA-ES", realProblem);
+	}
+	
 	@Test
 	public void testSPEA2_Real() {
 		test("SPEA2", realProblem);
@@ -206,6 +216,16 @@ public class StandardAlgorithmsTest {
 		test("CMA-ES", binaryProblem);
 	}
 	
+	@Test(expected = ProviderNotFoundException.class)
+	public void testSepCMAES_Binary() {
+		test("sep-CMA-ES", binaryProblem);
+	}
+	
+	@Test(expected = ProviderNotFoundException.class)
+	public void testLMCMAES_Binary() {
+		test("LM-CMA-ES", binaryProblem);
+	}
+	
 	@Test
 	public void testSPEA2_Binary() {
 		test("SPEA2", binaryProblem);
@@ -286,6 +306,16 @@ public class StandardAlgorithmsTest {
 		test("CMA-ES", permutationProblem);
 	}
 	
+	@Test(expected = ProviderNotFoundException.class)
+	public void testSepCMAES_Permutation() {
+		test("sep-CMA-ES", permutationProblem);
+	}
+	
+	@Test(expected = ProviderNotFoundException.class)
+	public void testLMCMAES_Permutation() {
+		test("LM-CMA-ES", permutationProblem);
+	}
+	
 	@Test
 	public void testSPEA2_Permutation() {
 		test("SPEA2", permutationProblem);
@@ -366,6 +396,16 @@ public class StandardAlgorithmsTest {
 		test("CMA-ES", subsetProblem);
 	}
 	
+	@Test(expected = ProviderNotFoundException.class)
+	public void testSepCMAES_Subset() {
+		test("sep-CMA-ES", subsetProblem);
+	}
+	
+	@Test(expected = ProviderNotFoundException.class)
+	public void testLMCMAES_Subset() {
+		test("LM-CMA-ES", subsetProblem);
+	}
+	
 	@Test
 	public void testSPEA2_Subset() {
 		test("SPEA2", subsetProblem);
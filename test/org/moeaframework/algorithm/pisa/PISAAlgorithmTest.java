@@ -0,0 +1,120 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm.pisa;
+
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.core.spi.ProblemFactory;
+
+/**
+ * Tests the {@link PISAAlgorithm} class with each transport by communicating
+ * with the {@link StandInSelector}.
+ */
+public class PISAAlgorithmTest {
+	
+	/**
+	 * The name of the PISA selector used by these tests.
+	 */
+	private static final String NAME = "standin";
+	
+	/**
+	 * Registers the stand-in selector.
+	 */
+	@Before
+	public void setUp() {
+		Settings.PROPERTIES.setString(Settings.KEY_PISA_ALGORITHMS, NAME);
+		Settings.PROPERTIES.setStringArray(Settings.KEY_PISA_PREFIX + NAME +
+				".parameters", new String[] { "seed" });
+	}
+	
+	/**
+	 * Removes the stand-in selector and restores the default transport.
+	 */
+	@After
+	public void tearDown() {
+		Settings.PROPERTIES.remove(Settings.KEY_PISA_ALGORITHMS);
+		Settings.PROPERTIES.remove(Settings.KEY_PISA_PREFIX + NAME +
+				".parameters");
+		Settings.PROPERTIES.remove(Settings.KEY_PISA_PREFIX + NAME +
+				".command");
+		Settings.PROPERTIES.remove(Settings.KEY_PISA_TRANSPORT);
+	}
+	
+	/**
+	 * Tests the default, polling transport.
+	 */
+	@Test
+	public void testPoll() {
+		test("poll");
+	}
+	
+	/**
+	 * Tests the spin-then-park transport.
+	 */
+	@Test
+	public void testSpin() {
+		test("spin");
+	}
+	
+	/**
+	 * Tests an unsupported transport.
+	 */
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupported() {
+		test("unsupported");
+	}
+	
+	/**
+	 * Runs the stand-in selector with the given transport for several
+	 * generations.
+	 * 
+	 * @param transport the name of the transport
+	 */
+	private void test(String transport) {
+		Settings.PROPERTIES.setString(Settings.KEY_PISA_TRANSPORT, transport);
+		Settings.PROPERTIES.setString(Settings.KEY_PISA_PREFIX + NAME +
+				".command", StandInSelector.getCommand(transport));
+		
+		Properties properties = new Properties();
+		properties.setProperty("populationSize", "20");
+		
+		Algorithm algorithm = AlgorithmFactory.getInstance().getAlgorithm(
+				NAME, properties,
+				ProblemFactory.getInstance().getProblem("DTLZ2_2"));
+		
+		Assert.assertTrue(algorithm instanceof PISAAlgorithm);
+		
+		while (algorithm.getNumberOfEvaluations() < 200) {
+			algorithm.step();
+		}
+		
+		algorithm.terminate();
+		
+		Assert.assertEquals(200, algorithm.getNumberOfEvaluations());
+		Assert.assertTrue(algorithm.getResult().size() > 0);
+		Assert.assertTrue(algorithm.isTerminated());
+	}
+
+}
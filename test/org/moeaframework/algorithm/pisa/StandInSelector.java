@@ -0,0 +1,321 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.algorithm.pisa;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A minimal PISA selector implemented in Java for testing and benchmarking
+ * the communication between {@link PISAAlgorithm} and external selectors.
+ * The archive retains the {@code alpha} solutions with the smallest sum of
+ * objectives and parents are chosen by binary tournament.  The selection is
+ * deliberately trivial so that timings are dominated by communication.
+ * <p>
+ * Usage: {@code java org.moeaframework.algorithm.pisa.StandInSelector
+ * <transport> <parameterFile> <filePrefix> <pollSeconds>}, where the last
+ * three arguments are supplied by {@link PISAAlgorithm}.
+ */
+public class StandInSelector {
+	
+	/**
+	 * The transport used to communicate with the variator.
+	 */
+	private final Transport transport;
+	
+	/**
+	 * The population size.
+	 */
+	private int alpha;
+	
+	/**
+	 * The number of parents.
+	 */
+	private int mu;
+	
+	/**
+	 * The objective values of the solutions currently in the archive.
+	 */
+	private final Map<Integer, double[]> population;
+	
+	/**
+	 * The random number generator used by tournament selection.
+	 */
+	private final Random random;
+	
+	/**
+	 * Constructs a new stand-in selector.
+	 * 
+	 * @param transport the transport used to communicate with the variator
+	 */
+	public StandInSelector(Transport transport) {
+		super();
+		this.transport = transport;
+		
+		population = new HashMap<Integer, double[]>();
+		random = new Random();
+	}
+	
+	/**
+	 * Returns the command for starting the stand-in selector in a new JVM
+	 * using the given transport.  The command can be assigned to the
+	 * {@code org.moeaframework.algorithm.pisa.NAME.command} property.
+	 * 
+	 * @param transport the name of the transport, either {@code "poll"} or
+	 *        {@code "spin"}
+	 * @return the command for starting the stand-in selector
+	 */
+	public static String getCommand(String transport) {
+		File java = new File(new File(System.getProperty("java.home"), "bin"),
+				"java");
+		
+		return "\"" + java.getAbsolutePath() + "\" -cp \"" + 
+				System.getProperty("java.class.path") + "\" " +
+				StandInSelector.class.getName() + " " + transport;
+	}
+	
+	/**
+	 * Reads the {@code cfg} file written by the variator.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void readConfiguration() throws IOException {
+		BufferedReader reader = null;
+		String line = null;
+		
+		try {
+			reader = new BufferedReader(new FileReader(new File(
+					transport.getFilePrefix() + "cfg")));
+			
+			while ((line = reader.readLine()) != null) {
+				String[] tokens = line.trim().split("\\s+");
+				
+				if (tokens[0].equals("alpha")) {
+					alpha = Integer.parseInt(tokens[1]);
+				} else if (tokens[0].equals("mu")) {
+					mu = Integer.parseInt(tokens[1]);
+				}
+			}
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Reads the {@code ini} or {@code var} file written by the variator,
+	 * adding its solutions to the population.
+	 * 
+	 * @param file the {@code ini} or {@code var} file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void readPopulation(File file) throws IOException {
+		BufferedReader reader = null;
+		String line = null;
+		
+		try {
+			reader = new BufferedReader(new FileReader(file));
+			
+			//skip the number of values
+			reader.readLine();
+			
+			while (((line = reader.readLine()) != null) &&
+					!line.equals("END")) {
+				String[] tokens = line.trim().split("\\s+");
+				double[] objectives = new double[tokens.length - 1];
+				
+				for (int i = 0; i < objectives.length; i++) {
+					objectives[i] = Double.parseDouble(tokens[i+1]);
+				}
+				
+				population.put(Integer.parseInt(tokens[0]), objectives);
+			}
+			
+			if (line == null) {
+				throw new IOException("expected END on last line");
+			}
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Writes the {@code sel} or {@code arc} file.
+	 * 
+	 * @param file the {@code sel} or {@code arc} file
+	 * @param ids the identifiers written to the file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void writeList(File file, List<Integer> ids) throws IOException {
+		PrintWriter writer = null;
+		
+		try {
+			writer = new PrintWriter(new BufferedWriter(new FileWriter(file)));
+			writer.println(ids.size());
+			
+			for (Integer id : ids) {
+				writer.println(id);
+			}
+			
+			writer.println("END");
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+	}
+	
+	/**
+	 * Returns the sum of the objectives of the specified solution.
+	 * 
+	 * @param id the identifier of the solution
+	 * @return the sum of the objectives of the specified solution
+	 */
+	private double fitness(int id) {
+		double sum = 0.0;
+		
+		for (double value : population.get(id)) {
+			sum += value;
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Truncates the population to the archive size and writes the {@code arc}
+	 * and {@code sel} files.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void select() throws IOException {
+		List<Integer> archive = new ArrayList<Integer>(population.keySet());
+		
+		Collections.sort(archive, new Comparator<Integer>() {
+
+			@Override
+			public int compare(Integer id1, Integer id2) {
+				return Double.compare(fitness(id1), fitness(id2));
+			}
+			
+		});
+		
+		if (archive.size() > alpha) {
+			archive = new ArrayList<Integer>(archive.subList(0, alpha));
+			population.keySet().retainAll(archive);
+		}
+		
+		List<Integer> selection = new ArrayList<Integer>();
+		
+		for (int i = 0; i < mu; i++) {
+			int id1 = archive.get(random.nextInt(archive.size()));
+			int id2 = archive.get(random.nextInt(archive.size()));
+			selection.add(fitness(id1) <= fitness(id2) ? id1 : id2);
+		}
+		
+		writeList(new File(transport.getFilePrefix() + "arc"), archive);
+		writeList(new File(transport.getFilePrefix() + "sel"), selection);
+	}
+	
+	/**
+	 * Runs the selector until the variator terminates.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 * @throws InterruptedException if the thread was interrupted
+	 */
+	public void run() throws IOException, InterruptedException {
+		int state = transport.getState();
+		
+		while (true) {
+			if (state == 1) {
+				readConfiguration();
+				readPopulation(new File(transport.getFilePrefix() + "ini"));
+				select();
+				transport.setState(2);
+				state = 2;
+			} else if (state == 3) {
+				readPopulation(new File(transport.getFilePrefix() + "var"));
+				select();
+				transport.setState(2);
+				state = 2;
+			} else if (state >= 4) {
+				break;
+			} else {
+				state = transport.waitWhile(state);
+			}
+		}
+	}
+	
+	/**
+	 * Starts the stand-in selector.  The selector exits when the variator
+	 * terminates or when its standard input is closed, which happens if the
+	 * variator's JVM exits without terminating the selector.
+	 * 
+	 * @param args the command line arguments
+	 * @throws Exception if an error occurred
+	 */
+	public static void main(String[] args) throws Exception {
+		String filePrefix = args[2];
+		long pollRate = Math.round(Double.parseDouble(args[3]) * 1000);
+		Transport transport = null;
+		
+		if (args[0].equals("spin")) {
+			transport = new SpinParkTransport(filePrefix, pollRate);
+		} else {
+			transport = new FileTransport(filePrefix, pollRate);
+		}
+		
+		Thread watchdog = new Thread() {
+			
+			@Override
+			public void run() {
+				try {
+					while (System.in.read() != -1) {
+						//ignore any input
+					}
+				} catch (IOException e) {
+					//fall through and exit
+				}
+				
+				System.exit(0);
+			}
+			
+		};
+		
+		watchdog.setDaemon(true);
+		watchdog.start();
+		
+		new StandInSelector(transport).run();
+		System.exit(0);
+	}
+
+}
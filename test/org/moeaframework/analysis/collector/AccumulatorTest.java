@@ -17,15 +17,24 @@
  */
 package org.moeaframework.analysis.collector;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.apache.commons.codec.binary.Base64;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.moeaframework.TestThresholds;
 import org.moeaframework.TestUtils;
 import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
 
 public class AccumulatorTest {
 	
@@ -108,4 +117,188 @@ public class AccumulatorTest {
 		Assert.assertEquals(expected, actual);
 	}
 
+	@Test
+	public void testMixedTypes() {
+		accumulator.add("test", 2.5);
+		accumulator.add("test", "foo");
+		
+		Assert.assertEquals(4, accumulator.size("test"));
+		Assert.assertEquals(5, accumulator.get("test", 0));
+		Assert.assertEquals(2, accumulator.get("test", 1));
+		Assert.assertEquals(2.5, accumulator.get("test", 2));
+		Assert.assertEquals("foo", accumulator.get("test", 3));
+	}
+	
+	@Test
+	public void testPrimitiveColumns() {
+		accumulator = new Accumulator();
+		
+		for (int i = 0; i < 1000; i++) {
+			accumulator.add("int", i);
+			accumulator.add("long", (long)i);
+			accumulator.add("double", i / 2.0);
+		}
+		
+		Assert.assertEquals(1000, accumulator.size("int"));
+		Assert.assertEquals(999, accumulator.get("int", 999));
+		Assert.assertEquals(999L, accumulator.get("long", 999));
+		Assert.assertEquals(499.5, accumulator.get("double", 999));
+	}
+	
+	@Test
+	public void testPackedSolutions() throws IOException {
+		testPackedSolutions(new Accumulator(true));
+	}
+	
+	@Test
+	public void testSpilledSolutions() throws IOException {
+		File directory = TestUtils.createTempFile().getParentFile();
+		testPackedSolutions(new Accumulator(true, directory));
+	}
+	
+	@Test
+	public void testPackedSolutionsMismatch() {
+		accumulator = new Accumulator(true);
+		accumulator.add("Approximation Set", createSet(2, 0));
+		accumulator.add("Approximation Set", createSet(3, 0));
+		
+		Assert.assertEquals(2, ((Solution)((List<?>)accumulator.get(
+				"Approximation Set", 0)).get(0)).getNumberOfObjectives());
+		Assert.assertEquals(3, ((Solution)((List<?>)accumulator.get(
+				"Approximation Set", 1)).get(0)).getNumberOfObjectives());
+	}
+	
+	@Test
+	public void testDispose() throws IOException {
+		File directory = TestUtils.createTempFile();
+		directory.delete();
+		directory.mkdir();
+		
+		try {
+			accumulator = new Accumulator(true, directory);
+			accumulator.add("Approximation Set", createSet(2, 1));
+			accumulator.add("Other Set", createSet(2, 1));
+			Assert.assertEquals(2, directory.listFiles().length);
+			
+			// converting a spilled column to generic storage deletes its file
+			accumulator.add("Other Set", "foo");
+			Assert.assertEquals(1, directory.listFiles().length);
+			Assert.assertEquals(2, accumulator.size("Other Set"));
+			
+			accumulator.dispose();
+			Assert.assertEquals(0, directory.listFiles().length);
+			Assert.assertTrue(accumulator.keySet().isEmpty());
+		} finally {
+			for (File file : directory.listFiles()) {
+				file.delete();
+			}
+			
+			directory.delete();
+		}
+	}
+	
+	@Test
+	public void testLegacySerialization() throws IOException,
+	ClassNotFoundException {
+		// accumulator serialized by earlier versions of this class
+		String legacy =
+			"rO0ABXNyADBvcmcubW9lYWZyYW1ld29yay5hbmFseXNpcy5jb2xsZWN0b3IuQWNj" +
+			"dW11bGF0b3KYJXspierOhwIAAUwABGRhdGF0AA9MamF2YS91dGlsL01hcDt4cHNy" +
+			"ABFqYXZhLnV0aWwuSGFzaE1hcAUH2sHDFmDRAwACRgAKbG9hZEZhY3RvckkACXRo" +
+			"cmVzaG9sZHhwP0AAAAAAAAx3CAAAABAAAAADdAADTkZFc3IAE2phdmEudXRpbC5B" +
+			"cnJheUxpc3R4gdIdmcdhnQMAAUkABHNpemV4cAAAAAJ3BAAAAAJzcgARamF2YS5s" +
+			"YW5nLkludGVnZXIS4qCk94GHOAIAAUkABXZhbHVleHIAEGphdmEubGFuZy5OdW1i" +
+			"ZXKGrJUdC5TgiwIAAHhwAAAAZHNxAH4ACAAAAMh4dAAMRWxhcHNlZCBUaW1lc3EA" +
+			"fgAGAAAAAncEAAAAAnNyABBqYXZhLmxhbmcuRG91YmxlgLPCSilr+wQCAAFEAAV2" +
+			"YWx1ZXhxAH4ACT/gAAAAAAAAc3EAfgAOP/gAAAAAAAB4dAAETmFtZXNxAH4ABgAA" +
+			"AAJ3BAAAAAJ0AANmb290AANiYXJ4eA==";
+		
+		ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(
+				Base64.decodeBase64(legacy)));
+		
+		try {
+			accumulator = (Accumulator)ois.readObject();
+		} finally {
+			ois.close();
+		}
+		
+		checkLegacyData(accumulator);
+		checkLegacyData(serialize(accumulator));
+	}
+	
+	private void checkLegacyData(Accumulator accumulator) {
+		Assert.assertEquals(3, accumulator.keySet().size());
+		Assert.assertEquals(2, accumulator.size("NFE"));
+		Assert.assertEquals(200, accumulator.get("NFE", 1));
+		Assert.assertEquals(1.5, accumulator.get("Elapsed Time", 1));
+		Assert.assertEquals("foo", accumulator.get("Name", 0));
+	}
+	
+	private void testPackedSolutions(Accumulator accumulator) 
+			throws IOException {
+		accumulator.add("Approximation Set", createSet(2, 1));
+		accumulator.add("Approximation Set", new ArrayList<Solution>());
+		accumulator.add("Approximation Set", createSet(2, 1));
+		
+		checkPackedSolutions(accumulator);
+		checkPackedSolutions(serialize(accumulator));
+	}
+	
+	private void checkPackedSolutions(Accumulator accumulator) {
+		Assert.assertEquals(3, accumulator.size("Approximation Set"));
+		Assert.assertTrue(((List<?>)accumulator.get("Approximation Set", 1))
+				.isEmpty());
+		
+		List<?> list = (List<?>)accumulator.get("Approximation Set", 2);
+		Assert.assertEquals(10, list.size());
+		
+		for (int i = 0; i < 10; i++) {
+			Solution solution = (Solution)list.get(i);
+			Assert.assertEquals(0, solution.getNumberOfVariables());
+			Assert.assertEquals(i, solution.getObjective(0), TestThresholds.SOLUTION_EPS);
+			Assert.assertEquals(-i, solution.getObjective(1), TestThresholds.SOLUTION_EPS);
+			Assert.assertEquals(0.5, solution.getConstraint(0), TestThresholds.SOLUTION_EPS);
+		}
+	}
+	
+	private ArrayList<Solution> createSet(int numberOfObjectives,
+			int numberOfConstraints) {
+		ArrayList<Solution> list = new ArrayList<Solution>();
+		
+		for (int i = 0; i < 10; i++) {
+			Solution solution = new Solution(1, numberOfObjectives,
+					numberOfConstraints);
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				solution.setObjective(j, j % 2 == 0 ? i : -i);
+			}
+			
+			for (int j = 0; j < numberOfConstraints; j++) {
+				solution.setConstraint(j, 0.5);
+			}
+			
+			list.add(solution);
+		}
+		
+		return list;
+	}
+	
+	private Accumulator serialize(Accumulator accumulator) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		ObjectOutputStream oos = new ObjectOutputStream(baos);
+		oos.writeObject(accumulator);
+		oos.close();
+		
+		ObjectInputStream ois = new ObjectInputStream(
+				new ByteArrayInputStream(baos.toByteArray()));
+		
+		try {
+			return (Accumulator)ois.readObject();
+		} catch (ClassNotFoundException e) {
+			throw new IOException(e);
+		} finally {
+			ois.close();
+		}
+	}
+
 }
@@ -0,0 +1,102 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.diagnostics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link Decimator} class.
+ */
+public class DecimatorTest {
+
+	/**
+	 * Returns the x values {@code 0, 1, ..., n-1}.
+	 * 
+	 * @param n the number of values
+	 * @return the x values
+	 */
+	private double[] createX(int n) {
+		double[] x = new double[n];
+		
+		for (int i = 0; i < n; i++) {
+			x[i] = i;
+		}
+		
+		return x;
+	}
+	
+	@Test
+	public void testBelowThreshold() {
+		double[] x = createX(10);
+		double[] y = createX(10);
+		
+		Assert.assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 },
+				Decimator.decimate(x, y, 10));
+		Assert.assertArrayEquals(new int[] { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 },
+				Decimator.decimate(x, y, 100));
+	}
+	
+	@Test
+	public void testEmpty() {
+		Assert.assertEquals(0, Decimator.decimate(new double[0],
+				new double[0], 100).length);
+	}
+	
+	@Test
+	public void testThreshold() {
+		double[] x = createX(10000);
+		double[] y = new double[x.length];
+		
+		for (int i = 0; i < x.length; i++) {
+			y[i] = Math.sin(i / 100.0);
+		}
+		
+		int[] indices = Decimator.decimate(x, y, 500);
+		
+		Assert.assertEquals(500, indices.length);
+		Assert.assertEquals(0, indices[0]);
+		Assert.assertEquals(x.length-1, indices[indices.length-1]);
+		
+		for (int i = 1; i < indices.length; i++) {
+			Assert.assertTrue(indices[i] > indices[i-1]);
+		}
+	}
+	
+	@Test
+	public void testPreservesExtrema() {
+		double[] x = createX(10000);
+		double[] y = new double[x.length];
+		
+		y[1234] = 1.0;
+		y[5678] = -1.0;
+		
+		int[] indices = Decimator.decimate(x, y, 50);
+		boolean hasMaximum = false;
+		boolean hasMinimum = false;
+		
+		for (int index : indices) {
+			hasMaximum |= (index == 1234);
+			hasMinimum |= (index == 5678);
+		}
+		
+		Assert.assertTrue(hasMaximum);
+		Assert.assertTrue(hasMinimum);
+	}
+
+}
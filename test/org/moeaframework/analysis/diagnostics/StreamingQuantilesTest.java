@@ -0,0 +1,133 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.diagnostics;
+
+import org.apache.commons.math3.stat.descriptive.DescriptiveStatistics;
+import org.junit.Assert;
+import org.junit.Test;
+import org.jfree.data.xy.YIntervalSeries;
+import org.moeaframework.core.PRNG;
+
+/**
+ * Tests the {@link StreamingQuantiles} class.
+ */
+public class StreamingQuantilesTest {
+
+	/**
+	 * Asserts that the two series contain the same points.
+	 * 
+	 * @param expected the expected series
+	 * @param actual the actual series
+	 */
+	private void assertEquals(YIntervalSeries expected,
+			YIntervalSeries actual) {
+		Assert.assertEquals(expected.getItemCount(), actual.getItemCount());
+		
+		for (int i = 0; i < expected.getItemCount(); i++) {
+			Assert.assertEquals(expected.getX(i).doubleValue(),
+					actual.getX(i).doubleValue(), 0.0);
+			Assert.assertEquals(expected.getYValue(i), actual.getYValue(i),
+					0.0);
+			Assert.assertEquals(expected.getYLowValue(i),
+					actual.getYLowValue(i), 0.0);
+			Assert.assertEquals(expected.getYHighValue(i),
+					actual.getYHighValue(i), 0.0);
+		}
+	}
+	
+	@Test
+	public void testQuantiles() {
+		StreamingQuantiles quantiles = new StreamingQuantiles(100, 1000);
+		DescriptiveStatistics[] statistics = new DescriptiveStatistics[10];
+		
+		for (int i = 0; i < statistics.length; i++) {
+			statistics[i] = new DescriptiveStatistics();
+		}
+		
+		// values from several seeds arriving out of order
+		for (int seed = 0; seed < 5; seed++) {
+			for (int NFE = 1; NFE <= 1000; NFE += 7) {
+				double value = PRNG.nextDouble();
+				quantiles.add(NFE, value);
+				statistics[(NFE - 1) / 100].addValue(value);
+			}
+			
+			// cached quantiles are updated when values are added
+			quantiles.toSeries("test");
+		}
+		
+		YIntervalSeries expected = new YIntervalSeries("test");
+		
+		for (int i = 0; i < statistics.length; i++) {
+			expected.add((i + 1) * 100, statistics[i].getPercentile(50),
+					statistics[i].getPercentile(25),
+					statistics[i].getPercentile(75));
+		}
+		
+		assertEquals(expected, quantiles.toSeries("test"));
+	}
+	
+	@Test
+	public void testCoarsen() {
+		StreamingQuantiles quantiles = new StreamingQuantiles(500, 100);
+		int[] NFE = new int[10000];
+		double[] values = new double[NFE.length];
+		
+		for (int i = 0; i < NFE.length; i++) {
+			NFE[i] = 100 * i;
+			values[i] = PRNG.nextDouble();
+			quantiles.add(NFE[i], values[i]);
+		}
+		
+		int resolution = quantiles.getResolution();
+		YIntervalSeries series = quantiles.toSeries("test");
+		
+		Assert.assertTrue(series.getItemCount() <= 100);
+		Assert.assertEquals(16000, resolution);
+		
+		// merging intervals matches starting with the final resolution
+		StreamingQuantiles expected = new StreamingQuantiles(resolution, 100);
+		
+		for (int i = 0; i < NFE.length; i++) {
+			expected.add(NFE[i], values[i]);
+		}
+		
+		assertEquals(expected.toSeries("test"), series);
+	}
+	
+	@Test
+	public void testSingleInterval() {
+		StreamingQuantiles quantiles = new StreamingQuantiles(500, 100);
+		quantiles.add(100, 1.0);
+		quantiles.add(200, 3.0);
+		
+		YIntervalSeries series = quantiles.toSeries("test");
+		
+		Assert.assertEquals(2, series.getItemCount());
+		Assert.assertEquals(0.0, series.getX(0).doubleValue(), 0.0);
+		Assert.assertEquals(500.0, series.getX(1).doubleValue(), 0.0);
+		Assert.assertEquals(2.0, series.getYValue(1), 0.0);
+	}
+	
+	@Test
+	public void testEmpty() {
+		Assert.assertEquals(0, new StreamingQuantiles(500, 100).toSeries(
+				"test").getItemCount());
+	}
+
+}
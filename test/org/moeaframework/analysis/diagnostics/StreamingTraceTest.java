@@ -0,0 +1,70 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.diagnostics;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Tests the {@link StreamingTrace} class.
+ */
+public class StreamingTraceTest {
+
+	@Test
+	public void testBelowMaximum() {
+		StreamingTrace trace = new StreamingTrace(100);
+		
+		for (int i = 0; i < 50; i++) {
+			trace.add(i, 2*i);
+		}
+		
+		Assert.assertEquals(50, trace.getCount());
+		Assert.assertEquals(50, trace.getX().length);
+		Assert.assertEquals(49.0, trace.getX()[49], 0.0);
+		Assert.assertEquals(98.0, trace.getY()[49], 0.0);
+	}
+	
+	@Test
+	public void testBounded() {
+		StreamingTrace trace = new StreamingTrace(500);
+		int n = 100000;
+		
+		for (int i = 0; i < n; i++) {
+			trace.add(i, Math.sin(i / 100.0));
+			
+			if (i % 1000 == 0) {
+				Assert.assertTrue(trace.getX().length < 1000);
+			}
+		}
+		
+		double[] x = trace.getX();
+		double[] y = trace.getY();
+		
+		Assert.assertEquals(n, trace.getCount());
+		Assert.assertTrue(x.length < 1000);
+		Assert.assertEquals(x.length, y.length);
+		Assert.assertEquals(0.0, x[0], 0.0);
+		Assert.assertEquals(n-1, x[x.length-1], 0.0);
+		
+		for (int i = 1; i < x.length; i++) {
+			Assert.assertTrue(x[i] > x[i-1]);
+			Assert.assertEquals(Math.sin(x[i] / 100.0), y[i], 0.0);
+		}
+	}
+
+}
@@ -0,0 +1,452 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.BinaryVariable;
+import org.moeaframework.core.variable.Grammar;
+import org.moeaframework.core.variable.Permutation;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.problem.AbstractProblem;
+
+/**
+ * Tests the {@link BinaryResultFileWriter} and {@link BinaryResultFileReader}
+ * classes.
+ */
+public class BinaryResultFileWriterTest {
+
+	/**
+	 * The number of entries written by each test.
+	 */
+	private static final int N = 50;
+	
+	/**
+	 * The problem used for testing.
+	 */
+	private Problem problem;
+	
+	/**
+	 * The entries written by each test.
+	 */
+	private List<ResultEntry> entries;
+	
+	/**
+	 * Creates the problem and entries used for testing.  A small block size
+	 * is used so the entries span many blocks.
+	 */
+	@Before
+	public void setUp() {
+		Settings.PROPERTIES.setInt(Settings.KEY_RESULT_FILE_BLOCK_SIZE, 256);
+		
+		problem = new AbstractProblem(4, 2, 1) {
+		
+			@Override
+			public void evaluate(Solution solution) {
+				throw new UnsupportedOperationException();
+			}
+			
+			@Override
+			public Solution newSolution() {
+				Solution solution = new Solution(4, 2, 1);
+				solution.setVariable(0, new RealVariable(0.0, 1.0));
+				solution.setVariable(1, new BinaryVariable(11));
+				solution.setVariable(2, new Permutation(5));
+				solution.setVariable(3, new Grammar(4));
+				return solution;
+			}
+		
+		};
+		
+		entries = new ArrayList<ResultEntry>();
+		
+		for (int i = 0; i < N; i++) {
+			NondominatedPopulation population = new NondominatedPopulation();
+			
+			for (int j = 0; j < i % 5; j++) {
+				Solution solution = problem.newSolution();
+				
+				for (int k = 0; k < solution.getNumberOfVariables(); k++) {
+					solution.getVariable(k).randomize();
+				}
+				
+				double value = PRNG.nextDouble();
+				solution.setObjectives(new double[] { value, 1.0 - value });
+				population.add(solution);
+			}
+			
+			Properties properties = new Properties();
+			
+			if (i % 3 != 0) {
+				properties.setProperty("NFE", Integer.toString(i));
+				properties.setProperty("\t=:", "\"'\\\r\n//");
+			}
+			
+			entries.add(new ResultEntry(population, properties));
+		}
+	}
+	
+	/**
+	 * Removes references to shared objects so they can be garbage collected
+	 * and restores the default settings.
+	 */
+	@After
+	public void tearDown() {
+		problem = null;
+		entries = null;
+		Settings.PROPERTIES.remove(Settings.KEY_RESULT_FILE_BLOCK_SIZE);
+		Settings.PROPERTIES.remove(Settings.KEY_RESULT_FILE_COMPRESSION);
+	}
+	
+	/**
+	 * Writes the entries to the file using the given format.
+	 * 
+	 * @param file the file
+	 * @param format the result file format
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void write(File file, ResultFileFormat format) throws IOException {
+		ResultFileWriter writer = null;
+		
+		try {
+			writer = new ResultFileWriter(problem, file, true, format);
+			
+			for (ResultEntry entry : entries) {
+				writer.append(entry);
+			}
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+	}
+	
+	/**
+	 * Reads all entries from the file.
+	 * 
+	 * @param file the file
+	 * @param problem the problem
+	 * @return the entries read from the file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private List<ResultEntry> read(File file, Problem problem)
+			throws IOException {
+		List<ResultEntry> result = new ArrayList<ResultEntry>();
+		ResultFileReader reader = null;
+		
+		try {
+			reader = new ResultFileReader(problem, file);
+			
+			while (reader.hasNext()) {
+				result.add(reader.next());
+			}
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+		
+		return result;
+	}
+	
+	/**
+	 * Asserts that the two lists contain the same entries.
+	 * 
+	 * @param expected the expected entries
+	 * @param actual the actual entries
+	 */
+	private void assertEquals(List<ResultEntry> expected,
+			List<ResultEntry> actual) {
+		Assert.assertEquals(expected.size(), actual.size());
+		
+		for (int i = 0; i < expected.size(); i++) {
+			TestUtils.assertEquals(expected.get(i).getPopulation(),
+					actual.get(i).getPopulation());
+			Assert.assertEquals(expected.get(i).getProperties(),
+					actual.get(i).getProperties());
+		}
+	}
+	
+	@Test
+	public void testMatchesTextFormat() throws IOException {
+		File textFile = TestUtils.createTempFile();
+		File binaryFile = TestUtils.createTempFile();
+		
+		write(textFile, ResultFileFormat.TEXT);
+		write(binaryFile, ResultFileFormat.BINARY);
+		
+		Assert.assertEquals(ResultFileFormat.TEXT,
+				ResultFileFormat.detect(textFile));
+		Assert.assertEquals(ResultFileFormat.BINARY,
+				ResultFileFormat.detect(binaryFile));
+		
+		List<ResultEntry> expected = read(textFile, problem);
+		Assert.assertEquals(N, expected.size());
+		assertEquals(expected, read(binaryFile, problem));
+		
+		// with only the number of objectives, the variables are skipped
+		assertEquals(read(textFile, new ProblemStub(2)),
+				read(binaryFile, new ProblemStub(2)));
+	}
+	
+	@Test
+	public void testNoCompression() throws IOException {
+		File textFile = TestUtils.createTempFile();
+		File binaryFile = TestUtils.createTempFile();
+		
+		Settings.PROPERTIES.setString(Settings.KEY_RESULT_FILE_COMPRESSION,
+				"none");
+		
+		write(textFile, ResultFileFormat.TEXT);
+		write(binaryFile, ResultFileFormat.BINARY);
+		
+		assertEquals(read(textFile, problem), read(binaryFile, problem));
+	}
+	
+	@Test
+	public void testForFile() {
+		Assert.assertEquals(ResultFileFormat.BINARY,
+				ResultFileFormat.forFile(new File("results.bin")));
+		Assert.assertEquals(ResultFileFormat.BINARY,
+				ResultFileFormat.forFile(new File("RESULTS.BIN")));
+		Assert.assertEquals(ResultFileFormat.TEXT,
+				ResultFileFormat.forFile(new File("results.txt")));
+		Assert.assertEquals(ResultFileFormat.TEXT,
+				ResultFileFormat.forFile(new File("results")));
+	}
+	
+	@Test
+	public void testSeek() throws IOException {
+		File file = TestUtils.createTempFile();
+		write(file, ResultFileFormat.BINARY);
+		
+		List<ResultEntry> expected = read(file, problem);
+		BinaryResultFileReader reader = null;
+		
+		try {
+			reader = new BinaryResultFileReader(problem, file);
+			Assert.assertEquals(N, reader.getNumberOfEntries());
+			
+			for (int i : new int[] { 17, 0, N-1, 3, 4, 5 }) {
+				reader.seek(i);
+				assertEquals(expected.subList(i, i+1),
+						Arrays.asList(reader.readNextEntry()));
+			}
+			
+			reader.seek(N);
+			Assert.assertNull(reader.readNextEntry());
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+	
+	@Test
+	public void testMissingIndex() throws IOException {
+		File file = TestUtils.createTempFile();
+		write(file, ResultFileFormat.BINARY);
+		
+		List<ResultEntry> expected = read(file, problem);
+		
+		// truncate the file inside the last block, as if the writer crashed
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		long lastBlock = -1;
+		
+		try {
+			BinaryResultFileReader reader = new BinaryResultFileReader(
+					problem, file);
+			
+			try {
+				reader.seek(N-1);
+				Assert.assertNotNull(reader.readNextEntry());
+			} finally {
+				reader.close();
+			}
+			
+			lastBlock = findLastBlock(file);
+			raf.setLength(lastBlock + BinaryResultFileWriter.BLOCK_HEADER_LENGTH
+					+ 1);
+		} finally {
+			raf.close();
+		}
+		
+		List<ResultEntry> actual = read(file, problem);
+		Assert.assertTrue(actual.size() > 0);
+		Assert.assertTrue(actual.size() < N);
+		assertEquals(expected.subList(0, actual.size()), actual);
+		
+		// resuming keeps the recovered entries
+		ResultFileWriter writer = new ResultFileWriter(problem, file);
+		
+		try {
+			Assert.assertEquals(actual.size(), writer.getNumberOfEntries());
+		} finally {
+			writer.close();
+		}
+		
+		assertEquals(actual, read(file, problem));
+	}
+	
+	/**
+	 * Returns the file offset of the last block by scanning the block headers.
+	 * 
+	 * @param file the binary result file
+	 * @return the file offset of the last block
+	 * @throws IOException if an I/O error occurred
+	 */
+	private long findLastBlock(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		
+		try {
+			raf.seek(raf.length() - BinaryResultFileWriter.TRAILER_LENGTH);
+			raf.seek(raf.readLong());
+			Assert.assertEquals(BinaryResultFileWriter.INDEX_MARKER,
+					raf.readInt());
+			
+			int numberOfBlocks = raf.readInt();
+			raf.seek(raf.getFilePointer() + 12*(numberOfBlocks-1));
+			return raf.readLong();
+		} finally {
+			raf.close();
+		}
+	}
+	
+	@Test
+	public void testCorruptBlock() throws IOException {
+		File file = TestUtils.createTempFile();
+		write(file, ResultFileFormat.BINARY);
+		
+		List<ResultEntry> expected = read(file, problem);
+		long lastBlock = findLastBlock(file);
+		RandomAccessFile raf = new RandomAccessFile(file, "rw");
+		
+		try {
+			long offset = lastBlock + BinaryResultFileWriter.BLOCK_HEADER_LENGTH;
+			raf.seek(offset);
+			int value = raf.read();
+			raf.seek(offset);
+			raf.write(value ^ 0xFF);
+		} finally {
+			raf.close();
+		}
+		
+		List<ResultEntry> actual = read(file, problem);
+		Assert.assertTrue(actual.size() < N);
+		assertEquals(expected.subList(0, actual.size()), actual);
+	}
+	
+	@Test
+	public void testUnclosedWriter() throws IOException {
+		File file = TestUtils.createTempFile();
+		Settings.PROPERTIES.setInt(Settings.KEY_RESULT_FILE_BLOCK_SIZE, 0x40000);
+		
+		ResultFileWriter writer = new ResultFileWriter(problem, file, true,
+				ResultFileFormat.BINARY);
+		
+		try {
+			for (int i = 0; i < 20; i++) {
+				writer.append(entries.get(i));
+			}
+			
+			// every appended entry is readable before the writer is closed,
+			// as if the process was killed
+			assertEquals(entries.subList(0, 20), read(file, problem));
+		} finally {
+			writer.close();
+		}
+	}
+	
+	@Test
+	public void testResume() throws IOException {
+		File file = TestUtils.createTempFile();
+		write(file, ResultFileFormat.BINARY);
+		
+		ResultFileWriter writer = new ResultFileWriter(problem, file, true,
+				ResultFileFormat.BINARY);
+		
+		try {
+			Assert.assertEquals(N, writer.getNumberOfEntries());
+			writer.append(entries.get(0));
+			Assert.assertEquals(N+1, writer.getNumberOfEntries());
+		} finally {
+			writer.close();
+		}
+		
+		List<ResultEntry> actual = read(file, problem);
+		Assert.assertEquals(N+1, actual.size());
+		assertEquals(actual.subList(0, 1), actual.subList(N, N+1));
+	}
+	
+	@Test
+	public void testConverter() throws Exception {
+		File textFile = TestUtils.createTempFile();
+		File binaryFile = new File(TestUtils.createTempFile().getPath() +
+				ResultFileFormat.BINARY_EXTENSION);
+		File convertedFile = TestUtils.createTempFile();
+		binaryFile.deleteOnExit();
+		
+		// only the objectives are converted when given the dimension
+		for (int i = 0; i < entries.size(); i++) {
+			NondominatedPopulation population = new NondominatedPopulation();
+			
+			for (Solution solution : entries.get(i).getPopulation()) {
+				population.add(new Solution(solution.getObjectives()));
+			}
+			
+			entries.set(i, new ResultEntry(population,
+					entries.get(i).getProperties()));
+		}
+		
+		problem = new ProblemStub(2);
+		write(textFile, ResultFileFormat.TEXT);
+		
+		ResultFileConverter.main(new String[] {
+				"-d", "2",
+				"-i", textFile.getPath(),
+				"-o", binaryFile.getPath() });
+		
+		Assert.assertEquals(ResultFileFormat.BINARY,
+				ResultFileFormat.detect(binaryFile));
+		
+		ResultFileConverter.main(new String[] {
+				"-d", "2",
+				"-i", binaryFile.getPath(),
+				"-o", convertedFile.getPath() });
+		
+		Assert.assertArrayEquals(TestUtils.loadFile(textFile),
+				TestUtils.loadFile(convertedFile));
+	}
+
+}
@@ -17,8 +17,13 @@
  */
 package org.moeaframework.analysis.sensitivity;
 
+import java.io.BufferedReader;
 import java.io.File;
+import java.io.FileReader;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 import org.junit.After;
 import org.junit.Assert;
@@ -163,6 +168,30 @@ public class IntegrationTest {
 		
 		Assert.assertTrue(TestUtils.lineCount(seedMerger) > 0);
 		
+		//the streaming merges must produce the same output, although the
+		//merged reference set may be in a different order
+		File streamedCombinedFile = TestUtils.createTempFile();
+		File streamedSeedMerger = TestUtils.createTempFile();
+		
+		ResultFileMerger.main(new String[] {
+				"-b", "DTLZ2_2",
+				"-o", streamedCombinedFile.getPath(),
+				"-s",
+				resultFile1.getPath(),
+				resultFile2.getPath()});
+		
+		ResultFileSeedMerger.main(new String[] {
+				"-b", "DTLZ2_2",
+				"-o", streamedSeedMerger.getPath(),
+				"-s",
+				resultFile1.getPath(),
+				resultFile2.getPath()});
+		
+		Assert.assertEquals(loadSortedLines(combinedFile),
+				loadSortedLines(streamedCombinedFile));
+		Assert.assertArrayEquals(TestUtils.loadFile(seedMerger),
+				TestUtils.loadFile(streamedSeedMerger));
+		
 		//evaluate the results using the combined reference set
 		File metricFile1 = TestUtils.createTempFile();
 		File metricFile2 = TestUtils.createTempFile();
@@ -381,4 +410,32 @@ public class IntegrationTest {
 		Assert.assertEquals(6, problemFactory.getCloseCount());
 	}
 
+	/**
+	 * Returns the lines in the given file in sorted order.
+	 * 
+	 * @param file the file
+	 * @return the lines in the given file in sorted order
+	 * @throws IOException if an I/O error occurred
+	 */
+	private List<String> loadSortedLines(File file) throws IOException {
+		List<String> lines = new ArrayList<String>();
+		BufferedReader reader = null;
+		
+		try {
+			reader = new BufferedReader(new FileReader(file));
+			String line = null;
+			
+			while ((line = reader.readLine()) != null) {
+				lines.add(line);
+			}
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+		
+		Collections.sort(lines);
+		return lines;
+	}
+
 }
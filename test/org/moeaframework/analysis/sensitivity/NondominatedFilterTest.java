@@ -0,0 +1,135 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+
+/**
+ * Tests the {@link NondominatedFilter} class.
+ */
+public class NondominatedFilterTest {
+
+	/**
+	 * Creates random solutions, including duplicates and, if requested,
+	 * infeasible solutions.
+	 * 
+	 * @param size the number of solutions
+	 * @param numberOfObjectives the number of objectives
+	 * @param numberOfConstraints the number of constraints
+	 * @return the random solutions
+	 */
+	private List<Solution> createSolutions(int size, int numberOfObjectives,
+			int numberOfConstraints) {
+		List<Solution> solutions = new ArrayList<Solution>();
+		
+		for (int i = 0; i < size; i++) {
+			if ((i > 0) && PRNG.nextDouble() < 0.1) {
+				solutions.add(PRNG.nextItem(solutions).copy());
+				continue;
+			}
+			
+			Solution solution = new Solution(0, numberOfObjectives,
+					numberOfConstraints);
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				solution.setObjective(j, PRNG.nextInt(20) / 20.0);
+			}
+			
+			for (int j = 0; j < numberOfConstraints; j++) {
+				solution.setConstraint(j, PRNG.nextDouble() < 0.3 ?
+						PRNG.nextInt(3) : 0.0);
+			}
+			
+			solutions.add(solution);
+		}
+		
+		return solutions;
+	}
+	
+	/**
+	 * Asserts that the filter produces the same solutions, in the same order,
+	 * as adding the solutions to a {@link NondominatedPopulation}.
+	 * 
+	 * @param numberOfObjectives the number of objectives
+	 * @param numberOfConstraints the number of constraints
+	 */
+	private void test(int numberOfObjectives, int numberOfConstraints) {
+		for (int i = 0; i < 50; i++) {
+			List<Solution> solutions = createSolutions(200, numberOfObjectives,
+					numberOfConstraints);
+			NondominatedPopulation expected = new NondominatedPopulation(
+					solutions);
+			NondominatedPopulation actual = NondominatedFilter.filter(
+					solutions);
+			
+			Assert.assertEquals(expected.size(), actual.size());
+			
+			for (int j = 0; j < expected.size(); j++) {
+				Assert.assertSame(expected.get(j), actual.get(j));
+			}
+		}
+	}
+	
+	@Test
+	public void testTwoObjectives() {
+		test(2, 0);
+	}
+	
+	@Test
+	public void testThreeObjectives() {
+		test(3, 0);
+	}
+	
+	@Test
+	public void testConstraints() {
+		test(2, 2);
+		test(3, 2);
+	}
+	
+	@Test
+	public void testNearDuplicates() {
+		Solution solution1 = new Solution(new double[] { 0.5, 0.5 });
+		Solution solution2 = new Solution(new double[] {
+				0.5 - Settings.EPS / 4.0, 0.5 + Settings.EPS / 4.0 });
+		
+		List<Solution> solutions = new ArrayList<Solution>();
+		solutions.add(solution1);
+		solutions.add(solution2);
+		
+		NondominatedPopulation result = NondominatedFilter.filter(solutions);
+		
+		// the near-duplicate first in the lexicographic order is kept
+		Assert.assertEquals(1, result.size());
+		Assert.assertSame(solution2, result.get(0));
+	}
+	
+	@Test
+	public void testEmpty() {
+		Assert.assertEquals(0, NondominatedFilter.filter(
+				new ArrayList<Solution>()).size());
+	}
+
+}
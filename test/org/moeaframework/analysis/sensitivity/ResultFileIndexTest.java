@@ -0,0 +1,426 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.sensitivity;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.TestThresholds;
+import org.moeaframework.TestUtils;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.problem.AbstractProblem;
+import org.moeaframework.util.io.FileUtils;
+
+/**
+ * Tests the {@link ResultFileIndex} class and its use by
+ * {@link ResultFileReader#seek(int)} and {@link ResultFileWriter}.
+ */
+public class ResultFileIndexTest {
+
+	/**
+	 * The number of entries written by each test.
+	 */
+	private static final int N = 10;
+	
+	/**
+	 * The problem used for testing.
+	 */
+	private Problem problem;
+	
+	/**
+	 * The result file used for testing.
+	 */
+	private File file;
+	
+	/**
+	 * Creates the problem and result file used for testing.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Before
+	public void setUp() throws IOException {
+		problem = new AbstractProblem(1, 2) {
+		
+			@Override
+			public void evaluate(Solution solution) {
+				throw new UnsupportedOperationException();
+			}
+			
+			@Override
+			public Solution newSolution() {
+				Solution solution = new Solution(1, 2);
+				solution.setVariable(0, new RealVariable(0.0, 1.0));
+				return solution;
+			}
+		
+		};
+		
+		file = TestUtils.createTempFile();
+		ResultFileIndex.getIndexFile(file).deleteOnExit();
+	}
+	
+	/**
+	 * Removes the result file and its index.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@After
+	public void tearDown() throws IOException {
+		FileUtils.delete(file);
+		FileUtils.delete(ResultFileIndex.getIndexFile(file));
+		problem = null;
+		file = null;
+	}
+	
+	/**
+	 * Returns the entry written at the given position, which is identified by
+	 * its {@code entry} property.
+	 * 
+	 * @param i the position of the entry
+	 * @return the entry written at the given position
+	 */
+	private ResultEntry createEntry(int i) {
+		Solution solution = problem.newSolution();
+		((RealVariable)solution.getVariable(0)).setValue(i / (double)N);
+		solution.setObjectives(new double[] { i, -i });
+		
+		NondominatedPopulation population = new NondominatedPopulation();
+		population.add(solution);
+		
+		ResultEntry entry = new ResultEntry(population);
+		entry.getProperties().setProperty("entry", Integer.toString(i));
+		return entry;
+	}
+	
+	/**
+	 * Writes the entries at positions {@code [start, end)} to the result file.
+	 * 
+	 * @param start the position of the first entry
+	 * @param end the position after the last entry
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void write(int start, int end) throws IOException {
+		ResultFileWriter writer = null;
+		
+		try {
+			writer = new ResultFileWriter(problem, file);
+			Assert.assertEquals(start, writer.getNumberOfEntries());
+			
+			for (int i = start; i < end; i++) {
+				writer.append(createEntry(i));
+			}
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+	}
+	
+	/**
+	 * Asserts that the reader returns the entry at the given position.
+	 * 
+	 * @param reader the reader
+	 * @param i the expected position of the next entry
+	 */
+	private void assertNextEntry(ResultFileReader reader, int i) {
+		Assert.assertTrue(reader.hasNext());
+		
+		ResultEntry entry = reader.next();
+		Assert.assertEquals(Integer.toString(i),
+				entry.getProperties().getProperty("entry"));
+		Assert.assertEquals(i, entry.getPopulation().get(0).getObjective(0),
+				TestThresholds.SOLUTION_EPS);
+	}
+	
+	/**
+	 * Asserts that seeking to each entry, in both directions and past the
+	 * end of the file, returns the correct entries.
+	 * 
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void assertSeek() throws IOException {
+		ResultFileReader reader = null;
+		
+		try {
+			reader = new ResultFileReader(problem, file);
+			
+			reader.seek(7);
+			assertNextEntry(reader, 7);
+			assertNextEntry(reader, 8);
+			
+			reader.seek(2);
+			assertNextEntry(reader, 2);
+			
+			reader.seek(0);
+			
+			for (int i = 0; i < N; i++) {
+				assertNextEntry(reader, i);
+			}
+			
+			Assert.assertFalse(reader.hasNext());
+			
+			reader.seek(N - 1);
+			assertNextEntry(reader, N - 1);
+			Assert.assertFalse(reader.hasNext());
+			
+			reader.seek(N);
+			Assert.assertFalse(reader.hasNext());
+			
+			reader.seek(N + 5);
+			Assert.assertFalse(reader.hasNext());
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+	}
+	
+	/**
+	 * Removes the given number of offsets from the end of the index.
+	 * 
+	 * @param numberOfEntries the number of offsets removed from the index
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void truncateIndex(int numberOfEntries) throws IOException {
+		RandomAccessFile index = new RandomAccessFile(
+				ResultFileIndex.getIndexFile(file), "rw");
+		
+		try {
+			index.setLength(index.length() - numberOfEntries * 8L);
+		} finally {
+			index.close();
+		}
+	}
+	
+	/**
+	 * Appends the text to the end of the result file.
+	 * 
+	 * @param text the text
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void appendText(String text) throws IOException {
+		Writer writer = new FileWriter(file, true);
+		
+		try {
+			writer.write(text);
+		} finally {
+			writer.close();
+		}
+	}
+	
+	/**
+	 * Tests if the writer records an offset for each entry and the reader
+	 * seeks to the correct entries.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testSeek() throws IOException {
+		write(0, N);
+		
+		Assert.assertEquals(N, ResultFileIndex.getNumberOfEntries(file));
+		Assert.assertEquals(file.length(),
+				ResultFileIndex.getOffset(file, N));
+		
+		assertSeek();
+	}
+	
+	/**
+	 * Tests if seeking falls back to reading the file when the index is
+	 * missing.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testSeekWithoutIndex() throws IOException {
+		write(0, N);
+		FileUtils.delete(ResultFileIndex.getIndexFile(file));
+		
+		Assert.assertEquals(0, ResultFileIndex.getNumberOfEntries(file));
+		assertSeek();
+	}
+	
+	/**
+	 * Tests if an index that does not cover every entry is ignored.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testSeekWithIncompleteIndex() throws IOException {
+		write(0, N);
+		truncateIndex(4);
+		
+		Assert.assertEquals(0, ResultFileIndex.getNumberOfEntries(file));
+		assertSeek();
+	}
+	
+	/**
+	 * Tests if the index is ignored after the result file is modified by
+	 * another program.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testModifiedFile() throws IOException {
+		write(0, N);
+		
+		// same contents, different last-modified time
+		Assert.assertTrue(file.setLastModified(file.lastModified() - 10000));
+		Assert.assertEquals(0, ResultFileIndex.getNumberOfEntries(file));
+		assertSeek();
+		
+		// different length
+		ResultFileWriter.delete(file);
+		write(0, N);
+		appendText("# comment\n");
+		Assert.assertEquals(0, ResultFileIndex.getNumberOfEntries(file));
+		assertSeek();
+	}
+	
+	/**
+	 * Tests if no index is written when disabled and if deleting a result
+	 * file also deletes its index.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testDelete() throws IOException {
+		File indexFile = ResultFileIndex.getIndexFile(file);
+		ResultFileWriter writer = new ResultFileWriter(problem, file, true,
+				ResultFileFormat.TEXT, false);
+		
+		try {
+			writer.append(createEntry(0));
+		} finally {
+			writer.close();
+		}
+		
+		Assert.assertFalse(indexFile.exists());
+		
+		FileUtils.delete(file);
+		write(0, N);
+		Assert.assertTrue(indexFile.exists());
+		
+		ResultFileWriter.delete(file);
+		Assert.assertFalse(file.exists());
+		Assert.assertFalse(indexFile.exists());
+	}
+	
+	/**
+	 * Tests if an index that does not match the result file is ignored.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testInvalidIndex() throws IOException {
+		write(0, N);
+		
+		// replace the index with an offset inside the last entry
+		ResultFileIndex index = new ResultFileIndex(file, 0);
+		
+		try {
+			index.add(file.length() - 3);
+		} finally {
+			index.close();
+		}
+		
+		Assert.assertEquals(0, ResultFileIndex.getNumberOfEntries(file));
+		assertSeek();
+		
+		// replace the index with an offset past the end of the file
+		index = new ResultFileIndex(file, 0);
+		
+		try {
+			index.add(file.length() + 2);
+		} finally {
+			index.close();
+		}
+		
+		Assert.assertEquals(0, ResultFileIndex.getNumberOfEntries(file));
+		assertSeek();
+	}
+	
+	/**
+	 * Tests if resuming a result file keeps the existing entries and discards
+	 * an incomplete trailing entry.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testResume() throws IOException {
+		write(0, 6);
+		appendText("//entry=6\n0.5 6.0 -6.0\n");
+		write(6, N);
+		
+		Assert.assertEquals(N, ResultFileIndex.getNumberOfEntries(file));
+		assertSeek();
+	}
+	
+	/**
+	 * Tests if resuming a result file whose index lags behind the file
+	 * retains the entries not covered by the index.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testResumeWithIncompleteIndex() throws IOException {
+		write(0, 6);
+		truncateIndex(3);
+		write(6, N);
+		
+		Assert.assertEquals(N, ResultFileIndex.getNumberOfEntries(file));
+		assertSeek();
+	}
+	
+	/**
+	 * Tests if seeking is supported by result files using the binary format.
+	 * 
+	 * @throws IOException should not occur
+	 */
+	@Test
+	public void testBinaryFormat() throws IOException {
+		ResultFileWriter writer = null;
+		
+		try {
+			writer = new ResultFileWriter(problem, file, true,
+					ResultFileFormat.BINARY);
+			
+			for (int i = 0; i < N; i++) {
+				writer.append(createEntry(i));
+			}
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+		
+		Assert.assertFalse(ResultFileIndex.getIndexFile(file).exists());
+		assertSeek();
+	}
+
+}
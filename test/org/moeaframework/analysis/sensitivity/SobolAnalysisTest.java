@@ -176,6 +176,66 @@ public class SobolAnalysisTest {
 				getEntryValue(outputFile, "Variable2 \\* Variable3", 0));
 	}
 	
+	@Test
+	public void testReproducibleAcrossThreads() throws Exception {
+		double[][] input = new Saltelli().generate(200*8, 3);
+		double[] output = evaluate(new MultivariateFunction() {
+
+			@Override
+			public double value(double[] variables) {
+				return variables[0]*variables[1] + variables[2];
+			}
+			
+		}, input);
+		
+		File parameterFile = TestUtils.createTempFile();
+		File inputFile = TestUtils.createTempFile();
+		File outputFile1 = TestUtils.createTempFile();
+		File outputFile2 = TestUtils.createTempFile();
+		
+		createParameterFile(parameterFile, 3);
+		save(inputFile, output);
+		
+		for (int i = 0; i < 2; i++) {
+			SobolAnalysis.main(new String[] {
+				"--parameterFile", parameterFile.getPath(),
+				"--input", inputFile.getPath(),
+				"--metric", "0",
+				"--resamples", "250",
+				"--threads", i == 0 ? "1" : "3",
+				"--seed", "12345",
+				"--output", (i == 0 ? outputFile1 : outputFile2).getPath()
+			});
+		}
+		
+		Assert.assertArrayEquals(TestUtils.loadFile(outputFile1),
+				TestUtils.loadFile(outputFile2));
+		
+		// the confidence intervals must be positive and finite
+		Pattern pattern = Pattern.compile("\\[" +
+				TestUtils.getSpaceSeparatedNumericPattern(1) + "\\]");
+		BufferedReader reader = new BufferedReader(new FileReader(outputFile1));
+		String line = null;
+		int count = 0;
+		
+		try {
+			while ((line = reader.readLine()) != null) {
+				Matcher matcher = pattern.matcher(line);
+				
+				if (matcher.find()) {
+					double confidence = Double.parseDouble(matcher.group(1));
+					Assert.assertTrue(confidence > 0.0);
+					Assert.assertTrue(confidence < 1.0);
+					count++;
+				}
+			}
+		} finally {
+			reader.close();
+		}
+		
+		Assert.assertEquals(9, count);
+	}
+	
 	/**
 	 * Runs Sobol analysis on the given function.
 	 * 
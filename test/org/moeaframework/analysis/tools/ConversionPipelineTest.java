@@ -0,0 +1,259 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.analysis.tools;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+import org.moeaframework.analysis.sensitivity.ProblemStub;
+import org.moeaframework.analysis.sensitivity.ResultEntry;
+import org.moeaframework.analysis.sensitivity.ResultFileReader;
+import org.moeaframework.core.FrameworkException;
+import org.moeaframework.core.Solution;
+
+/**
+ * Tests the {@link ConversionPipeline} class.
+ */
+public class ConversionPipelineTest {
+
+	/**
+	 * A result file with three entries.
+	 */
+	private static final String RESULTS =
+			"# Objectives = 2\n" +
+			"//NFE=100\n" +
+			"0.0 1.0\n" +
+			"1.0 0.0\n" +
+			"#\n" +
+			"//NFE=200\n" +
+			"0.5 0.5\n" +
+			"#\n" +
+			"//NFE=300\n" +
+			"0.25 0.25\n" +
+			"#\n";
+	
+	/**
+	 * Formats each entry as its NFE followed by the objectives of each
+	 * solution.
+	 */
+	private static class TestFormatter implements
+	ConversionPipeline.EntryFormatter {
+	
+		@Override
+		public void format(ResultEntry entry, StringBuilder builder) {
+			builder.append(entry.getProperties().getProperty("NFE"));
+			
+			for (Solution solution : entry.getPopulation()) {
+				builder.append(' ');
+				builder.append(solution.getObjective(0));
+				builder.append(',');
+				builder.append(solution.getObjective(1));
+			}
+			
+			builder.append('\n');
+		}
+	
+	}
+	
+	/**
+	 * Converts the result file data using the pipeline, returning the
+	 * contents of the output file.
+	 * 
+	 * @param data the result file data
+	 * @param lastEntryOnly {@code true} if only the last entry is converted;
+	 *        {@code false} if all entries are converted
+	 * @param output the output file
+	 * @return the contents of the output file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private String convert(String data, boolean lastEntryOnly, File output)
+			throws IOException {
+		ResultFileReader reader = null;
+		
+		try {
+			reader = new ResultFileReader(new ProblemStub(2),
+					TestUtils.createTempFile(data));
+			
+			new ConversionPipeline(new TestFormatter(), lastEntryOnly).convert(
+					reader, "header\n", output);
+		} finally {
+			if (reader != null) {
+				reader.close();
+			}
+		}
+		
+		return new String(TestUtils.loadFile(output));
+	}
+	
+	@Test
+	public void testAllEntries() throws IOException {
+		Assert.assertEquals("header\n100 0.0,1.0 1.0,0.0\n200 0.5,0.5\n" +
+				"300 0.25,0.25\n",
+				convert(RESULTS, false, TestUtils.createTempFile()));
+	}
+	
+	@Test
+	public void testLastEntryOnly() throws IOException {
+		Assert.assertEquals("header\n300 0.25,0.25\n",
+				convert(RESULTS, true, TestUtils.createTempFile()));
+	}
+	
+	@Test
+	public void testEmpty() throws IOException {
+		Assert.assertEquals("header\n",
+				convert("# Objectives = 2\n", false,
+						TestUtils.createTempFile()));
+	}
+	
+	@Test
+	public void testLastEntryOnlyEmpty() throws IOException {
+		Assert.assertEquals("header\nnull\n",
+				convert("# Objectives = 2\n", true,
+						TestUtils.createTempFile()));
+	}
+	
+	@Test
+	public void testLargeFile() throws IOException {
+		StringBuilder data = new StringBuilder();
+		StringBuilder expected = new StringBuilder("header\n");
+		
+		for (int i = 0; i < 10000; i++) {
+			data.append("//NFE=").append(i).append('\n');
+			data.append(i).append(".0 ").append(-i).append(".0\n");
+			data.append("#\n");
+			
+			expected.append(i).append(' ').append((double)i).append(',');
+			expected.append((double)-i).append('\n');
+		}
+		
+		Assert.assertEquals(expected.toString(),
+				convert(data.toString(), false, TestUtils.createTempFile()));
+	}
+	
+	@Test
+	public void testFormatterError() throws IOException {
+		File output = TestUtils.createTempFile();
+		output.delete();
+		
+		try {
+			ResultFileReader reader = new ResultFileReader(new ProblemStub(2),
+					TestUtils.createTempFile(RESULTS));
+			
+			try {
+				new ConversionPipeline(new ConversionPipeline.EntryFormatter() {
+				
+					@Override
+					public void format(ResultEntry entry,
+							StringBuilder builder) {
+						throw new FrameworkException("expected");
+					}
+				
+				}, false).convert(reader, "header\n", output);
+			} finally {
+				reader.close();
+			}
+			
+			Assert.fail("expected FrameworkException");
+		} catch (FrameworkException e) {
+			Assert.assertEquals("expected", e.getMessage());
+		}
+		
+		Assert.assertFalse(output.exists());
+	}
+	
+	/**
+	 * Creates result file data with the given number of entries.
+	 * 
+	 * @param numberOfEntries the number of entries
+	 * @return the result file data
+	 */
+	private String createResults(int numberOfEntries) {
+		StringBuilder data = new StringBuilder();
+		
+		for (int i = 0; i < numberOfEntries; i++) {
+			data.append("//NFE=").append(i).append('\n');
+			data.append(i).append(".0 ").append(-i).append(".0\n");
+			data.append("#\n");
+		}
+		
+		return data.toString();
+	}
+	
+	/**
+	 * Tests if the conversion fails, rather than waiting forever, if the
+	 * formatter fails after the parser has filled the entry queue.
+	 */
+	@Test(timeout = 20000)
+	public void testFormatterErrorWithFullQueue() throws IOException {
+		File output = TestUtils.createTempFile();
+		ResultFileReader reader = new ResultFileReader(new ProblemStub(2),
+				TestUtils.createTempFile(createResults(200)));
+		
+		try {
+			new ConversionPipeline(new ConversionPipeline.EntryFormatter() {
+				
+				private int count;
+				
+				@Override
+				public void format(ResultEntry entry, StringBuilder builder) {
+					if (++count == 1) {
+						try {
+							Thread.sleep(500);
+						} catch (InterruptedException e) {
+							Thread.currentThread().interrupt();
+						}
+					} else {
+						throw new FrameworkException("expected");
+					}
+				}
+				
+			}, false).convert(reader, "header\n", output);
+			
+			Assert.fail("expected FrameworkException");
+		} catch (FrameworkException e) {
+			Assert.assertEquals("expected", e.getMessage());
+		} finally {
+			reader.close();
+		}
+	}
+	
+	/**
+	 * Tests if the conversion fails, rather than waiting forever, if the
+	 * output file can not be written while the other stages are blocked on
+	 * full queues.
+	 */
+	@Test(timeout = 20000)
+	public void testWriterError() throws IOException {
+		File output = TestUtils.createTempFile();
+		output.delete();
+		output.mkdir();
+		
+		try {
+			convert(createResults(10000), false, output);
+			Assert.fail("expected IOException");
+		} catch (IOException e) {
+			// expected
+		} finally {
+			output.delete();
+		}
+	}
+
+}
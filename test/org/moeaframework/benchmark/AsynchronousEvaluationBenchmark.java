@@ -0,0 +1,156 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.moeaframework.Executor;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.problem.AbstractProblem;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+/**
+ * Compares the worker utilization of synchronous and asynchronous evaluation
+ * for &epsilon;-MOEA, GDE3 and SMS-EMOA.  Each evaluation of the 2-objective
+ * DTLZ2 problem is delayed by an exponentially distributed time.  Utilization
+ * is the total time spent evaluating divided by the elapsed time times the
+ * number of threads.  Synchronous evaluation idles workers until the slowest
+ * evaluation of each step completes, while asynchronous evaluation refills
+ * each worker as soon as it finishes.
+ * <p>
+ * Usage: {@code java org.moeaframework.benchmark.AsynchronousEvaluationBenchmark
+ * [threads] [evaluations] [mean delay in ms]}
+ */
+public class AsynchronousEvaluationBenchmark {
+
+	/**
+	 * The algorithms compared.
+	 */
+	private static final String[] ALGORITHMS = { "eMOEA", "GDE3", "SMS-EMOA" };
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private AsynchronousEvaluationBenchmark() {
+		super();
+	}
+	
+	/**
+	 * Problem delaying each evaluation by an exponentially distributed time
+	 * and recording the total time spent evaluating.
+	 */
+	private static class DelayedProblem extends AbstractProblem {
+	
+		private final Problem problem;
+		
+		private final double meanDelay;
+		
+		private final Random random;
+		
+		private final AtomicLong busyTime;
+		
+		public DelayedProblem(Problem problem, double meanDelay) {
+			super(problem.getNumberOfVariables(),
+					problem.getNumberOfObjectives(),
+					problem.getNumberOfConstraints());
+			this.problem = problem;
+			this.meanDelay = meanDelay;
+			
+			random = new Random(1);
+			busyTime = new AtomicLong();
+		}
+		
+		@Override
+		public void evaluate(Solution solution) {
+			long start = System.nanoTime();
+			long delay = (long)(-meanDelay * Math.log(1.0 - random.nextDouble()) * 1e6);
+			
+			try {
+				Thread.sleep(delay / 1000000, (int)(delay % 1000000));
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			}
+			
+			problem.evaluate(solution);
+			busyTime.addAndGet(System.nanoTime() - start);
+		}
+		
+		@Override
+		public Solution newSolution() {
+			return problem.newSolution();
+		}
+	
+	}
+	
+	/**
+	 * Runs an algorithm and prints its run time and worker utilization.
+	 * 
+	 * @param algorithm the name of the algorithm
+	 * @param asynchronous {@code true} to evaluate asynchronously;
+	 *        {@code false} to evaluate synchronously
+	 * @param threads the number of threads
+	 * @param evaluations the number of function evaluations
+	 * @param meanDelay the mean evaluation delay in milliseconds
+	 */
+	private static void run(String algorithm, boolean asynchronous,
+			int threads, int evaluations, double meanDelay) {
+		DelayedProblem problem = new DelayedProblem(new DTLZ2(2), meanDelay);
+		Executor executor = new Executor()
+				.withProblem(problem)
+				.withAlgorithm(algorithm)
+				.withProperty("populationSize", 50)
+				.withMaxEvaluations(evaluations)
+				.distributeOn(threads);
+		
+		if (asynchronous) {
+			executor.distributeAsynchronously();
+		}
+		
+		long start = System.nanoTime();
+		executor.run();
+		long elapsed = System.nanoTime() - start;
+		
+		System.out.printf("  %-10s %-12s %8.3f s  utilization=%5.1f%%%n",
+				algorithm, asynchronous ? "asynchronous" : "synchronous",
+				elapsed / 1e9,
+				100.0 * problem.busyTime.get() / ((double)elapsed * threads));
+	}
+	
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args the optional number of threads, number of evaluations, and
+	 *        mean evaluation delay in milliseconds
+	 */
+	public static void main(String[] args) {
+		int threads = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+		int evaluations = args.length > 1 ? Integer.parseInt(args[1]) : 2000;
+		double meanDelay = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+		
+		System.out.println("DTLZ2_2 (" + threads + " threads, " + evaluations
+				+ " evaluations, " + meanDelay + " ms mean delay)");
+		
+		for (String algorithm : ALGORITHMS) {
+			run(algorithm, false, threads, evaluations, meanDelay);
+			run(algorithm, true, threads, evaluations, meanDelay);
+		}
+	}
+
+}
@@ -0,0 +1,153 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.moeaframework.algorithm.CMAES;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.problem.AbstractProblem;
+
+/**
+ * Measures the time per iteration of {@link CMAES} on a high-dimensional
+ * ellipsoid function.  The objective function is cheap, so the timings are
+ * dominated by sampling, the covariance matrix update and the
+ * eigendecomposition.  The search starts at the origin, far from the
+ * variable bounds so that offspring are rarely resampled, and the full
+ * covariance matrix is used from the first iteration.  If a number of threads greater than one is given,
+ * offspring are sampled in parallel.
+ * <p>
+ * Usage: {@code java org.moeaframework.benchmark.CMAESBenchmark
+ * [variables] [iterations] [threads]}
+ */
+public class CMAESBenchmark {
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private CMAESBenchmark() {
+		super();
+	}
+	
+	/**
+	 * The ellipsoid function with condition number {@code 1e6}.
+	 */
+	private static class Ellipsoid extends AbstractProblem {
+		
+		/**
+		 * The coefficient of each variable.
+		 */
+		private final double[] coefficients;
+		
+		/**
+		 * Constructs the ellipsoid function with the given number of
+		 * variables.
+		 * 
+		 * @param numberOfVariables the number of variables
+		 */
+		public Ellipsoid(int numberOfVariables) {
+			super(numberOfVariables, 1);
+			
+			coefficients = new double[numberOfVariables];
+			
+			for (int i = 0; i < numberOfVariables; i++) {
+				coefficients[i] = Math.pow(1e6, i / (numberOfVariables - 1.0));
+			}
+		}
+
+		@Override
+		public void evaluate(Solution solution) {
+			double[] x = EncodingUtils.getReal(solution);
+			double sum = 0.0;
+			
+			for (int i = 0; i < x.length; i++) {
+				sum += coefficients[i] * x[i] * x[i];
+			}
+			
+			solution.setObjective(0, sum);
+		}
+
+		@Override
+		public Solution newSolution() {
+			Solution solution = new Solution(numberOfVariables, 1);
+			
+			for (int i = 0; i < numberOfVariables; i++) {
+				solution.setVariable(i, EncodingUtils.newReal(-100, 100));
+			}
+			
+			return solution;
+		}
+		
+	}
+	
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) {
+		int numberOfVariables = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+		int iterations = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		int numberOfThreads = args.length > 2 ? Integer.parseInt(args[2]) : 1;
+		ExecutorService executor = null;
+		
+		if (numberOfThreads > 1) {
+			executor = Executors.newFixedThreadPool(numberOfThreads);
+		}
+		
+		try {
+			for (int trial = 0; trial < 2; trial++) {
+				PRNG.setSeed(trial);
+				
+				CMAES cmaes = new CMAES(new Ellipsoid(numberOfVariables), 100,
+						null, new NondominatedPopulation(),
+						new double[numberOfVariables], false,
+						-1, -1, -1, -1, -1, -1, 0);
+				
+				if (executor != null) {
+					cmaes.setExecutorService(executor);
+				}
+				
+				long start = System.nanoTime();
+				
+				for (int i = 0; i < iterations; i++) {
+					cmaes.step();
+				}
+				
+				long end = System.nanoTime();
+				
+				//the first trial warms up the JIT
+				if (trial > 0) {
+					System.out.printf("N=%d  %.3f ms/iteration  f=%g%n",
+							numberOfVariables,
+							(end - start) / (1e6 * iterations),
+							cmaes.getResult().get(0).getObjective(0));
+				}
+			}
+		} finally {
+			if (executor != null) {
+				executor.shutdown();
+			}
+		}
+	}
+
+}
@@ -0,0 +1,288 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark;
+
+import org.moeaframework.core.FastNondominatedSorting;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Population;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.comparator.DominanceComparator;
+import org.moeaframework.core.comparator.ParetoDominanceComparator;
+
+/**
+ * Micro-benchmarks for Pareto dominance checks.  Compares the fused
+ * {@link ParetoDominanceComparator} against the previous implementation,
+ * which recomputed the aggregate constraint violation of both solutions on
+ * every comparison and read objectives through {@link Solution#getObjective}.
+ * Three workloads are measured for several numbers of objectives, with and
+ * without constraints:
+ * <ol>
+ *   <li>{@code compare}: pairwise comparisons of random solutions
+ *   <li>{@code archive}: adding random solutions to a
+ *       {@link NondominatedPopulation}
+ *   <li>{@code sort}: fast non-dominated sorting of a random population
+ * </ol>
+ * <p>
+ * Usage: {@code java org.moeaframework.benchmark.DominanceBenchmark
+ * [solutions] [trials]}
+ */
+public class DominanceBenchmark {
+
+	/**
+	 * The numbers of objectives benchmarked.
+	 */
+	private static final int[] OBJECTIVES = { 2, 5, 10 };
+	
+	/**
+	 * The numbers of constraints benchmarked.
+	 */
+	private static final int[] CONSTRAINTS = { 0, 10 };
+	
+	/**
+	 * Prevents the JIT from eliminating the benchmarked code.
+	 */
+	private static long sink;
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private DominanceBenchmark() {
+		super();
+	}
+	
+	/**
+	 * The Pareto dominance comparator before the fused implementation,
+	 * equivalent to chaining the aggregate constraint and Pareto objective
+	 * comparators.
+	 */
+	private static class LegacyParetoDominanceComparator implements
+			DominanceComparator {
+		
+		private double getConstraints(Solution solution) {
+			double constraints = 0.0;
+			
+			for (int i = 0; i < solution.getNumberOfConstraints(); i++) {
+				constraints += Math.abs(solution.getConstraint(i));
+			}
+			
+			return constraints;
+		}
+		
+		@Override
+		public int compare(Solution solution1, Solution solution2) {
+			double constraints1 = getConstraints(solution1);
+			double constraints2 = getConstraints(solution2);
+			
+			if ((constraints1 != 0.0) || (constraints2 != 0.0)) {
+				if (constraints1 == 0.0) {
+					return -1;
+				} else if (constraints2 == 0.0) {
+					return 1;
+				} else {
+					return Double.compare(constraints1, constraints2);
+				}
+			}
+			
+			boolean dominate1 = false;
+			boolean dominate2 = false;
+			
+			for (int i = 0; i < solution1.getNumberOfObjectives(); i++) {
+				if (solution1.getObjective(i) < solution2.getObjective(i)) {
+					dominate1 = true;
+					
+					if (dominate2) {
+						return 0;
+					}
+				} else if (solution1.getObjective(i) > solution2.getObjective(i)) {
+					dominate2 = true;
+					
+					if (dominate1) {
+						return 0;
+					}
+				}
+			}
+			
+			if (dominate1 == dominate2) {
+				return 0;
+			} else if (dominate1) {
+				return -1;
+			} else {
+				return 1;
+			}
+		}
+	
+	}
+	
+	/**
+	 * Creates random solutions.  Roughly half of the solutions are feasible
+	 * when constraints are used.
+	 * 
+	 * @param size the number of solutions
+	 * @param numberOfObjectives the number of objectives
+	 * @param numberOfConstraints the number of constraints
+	 * @return the random solutions
+	 */
+	private static Solution[] createSolutions(int size, int numberOfObjectives,
+			int numberOfConstraints) {
+		Solution[] solutions = new Solution[size];
+		
+		for (int i = 0; i < size; i++) {
+			solutions[i] = new Solution(0, numberOfObjectives,
+					numberOfConstraints);
+			
+			for (int j = 0; j < numberOfObjectives; j++) {
+				solutions[i].setObjective(j, PRNG.nextDouble());
+			}
+			
+			if (PRNG.nextBoolean()) {
+				for (int j = 0; j < numberOfConstraints; j++) {
+					solutions[i].setConstraint(j, PRNG.nextDouble() < 0.2 ?
+							PRNG.nextDouble() : 0.0);
+				}
+			}
+		}
+		
+		return solutions;
+	}
+	
+	/**
+	 * Compares all pairs of solutions.
+	 * 
+	 * @param comparator the dominance comparator
+	 * @param solutions the solutions
+	 */
+	private static void compare(DominanceComparator comparator,
+			Solution[] solutions) {
+		long sum = 0;
+		
+		for (int i = 0; i < solutions.length; i++) {
+			for (int j = 0; j < solutions.length; j++) {
+				sum += comparator.compare(solutions[i], solutions[j]);
+			}
+		}
+		
+		sink += sum;
+	}
+	
+	/**
+	 * Adds all solutions to a non-dominated population.
+	 * 
+	 * @param comparator the dominance comparator
+	 * @param solutions the solutions
+	 */
+	private static void archive(DominanceComparator comparator,
+			Solution[] solutions) {
+		NondominatedPopulation archive = new NondominatedPopulation(
+				comparator);
+		
+		for (Solution solution : solutions) {
+			archive.add(solution);
+		}
+		
+		sink += archive.size();
+	}
+	
+	/**
+	 * Performs fast non-dominated sorting of the solutions.
+	 * 
+	 * @param comparator the dominance comparator
+	 * @param solutions the solutions
+	 */
+	private static void sort(DominanceComparator comparator,
+			Solution[] solutions) {
+		new FastNondominatedSorting(comparator).evaluate(
+				new Population(solutions));
+		
+		sink += solutions.length;
+	}
+	
+	/**
+	 * Runs one workload and returns the elapsed time.
+	 * 
+	 * @param workload the workload, either {@code compare}, {@code archive},
+	 *        or {@code sort}
+	 * @param comparator the dominance comparator
+	 * @param solutions the solutions
+	 * @return the elapsed time in nanoseconds
+	 */
+	private static long time(String workload, DominanceComparator comparator,
+			Solution[] solutions) {
+		long start = System.nanoTime();
+		
+		if (workload.equals("compare")) {
+			compare(comparator, solutions);
+		} else if (workload.equals("archive")) {
+			archive(comparator, solutions);
+		} else {
+			sort(comparator, solutions);
+		}
+		
+		return System.nanoTime() - start;
+	}
+	
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args the optional number of solutions and number of trials
+	 */
+	public static void main(String[] args) {
+		int size = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		int trials = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+		DominanceComparator legacy = new LegacyParetoDominanceComparator();
+		DominanceComparator fused = new ParetoDominanceComparator();
+		
+		System.out.println("workload  M   C     legacy (ms)  fused (ms)  speedup");
+		
+		for (String workload : new String[] { "compare", "archive", "sort" }) {
+			for (int numberOfObjectives : OBJECTIVES) {
+				for (int numberOfConstraints : CONSTRAINTS) {
+					PRNG.setSeed(1);
+					Solution[] solutions = createSolutions(size,
+							numberOfObjectives, numberOfConstraints);
+					
+					// warm up the JIT
+					for (int i = 0; i < 3; i++) {
+						time(workload, legacy, solutions);
+						time(workload, fused, solutions);
+					}
+					
+					long legacyTime = Long.MAX_VALUE;
+					long fusedTime = Long.MAX_VALUE;
+					
+					for (int i = 0; i < trials; i++) {
+						legacyTime = Math.min(legacyTime,
+								time(workload, legacy, solutions));
+						fusedTime = Math.min(fusedTime,
+								time(workload, fused, solutions));
+					}
+					
+					System.out.printf("%-8s %2d %3d %14.3f %11.3f %8.2fx%n",
+							workload, numberOfObjectives, numberOfConstraints,
+							legacyTime / 1e6, fusedTime / 1e6,
+							legacyTime / (double)fusedTime);
+				}
+			}
+		}
+		
+		if (sink == 0) {
+			System.out.println();
+		}
+	}
+
+}
@@ -0,0 +1,122 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+
+import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.EvolutionaryAlgorithm;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.PopulationIO;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.indicator.Hypervolume;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+import org.moeaframework.util.distributed.IslandModel;
+import org.moeaframework.util.distributed.MigrationTopology;
+
+/**
+ * Compares the run time and hypervolume of NSGA-II run on a single island
+ * against the island model with one NSGA-II island per core, using the same
+ * total number of evaluations.  The 2-objective DTLZ2 problem is cheap to
+ * evaluate, so distributing evaluations with
+ * {@link org.moeaframework.util.distributed.DistributedProblem} would not
+ * help.
+ * <p>
+ * Usage: {@code java org.moeaframework.benchmark.IslandModelBenchmark
+ * [islands] [evaluations]}
+ */
+public class IslandModelBenchmark {
+
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private IslandModelBenchmark() {
+		super();
+	}
+	
+	/**
+	 * Runs the island model and prints its run time and hypervolume.
+	 * 
+	 * @param numberOfIslands the number of islands
+	 * @param topology the migration topology
+	 * @param evaluations the total number of evaluations
+	 * @param referenceSet the reference set of the problem
+	 */
+	private static void run(int numberOfIslands, MigrationTopology topology,
+			int evaluations, NondominatedPopulation referenceSet) {
+		List<EvolutionaryAlgorithm> islands =
+				new ArrayList<EvolutionaryAlgorithm>();
+		Properties properties = new Properties();
+		properties.setProperty("populationSize", "100");
+		
+		PRNG.setSeed(1);
+		
+		for (int i = 0; i < numberOfIslands; i++) {
+			islands.add((EvolutionaryAlgorithm)AlgorithmFactory.getInstance()
+					.getAlgorithm("NSGAII", properties, new DTLZ2(2)));
+		}
+		
+		long start = System.nanoTime();
+		NondominatedPopulation result = new IslandModel(islands, topology,
+				1000, 5, new EpsilonBoxDominanceArchive(0.001))
+				.run(evaluations);
+		double seconds = (System.nanoTime() - start) / 1e9;
+		
+		Problem problem = new DTLZ2(2);
+		double hypervolume = new Hypervolume(problem, referenceSet)
+				.evaluate(result);
+		
+		System.out.printf("  %2d islands %-16s %8.3f s  HV=%.6f%n",
+				numberOfIslands, topology, seconds, hypervolume);
+	}
+	
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args the optional number of islands and number of evaluations
+	 * @throws IOException if an I/O error occurred while reading the
+	 *         reference set
+	 */
+	public static void main(String[] args) throws IOException {
+		int numberOfIslands = args.length > 0 ? Integer.parseInt(args[0]) :
+				Runtime.getRuntime().availableProcessors();
+		int evaluations = args.length > 1 ? Integer.parseInt(args[1]) : 1000000;
+		NondominatedPopulation referenceSet = new NondominatedPopulation(
+				PopulationIO.readObjectives(new File("pf/DTLZ2.2D.pf")));
+		
+		System.out.println("DTLZ2_2 (" + evaluations + " evaluations)");
+		
+		// warm up the JIT
+		run(numberOfIslands, MigrationTopology.RING, evaluations / 10,
+				referenceSet);
+		System.out.println("  --");
+		
+		run(1, MigrationTopology.RING, evaluations, referenceSet);
+		
+		for (MigrationTopology topology : MigrationTopology.values()) {
+			run(numberOfIslands, topology, evaluations, referenceSet);
+		}
+	}
+
+}
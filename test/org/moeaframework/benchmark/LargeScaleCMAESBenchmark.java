@@ -0,0 +1,134 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.moeaframework.Executor;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.PopulationIO;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.indicator.GenerationalDistance;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+import org.moeaframework.problem.WFG.WFG1;
+
+/**
+ * Compares sep-CMA-ES and LM-CMA-ES on the 2-objective DTLZ2 and WFG1
+ * problems with many decision variables.  For each algorithm, the run time
+ * and the generational distance of the final archive are reported.  The
+ * initial standard deviation is reduced to {@code 0.05} so that few
+ * offspring fall outside the variable bounds.
+ * <p>
+ * CMA-ES can be included by naming it on the command line, but it resamples
+ * offspring until all variables are within their bounds, which becomes
+ * prohibitively slow as the number of variables grows.
+ * <p>
+ * Usage: {@code java org.moeaframework.benchmark.LargeScaleCMAESBenchmark
+ * [variables] [evaluations] [algorithms...]}
+ */
+public class LargeScaleCMAESBenchmark {
+
+	/**
+	 * The algorithms compared by default.
+	 */
+	private static final String[] ALGORITHMS = { "sep-CMA-ES", "LM-CMA-ES" };
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private LargeScaleCMAESBenchmark() {
+		super();
+	}
+	
+	/**
+	 * Runs an algorithm and prints its run time and generational distance.
+	 * 
+	 * @param algorithm the name of the algorithm
+	 * @param problem the problem
+	 * @param referenceSet the reference set of the problem
+	 * @param evaluations the number of function evaluations
+	 */
+	private static void run(String algorithm, Problem problem,
+			NondominatedPopulation referenceSet, int evaluations) {
+		PRNG.setSeed(1);
+		
+		long start = System.nanoTime();
+		
+		NondominatedPopulation result = new Executor()
+				.withProblem(problem)
+				.withAlgorithm(algorithm)
+				.withProperty("lambda", 100)
+				.withProperty("sigma", 0.05)
+				.withMaxEvaluations(evaluations)
+				.run();
+		
+		double seconds = (System.nanoTime() - start) / 1e9;
+		double gd = new GenerationalDistance(problem, referenceSet)
+				.evaluate(result);
+		
+		System.out.printf("  %-12s %8.3f s  GD=%.6f%n", algorithm, seconds,
+				gd);
+	}
+	
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args the optional number of variables, number of evaluations,
+	 *        and algorithm names
+	 * @throws IOException if an I/O error occurred while reading the
+	 *         reference sets
+	 */
+	public static void main(String[] args) throws IOException {
+		int numberOfVariables = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+		int evaluations = args.length > 1 ? Integer.parseInt(args[1]) : 50000;
+		String[] algorithms = ALGORITHMS;
+		
+		if (args.length > 2) {
+			algorithms = new String[args.length - 2];
+			System.arraycopy(args, 2, algorithms, 0, algorithms.length);
+		}
+		
+		Problem[] problems = {
+				new DTLZ2(numberOfVariables, 2),
+				new WFG1(4, numberOfVariables - 4, 2) };
+		String[] referenceSets = { "pf/DTLZ2.2D.pf", "pf/WFG1.2D.pf" };
+		
+		for (int i = 0; i < problems.length; i++) {
+			NondominatedPopulation referenceSet = new NondominatedPopulation(
+					PopulationIO.readObjectives(new File(referenceSets[i])));
+			
+			System.out.println(problems[i].getName() + " (N="
+					+ numberOfVariables + ", " + evaluations
+					+ " evaluations)");
+			
+			// warm up the JIT
+			for (String algorithm : algorithms) {
+				run(algorithm, problems[i], referenceSet, 1000);
+			}
+			
+			System.out.println("  --");
+			
+			for (String algorithm : algorithms) {
+				run(algorithm, problems[i], referenceSet, evaluations);
+			}
+		}
+	}
+
+}
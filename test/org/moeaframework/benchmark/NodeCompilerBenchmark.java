@@ -0,0 +1,195 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark;
+
+import org.moeaframework.core.PRNG;
+import org.moeaframework.util.tree.Add;
+import org.moeaframework.util.tree.BatchEvaluator;
+import org.moeaframework.util.tree.CompiledNode;
+import org.moeaframework.util.tree.Cos;
+import org.moeaframework.util.tree.Divide;
+import org.moeaframework.util.tree.Environment;
+import org.moeaframework.util.tree.Exp;
+import org.moeaframework.util.tree.Get;
+import org.moeaframework.util.tree.Log;
+import org.moeaframework.util.tree.Multiply;
+import org.moeaframework.util.tree.Node;
+import org.moeaframework.util.tree.NodeCompiler;
+import org.moeaframework.util.tree.Rules;
+import org.moeaframework.util.tree.Sin;
+import org.moeaframework.util.tree.Subtract;
+
+/**
+ * Compares the time to evaluate random symbolic regression trees over a
+ * dataset using the interpreter, {@link Node#evaluate(Environment)}, and the
+ * compiled form produced by {@link NodeCompiler}, both one row at a time and
+ * in batches using {@link BatchEvaluator}.  The trees use the same
+ * function set as the symbolic regression example.  The time to compile the
+ * trees is included in the compiled timings.
+ * <p>
+ * Usage: {@code java org.moeaframework.benchmark.NodeCompilerBenchmark
+ * [trees] [rows] [trials]}
+ */
+public class NodeCompilerBenchmark {
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private NodeCompilerBenchmark() {
+		super();
+	}
+	
+	/**
+	 * Evaluates each tree over each row using the interpreter.
+	 * 
+	 * @param trees the trees
+	 * @param x the input values
+	 * @return the sum of all outputs, which prevents the JIT from eliminating
+	 *         the evaluations
+	 */
+	private static double interpret(Node[] trees, double[] x) {
+		double sum = 0.0;
+		
+		for (Node tree : trees) {
+			for (int i = 0; i < x.length; i++) {
+				Environment environment = new Environment();
+				environment.set("x", x[i]);
+				sum += ((Number)tree.evaluate(environment)).doubleValue();
+			}
+		}
+		
+		return sum;
+	}
+	
+	/**
+	 * Compiles each tree and evaluates it over each row.
+	 * 
+	 * @param trees the trees
+	 * @param x the input values
+	 * @return the sum of all outputs, which prevents the JIT from eliminating
+	 *         the evaluations
+	 */
+	private static double compile(Node[] trees, double[] x) {
+		NodeCompiler compiler = new NodeCompiler("x");
+		double[] variables = new double[1];
+		double sum = 0.0;
+		
+		for (Node tree : trees) {
+			CompiledNode compiledTree = compiler.compile(tree);
+			
+			for (int i = 0; i < x.length; i++) {
+				variables[0] = x[i];
+				sum += compiledTree.evaluate(variables);
+			}
+		}
+		
+		return sum;
+	}
+
+	/**
+	 * Compiles each tree and evaluates it over all rows using the batch
+	 * kernels.
+	 * 
+	 * @param trees the trees
+	 * @param x the input values
+	 * @return the sum of all outputs, which prevents the JIT from eliminating
+	 *         the evaluations
+	 */
+	private static double batch(Node[] trees, double[] x) {
+		NodeCompiler compiler = new NodeCompiler("x");
+		BatchEvaluator evaluator = new BatchEvaluator(new double[][] { x });
+		CompiledNode[] compiledTrees = new CompiledNode[trees.length];
+		double sum = 0.0;
+		
+		for (int i = 0; i < trees.length; i++) {
+			compiledTrees[i] = compiler.compile(trees[i]);
+		}
+		
+		for (double[] values : evaluator.evaluate(compiledTrees)) {
+			for (int i = 0; i < values.length; i++) {
+				sum += values[i];
+			}
+		}
+		
+		return sum;
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args the optional number of trees, rows and trials
+	 */
+	public static void main(String[] args) {
+		int numberOfTrees = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+		int rows = args.length > 1 ? Integer.parseInt(args[1]) : 100000;
+		int trials = args.length > 2 ? Integer.parseInt(args[2]) : 5;
+		
+		Rules rules = new Rules();
+		rules.add(new Add());
+		rules.add(new Multiply());
+		rules.add(new Subtract());
+		rules.add(new Divide());
+		rules.add(new Sin());
+		rules.add(new Cos());
+		rules.add(new Exp());
+		rules.add(new Log());
+		rules.add(new Get(Number.class, "x"));
+		rules.setReturnType(Number.class);
+		
+		Node[] trees = new Node[numberOfTrees];
+		double[] x = new double[rows];
+		
+		for (int i = 0; i < numberOfTrees; i++) {
+			trees[i] = rules.buildTreeGrow(Number.class, 6);
+		}
+		
+		for (int i = 0; i < rows; i++) {
+			x[i] = PRNG.nextDouble(-1.0, 1.0);
+		}
+		
+		for (int i = 0; i <= trials; i++) {
+			long start = System.nanoTime();
+			double expected = interpret(trees, x);
+			double interpretedTime = (System.nanoTime() - start) / 1e9;
+			
+			start = System.nanoTime();
+			double actual = compile(trees, x);
+			double compiledTime = (System.nanoTime() - start) / 1e9;
+			
+			start = System.nanoTime();
+			double batchActual = batch(trees, x);
+			double batchTime = (System.nanoTime() - start) / 1e9;
+			
+			if ((Double.compare(expected, actual) != 0) ||
+					(Double.compare(expected, batchActual) != 0)) {
+				System.out.println("outputs differ: " + expected + " " +
+						actual + " " + batchActual);
+			}
+			
+			// the first trial warms up the JIT
+			if (i > 0) {
+				System.out.printf("trial %d: interpreted %.3f s, " +
+						"compiled %.3f s (%.1fx), batch %.3f s (%.1fx)%n", i,
+						interpretedTime, compiledTime,
+						interpretedTime / compiledTime, batchTime,
+						interpretedTime / batchTime);
+			}
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark;
+
+import java.util.Properties;
+
+import org.moeaframework.algorithm.pisa.PISAAlgorithm;
+import org.moeaframework.algorithm.pisa.StandInSelector;
+import org.moeaframework.core.Algorithm;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.core.spi.ProblemFactory;
+
+/**
+ * Compares the per-generation latency of the transports used by
+ * {@link PISAAlgorithm} to communicate with PISA selectors.  Each transport
+ * is paired with the {@link StandInSelector}, which uses the same transport,
+ * so the timings are dominated by communication.  The first generation,
+ * which includes starting the selector, is excluded.
+ * <p>
+ * Usage: {@code java org.moeaframework.benchmark.PISATransportBenchmark
+ * [generations] [populationSize]}
+ */
+public class PISATransportBenchmark {
+	
+	/**
+	 * The name of the PISA selector used by this benchmark.
+	 */
+	private static final String NAME = "standin";
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private PISATransportBenchmark() {
+		super();
+	}
+	
+	/**
+	 * Returns the average time, in milliseconds, of each generation using the
+	 * given transport.
+	 * 
+	 * @param transport the name of the transport
+	 * @param generations the number of generations
+	 * @param populationSize the population size
+	 * @return the average time, in milliseconds, of each generation
+	 */
+	private static double benchmark(String transport, int generations,
+			int populationSize) {
+		Settings.PROPERTIES.setString(Settings.KEY_PISA_TRANSPORT, transport);
+		Settings.PROPERTIES.setString(Settings.KEY_PISA_PREFIX + NAME +
+				".command", StandInSelector.getCommand(transport));
+		
+		Properties properties = new Properties();
+		properties.setProperty("populationSize",
+				Integer.toString(populationSize));
+		
+		Algorithm algorithm = AlgorithmFactory.getInstance().getAlgorithm(
+				NAME, properties,
+				ProblemFactory.getInstance().getProblem("DTLZ2_2"));
+		
+		//the first two steps initialize the algorithm and wait for the
+		//selector to start
+		algorithm.step();
+		algorithm.step();
+		
+		long start = System.nanoTime();
+		
+		for (int i = 0; i < generations; i++) {
+			algorithm.step();
+		}
+		
+		long end = System.nanoTime();
+		algorithm.terminate();
+		
+		return (end - start) / (1e6 * generations);
+	}
+	
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args the command line arguments
+	 */
+	public static void main(String[] args) {
+		int generations = args.length > 0 ? Integer.parseInt(args[0]) : 50;
+		int populationSize = args.length > 1 ? Integer.parseInt(args[1]) : 100;
+		
+		Settings.PROPERTIES.setString(Settings.KEY_PISA_ALGORITHMS, NAME);
+		Settings.PROPERTIES.setStringArray(Settings.KEY_PISA_PREFIX + NAME +
+				".parameters", new String[] { "seed" });
+		
+		System.out.println("Poll rate: " + Settings.getPISAPollRate() + " ms");
+		System.out.println("Transport  ms/generation");
+		
+		for (String transport : new String[] { "poll", "spin" }) {
+			System.out.printf("%-9s  %13.3f%n", transport,
+					benchmark(transport, generations, populationSize));
+		}
+	}
+
+}
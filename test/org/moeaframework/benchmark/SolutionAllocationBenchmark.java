@@ -0,0 +1,154 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.benchmark;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.moeaframework.Executor;
+import org.moeaframework.core.Settings;
+
+/**
+ * Measures the allocation rate of NSGA-II on DTLZ2.  The number of bytes
+ * allocated by the current thread is read from the HotSpot-specific
+ * {@code com.sun.management.ThreadMXBean}, when available, alongside the
+ * collection counts and times reported by the garbage collectors.
+ * <p>
+ * To compare eager and copy-on-write solution copies, run this benchmark
+ * twice, once with {@code -Dorg.moeaframework.core.copy_on_write=false}.  For
+ * a more detailed breakdown, run with a GC log (e.g., {@code -verbose:gc} or
+ * {@code -Xlog:gc}) or record a Java Flight Recorder profile (e.g.,
+ * {@code -XX:StartFlightRecording=filename=nsga2.jfr}) and inspect the
+ * allocation events.
+ * <p>
+ * Usage: {@code java org.moeaframework.benchmark.SolutionAllocationBenchmark
+ * [evaluations] [trials]}
+ */
+public class SolutionAllocationBenchmark {
+	
+	/**
+	 * Private constructor to prevent instantiation.
+	 */
+	private SolutionAllocationBenchmark() {
+		super();
+	}
+	
+	/**
+	 * Runs NSGA-II on the 2-objective DTLZ2 problem.
+	 * 
+	 * @param evaluations the number of function evaluations
+	 */
+	private static void run(int evaluations) {
+		new Executor()
+				.withProblem("DTLZ2_2")
+				.withAlgorithm("NSGAII")
+				.withMaxEvaluations(evaluations)
+				.run();
+	}
+	
+	/**
+	 * Returns the number of bytes allocated by the current thread, or
+	 * {@code -1} if this measurement is not supported by the JVM.
+	 * 
+	 * @return the number of bytes allocated by the current thread, or
+	 *         {@code -1} if not supported
+	 */
+	private static long getAllocatedBytes() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+		
+		if (bean instanceof com.sun.management.ThreadMXBean) {
+			return ((com.sun.management.ThreadMXBean)bean)
+					.getThreadAllocatedBytes(Thread.currentThread().getId());
+		} else {
+			return -1;
+		}
+	}
+	
+	/**
+	 * Returns the total number of collections performed by all garbage
+	 * collectors.
+	 * 
+	 * @return the total number of collections
+	 */
+	private static long getCollectionCount() {
+		long count = 0;
+		
+		for (GarbageCollectorMXBean bean :
+				ManagementFactory.getGarbageCollectorMXBeans()) {
+			count += Math.max(0, bean.getCollectionCount());
+		}
+		
+		return count;
+	}
+	
+	/**
+	 * Returns the total time, in milliseconds, spent by all garbage
+	 * collectors.
+	 * 
+	 * @return the total collection time in milliseconds
+	 */
+	private static long getCollectionTime() {
+		long time = 0;
+		
+		for (GarbageCollectorMXBean bean :
+				ManagementFactory.getGarbageCollectorMXBeans()) {
+			time += Math.max(0, bean.getCollectionTime());
+		}
+		
+		return time;
+	}
+
+	/**
+	 * Runs the benchmark.
+	 * 
+	 * @param args the optional number of evaluations and trials
+	 */
+	public static void main(String[] args) {
+		int evaluations = args.length > 0 ? Integer.parseInt(args[0]) : 100000;
+		int trials = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+		
+		System.out.println("copy_on_write = " + Settings.isCopyOnWrite());
+		
+		// warm up the JIT
+		run(evaluations);
+		
+		for (int i = 0; i < trials; i++) {
+			long bytes = getAllocatedBytes();
+			long count = getCollectionCount();
+			long gcTime = getCollectionTime();
+			long start = System.nanoTime();
+			
+			run(evaluations);
+			
+			double seconds = (System.nanoTime() - start) / 1e9;
+			bytes = bytes < 0 ? -1 : getAllocatedBytes() - bytes;
+			count = getCollectionCount() - count;
+			gcTime = getCollectionTime() - gcTime;
+			
+			System.out.printf("trial %d: %.3f s, %s, %d GCs (%d ms)%n",
+					i + 1, seconds,
+					bytes < 0 ? "allocation unavailable" : String.format(
+							"%.1f MB (%.0f B/eval, %.1f MB/s)",
+							bytes / 1e6, bytes / (double)evaluations,
+							bytes / 1e6 / seconds),
+					count, gcTime);
+		}
+	}
+
+}
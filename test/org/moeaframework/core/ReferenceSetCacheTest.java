@@ -0,0 +1,118 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.TestUtils;
+
+/**
+ * Tests the {@link ReferenceSetCache} class.
+ */
+public class ReferenceSetCacheTest {
+	
+	@Before
+	public void setUp() {
+		ReferenceSetCache.clear();
+	}
+	
+	@After
+	public void tearDown() {
+		ReferenceSetCache.clear();
+	}
+	
+	@Test
+	public void testLoadText() throws IOException {
+		File file = TestUtils.createTempFile("0.0 1.0\n1.0 0.0\n1.0 1.0\n");
+		
+		NondominatedPopulation first = ReferenceSetCache.load(file);
+		NondominatedPopulation second = ReferenceSetCache.load(file);
+		
+		Assert.assertEquals(2, first.size());
+		Assert.assertNotSame(first, second);
+		Assert.assertNotSame(first.get(0), second.get(0));
+		TestUtils.assertEquals(first, second);
+		
+		// modifying the returned set does not affect the cache
+		first.clear();
+		Assert.assertEquals(2, ReferenceSetCache.load(file).size());
+	}
+	
+	@Test
+	public void testReloadModifiedFile() throws IOException {
+		File file = TestUtils.createTempFile("0.0 1.0\n1.0 0.0\n");
+		Assert.assertEquals(2, ReferenceSetCache.load(file).size());
+		
+		FileWriter writer = new FileWriter(file, true);
+		writer.write("0.5 0.5\n");
+		writer.close();
+		
+		Assert.assertEquals(3, ReferenceSetCache.load(file).size());
+	}
+	
+	@Test
+	public void testBinary() throws IOException {
+		File file = TestUtils.createTempFile("0.0 1.0\n1.0 0.0\n0.5 0.5\n");
+		File binaryFile = TestUtils.createTempFile();
+		
+		ReferenceSetCache.writeBinary(binaryFile,
+				ReferenceSetCache.load(file));
+		
+		TestUtils.assertEquals(ReferenceSetCache.load(file),
+				ReferenceSetCache.load(binaryFile));
+	}
+	
+	@Test
+	public void testBinarySibling() throws IOException {
+		File file = TestUtils.createTempFile("0.0 1.0\n1.0 0.0\n");
+		File binaryFile = new File(file.getPath() + 
+				ReferenceSetCache.BINARY_SUFFIX);
+		binaryFile.deleteOnExit();
+		
+		// the binary form takes precedence over the text form
+		Population population = new Population();
+		population.add(new Solution(new double[] { 0.25, 0.25 }));
+		ReferenceSetCache.writeBinary(binaryFile, population);
+		binaryFile.setLastModified(file.lastModified() + 2000);
+		
+		NondominatedPopulation result = ReferenceSetCache.load(file);
+		Assert.assertEquals(1, result.size());
+		Assert.assertEquals(0.25, result.get(0).getObjective(0), Settings.EPS);
+	}
+	
+	@Test
+	public void testLoadResource() throws IOException {
+		NondominatedPopulation expected = new NondominatedPopulation(
+				PopulationIO.readObjectives(new File("pf/DTLZ2.2D.pf")));
+		
+		TestUtils.assertEquals(expected, 
+				ReferenceSetCache.loadResource("pf/DTLZ2.2D.pf"));
+	}
+	
+	@Test(expected = IOException.class)
+	public void testMissingFile() throws IOException {
+		ReferenceSetCache.load(new File("missing_file.pf"));
+	}
+
+}
@@ -93,6 +93,11 @@ public class SettingsTest {
 		Assert.assertNotNull(Settings.getDiagnosticToolProblems());
 	}
 	
+	@Test
+	public void testDiagnosticToolPackedApproximationSets() {
+		Assert.assertTrue(Settings.getDiagnosticToolPackedApproximationSets());
+	}
+	
 	@Test
 	public void testParseCommand() throws IOException {
 		String command = "java -jar \"C:\\Program Files\\Test\\test.jar\" \"\"\"";
@@ -441,5 +441,116 @@ public class SolutionTest {
 		// solution with no constraints
 		Assert.assertFalse(new Solution(0, 0, 0).violatesConstraints());
 	}
+	
+	/**
+	 * Tests if modifying the objectives or constraints of a copy, or of the
+	 * original after copying, does not affect the other solution.
+	 */
+	@Test
+	public void testCopyOnWrite() {
+		Solution copy = solution.copy();
+		
+		copy.setObjective(0, 10.0);
+		copy.setConstraint(0, 10.0);
+		Assert.assertEquals(1.0, solution.getObjective(0), Settings.EPS);
+		Assert.assertEquals(0.0, solution.getConstraint(0), Settings.EPS);
+		
+		copy = solution.copy();
+		solution.setObjectives(new double[] { 5.0, 6.0 });
+		solution.setConstraints(new double[] { 7.0, 8.0 });
+		Assert.assertEquals(1.0, copy.getObjective(0), Settings.EPS);
+		Assert.assertEquals(0.0, copy.getConstraint(0), Settings.EPS);
+	}
+	
+	/**
+	 * Tests if several copies of an already shared solution remain
+	 * independent of each other and of the original.
+	 */
+	@Test
+	public void testRepeatedCopies() {
+		Solution copy1 = solution.copy();
+		Solution copy2 = solution.copy();
+		Solution copy3 = copy1.copy();
+		
+		copy1.setObjective(0, 10.0);
+		solution.setObjective(0, 20.0);
+		copy3.setConstraint(0, 30.0);
+		
+		Assert.assertEquals(1.0, copy2.getObjective(0), Settings.EPS);
+		Assert.assertEquals(1.0, copy3.getObjective(0), Settings.EPS);
+		Assert.assertEquals(10.0, copy1.getObjective(0), Settings.EPS);
+		Assert.assertEquals(20.0, solution.getObjective(0), Settings.EPS);
+		Assert.assertEquals(0.0, copy1.getConstraint(0), Settings.EPS);
+		Assert.assertEquals(0.0, copy2.getConstraint(0), Settings.EPS);
+	}
+	
+	/**
+	 * Tests if a view shares the decision variables but not the modified
+	 * objectives with the original solution.
+	 */
+	@Test
+	public void testView() {
+		Solution view = solution.view();
+		
+		Assert.assertSame(solution.getVariable(0), view.getVariable(0));
+		Assert.assertArrayEquals(solution.getObjectives(),
+				view.getObjectives(), Settings.EPS);
+		
+		view.setObjective(1, 10.0);
+		Assert.assertEquals(2.0, solution.getObjective(1), Settings.EPS);
+		Assert.assertFalse(view.hasAttribute("foo"));
+	}
+	
+	/**
+	 * Tests the attribute methods on a solution with no attributes.
+	 */
+	@Test
+	public void testEmptyAttributes() {
+		Solution copy = solution.copy();
+		
+		Assert.assertNull(copy.getAttribute("key"));
+		Assert.assertNull(copy.removeAttribute("key"));
+		Assert.assertFalse(copy.hasAttribute("key"));
+		copy.clearAttributes();
+		Assert.assertTrue(copy.getAttributes().isEmpty());
+	}
+
+	/**
+	 * Tests if the cached constraint violation is updated when the
+	 * constraints are modified, and if copies keep their own value.
+	 */
+	@Test
+	public void testConstraintViolation() {
+		solution.setConstraints(new double[] { -1.0, 2.0 });
+		Assert.assertEquals(3.0, solution.getConstraintViolation(),
+				Settings.EPS);
+		
+		Solution copy = solution.copy();
+		Assert.assertEquals(3.0, copy.getConstraintViolation(), Settings.EPS);
+		
+		solution.setConstraint(1, 0.0);
+		Assert.assertEquals(1.0, solution.getConstraintViolation(),
+				Settings.EPS);
+		Assert.assertEquals(3.0, copy.getConstraintViolation(), Settings.EPS);
+		
+		copy.setConstraints(new double[] { 0.0, 0.0 });
+		Assert.assertEquals(0.0, copy.getConstraintViolation(), Settings.EPS);
+		
+		// solution with no constraints
+		Assert.assertEquals(0.0, new Solution(0, 0, 0).getConstraintViolation(),
+				Settings.EPS);
+	}
+	
+	/**
+	 * Tests if {@code peekObjectives} returns the current objectives.
+	 */
+	@Test
+	public void testPeekObjectives() {
+		Assert.assertArrayEquals(solution.getObjectives(),
+				solution.peekObjectives(), Settings.EPS);
+		
+		solution.setObjective(0, 10.0);
+		Assert.assertEquals(10.0, solution.peekObjectives()[0], Settings.EPS);
+	}
 
 }
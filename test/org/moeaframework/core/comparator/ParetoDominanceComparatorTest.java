@@ -21,6 +21,7 @@ import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
+import org.moeaframework.core.PRNG;
 import org.moeaframework.core.Solution;
 
 /**
@@ -90,4 +91,39 @@ public class ParetoDominanceComparatorTest {
 		Assert.assertTrue(comparator.compare(solution2, solution1) == 0);
 	}
 
+	/**
+	 * Tests if the fused comparison agrees with chaining the aggregate
+	 * constraint and Pareto objective comparators, including after the
+	 * constraints of a solution are modified.
+	 */
+	@Test
+	public void testEquivalentToChainedComparator() {
+		ChainedComparator chained = new ChainedComparator(
+				new AggregateConstraintComparator(),
+				new ParetoObjectiveComparator());
+		
+		for (int i = 0; i < 10000; i++) {
+			Solution solution1 = new Solution(0, 3, 2);
+			Solution solution2 = new Solution(0, 3, 2);
+			
+			for (int j = 0; j < 3; j++) {
+				solution1.setObjective(j, PRNG.nextInt(3));
+				solution2.setObjective(j, PRNG.nextInt(3));
+			}
+			
+			for (int j = 0; j < 2; j++) {
+				solution1.setConstraint(j, PRNG.nextBoolean() ? 0.0 : PRNG.nextInt(-2, 2));
+				solution2.setConstraint(j, PRNG.nextBoolean() ? 0.0 : PRNG.nextInt(-2, 2));
+			}
+			
+			Assert.assertEquals(chained.compare(solution1, solution2),
+					comparator.compare(solution1, solution2));
+			
+			solution1.setConstraints(new double[] { 0.0, 0.0 });
+			
+			Assert.assertEquals(chained.compare(solution1, solution2),
+					comparator.compare(solution1, solution2));
+		}
+	}
+
 }
@@ -0,0 +1,131 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.operator.real;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.Variation;
+import org.moeaframework.core.variable.EncodingUtils;
+import org.moeaframework.core.variable.RealVariable;
+import org.moeaframework.core.variable.RealVector;
+
+/**
+ * Tests if the real-valued operators produce the same offspring for solutions
+ * encoded with a {@link RealVector} as for solutions encoded with individual
+ * {@link RealVariable}s.
+ */
+public class RealVectorVariationTest {
+	
+	private static final int N = 10;
+	
+	private static final long SEED = 1234567;
+	
+	@Test
+	public void testSBX() {
+		test(new SBX(1.0, 15.0), 2);
+		test(new SBX(1.0, 15.0, true, true), 2);
+	}
+	
+	@Test
+	public void testPM() {
+		test(new PM(0.5, 20.0), 1);
+	}
+	
+	@Test
+	public void testUM() {
+		test(new UM(0.5), 1);
+	}
+	
+	@Test
+	public void testDifferentialEvolution() {
+		test(new DifferentialEvolution(0.5, 0.5), 4);
+	}
+	
+	@Test
+	public void testPCX() {
+		test(new PCX(3, 2), 3);
+	}
+	
+	@Test
+	public void testUNDX() {
+		test(new UNDX(3, 2), 3);
+	}
+	
+	@Test
+	public void testSPX() {
+		test(new SPX(3, 2), 3);
+	}
+	
+	/**
+	 * Applies the operator to equivalent parents using both encodings with the
+	 * same random seed and asserts the offspring are identical.
+	 * 
+	 * @param variation the operator being tested
+	 * @param arity the number of parents
+	 */
+	private void test(Variation variation, int arity) {
+		double[] lowerBounds = new double[N];
+		double[] upperBounds = new double[N];
+		
+		for (int j = 0; j < N; j++) {
+			lowerBounds[j] = -j - 1.0;
+			upperBounds[j] = j + 1.0;
+		}
+		
+		Solution[] scalarParents = new Solution[arity];
+		Solution[] vectorParents = new Solution[arity];
+		
+		for (int i = 0; i < arity; i++) {
+			RealVector vector = EncodingUtils.newRealVector(lowerBounds,
+					upperBounds);
+			vector.randomize();
+			
+			vectorParents[i] = new Solution(1, 0);
+			vectorParents[i].setVariable(0, vector);
+			
+			scalarParents[i] = new Solution(N, 0);
+			
+			for (int j = 0; j < N; j++) {
+				scalarParents[i].setVariable(j, new RealVariable(
+						vector.getValue(j), lowerBounds[j], upperBounds[j]));
+			}
+		}
+		
+		for (int k = 0; k < 10; k++) {
+			PRNG.setSeed(SEED + k);
+			Solution[] scalarOffspring = variation.evolve(scalarParents);
+			
+			PRNG.setSeed(SEED + k);
+			Solution[] vectorOffspring = variation.evolve(vectorParents);
+			
+			Assert.assertEquals(scalarOffspring.length,
+					vectorOffspring.length);
+			
+			for (int i = 0; i < scalarOffspring.length; i++) {
+				Assert.assertArrayEquals(
+						EncodingUtils.getReal(scalarOffspring[i]),
+						EncodingUtils.getReal(vectorOffspring[i]),
+						Settings.EPS);
+			}
+		}
+	}
+
+}
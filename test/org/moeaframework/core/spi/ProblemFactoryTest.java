@@ -4,6 +4,8 @@ import org.junit.Assert;
 import org.junit.Test;
 import org.moeaframework.core.NondominatedPopulation;
 import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.problem.AnalyticalProblem;
 import org.moeaframework.problem.MockRealProblem;
 
 /**
@@ -58,4 +60,185 @@ public class ProblemFactoryTest {
 		ProblemFactory.setInstance(originalFactory);
 	}
 
+	/**
+	 * Provider that counts the number of problems it creates and closes.
+	 */
+	private static class CountingProvider extends ProblemProvider {
+	
+		private int lookups;
+		
+		private int instances;
+		
+		private int closed;
+		
+		@Override
+		public Problem getProblem(String name) {
+			lookups++;
+			
+			if (name.equals("testProblem")) {
+				instances++;
+				
+				return new MockRealProblem() {
+				
+					@Override
+					public void close() {
+						closed++;
+					}
+				
+				};
+			} else {
+				return null;
+			}
+		}
+		
+		@Override
+		public NondominatedPopulation getReferenceSet(String name) {
+			return null;
+		}
+	
+	}
+	
+	@Test
+	public void testResolvedProvider() {
+		CountingProvider provider1 = new CountingProvider();
+		CountingProvider provider2 = new CountingProvider() {
+		
+			@Override
+			public Problem getProblem(String name) {
+				return name.equals("otherProblem") ? new MockRealProblem() :
+					super.getProblem(name);
+			}
+		
+		};
+		
+		ProblemFactory factory = new ProblemFactory();
+		factory.addProvider(provider1);
+		factory.addProvider(provider2);
+		
+		factory.getProblem("otherProblem");
+		factory.getProblem("otherProblem");
+		factory.getProblem("otherProblem");
+		
+		// the first provider is only searched until the name is resolved
+		Assert.assertEquals(1, provider1.lookups);
+		
+		// adding a provider clears the resolved names
+		factory.addProvider(new CountingProvider());
+		factory.getProblem("otherProblem");
+		Assert.assertEquals(2, provider1.lookups);
+	}
+	
+	@Test
+	public void testPooling() {
+		CountingProvider provider = new CountingProvider();
+		ProblemFactory factory = new ProblemFactory();
+		factory.addProvider(provider);
+		factory.setPoolingEnabled(true);
+		
+		Assert.assertTrue(factory.isPoolingEnabled());
+		
+		Problem problem1 = factory.getProblem("testProblem");
+		Problem problem2 = factory.getProblem("testProblem");
+		Assert.assertEquals(2, provider.instances);
+		Assert.assertTrue(problem1 instanceof AnalyticalProblem);
+		
+		problem1.close();
+		problem1.close();
+		Assert.assertEquals(1, factory.getNumberOfPooledProblems(
+				"testProblem"));
+		
+		Problem problem3 = factory.getProblem("testProblem");
+		Assert.assertEquals(2, provider.instances);
+		Assert.assertEquals(0, factory.getNumberOfPooledProblems(
+				"testProblem"));
+		Assert.assertEquals(0, provider.closed);
+		
+		problem2.close();
+		problem3.close();
+		Assert.assertEquals(2, factory.getNumberOfPooledProblems(
+				"testProblem"));
+		
+		// disabling pooling closes the idle problems
+		factory.setPoolingEnabled(false);
+		Assert.assertFalse(factory.isPoolingEnabled());
+		Assert.assertEquals(2, provider.closed);
+		
+		problem1 = factory.getProblem("testProblem");
+		problem1.close();
+		Assert.assertEquals(3, provider.instances);
+		Assert.assertEquals(3, provider.closed);
+	}
+	
+	@Test
+	public void testPoolingClosedWhileBorrowed() {
+		CountingProvider provider = new CountingProvider();
+		ProblemFactory factory = new ProblemFactory();
+		factory.addProvider(provider);
+		factory.setPoolingEnabled(true);
+		
+		Problem problem = factory.getProblem("testProblem");
+		factory.setPoolingEnabled(false);
+		Assert.assertEquals(0, provider.closed);
+		
+		problem.close();
+		Assert.assertEquals(1, provider.closed);
+	}
+	
+	@Test
+	public void testPoolingUseAfterClose() {
+		CountingProvider provider = new CountingProvider();
+		ProblemFactory factory = new ProblemFactory();
+		factory.addProvider(provider);
+		factory.setPoolingEnabled(true);
+		
+		Problem problem = factory.getProblem("testProblem");
+		Solution solution = problem.newSolution();
+		problem.close();
+		
+		try {
+			problem.evaluate(solution);
+			Assert.fail("failed to throw IllegalStateException");
+		} catch (IllegalStateException e) {
+			// ok
+		}
+		
+		try {
+			problem.newSolution();
+			Assert.fail("failed to throw IllegalStateException");
+		} catch (IllegalStateException e) {
+			// ok
+		}
+		
+		try {
+			((AnalyticalProblem)problem).generate();
+			Assert.fail("failed to throw IllegalStateException");
+		} catch (IllegalStateException e) {
+			// ok
+		}
+		
+		// closing again has no effect
+		problem.close();
+		Assert.assertEquals(1, factory.getNumberOfPooledProblems(
+				"testProblem"));
+		
+		factory.setPoolingEnabled(false);
+	}
+	
+	@Test
+	public void testPoolingStandardProblem() {
+		ProblemFactory factory = new ProblemFactory();
+		factory.setPoolingEnabled(true);
+		
+		Problem problem1 = factory.getProblem("DTLZ2_2");
+		Assert.assertEquals("DTLZ2", problem1.getName());
+		Assert.assertEquals(2, problem1.getNumberOfObjectives());
+		problem1.close();
+		
+		Problem problem2 = factory.getProblem("DTLZ2_2");
+		Assert.assertEquals(0, factory.getNumberOfPooledProblems("DTLZ2_2"));
+		problem2.close();
+		
+		factory.setPoolingEnabled(false);
+	}
+
 }
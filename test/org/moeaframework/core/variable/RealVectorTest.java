@@ -0,0 +1,186 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.core.variable;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.moeaframework.core.Settings;
+import org.moeaframework.core.Solution;
+
+public class RealVectorTest {
+	
+	private double[] lowerBounds;
+	
+	private double[] upperBounds;
+
+	private RealVector vector;
+
+	@Before
+	public void setUp() {
+		lowerBounds = new double[] { 0.0, -1.0, 0.0 };
+		upperBounds = new double[] { 1.0, 1.0, 10.0 };
+		vector = new RealVector(new double[] { 0.5, 0.0, 5.0 }, lowerBounds,
+				upperBounds);
+	}
+
+	/**
+	 * Removes references to shared objects so they can be garbage collected.
+	 */
+	@After
+	public void tearDown() {
+		lowerBounds = null;
+		upperBounds = null;
+		vector = null;
+	}
+	
+	@Test
+	public void testEmptyConstructor() {
+		RealVector empty = new RealVector(lowerBounds, upperBounds);
+		
+		Assert.assertEquals(3, empty.size());
+		Assert.assertTrue(Double.isNaN(empty.getValue(0)));
+	}
+
+	@Test
+	public void testGetValue() {
+		Assert.assertEquals(3, vector.size());
+		Assert.assertEquals(0.0, vector.getValue(1), Settings.EPS);
+		Assert.assertEquals(-1.0, vector.getLowerBound(1), Settings.EPS);
+		Assert.assertEquals(10.0, vector.getUpperBound(2), Settings.EPS);
+		Assert.assertArrayEquals(new double[] { 0.5, 0.0, 5.0 },
+				vector.getValues(), Settings.EPS);
+	}
+	
+	@Test
+	public void testGetValuesRange() {
+		double[] destination = new double[3];
+		vector.getValues(1, 3, destination, 1);
+		
+		Assert.assertArrayEquals(new double[] { 0.0, 0.0, 5.0 }, destination,
+				Settings.EPS);
+	}
+
+	@Test
+	public void testSetValue() {
+		vector.setValue(2, 7.5);
+		Assert.assertEquals(7.5, vector.getValue(2), Settings.EPS);
+	}
+	
+	@Test
+	public void testSetValues() {
+		vector.setValues(new double[] { 1.0, 1.0, 1.0 });
+		Assert.assertArrayEquals(new double[] { 1.0, 1.0, 1.0 },
+				vector.getValues(), Settings.EPS);
+		
+		vector.setValues(0, 2, new double[] { 0.0, 0.25, -0.5 }, 1);
+		Assert.assertArrayEquals(new double[] { 0.25, -0.5, 1.0 },
+				vector.getValues(), Settings.EPS);
+	}
+	
+	@Test
+	public void testGetValuesIsCopy() {
+		vector.getValues()[0] = 0.75;
+		Assert.assertEquals(0.5, vector.getValue(0), Settings.EPS);
+	}
+
+	@Test
+	public void testEquals() {
+		Assert.assertFalse(vector.equals(null));
+		Assert.assertTrue(vector.equals(vector));
+		Assert.assertTrue(vector.equals(new RealVector(
+				new double[] { 0.5, 0.0, 5.0 }, lowerBounds, upperBounds)));
+		Assert.assertFalse(vector.equals(new RealVector(
+				new double[] { 0.5, 0.5, 5.0 }, lowerBounds, upperBounds)));
+		Assert.assertFalse(vector.equals(new RealVector(
+				new double[] { 0.5, 0.0, 5.0 }, lowerBounds,
+				new double[] { 1.0, 1.0, 5.0 })));
+	}
+
+	@Test
+	public void testHashCode() {
+		Assert.assertEquals(vector.hashCode(), vector.hashCode());
+		Assert.assertEquals(vector.hashCode(), new RealVector(
+				new double[] { 0.5, 0.0, 5.0 }, lowerBounds, upperBounds)
+				.hashCode());
+	}
+
+	@Test
+	public void testCopy() {
+		RealVector copy = vector.copy();
+		Assert.assertTrue(copy.equals(vector));
+
+		copy.setValue(0, 0.75);
+		Assert.assertEquals(0.5, vector.getValue(0), Settings.EPS);
+		Assert.assertFalse(copy.equals(vector));
+	}
+	
+	@Test
+	public void testRandomize() {
+		for (int i = 0; i < 100; i++) {
+			vector.randomize();
+			
+			for (int j = 0; j < vector.size(); j++) {
+				Assert.assertTrue(vector.getValue(j) >= lowerBounds[j]);
+				Assert.assertTrue(vector.getValue(j) <= upperBounds[j]);
+			}
+		}
+	}
+	
+	@Test
+	public void testEncodingUtils() {
+		Solution solution = new Solution(1, 0);
+		solution.setVariable(0, vector);
+		
+		Assert.assertSame(vector, EncodingUtils.getRealVector(solution));
+		Assert.assertArrayEquals(new double[] { 0.5, 0.0, 5.0 },
+				EncodingUtils.getReal(solution), Settings.EPS);
+		Assert.assertArrayEquals(new double[] { 0.0, 5.0 },
+				EncodingUtils.getReal(solution, 1, 3), Settings.EPS);
+		
+		EncodingUtils.setReal(solution, new double[] { 0.0, 1.0, 10.0 });
+		Assert.assertArrayEquals(new double[] { 0.0, 1.0, 10.0 },
+				vector.getValues(), Settings.EPS);
+		
+		EncodingUtils.setReal(solution, 0, 1, new double[] { 1.0 });
+		Assert.assertEquals(1.0, vector.getValue(0), Settings.EPS);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorBoundsCheck() {
+		new RealVector(new double[] { 2.0, 0.0, 0.0 }, lowerBounds,
+				upperBounds);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testConstructorLengthCheck() {
+		new RealVector(new double[] { 0.0, 0.0 }, lowerBounds, upperBounds);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetValueBoundsCheck() {
+		vector.setValue(1, 1.0 + Settings.EPS);
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testSetValuesLengthCheck() {
+		vector.setValues(new double[] { 0.0 });
+	}
+
+}
@@ -0,0 +1,163 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.distributed;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.AsynchronousAlgorithm;
+import org.moeaframework.core.NondominatedPopulation;
+import org.moeaframework.core.Problem;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+import org.moeaframework.problem.AbstractProblem;
+
+/**
+ * Tests the {@link AsynchronousScheduler} class.
+ */
+public class AsynchronousSchedulerTest {
+
+	/**
+	 * The number of threads used by these tests.
+	 */
+	private static final int P = 4;
+	
+	/**
+	 * Problem with randomly distributed evaluation times that records the
+	 * evaluated solutions and the number of concurrent evaluations.
+	 */
+	private static class DelayedProblem extends AbstractProblem {
+	
+		private final Problem problem;
+		
+		private final Random random;
+		
+		private final AtomicInteger active;
+		
+		private final AtomicInteger maxActive;
+		
+		private final Set<Solution> evaluated;
+		
+		public DelayedProblem(Problem problem) {
+			super(problem.getNumberOfVariables(),
+					problem.getNumberOfObjectives(),
+					problem.getNumberOfConstraints());
+			this.problem = problem;
+			
+			random = new Random();
+			active = new AtomicInteger();
+			maxActive = new AtomicInteger();
+			evaluated = Collections.synchronizedSet(Collections.newSetFromMap(
+					new IdentityHashMap<Solution, Boolean>()));
+		}
+		
+		@Override
+		public void evaluate(Solution solution) {
+			int count = active.incrementAndGet();
+			
+			while (true) {
+				int max = maxActive.get();
+				
+				if ((count <= max) || maxActive.compareAndSet(max, count)) {
+					break;
+				}
+			}
+			
+			try {
+				Thread.sleep(random.nextInt(5));
+			} catch (InterruptedException e) {
+				throw new RuntimeException(e);
+			} finally {
+				active.decrementAndGet();
+			}
+			
+			problem.evaluate(solution);
+			evaluated.add(solution);
+		}
+		
+		@Override
+		public Solution newSolution() {
+			return problem.newSolution();
+		}
+	
+	}
+	
+	@Test
+	public void testEpsilonMOEA() {
+		test("eMOEA");
+	}
+	
+	@Test
+	public void testGDE3() {
+		test("GDE3");
+	}
+	
+	@Test
+	public void testSMSEMOA() {
+		test("SMS-EMOA");
+	}
+	
+	/**
+	 * Runs the given algorithm asynchronously, checking that the workers are
+	 * kept busy and that every solution in the result is evaluated.
+	 * 
+	 * @param algorithmName the name of the algorithm
+	 */
+	private void test(String algorithmName) {
+		DelayedProblem problem = new DelayedProblem(new DTLZ2(2));
+		Properties properties = new Properties();
+		properties.setProperty("populationSize", "20");
+		
+		AsynchronousScheduler scheduler = new AsynchronousScheduler(
+				(AsynchronousAlgorithm)AlgorithmFactory.getInstance()
+						.getAlgorithm(algorithmName, properties, problem),
+				P);
+		
+		try {
+			while (scheduler.getNumberOfEvaluations() < 500) {
+				scheduler.step();
+				
+				Assert.assertTrue(
+						scheduler.getNumberOfEvaluationsInFlight() <= P);
+			}
+			
+			Assert.assertEquals(500, scheduler.getNumberOfEvaluations());
+			Assert.assertEquals(P, problem.maxActive.get());
+			
+			NondominatedPopulation result = scheduler.getResult();
+			Assert.assertFalse(result.isEmpty());
+			
+			for (Solution solution : result) {
+				Assert.assertTrue(problem.evaluated.contains(solution));
+			}
+		} finally {
+			scheduler.terminate();
+		}
+		
+		Assert.assertTrue(scheduler.isTerminated());
+		Assert.assertEquals(0, scheduler.getNumberOfEvaluationsInFlight());
+	}
+
+}
@@ -0,0 +1,140 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.distributed;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.EpsilonBoxDominanceArchive;
+import org.moeaframework.core.EvolutionaryAlgorithm;
+import org.moeaframework.core.PRNG;
+import org.moeaframework.core.Solution;
+import org.moeaframework.core.spi.AlgorithmFactory;
+import org.moeaframework.problem.DTLZ.DTLZ2;
+
+/**
+ * Tests the {@link IslandModel} and {@link MigrationTopology} classes.
+ */
+public class IslandModelTest {
+
+	@Test
+	public void testRing() {
+		Assert.assertArrayEquals(new int[] { 1 },
+				MigrationTopology.RING.getNeighbors(0, 4));
+		Assert.assertArrayEquals(new int[] { 0 },
+				MigrationTopology.RING.getNeighbors(3, 4));
+	}
+	
+	@Test
+	public void testStar() {
+		Assert.assertArrayEquals(new int[] { 1, 2, 3 },
+				MigrationTopology.STAR.getNeighbors(0, 4));
+		Assert.assertArrayEquals(new int[] { 0 },
+				MigrationTopology.STAR.getNeighbors(2, 4));
+	}
+	
+	@Test
+	public void testFullyConnected() {
+		Assert.assertArrayEquals(new int[] { 1, 2, 3 },
+				MigrationTopology.FULLY_CONNECTED.getNeighbors(0, 4));
+		Assert.assertArrayEquals(new int[] { 0, 1, 3 },
+				MigrationTopology.FULLY_CONNECTED.getNeighbors(2, 4));
+	}
+	
+	@Test
+	public void testSingleIsland() {
+		for (MigrationTopology topology : MigrationTopology.values()) {
+			Assert.assertEquals(0, topology.getNeighbors(0, 1).length);
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidIsland() {
+		MigrationTopology.RING.getNeighbors(4, 4);
+	}
+	
+	@Test
+	public void testRunRing() {
+		test(MigrationTopology.RING);
+	}
+	
+	@Test
+	public void testRunStar() {
+		test(MigrationTopology.STAR);
+	}
+	
+	@Test
+	public void testRunFullyConnected() {
+		test(MigrationTopology.FULLY_CONNECTED);
+	}
+	
+	/**
+	 * Runs heterogeneous islands with the given migration topology, checking
+	 * that the evaluation budget is respected and all islands contribute to
+	 * the shared archive.
+	 * 
+	 * @param topology the migration topology
+	 */
+	private void test(MigrationTopology topology) {
+		String[] algorithms = { "NSGAII", "eMOEA", "GDE3", "SPEA2" };
+		List<EvolutionaryAlgorithm> islands =
+				new ArrayList<EvolutionaryAlgorithm>();
+		Properties properties = new Properties();
+		properties.setProperty("populationSize", "50");
+		
+		for (String algorithm : algorithms) {
+			islands.add((EvolutionaryAlgorithm)AlgorithmFactory.getInstance()
+					.getAlgorithm(algorithm, properties, new DTLZ2(2)));
+		}
+		
+		Random random = PRNG.getRandom();
+		IslandModel model = new IslandModel(islands, topology, 200, 5,
+				new EpsilonBoxDominanceArchive(0.01));
+		EpsilonBoxDominanceArchive result = model.run(10000);
+		
+		Assert.assertSame(random, PRNG.getRandom());
+		Assert.assertFalse(result.isEmpty());
+		
+		int evaluations = 0;
+		
+		for (EvolutionaryAlgorithm island : islands) {
+			Assert.assertTrue(island.getNumberOfEvaluations() > 0);
+			evaluations += island.getNumberOfEvaluations();
+			
+			for (Solution solution : island.getPopulation()) {
+				Assert.assertEquals(2, solution.getNumberOfObjectives());
+			}
+		}
+		
+		// each island may exceed the budget by up to one iteration
+		Assert.assertTrue(evaluations >= 10000);
+		Assert.assertTrue(evaluations <= 10000 + 4 * 50);
+		
+		// the islands should converge close to the Pareto front
+		for (Solution solution : result) {
+			double distance = Math.hypot(solution.getObjective(0),
+					solution.getObjective(1));
+			Assert.assertTrue(distance < 1.1);
+		}
+	}
+
+}
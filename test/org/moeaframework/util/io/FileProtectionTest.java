@@ -129,9 +129,34 @@ public class FileProtectionTest {
 	 */
 	@After
 	public void tearDown() {
+		Settings.PROPERTIES.remove(Settings.KEY_FILE_PROTECTION_BLOCK_SIZE);
 		file = null;
 	}
 	
+	/**
+	 * Writes the contents to the file, replacing its previous contents,
+	 * without updating the digest file.  The modification time is changed so
+	 * the modification is detected even if the length is unchanged.
+	 * 
+	 * @param contents the new contents of the file
+	 * @throws IOException if an I/O error occurred
+	 */
+	private void overwriteFile(String contents) throws IOException {
+		long lastModified = file.lastModified();
+		FileWriter writer = null;
+		
+		try {
+			writer = new FileWriter(file);
+			writer.append(contents);
+		} finally {
+			if (writer != null) {
+				writer.close();
+			}
+		}
+		
+		file.setLastModified(lastModified - 10000);
+	}
+	
 	@Test
 	public void testInputStreamValid() throws IOException {
 		testInputStream();
@@ -210,6 +235,84 @@ public class FileProtectionTest {
 		FileProtection.validate(file);
 	}
 	
+	@Test
+	public void testAppend() throws IOException {
+		Settings.PROPERTIES.setInt(Settings.KEY_FILE_PROTECTION_BLOCK_SIZE, 4);
+		
+		Writer writer = FileProtection.openWriter(file, true);
+		writer.append(" baz");
+		writer.close();
+		
+		writer = FileProtection.openWriter(file, true);
+		writer.append(" qux");
+		writer.close();
+		
+		Assert.assertArrayEquals("foo bar baz qux".getBytes(),
+				TestUtils.loadFile(file));
+		
+		testReader();
+		
+		//force validation of the appended blocks
+		overwriteFile("foo bar baz qux");
+		FileProtection.validate(file);
+	}
+	
+	@Test(expected = ValidationException.class)
+	public void testAppendInvalid() throws IOException {
+		overwriteFile("foo baz");
+		
+		Writer writer = FileProtection.openWriter(file, true);
+		writer.append(" baz");
+		writer.close();
+	}
+	
+	@Test(expected = ValidationException.class)
+	public void testAppendedFileInvalid() throws IOException {
+		Writer writer = FileProtection.openWriter(file, true);
+		writer.append(" baz");
+		writer.close();
+		
+		overwriteFile("foo bar bar");
+		FileProtection.validate(file);
+	}
+	
+	@Test(expected = ValidationException.class)
+	public void testAppendNoDigestStrict() throws IOException {
+		Settings.PROPERTIES.setString(
+				Settings.KEY_FILE_PROTECTION_MODE, FileProtection.STRICT_MODE);
+		
+		deleteDigestFile();
+		FileProtection.openWriter(file, true).close();
+	}
+	
+	@Test
+	public void testReadCorruptedBlock() throws IOException {
+		Settings.PROPERTIES.setInt(Settings.KEY_FILE_PROTECTION_BLOCK_SIZE, 4);
+		
+		Writer writer = FileProtection.openWriter(file);
+		writer.append("aaaabbbbcccc");
+		writer.close();
+		
+		overwriteFile("aaaabbXbcccc");
+		
+		InputStream is = FileProtection.openInputStream(file);
+		byte[] buffer = new byte[4];
+		
+		try {
+			Assert.assertEquals(4, is.read(buffer));
+			is.read(buffer);
+			Assert.fail("expected a ValidationException");
+		} catch (ValidationException e) {
+			//the corrupted block is detected while streaming
+		} finally {
+			try {
+				is.close();
+			} catch (ValidationException e) {
+				//closing validates the remaining blocks
+			}
+		}
+	}
+	
 	@Test
 	public void testCommandLineSafe() throws Exception {
 		testCommandLine("WARNING: 1 of 3 computed checksums did NOT match");
@@ -0,0 +1,79 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.tree;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+
+/**
+ * Tests the {@link BatchEvaluator} class.
+ */
+public class BatchEvaluatorTest {
+	
+	@Test
+	public void testSerialAndParallel() {
+		NodeCompiler compiler = new NodeCompiler("x");
+		double[][] columns = new double[1][1000];
+		
+		for (int i = 0; i < 1000; i++) {
+			columns[0][i] = PRNG.nextDouble(-1.0, 1.0);
+		}
+		
+		CompiledNode[] nodes = new CompiledNode[] {
+				compiler.compile(new Sin().setArgument(0,
+						new Get(Number.class, "x"))),
+				compiler.compile(new IfElse(Number.class)
+						.setArgument(0, new LessThan()
+								.setArgument(0, new Get(Number.class, "x"))
+								.setArgument(1, new Constant(0.0)))
+						.setArgument(1, new Constant(-1.0))
+						.setArgument(2, new Square().setArgument(0,
+								new Get(Number.class, "x")))) };
+		
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		
+		try {
+			double[][] serial = new BatchEvaluator(columns).evaluate(nodes);
+			double[][] parallel = new BatchEvaluator(columns, executor, 64)
+					.evaluate(nodes);
+			
+			for (int i = 0; i < 1000; i++) {
+				double x = columns[0][i];
+				
+				Assert.assertEquals(Math.sin(x), serial[0][i], 0.0);
+				Assert.assertEquals(x < 0.0 ? -1.0 : Math.pow(x, 2.0),
+						serial[1][i], 0.0);
+			}
+			
+			Assert.assertArrayEquals(serial[0], parallel[0], 0.0);
+			Assert.assertArrayEquals(serial[1], parallel[1], 0.0);
+		} finally {
+			executor.shutdown();
+		}
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testColumnLengths() {
+		new BatchEvaluator(new double[][] { new double[10], new double[5] });
+	}
+
+}
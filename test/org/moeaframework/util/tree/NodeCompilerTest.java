@@ -0,0 +1,250 @@
+/* Copyright 2009-2016 David Hadka
+ *
+ * This file is part of the MOEA Framework.
+ *
+ * The MOEA Framework is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Lesser General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or (at your
+ * option) any later version.
+ *
+ * The MOEA Framework is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY
+ * or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU Lesser General Public
+ * License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public License
+ * along with the MOEA Framework.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.moeaframework.util.tree;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.moeaframework.core.PRNG;
+
+/**
+ * Tests the {@link NodeCompiler} class.
+ */
+public class NodeCompilerTest {
+	
+	/**
+	 * Returns the rules containing all nodes supported by the compiler.
+	 * Integer constants are limited to small values so that integer
+	 * arithmetic does not overflow.
+	 * 
+	 * @return the rules containing all nodes supported by the compiler
+	 */
+	private Rules createRules() {
+		Rules rules = new Rules();
+		rules.populateWithLogic();
+		rules.populateWithArithmetic();
+		rules.populateWithTrig();
+		rules.add(new IfElse(Number.class));
+		rules.add(new Truncate(-1.0, 1.0));
+		rules.add(new Constant(1));
+		rules.add(new Constant(2));
+		rules.add(new Constant(-1));
+		rules.add(new Constant(0.5));
+		rules.add(new Constant(Math.PI));
+		rules.add(new Get(Number.class, "x"));
+		rules.add(new Get(Number.class, "y"));
+		rules.setReturnType(Number.class);
+		return rules;
+	}
+	
+	@Test
+	public void testRandomTrees() {
+		Rules rules = createRules();
+		NodeCompiler compiler = new NodeCompiler("x", "y");
+		int compiled = 0;
+		
+		for (int i = 0; i < 1000; i++) {
+			Node node = rules.buildTreeGrow(Number.class, PRNG.nextInt(1, 4));
+			CompiledNode compiledNode = null;
+			
+			try {
+				compiledNode = compiler.compile(node);
+				compiled++;
+			} catch (IllegalArgumentException e) {
+				//IfElse with mixed integer and floating-point branches
+				continue;
+			}
+			
+			for (int j = 0; j < 10; j++) {
+				double x = PRNG.nextDouble(-10.0, 10.0);
+				double y = PRNG.nextDouble(-10.0, 10.0);
+				
+				Environment environment = new Environment();
+				environment.set("x", x);
+				environment.set("y", y);
+				
+				double expected = ((Number)node.evaluate(environment))
+						.doubleValue();
+				
+				Assert.assertEquals(node.toString(), expected,
+						compiledNode.evaluate(new double[] { x, y }), 0.0);
+			}
+		}
+		
+		Assert.assertTrue(compiled > 900);
+	}
+	
+	@Test
+	public void testBatch() {
+		Rules rules = createRules();
+		NodeCompiler compiler = new NodeCompiler("x", "y");
+		double[][] columns = new double[2][100];
+		
+		for (int i = 0; i < 100; i++) {
+			columns[0][i] = PRNG.nextDouble(-10.0, 10.0);
+			columns[1][i] = PRNG.nextDouble(-10.0, 10.0);
+		}
+		
+		for (int i = 0; i < 1000; i++) {
+			Node node = rules.buildTreeGrow(Number.class, PRNG.nextInt(1, 4));
+			CompiledNode compiledNode = null;
+			
+			try {
+				compiledNode = compiler.compile(node);
+			} catch (IllegalArgumentException e) {
+				continue;
+			}
+			
+			double[] result = new double[50];
+			compiledNode.evaluate(columns, 25, 75, result);
+			
+			for (int j = 0; j < 50; j++) {
+				Assert.assertEquals(node.toString(),
+						compiledNode.evaluate(new double[] {
+								columns[0][25 + j], columns[1][25 + j] }),
+						result[j], 0.0);
+			}
+		}
+	}
+	
+	@Test
+	public void testIntegerArithmetic() {
+		NodeCompiler compiler = new NodeCompiler();
+		
+		Node divide = new Divide()
+				.setArgument(0, new Constant(7))
+				.setArgument(1, new Constant(2));
+		Node modulus = new Modulus()
+				.setArgument(0, new Constant(7))
+				.setArgument(1, new Constant(0));
+		Node round = new Divide()
+				.setArgument(0, new Round().setArgument(0, new Constant(7.4)))
+				.setArgument(1, new Constant(2));
+		
+		Assert.assertEquals(3.0, compiler.compile(divide).evaluate(null), 0.0);
+		Assert.assertEquals(0.0, compiler.compile(modulus).evaluate(null), 0.0);
+		Assert.assertEquals(3.0, compiler.compile(round).evaluate(null), 0.0);
+	}
+	
+	@Test
+	public void testBoolean() {
+		NodeCompiler compiler = new NodeCompiler("x");
+		
+		Node node = new And()
+				.setArgument(0, new LessThan()
+						.setArgument(0, new Get(Number.class, "x"))
+						.setArgument(1, new Constant(1.0)))
+				.setArgument(1, new Not()
+						.setArgument(0, new Constant(false)));
+		
+		CompiledNode compiledNode = compiler.compile(node);
+		
+		Assert.assertTrue(compiledNode.isBoolean());
+		Assert.assertTrue(compiledNode.test(new double[] { 0.0 }));
+		Assert.assertFalse(compiledNode.test(new double[] { 2.0 }));
+	}
+	
+	@Test
+	public void testUnknownVariable() {
+		NodeCompiler compiler = new NodeCompiler("x");
+		
+		Node node = new Add()
+				.setArgument(0, new Get(Number.class, "x"))
+				.setArgument(1, new Get(Number.class, "y"));
+		
+		Assert.assertEquals(-1, compiler.getSlot("y"));
+		Assert.assertEquals(2.0,
+				compiler.compile(node).evaluate(new double[] { 2.0 }), 0.0);
+	}
+	
+	@Test
+	public void testCache() {
+		NodeCompiler compiler = new NodeCompiler("x");
+		
+		Node node = new Sin()
+				.setArgument(0, new Multiply()
+						.setArgument(0, new Get(Number.class, "x"))
+						.setArgument(1, new Constant(2.0)));
+		
+		Assert.assertSame(compiler.compile(node),
+				compiler.compile(node.copyTree()));
+		Assert.assertNotSame(compiler.compile(node), compiler.compile(
+				new Sin().setArgument(0, new Constant(2.0))));
+		
+		//integer and floating-point constants are distinct
+		Assert.assertNotSame(compiler.compile(new Constant(2)),
+				compiler.compile(new Constant(2.0)));
+	}
+	
+	@Test
+	public void testMemoization() {
+		NodeCompiler compiler = new NodeCompiler(100, 100, "x");
+		NodeCompiler reference = new NodeCompiler("x");
+		double[][] columns = new double[1][100];
+		
+		for (int i = 0; i < 100; i++) {
+			columns[0][i] = PRNG.nextDouble(-1.0, 1.0);
+		}
+		
+		Node shared = new Sin()
+				.setArgument(0, new Multiply()
+						.setArgument(0, new Get(Number.class, "x"))
+						.setArgument(1, new Constant(2.0)));
+		Node node1 = new Add()
+				.setArgument(0, shared.copyTree())
+				.setArgument(1, new Constant(1.0));
+		Node node2 = new Subtract()
+				.setArgument(0, shared.copyTree())
+				.setArgument(1, new Get(Number.class, "x"));
+		
+		BatchEvaluator evaluator = new BatchEvaluator(columns);
+		
+		//the function nodes Add, Sin and Multiply are memoized
+		double[] result1 = evaluator.evaluate(compiler.compile(node1));
+		Assert.assertEquals(3, compiler.getNumberOfCachedResults());
+		
+		//only Subtract is new, the shared subtree is reused
+		double[] result2 = evaluator.evaluate(compiler.compile(node2));
+		Assert.assertEquals(4, compiler.getNumberOfCachedResults());
+		
+		Assert.assertArrayEquals(evaluator.evaluate(reference.compile(node1)),
+				result1, 0.0);
+		Assert.assertArrayEquals(evaluator.evaluate(reference.compile(node2)),
+				result2, 0.0);
+		
+		//memoized results are returned for later evaluations
+		Assert.assertArrayEquals(result1,
+				evaluator.evaluate(compiler.compile(node1)), 0.0);
+		
+		//a different dataset is not served from the cache
+		double[][] other = new double[][] { new double[100] };
+		Assert.assertArrayEquals(new double[100], new BatchEvaluator(other)
+				.evaluate(compiler.compile(node2)), 0.0);
+		
+		compiler.clearCache();
+		Assert.assertEquals(0, compiler.getNumberOfCachedResults());
+	}
+	
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnsupported() {
+		new NodeCompiler("x").compile(new Sequence()
+				.setArgument(0, new Set(Number.class, "x")
+						.setArgument(0, new Constant(1.0)))
+				.setArgument(1, new Get(Number.class, "x")));
+	}
+
+}
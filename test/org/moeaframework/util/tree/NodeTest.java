@@ -809,4 +809,41 @@ public class NodeTest {
 		Assert.assertTrue(node3.isFixed());
 	}
 
+	@Test
+	public void testStructuralHash() {
+		Node node1 = new Add()
+				.setArgument(0, new Get(Number.class, "x"))
+				.setArgument(1, new Multiply()
+						.setArgument(0, new Constant(2.0))
+						.setArgument(1, new Get(Number.class, "y")));
+		Node node2 = node1.copyTree();
+		
+		Assert.assertEquals(node1.getStructuralHash(),
+				node2.getStructuralHash());
+		Assert.assertTrue(node1.isStructurallyEqual(node2));
+		
+		//replacing a subtree invalidates the hashes along the path to the root
+		Node multiply = node2.getArgument(1);
+		long hash = multiply.getStructuralHash();
+		multiply.setArgument(0, new Constant(2));
+		
+		Assert.assertNotEquals(hash, multiply.getStructuralHash());
+		Assert.assertFalse(node1.isStructurallyEqual(node2));
+		
+		//restoring the subtree restores the hash
+		multiply.setArgument(0, new Constant(2.0));
+		
+		Assert.assertEquals(node1.getStructuralHash(),
+				node2.getStructuralHash());
+		Assert.assertTrue(node1.isStructurallyEqual(node2));
+		
+		//parameters are compared
+		Assert.assertFalse(new Get(Number.class, "x").isStructurallyEqual(
+				new Get(Number.class, "y")));
+		Assert.assertFalse(new Truncate(0.0, 1.0).isStructurallyEqual(
+				new Truncate(0.0, 2.0)));
+		Assert.assertFalse(new Constant(1.0).isStructurallyEqual(
+				new Constant(2.0)));
+	}
+
 }